@@ -0,0 +1,208 @@
+package com.uys.flight.analytics;
+
+import com.uys.flight.enums.OtpDimension;
+import com.uys.flight.index.FlightSlot;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * OTP Columnar Snapshot - Geçmiş uçuşların sütun bazlı, salt okunur kopyası
+ *
+ * Her alan ayrı bir primitive dizide tutulur; kodlar sözlükle int'e çevrilir. Sorgular diziler
+ * üzerinde fork-join ile paralel taranır ve grup başına sayaçlar dizi indeksinde birleştirilir.
+ * Snapshot oluşturulduktan sonra değişmez, bu yüzden okumalar kilitsizdir.
+ */
+public final class OtpColumnarSnapshot {
+
+    private static final int NOT_ARRIVED = Integer.MIN_VALUE;
+    private static final int SPLIT_THRESHOLD = 16_384;
+    private static final String[] HOURS = new String[24];
+
+    static {
+        for (int hour = 0; hour < 24; hour++) {
+            HOURS[hour] = OtpSample.hourKey(hour);
+        }
+    }
+
+    private final int size;
+    private final long[] departureEpoch;
+    private final int[] departureDelay;
+    private final int[] arrivalDelay;
+    private final Map<OtpDimension, int[]> groups;
+    private final Map<OtpDimension, String[]> names;
+    private final LocalDateTime from;
+    private final LocalDateTime to;
+
+    private OtpColumnarSnapshot(Builder builder, LocalDateTime from, LocalDateTime to) {
+        this.size = builder.size;
+        this.departureEpoch = Arrays.copyOf(builder.departureEpoch, size);
+        this.departureDelay = Arrays.copyOf(builder.departureDelay, size);
+        this.arrivalDelay = Arrays.copyOf(builder.arrivalDelay, size);
+        this.groups = new EnumMap<>(OtpDimension.class);
+        this.names = new EnumMap<>(OtpDimension.class);
+        for (OtpDimension dimension : OtpDimension.values()) {
+            groups.put(dimension, Arrays.copyOf(builder.groups.get(dimension), size));
+            names.put(dimension, dimension == OtpDimension.HOUR
+                    ? HOURS : builder.dictionaries.get(dimension).keySet().toArray(String[]::new));
+        }
+        this.from = from;
+        this.to = to;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Snapshot'ın kapsadığı orijinal kalkış aralığı [from, to)
+     */
+    public LocalDateTime from() {
+        return from;
+    }
+
+    public LocalDateTime to() {
+        return to;
+    }
+
+    /**
+     * Orijinal kalkışı [start, end) aralığındaki uçuşları verilen boyutta gruplar
+     */
+    public Map<String, OtpCounts> aggregate(OtpDimension dimension, LocalDateTime start, LocalDateTime end,
+                                            ForkJoinPool pool) {
+        String[] keys = names.get(dimension);
+        OtpCounts[] counts = pool.invoke(new ScanTask(groups.get(dimension), keys.length,
+                FlightSlot.toEpoch(start), FlightSlot.toEpoch(end), 0, size));
+
+        Map<String, OtpCounts> result = new HashMap<>();
+        for (int group = 0; group < keys.length; group++) {
+            if (counts[group] != null) {
+                result.put(keys[group], counts[group]);
+            }
+        }
+        return result;
+    }
+
+    private final class ScanTask extends RecursiveTask<OtpCounts[]> {
+        private final int[] group;
+        private final int groupCount;
+        private final long startEpoch;
+        private final long endEpoch;
+        private final int low;
+        private final int high;
+
+        private ScanTask(int[] group, int groupCount, long startEpoch, long endEpoch, int low, int high) {
+            this.group = group;
+            this.groupCount = groupCount;
+            this.startEpoch = startEpoch;
+            this.endEpoch = endEpoch;
+            this.low = low;
+            this.high = high;
+        }
+
+        @Override
+        protected OtpCounts[] compute() {
+            if (high - low <= SPLIT_THRESHOLD) {
+                return scan();
+            }
+            int mid = (low + high) >>> 1;
+            ScanTask left = new ScanTask(group, groupCount, startEpoch, endEpoch, low, mid);
+            left.fork();
+            OtpCounts[] right = new ScanTask(group, groupCount, startEpoch, endEpoch, mid, high).compute();
+            OtpCounts[] merged = left.join();
+            for (int i = 0; i < groupCount; i++) {
+                if (right[i] != null) {
+                    if (merged[i] == null) {
+                        merged[i] = right[i];
+                    } else {
+                        merged[i].merge(right[i]);
+                    }
+                }
+            }
+            return merged;
+        }
+
+        private OtpCounts[] scan() {
+            OtpCounts[] counts = new OtpCounts[groupCount];
+            for (int row = low; row < high; row++) {
+                long epoch = departureEpoch[row];
+                if (epoch < startEpoch || epoch >= endEpoch) {
+                    continue;
+                }
+                OtpCounts bucket = counts[group[row]];
+                if (bucket == null) {
+                    bucket = counts[group[row]] = new OtpCounts();
+                }
+                int arrival = arrivalDelay[row];
+                bucket.add(departureDelay[row], arrival != NOT_ARRIVED, arrival, 1);
+            }
+            return counts;
+        }
+    }
+
+    /**
+     * Satır satır doldurulan, büyüyebilen sütunlar
+     */
+    public static final class Builder {
+        private int size;
+        private long[] departureEpoch = new long[1024];
+        private int[] departureDelay = new int[1024];
+        private int[] arrivalDelay = new int[1024];
+        private final Map<OtpDimension, int[]> groups = new EnumMap<>(OtpDimension.class);
+        private final Map<OtpDimension, Map<String, Integer>> dictionaries = new EnumMap<>(OtpDimension.class);
+
+        private Builder() {
+            for (OtpDimension dimension : OtpDimension.values()) {
+                groups.put(dimension, new int[1024]);
+                dictionaries.put(dimension, new LinkedHashMap<>());
+            }
+        }
+
+        public Builder add(OtpSample sample) {
+            if (size == departureEpoch.length) {
+                grow();
+            }
+            departureEpoch[size] = FlightSlot.toEpoch(sample.originalDepartureTime());
+            departureDelay[size] = sample.departureDelay();
+            arrivalDelay[size] = sample.arrivalDelay() != null ? sample.arrivalDelay() : NOT_ARRIVED;
+            for (OtpDimension dimension : OtpDimension.values()) {
+                groups.get(dimension)[size] = dimension == OtpDimension.HOUR
+                        ? sample.originalDepartureTime().getHour()
+                        : encode(dictionaries.get(dimension), sample.key(dimension));
+            }
+            size++;
+            return this;
+        }
+
+        public OtpColumnarSnapshot build(LocalDateTime from, LocalDateTime to) {
+            return new OtpColumnarSnapshot(this, from, to);
+        }
+
+        private void grow() {
+            int capacity = departureEpoch.length * 2;
+            departureEpoch = Arrays.copyOf(departureEpoch, capacity);
+            departureDelay = Arrays.copyOf(departureDelay, capacity);
+            arrivalDelay = Arrays.copyOf(arrivalDelay, capacity);
+            groups.replaceAll((dimension, column) -> Arrays.copyOf(column, capacity));
+        }
+
+        private static int encode(Map<String, Integer> dictionary, String key) {
+            Integer id = dictionary.get(key);
+            if (id == null) {
+                id = dictionary.size();
+                dictionary.put(key, id);
+            }
+            return id;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.uys.flight.analytics;
+
+/**
+ * OTP Counts - Bir grup için toplanabilir OTP sayaçları
+ *
+ * D0: kalkış gecikmesi ≤ 0, D15: kalkış gecikmesi ≤ 15, A15: varış gecikmesi ≤ 15 dakika.
+ */
+public final class OtpCounts {
+
+    long departures;
+    long d0;
+    long d15;
+    long departureDelaySum;
+    long arrivals;
+    long a15;
+
+    void add(OtpSample sample, int sign) {
+        add(sample.departureDelay(), sample.arrivalDelay() != null, sample.arrivalDelay() != null
+                ? sample.arrivalDelay() : 0, sign);
+    }
+
+    void add(int departureDelay, boolean arrived, int arrivalDelay, int sign) {
+        departures += sign;
+        departureDelaySum += (long) sign * Math.max(departureDelay, 0);
+        if (departureDelay <= 0) {
+            d0 += sign;
+        }
+        if (departureDelay <= 15) {
+            d15 += sign;
+        }
+        if (arrived) {
+            arrivals += sign;
+            if (arrivalDelay <= 15) {
+                a15 += sign;
+            }
+        }
+    }
+
+    public void merge(OtpCounts other) {
+        departures += other.departures;
+        d0 += other.d0;
+        d15 += other.d15;
+        departureDelaySum += other.departureDelaySum;
+        arrivals += other.arrivals;
+        a15 += other.a15;
+    }
+
+    OtpCounts copy() {
+        OtpCounts copy = new OtpCounts();
+        copy.merge(this);
+        return copy;
+    }
+
+    public long departures() {
+        return departures;
+    }
+
+    public long arrivals() {
+        return arrivals;
+    }
+
+    public Double d0Percent() {
+        return percent(d0, departures);
+    }
+
+    public Double d15Percent() {
+        return percent(d15, departures);
+    }
+
+    public Double a15Percent() {
+        return percent(a15, arrivals);
+    }
+
+    /**
+     * Erken kalkışlar sıfır sayılarak ortalama kalkış gecikmesi
+     */
+    public Double averageDepartureDelay() {
+        return departures == 0 ? null : (double) departureDelaySum / departures;
+    }
+
+    private static Double percent(long part, long total) {
+        return total == 0 ? null : part * 100.0 / total;
+    }
+}
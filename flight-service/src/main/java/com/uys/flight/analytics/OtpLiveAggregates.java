@@ -0,0 +1,75 @@
+package com.uys.flight.analytics;
+
+import com.uys.flight.enums.OtpDimension;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * OTP Live Aggregates - Günün OTP sayaçları, uçuş değişiklikleriyle artımlı güncellenir
+ *
+ * Uçuş başına son katkı saklanır; bir uçuş değiştiğinde (ör. kalkıştan sonra iniş) eski katkı
+ * çıkarılıp yenisi eklenir. Yalnızca orijinal kalkışı {@link #day()} olan uçuşlar sayılır.
+ * Uçuş başına görülen en yüksek version tutulur; daha eski bir satır veya event yenisini ezmez.
+ */
+public final class OtpLiveAggregates {
+
+    private final LocalDate day;
+    private final Map<Long, OtpSample> samples = new HashMap<>();
+    private final Map<Long, Long> versions = new HashMap<>();
+    private final Map<OtpDimension, Map<String, OtpCounts>> counts = new EnumMap<>(OtpDimension.class);
+
+    public OtpLiveAggregates(LocalDate day) {
+        this.day = day;
+        for (OtpDimension dimension : OtpDimension.values()) {
+            counts.put(dimension, new HashMap<>());
+        }
+    }
+
+    public LocalDate day() {
+        return day;
+    }
+
+    /**
+     * Uçuşun katkısını günceller; sample null ise (kalkmamış/iptal/başka gün) katkı kaldırılır.
+     * Bilinen version'dan eski güncellemeler yok sayılır.
+     */
+    public synchronized void put(Long flightId, Long version, OtpSample sample) {
+        if (version != null) {
+            Long seen = versions.get(flightId);
+            if (seen != null && seen > version) {
+                return;
+            }
+            versions.put(flightId, version);
+        }
+        if (sample != null && !sample.originalDepartureTime().toLocalDate().equals(day)) {
+            sample = null;
+        }
+        OtpSample previous = sample != null ? samples.put(flightId, sample) : samples.remove(flightId);
+        if (previous != null) {
+            apply(previous, -1);
+        }
+        if (sample != null) {
+            apply(sample, 1);
+        }
+    }
+
+    public synchronized Map<String, OtpCounts> snapshot(OtpDimension dimension) {
+        Map<String, OtpCounts> copy = new HashMap<>();
+        counts.get(dimension).forEach((key, value) -> copy.put(key, value.copy()));
+        return copy;
+    }
+
+    private void apply(OtpSample sample, int sign) {
+        for (OtpDimension dimension : OtpDimension.values()) {
+            Map<String, OtpCounts> byKey = counts.get(dimension);
+            OtpCounts bucket = byKey.computeIfAbsent(sample.key(dimension), key -> new OtpCounts());
+            bucket.add(sample, sign);
+            if (bucket.departures == 0) {
+                byKey.remove(sample.key(dimension));
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.uys.flight.analytics;
+
+import com.uys.flight.enums.OtpDimension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * OTP Sample - Kalkmış bir uçuşun OTP hesabına katkısı
+ *
+ * Gecikme planlanan zamanları kaydırdığı için gecikmeler uçuşta ayrıca saklanan orijinal
+ * plana ({@code original_scheduled_*}) göre ölçülür.
+ *
+ * @param departureDelay orijinal plana göre kalkış gecikmesi (dakika)
+ * @param arrivalDelay   orijinal plana göre varış gecikmesi (dakika); henüz inmediyse null
+ */
+public record OtpSample(String airlineCode, String departureStationCode, String arrivalStationCode,
+                        LocalDateTime originalDepartureTime, int departureDelay, Integer arrivalDelay) {
+
+    /**
+     * @return uçuş henüz kalkmadıysa null
+     */
+    public static OtpSample of(String airlineCode, String departureStationCode, String arrivalStationCode,
+                               LocalDateTime originalDepartureTime, LocalDateTime originalArrivalTime,
+                               LocalDateTime actualDepartureTime, LocalDateTime actualArrivalTime) {
+        if (actualDepartureTime == null || originalDepartureTime == null) {
+            return null;
+        }
+        Integer arrivalDelay = actualArrivalTime != null && originalArrivalTime != null
+                ? minutesBetween(originalArrivalTime, actualArrivalTime) : null;
+        return new OtpSample(airlineCode, departureStationCode, arrivalStationCode, originalDepartureTime,
+                minutesBetween(originalDepartureTime, actualDepartureTime), arrivalDelay);
+    }
+
+    public String key(OtpDimension dimension) {
+        return switch (dimension) {
+            case AIRLINE -> airlineCode;
+            case ROUTE -> departureStationCode + "-" + arrivalStationCode;
+            case STATION -> departureStationCode;
+            case HOUR -> hourKey(originalDepartureTime.getHour());
+        };
+    }
+
+    static String hourKey(int hour) {
+        return hour < 10 ? "0" + hour : Integer.toString(hour);
+    }
+
+    private static int minutesBetween(LocalDateTime from, LocalDateTime to) {
+        return (int) Math.floorDiv(Duration.between(from, to).getSeconds(), 60);
+    }
+}
@@ -0,0 +1,67 @@
+package com.uys.flight.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Cache Invalidation Broadcaster - L1 invalidation mesajlarını Redis pub/sub ile yayar ve dinler
+ *
+ * Mesaj formatı: {@code <instanceId>|<cacheName>|<key>}; clear için key alanı boştur.
+ * Instance kendi yayınladığı mesajları yok sayar.
+ */
+@Slf4j
+public class CacheInvalidationBroadcaster implements MessageListener {
+
+    private static final String SEPARATOR = "|";
+
+    private final StringRedisTemplate redisTemplate;
+    private final String channel;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private TwoLevelCacheManager cacheManager;
+
+    public CacheInvalidationBroadcaster(StringRedisTemplate redisTemplate, String channel) {
+        this.redisTemplate = redisTemplate;
+        this.channel = channel;
+    }
+
+    void bind(TwoLevelCacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    void publishEvict(String cacheName, Object key) {
+        publish(cacheName + SEPARATOR + key);
+    }
+
+    void publishClear(String cacheName) {
+        publish(cacheName + SEPARATOR);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", 3);
+        if (parts.length < 3 || instanceId.equals(parts[0]) || cacheManager == null) {
+            return;
+        }
+        log.debug("Received cache invalidation for {}::{}", parts[1], parts[2]);
+        cacheManager.invalidateLocal(parts[1], parts[2].isEmpty() ? null : parts[2]);
+    }
+
+    private void publish(String payload) {
+        try {
+            redisTemplate.convertAndSend(channel, instanceId + SEPARATOR + payload);
+        } catch (Exception e) {
+            // Yayın hatası yazma işlemini bozmamalı; diğer instance'larda L1 TTL ile düşer
+            log.warn("Failed to broadcast cache invalidation {}: {}", payload, e.getMessage());
+        }
+    }
+}
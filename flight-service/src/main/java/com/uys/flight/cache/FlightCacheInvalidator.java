@@ -0,0 +1,43 @@
+package com.uys.flight.cache;
+
+import com.uys.flight.dto.FlightDto;
+import com.uys.flight.event.FlightChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Flight Cache Invalidator - Değişen uçuşun sadece kendi anahtarlarını cache'ten düşürür
+ *
+ * Commit sonrası çalışır; böylece eş zamanlı bir okuma cache'i commit edilmemiş veriyle
+ * yeniden dolduramaz.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FlightCacheInvalidator {
+
+    public static final String FLIGHTS_BY_NUMBER = "flights";
+    public static final String FLIGHTS_BY_ID = "flightsById";
+
+    private final CacheManager cacheManager;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onFlightChanged(FlightChangedEvent event) {
+        FlightDto.Response flight = event.flight();
+        evict(FLIGHTS_BY_NUMBER, flight.getFlightNumber());
+        evict(FLIGHTS_BY_ID, flight.getId());
+    }
+
+    private void evict(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null && key != null) {
+            cache.evict(key);
+            log.debug("Evicted {}::{}", cacheName, key);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.uys.flight.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Two Level Cache - Caffeine (L1, process içi) + Redis (L2, paylaşımlı)
+ *
+ * Okuma önce L1'e, ıskalanırsa L2'ye gider ve L2 isabetini L1'e yazar. Evict ve clear her iki
+ * seviyeye uygulanır ve diğer instance'ların L1 kopyalarını düşürmesi için
+ * {@link CacheInvalidationBroadcaster} üzerinden yayınlanır. L1 anahtarları, pub/sub mesajındaki
+ * metin anahtarla eşleşebilmesi için String'e çevrilerek tutulur.
+ */
+public class TwoLevelCache extends AbstractValueAdaptingCache {
+
+    private final String name;
+    private final Cache localCache;
+    private final Cache remoteCache;
+    private final CacheInvalidationBroadcaster broadcaster;
+
+    public TwoLevelCache(String name, Cache localCache, Cache remoteCache, CacheInvalidationBroadcaster broadcaster) {
+        super(false);
+        this.name = name;
+        this.localCache = localCache;
+        this.remoteCache = remoteCache;
+        this.broadcaster = broadcaster;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return this;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        ValueWrapper local = localCache.get(localKey(key));
+        if (local != null) {
+            return local.get();
+        }
+        ValueWrapper remote = remoteCache.get(key);
+        if (remote == null) {
+            return null;
+        }
+        localCache.put(localKey(key), remote.get());
+        return remote.get();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+        T value = remoteCache.get(key, valueLoader);
+        if (value != null) {
+            localCache.put(localKey(key), value);
+        }
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        remoteCache.put(key, value);
+        localCache.put(localKey(key), value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        remoteCache.evict(key);
+        localCache.evict(localKey(key));
+        broadcaster.publishEvict(name, key);
+    }
+
+    @Override
+    public void clear() {
+        remoteCache.clear();
+        localCache.clear();
+        broadcaster.publishClear(name);
+    }
+
+    /**
+     * Başka bir instance'tan gelen invalidation mesajı; sadece L1 düşürülür
+     */
+    void evictLocal(Object key) {
+        localCache.evict(localKey(key));
+    }
+
+    void clearLocal() {
+        localCache.clear();
+    }
+
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+}
@@ -0,0 +1,95 @@
+package com.uys.flight.config;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.uys.flight.cache.CacheInvalidationBroadcaster;
+import com.uys.flight.cache.TwoLevelCacheManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+
+import java.time.Duration;
+
+/**
+ * Cache yapılandırması - Caffeine L1 + Redis L2 iki seviyeli cache
+ */
+@Configuration
+public class CacheConfig {
+
+    @Value("${cache.redis.key-prefix:uys:flight:}")
+    private String keyPrefix;
+
+    @Value("${app.flight.cache.flight-ttl:1800}")
+    private long redisTtlSeconds;
+
+    @Value("${app.flight.cache.local-ttl:300}")
+    private long localTtlSeconds;
+
+    @Value("${app.flight.cache.local-max-size:10000}")
+    private long localMaxSize;
+
+    @Value("${app.flight.cache.invalidation-channel:uys:flight:cache-invalidation}")
+    private String invalidationChannel;
+
+    @Bean
+    public CacheInvalidationBroadcaster cacheInvalidationBroadcaster(StringRedisTemplate redisTemplate) {
+        return new CacheInvalidationBroadcaster(redisTemplate, invalidationChannel);
+    }
+
+    @Bean
+    public TwoLevelCacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                             CacheInvalidationBroadcaster broadcaster,
+                                             MeterRegistry meterRegistry) {
+        RedisCacheConfiguration configuration = RedisCacheConfiguration.defaultCacheConfig()
+                .entryTtl(Duration.ofSeconds(redisTtlSeconds))
+                .disableCachingNullValues()
+                .prefixCacheNameWith(keyPrefix)
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(valueSerializer()));
+
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
+                .cacheDefaults(configuration)
+                .build();
+        redisCacheManager.afterPropertiesSet();
+
+        return new TwoLevelCacheManager(redisCacheManager, broadcaster, meterRegistry,
+                localMaxSize, Duration.ofSeconds(localTtlSeconds));
+    }
+
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                            CacheInvalidationBroadcaster broadcaster) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(broadcaster, new ChannelTopic(broadcaster.getChannel()));
+        return container;
+    }
+
+    private GenericJackson2JsonRedisSerializer valueSerializer() {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        // Redis'ten okunan tip adları yalnızca cache'lenen DTO'lar ve alanlarının tipleriyle sınırlıdır;
+        // başka bir sınıf adı deserialization hatası verir
+        objectMapper.activateDefaultTyping(
+                BasicPolymorphicTypeValidator.builder()
+                        .allowIfSubType("com.uys.flight.dto.")
+                        .allowIfSubType("com.uys.flight.enums.")
+                        .allowIfSubType("java.util.")
+                        .allowIfSubType("java.time.")
+                        .build(),
+                ObjectMapper.DefaultTyping.NON_FINAL, JsonTypeInfo.As.PROPERTY);
+        return new GenericJackson2JsonRedisSerializer(objectMapper);
+    }
+}
@@ -0,0 +1,39 @@
+package com.uys.flight.controller;
+
+import com.uys.flight.dto.AnalyticsDto;
+import com.uys.flight.enums.OtpDimension;
+import com.uys.flight.service.OtpAnalyticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+/**
+ * Analytics Controller
+ */
+@RestController
+@RequestMapping("/analytics")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Analytics", description = "Zamanında performans API'leri")
+public class AnalyticsController {
+
+    private final OtpAnalyticsService otpAnalyticsService;
+
+    @GetMapping("/otp")
+    @Operation(summary = "Havayolu, rota, istasyon veya saate göre OTP (D0/D15/A15) getir")
+    public ResponseEntity<AnalyticsDto.OtpReport> getOtp(
+            @RequestParam(defaultValue = "AIRLINE") OtpDimension dimension,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate today = LocalDate.now();
+        AnalyticsDto.OtpReport report = otpAnalyticsService.getOtp(dimension,
+                from != null ? from : today, to != null ? to : today);
+        return ResponseEntity.ok(report);
+    }
+}
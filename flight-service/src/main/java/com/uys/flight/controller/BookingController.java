@@ -0,0 +1,78 @@
+package com.uys.flight.controller;
+
+import com.uys.flight.dto.FlightDto;
+import com.uys.flight.dto.SeatHoldDto;
+import com.uys.flight.service.BookingCounterService;
+import com.uys.flight.service.SeatHoldService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Booking Controller - Uçuş rezervasyon sayaçları
+ */
+@RestController
+@RequestMapping("/flights/{id}/bookings")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Booking", description = "Rezervasyon sayacı API'leri")
+public class BookingController {
+
+    private final BookingCounterService bookingCounterService;
+    private final SeatHoldService seatHoldService;
+
+    @GetMapping
+    @Operation(summary = "Uçuşun canlı rezervasyon sayacını getir")
+    public ResponseEntity<FlightDto.BookingCounter> getCounter(@PathVariable Long id) {
+        FlightDto.BookingCounter response = bookingCounterService.getCounter(id);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/reserve")
+    @Operation(summary = "Koltuk ayır")
+    public ResponseEntity<FlightDto.BookingCounter> reserve(@PathVariable Long id, @RequestParam int seats) {
+        FlightDto.BookingCounter response = bookingCounterService.reserve(id, seats);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/release")
+    @Operation(summary = "Koltuk bırak")
+    public ResponseEntity<FlightDto.BookingCounter> release(@PathVariable Long id, @RequestParam int seats) {
+        FlightDto.BookingCounter response = bookingCounterService.release(id, seats);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/holds")
+    @Operation(summary = "Süreli koltuk tut")
+    public ResponseEntity<SeatHoldDto.Response> hold(@PathVariable Long id,
+                                                     @Valid @RequestBody SeatHoldDto.HoldRequest request) {
+        SeatHoldDto.Response response = seatHoldService.hold(id, request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @GetMapping("/holds/{holdId}")
+    @Operation(summary = "Koltuk tutmasını getir")
+    public ResponseEntity<SeatHoldDto.Response> getHold(@PathVariable Long id, @PathVariable Long holdId) {
+        SeatHoldDto.Response response = seatHoldService.getHold(id, holdId);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/holds/{holdId}/confirm")
+    @Operation(summary = "Koltuk tutmasını rezervasyona çevir")
+    public ResponseEntity<SeatHoldDto.Response> confirmHold(@PathVariable Long id, @PathVariable Long holdId) {
+        SeatHoldDto.Response response = seatHoldService.confirm(id, holdId);
+        return ResponseEntity.ok(response);
+    }
+
+    @DeleteMapping("/holds/{holdId}")
+    @Operation(summary = "Koltuk tutmasını bırak")
+    public ResponseEntity<Void> releaseHold(@PathVariable Long id, @PathVariable Long holdId) {
+        seatHoldService.release(id, holdId);
+        return ResponseEntity.noContent().build();
+    }
+}
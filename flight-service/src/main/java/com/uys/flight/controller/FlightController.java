@@ -2,7 +2,12 @@ package com.uys.flight.controller;
 
 import com.uys.flight.dto.FlightDto;
 import com.uys.flight.enums.FlightStatus;
+import com.uys.flight.service.BookingCounterService;
+import com.uys.flight.service.FlightBulkService;
 import com.uys.flight.service.FlightService;
+import com.uys.flight.service.FlightStatusHistoryService;
+import com.uys.flight.service.FlightStatusScheduler;
+import com.uys.flight.service.FlightUpdateCoalescer;
 import io.swagger.v3.oas.annotations.Operation;
 
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -16,8 +21,10 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Flight Controller
@@ -30,6 +37,11 @@ import java.util.List;
 public class FlightController {
 
     private final FlightService flightService;
+    private final FlightBulkService flightBulkService;
+    private final FlightUpdateCoalescer flightUpdateCoalescer;
+    private final BookingCounterService bookingCounterService;
+    private final FlightStatusHistoryService flightStatusHistoryService;
+    private final FlightStatusScheduler flightStatusScheduler;
 
     @PostMapping
     @Operation(summary = "Yeni uçuş oluştur")
@@ -42,7 +54,7 @@ public class FlightController {
     @GetMapping("/{id}")
     @Operation(summary = "ID ile uçuş getir")
     public ResponseEntity<FlightDto.Response> getFlightById(@PathVariable Long id) {
-        FlightDto.Response response = flightService.getFlightById(id);
+        FlightDto.Response response = bookingCounterService.withLiveCounter(flightService.getFlightById(id));
         return ResponseEntity.ok(response);
     }
 
@@ -50,16 +62,16 @@ public class FlightController {
     @Operation(summary = "Uçuş numarası ile uçuş getir")
     public ResponseEntity<FlightDto.Response> getFlightByNumber(@PathVariable String flightNumber) {
         return flightService.getFlightByNumber(flightNumber)
+                .map(bookingCounterService::withLiveCounter)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @PutMapping("/{id}")
     @Operation(summary = "Uçuş güncelle")
-    public ResponseEntity<FlightDto.Response> updateFlight(@PathVariable Long id, 
-                                                          @Valid @RequestBody FlightDto.UpdateRequest updateRequest) {
-        FlightDto.Response response = flightService.updateFlight(id, updateRequest);
-        return ResponseEntity.ok(response);
+    public CompletableFuture<ResponseEntity<FlightDto.Response>> updateFlight(@PathVariable Long id,
+                                                                             @Valid @RequestBody FlightDto.UpdateRequest updateRequest) {
+        return flightUpdateCoalescer.updateFlight(id, updateRequest).thenApply(ResponseEntity::ok);
     }
 
     @DeleteMapping("/{id}")
@@ -76,6 +88,15 @@ public class FlightController {
         return ResponseEntity.ok(flights);
     }
 
+    @GetMapping("/cursor")
+    @Operation(summary = "Uçuşları imleç (cursor) ile sayfalı listele")
+    public ResponseEntity<FlightDto.CursorPage> getFlightsAfterCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        FlightDto.CursorPage page = flightService.getFlightsAfterCursor(cursor, size);
+        return ResponseEntity.ok(page);
+    }
+
     @GetMapping("/airline/{airlineCode}")
     @Operation(summary = "Havayolu şirketine göre uçuşları getir")
     public ResponseEntity<List<FlightDto.ListResponse>> getFlightsByAirline(@PathVariable String airlineCode) {
@@ -103,10 +124,9 @@ public class FlightController {
 
     @PatchMapping("/{id}/status")
     @Operation(summary = "Uçuş durumunu güncelle")
-    public ResponseEntity<FlightDto.Response> updateFlightStatus(@PathVariable Long id,
-                                                                @RequestParam FlightStatus status) {
-        FlightDto.Response response = flightService.updateFlightStatus(id, status);
-        return ResponseEntity.ok(response);
+    public CompletableFuture<ResponseEntity<FlightDto.Response>> updateFlightStatus(@PathVariable Long id,
+                                                                                   @RequestParam FlightStatus status) {
+        return flightUpdateCoalescer.updateFlightStatus(id, status).thenApply(ResponseEntity::ok);
     }
 
     @PatchMapping("/{id}/delay")
@@ -116,4 +136,69 @@ public class FlightController {
         FlightDto.Response response = flightService.delayFlight(id, delayMinutes);
         return ResponseEntity.ok(response);
     }
-}
\ No newline at end of file
+
+    @PatchMapping("/{id}/delay/propagate")
+    @Operation(summary = "Uçuşu geciktir ve rotasyona yay")
+    public ResponseEntity<FlightDto.DelayPropagationResponse> delayFlightWithPropagation(@PathVariable Long id,
+                                                                                     @RequestParam int delayMinutes) {
+        FlightDto.DelayPropagationResponse response = flightService.delayFlightWithPropagation(id, delayMinutes);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/{id}/timeline")
+    @Operation(summary = "Uçuşun durum geçmişini getir")
+    public ResponseEntity<FlightDto.Timeline> getFlightTimeline(@PathVariable Long id) {
+        FlightDto.Timeline timeline = flightStatusHistoryService.getTimeline(id);
+        return ResponseEntity.ok(timeline);
+    }
+
+    @GetMapping("/status/overdue")
+    @Operation(summary = "Otomatik uygulanamayacak kadar gecikmiş durum geçişlerini getir")
+    public ResponseEntity<List<FlightDto.OverdueTransition>> getOverdueTransitions() {
+        List<FlightDto.OverdueTransition> overdue = flightStatusScheduler.findOverdue();
+        return ResponseEntity.ok(overdue);
+    }
+
+    @GetMapping("/aircraft/{aircraftRegistration}/rotation")
+    @Operation(summary = "Uçağın günlük rotasyonunu getir")
+    public ResponseEntity<List<FlightDto.ListResponse>> getAircraftRotation(
+            @PathVariable String aircraftRegistration,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        List<FlightDto.ListResponse> flights = flightService.getAircraftRotation(aircraftRegistration, date);
+        return ResponseEntity.ok(flights);
+    }
+
+    @GetMapping("/aircraft/{aircraftRegistration}/conflicts")
+    @Operation(summary = "Uçak atamasında çakışan uçuşları getir")
+    public ResponseEntity<List<FlightDto.ListResponse>> getAircraftConflicts(
+            @PathVariable String aircraftRegistration,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime) {
+        List<FlightDto.ListResponse> flights = flightService.getAircraftConflicts(aircraftRegistration, startTime, endTime);
+        return ResponseEntity.ok(flights);
+    }
+
+    @PatchMapping("/bulk/delay")
+    @Operation(summary = "Filtreye uyan uçuşları toplu geciktir",
+            description = "Gecikme her uçuşun rotasyonundaki sonraki uçuşlara yayılır")
+    public ResponseEntity<FlightDto.BulkResult> delayFlights(@Valid @RequestBody FlightDto.BulkFilter filter,
+                                                             @RequestParam int delayMinutes) {
+        FlightDto.BulkResult result = flightBulkService.delayFlights(filter, delayMinutes);
+        return ResponseEntity.ok(result);
+    }
+
+    @PatchMapping("/bulk/cancel")
+    @Operation(summary = "Filtreye uyan uçuşları toplu iptal et")
+    public ResponseEntity<FlightDto.BulkResult> cancelFlights(@Valid @RequestBody FlightDto.BulkFilter filter) {
+        FlightDto.BulkResult result = flightBulkService.cancelFlights(filter);
+        return ResponseEntity.ok(result);
+    }
+
+    @PatchMapping("/bulk/status")
+    @Operation(summary = "Filtreye uyan uçuşların durumunu toplu güncelle")
+    public ResponseEntity<FlightDto.BulkResult> updateFlightStatuses(@Valid @RequestBody FlightDto.BulkFilter filter,
+                                                                    @RequestParam FlightStatus status) {
+        FlightDto.BulkResult result = flightBulkService.updateFlightStatus(filter, status);
+        return ResponseEntity.ok(result);
+    }
+}
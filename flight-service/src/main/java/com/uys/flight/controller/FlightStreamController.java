@@ -0,0 +1,77 @@
+package com.uys.flight.controller;
+
+import com.uys.flight.stream.FlightStatusStream;
+import com.uys.flight.stream.FlightStreamFilter;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Flight Stream Controller - Canlı uçuş durumu için Server-Sent Events
+ */
+@RestController
+@RequestMapping("/flights/stream")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Flight Stream", description = "Canlı uçuş durumu akışı")
+public class FlightStreamController {
+
+    private static final long NO_TIMEOUT = -1L;
+
+    private final FlightStatusStream flightStatusStream;
+
+    @Value("${app.flight.stream.heartbeat-seconds:15}")
+    private long heartbeatSeconds;
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "İstasyon, havayolu ya da uçuş numarasına göre canlı uçuş güncellemelerine abone ol")
+    public SseEmitter streamFlights(
+            @RequestParam(required = false) String stationCode,
+            @RequestParam(required = false) String airlineCode,
+            @RequestParam(required = false) String flightNumber) {
+        log.debug("New flight stream subscriber: station={} airline={} flight={}", stationCode, airlineCode, flightNumber);
+
+        Flux<SseEmitter.SseEventBuilder> updates = flightStatusStream
+                .subscribe(new FlightStreamFilter(stationCode, airlineCode, flightNumber))
+                .map(update -> SseEmitter.event()
+                        .id(update.getId() + ":" + update.getVersion())
+                        .name(update.getChangeType())
+                        .data(update, MediaType.APPLICATION_JSON));
+
+        // Proxy'lerin boşta bağlantıyı kapatmaması için periyodik yorum satırı
+        Flux<SseEmitter.SseEventBuilder> heartbeats = Flux.interval(Duration.ofSeconds(heartbeatSeconds))
+                .onBackpressureDrop()
+                .map(tick -> SseEmitter.event().comment("heartbeat"));
+
+        // Genel async request timeout'u yalnızca bu akış için kapatılır
+        SseEmitter emitter = new SseEmitter(NO_TIMEOUT);
+        Disposable subscription = Flux.merge(updates, heartbeats)
+                .subscribe(event -> send(emitter, event), emitter::completeWithError, emitter::complete);
+        emitter.onCompletion(subscription::dispose);
+        emitter.onTimeout(subscription::dispose);
+        emitter.onError(error -> subscription.dispose());
+        return emitter;
+    }
+
+    private static void send(SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException e) {
+            // İstemci bağlantıyı kapatmış; onError/onCompletion aboneliği sonlandırır
+            emitter.completeWithError(e);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.uys.flight.controller;
+
+import com.uys.flight.dto.GateDto;
+import com.uys.flight.service.GateService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Gate Controller
+ */
+@RestController
+@RequestMapping("/gates")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Gate", description = "Kapı doluluk API'leri")
+public class GateController {
+
+    private final GateService gateService;
+
+    @GetMapping("/{stationCode}/availability")
+    @Operation(summary = "Kapının zaman aralığında boş olup olmadığını kontrol et")
+    public ResponseEntity<GateDto.AvailabilityResponse> checkGate(
+            @PathVariable String stationCode,
+            @RequestParam(required = false) String terminal,
+            @RequestParam String gate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime) {
+        GateDto.AvailabilityResponse response = gateService.checkGate(stationCode, terminal, gate, startTime, endTime);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/{stationCode}/free")
+    @Operation(summary = "Zaman aralığında boş kapıları bul")
+    public ResponseEntity<GateDto.FreeGatesResponse> findFreeGates(
+            @PathVariable String stationCode,
+            @RequestParam(required = false) String terminal,
+            @RequestParam(required = false) List<String> gates,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime) {
+        GateDto.FreeGatesResponse response = gateService.findFreeGates(stationCode, terminal, gates, startTime, endTime);
+        return ResponseEntity.ok(response);
+    }
+}
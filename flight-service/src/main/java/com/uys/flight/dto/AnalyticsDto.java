@@ -0,0 +1,64 @@
+package com.uys.flight.dto;
+
+import com.uys.flight.enums.OtpDimension;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Analytics DTOs
+ */
+public class AnalyticsDto {
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "On-time performance report")
+    public static class OtpReport {
+        @Schema(description = "Grouping dimension")
+        private OtpDimension dimension;
+
+        @Schema(description = "First day of the report (inclusive)")
+        private LocalDate from;
+
+        @Schema(description = "Last day of the report (inclusive)")
+        private LocalDate to;
+
+        @Schema(description = "Groups ordered by number of departures")
+        private List<OtpRow> rows;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "On-time performance of a group")
+    public static class OtpRow {
+        @Schema(description = "Group key (airline, route, station or hour)", example = "TK")
+        private String key;
+
+        @Schema(description = "Departed flights", example = "412")
+        private Long departures;
+
+        @Schema(description = "Departed on or before the original schedule (%)", example = "61.2")
+        private Double d0Percent;
+
+        @Schema(description = "Departed within 15 minutes of the original schedule (%)", example = "84.7")
+        private Double d15Percent;
+
+        @Schema(description = "Arrived flights", example = "398")
+        private Long arrivals;
+
+        @Schema(description = "Arrived within 15 minutes of the original schedule (%)", example = "82.9")
+        private Double a15Percent;
+
+        @Schema(description = "Average departure delay in minutes; early departures count as zero", example = "9.4")
+        private Double averageDepartureDelayMinutes;
+    }
+}
@@ -13,6 +13,7 @@ import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Flight DTOs
@@ -20,7 +21,7 @@ import java.util.List;
 public class FlightDto {
 
     @Data
-    @Builder
+    @Builder(toBuilder = true)
     @NoArgsConstructor
     @AllArgsConstructor
     @Schema(description = "Flight response model")
@@ -52,6 +53,12 @@ public class FlightDto {
         @Schema(description = "Scheduled arrival time")
         private LocalDateTime scheduledArrivalTime;
         
+        @Schema(description = "Original scheduled departure time, before any delay")
+        private LocalDateTime originalScheduledDepartureTime;
+        
+        @Schema(description = "Original scheduled arrival time, before any delay")
+        private LocalDateTime originalScheduledArrivalTime;
+        
         @Schema(description = "Actual departure time")
         private LocalDateTime actualDepartureTime;
         
@@ -194,7 +201,7 @@ public class FlightDto {
         @Schema(description = "Flight status")
         private FlightStatus status;
         
-        @Schema(description = "Booked passengers")
+        @Schema(description = "Ignored; booked passengers are changed through the booking counter API")
         private Integer bookedPassengers;
         
         @Schema(description = "Description")
@@ -219,4 +226,209 @@ public class FlightDto {
         private Integer delayMinutes;
         private Boolean active;
     }
-}
\ No newline at end of file
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "Time-driven status transition that is too late to be applied automatically")
+    public static class OverdueTransition {
+        @Schema(description = "Flight ID", example = "1")
+        private Long flightId;
+
+        @Schema(description = "Current status", example = "IN_FLIGHT")
+        private FlightStatus fromStatus;
+
+        @Schema(description = "Status the flight should have reached", example = "ARRIVED")
+        private FlightStatus toStatus;
+
+        @Schema(description = "When the transition was due")
+        private LocalDateTime dueAt;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "Live booking counter of a flight")
+    public static class BookingCounter {
+        @Schema(description = "Flight ID", example = "1")
+        private Long flightId;
+
+        @Schema(description = "Passenger capacity", example = "180")
+        private Integer passengerCapacity;
+
+        @Schema(description = "Booked passengers including not yet flushed changes", example = "152")
+        private Integer bookedPassengers;
+
+        @Schema(description = "Seats held by open seat holds", example = "6")
+        private Integer heldSeats;
+
+        @Schema(description = "Available seats; null when capacity is unknown", example = "28")
+        private Integer availableSeats;
+
+        @Schema(description = "Load factor percentage", example = "84.4")
+        private Double loadFactor;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "Live flight status update pushed to stream subscribers")
+    public static class StatusUpdate {
+        private Long id;
+        private String flightNumber;
+        private String airlineCode;
+        private String departureStationCode;
+        private String arrivalStationCode;
+        private FlightStatus status;
+        private String gate;
+        private String terminal;
+        private Integer delayMinutes;
+        private LocalDateTime scheduledDepartureTime;
+        private LocalDateTime scheduledArrivalTime;
+        private LocalDateTime actualDepartureTime;
+        private LocalDateTime actualArrivalTime;
+        private Boolean active;
+
+        @Schema(description = "Change type", example = "DELAYED")
+        private String changeType;
+
+        private Long version;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "Status timeline of a flight")
+    public static class Timeline {
+        @Schema(description = "Flight ID", example = "1")
+        private Long flightId;
+
+        @Schema(description = "Status changes in the order they were committed")
+        private List<TimelineEntry> entries;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "Single status change of a flight")
+    public static class TimelineEntry {
+        @Schema(description = "Flight status after the change")
+        private FlightStatus status;
+
+        @Schema(description = "Change type", example = "DELAYED")
+        private String changeType;
+
+        @Schema(description = "Time of the change; actual time for departures and arrivals")
+        private LocalDateTime changedAt;
+
+        @Schema(description = "Scheduled departure time at the time of the change")
+        private LocalDateTime scheduledDepartureTime;
+
+        @Schema(description = "Delay in minutes")
+        private Integer delayMinutes;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "Cursor-paginated flight list")
+    public static class CursorPage {
+        @Schema(description = "Flights of this page ordered by scheduled departure time and id")
+        private List<ListResponse> items;
+
+        @Schema(description = "Cursor for the next page; null when this is the last page")
+        private String nextCursor;
+
+        @Schema(description = "Whether more flights follow this page")
+        private Boolean hasNext;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "Delay propagation change set")
+    public static class DelayPropagationResponse {
+        @Schema(description = "Originally delayed flight")
+        private Response delayedFlight;
+
+        @Schema(description = "Downstream flights of the same aircraft that received propagated delay")
+        private List<PropagatedDelay> propagatedFlights;
+
+        @Schema(description = "Delay minutes absorbed by turnaround slack before propagation stopped")
+        private Integer absorbedMinutes;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "Delay propagated to a downstream flight")
+    public static class PropagatedDelay {
+        private Long id;
+        private String flightNumber;
+        private Integer addedDelayMinutes;
+        private Integer totalDelayMinutes;
+        private LocalDateTime scheduledDepartureTime;
+        private LocalDateTime scheduledArrivalTime;
+        private Long version;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "Bulk operation target filter; either flightIds or a departure time window is required")
+    public static class BulkFilter {
+        // Üst sınır app.flight.bulk.max-flights varsayılanıyla aynıdır; servis ayrıca eşleşen uçuş sayısını sınırlar
+        @Schema(description = "Explicit flight IDs", example = "[1, 2, 3]")
+        @Size(max = 2000, message = "At most 2000 flight IDs are allowed")
+        private List<@NotNull Long> flightIds;
+
+        @Schema(description = "Expected versions by flight ID; rows whose version differs are reported as conflicts")
+        @Size(max = 2000, message = "At most 2000 expected versions are allowed")
+        private Map<@NotNull Long, @NotNull Long> expectedVersions;
+
+        @Schema(description = "Station matched against departure or arrival station", example = "IST")
+        @Size(min = 3, max = 4)
+        private String stationCode;
+
+        @Schema(description = "Airline code", example = "TK")
+        @Size(min = 2, max = 3)
+        private String airlineCode;
+
+        @Schema(description = "Scheduled departure window start")
+        private LocalDateTime startTime;
+
+        @Schema(description = "Scheduled departure window end")
+        private LocalDateTime endTime;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "Bulk operation result")
+    public static class BulkResult {
+        @Schema(description = "Number of flights matched by the filter", example = "120")
+        private Integer matchedCount;
+
+        @Schema(description = "Number of flights updated", example = "118")
+        private Integer updatedCount;
+
+        @Schema(description = "Updated flight IDs")
+        private List<Long> updatedIds;
+
+        @Schema(description = "Flight IDs skipped because of an optimistic-lock version mismatch")
+        private List<Long> conflictedIds;
+
+        @Schema(description = "Downstream flights that received propagated delay (bulk delay only)")
+        private List<PropagatedDelay> propagatedFlights;
+    }
+}
@@ -0,0 +1,79 @@
+package com.uys.flight.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Gate DTOs
+ */
+public class GateDto {
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "Gate occupancy of a flight")
+    public static class Occupancy {
+        @Schema(description = "Flight ID", example = "1")
+        private Long flightId;
+
+        @Schema(description = "Flight number", example = "TK123")
+        private String flightNumber;
+
+        @Schema(description = "On-block time")
+        private LocalDateTime onBlockTime;
+
+        @Schema(description = "Off-block time")
+        private LocalDateTime offBlockTime;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "Gate availability for a time window")
+    public static class AvailabilityResponse {
+        @Schema(description = "Station", example = "IST")
+        private String stationCode;
+
+        @Schema(description = "Terminal", example = "1")
+        private String terminal;
+
+        @Schema(description = "Gate", example = "A12")
+        private String gate;
+
+        @Schema(description = "Whether the gate is free for the whole window")
+        private Boolean free;
+
+        @Schema(description = "Flights occupying the gate within the window")
+        private List<Occupancy> conflicts;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "Free gates for a time window")
+    public static class FreeGatesResponse {
+        @Schema(description = "Station", example = "IST")
+        private String stationCode;
+
+        @Schema(description = "Terminal", example = "1")
+        private String terminal;
+
+        @Schema(description = "Window start")
+        private LocalDateTime startTime;
+
+        @Schema(description = "Window end")
+        private LocalDateTime endTime;
+
+        @Schema(description = "Candidate gates free for the whole window, in candidate order")
+        private List<String> freeGates;
+    }
+}
@@ -0,0 +1,57 @@
+package com.uys.flight.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Reference data DTOs - reference-manager Kafka event'leri ve liste cevapları
+ *
+ * Aynı sınıflar hem event payload'ını hem de snapshot liste elemanını okur; snapshot'ta
+ * eventType alanı boştur.
+ */
+public class ReferenceDataDto {
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Airline {
+        private String eventType;
+        private String airlineCode;
+        private String airlineName;
+        private Boolean active;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Aircraft {
+        private String eventType;
+        private String registration;
+        private String aircraftType;
+        private Integer capacity;
+        private String airlineCode;
+        private Boolean active;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Station {
+        private String eventType;
+        private String stationCode;
+        private String stationName;
+        private String timezone;
+        private Double latitude;
+        private Double longitude;
+        private Boolean active;
+    }
+}
@@ -0,0 +1,58 @@
+package com.uys.flight.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Seat Hold DTOs
+ */
+public class SeatHoldDto {
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "Seat hold request")
+    public static class HoldRequest {
+        @Schema(description = "Number of seats to hold", example = "2", required = true)
+        @NotNull(message = "Seats is required")
+        @Min(1)
+        private Integer seats;
+
+        @Schema(description = "Sales channel", example = "WEB")
+        private String channel;
+
+        @Schema(description = "Hold duration in minutes; defaults to the configured TTL", example = "15")
+        @Min(1)
+        private Integer ttlMinutes;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "Seat hold response")
+    public static class Response {
+        @Schema(description = "Hold ID", example = "1729339200000001")
+        private Long holdId;
+
+        @Schema(description = "Flight ID", example = "1")
+        private Long flightId;
+
+        @Schema(description = "Held seats", example = "2")
+        private Integer seats;
+
+        @Schema(description = "Sales channel", example = "WEB")
+        private String channel;
+
+        @Schema(description = "Expiry time of the hold")
+        private LocalDateTime expiresAt;
+    }
+}
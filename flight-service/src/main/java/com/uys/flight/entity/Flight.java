@@ -29,6 +29,7 @@ import java.util.List;
     @Index(name = "idx_departure_station", columnList = "departure_station_code"),
     @Index(name = "idx_arrival_station", columnList = "arrival_station_code"),
     @Index(name = "idx_scheduled_departure", columnList = "scheduled_departure_time"),
+    @Index(name = "idx_active_departure", columnList = "active, scheduled_departure_time, id"),
     @Index(name = "idx_status", columnList = "status"),
     @Index(name = "idx_flight_date", columnList = "flight_date")
 })
@@ -104,6 +105,18 @@ public class Flight {
     @Column(name = "scheduled_arrival_time", nullable = false)
     private LocalDateTime scheduledArrivalTime;
 
+    /**
+     * Original scheduled departure time - gecikmelerden etkilenmez, OTP bu zamana göre ölçülür
+     */
+    @Column(name = "original_scheduled_departure_time", nullable = false, updatable = false)
+    private LocalDateTime originalScheduledDepartureTime;
+
+    /**
+     * Original scheduled arrival time
+     */
+    @Column(name = "original_scheduled_arrival_time", nullable = false, updatable = false)
+    private LocalDateTime originalScheduledArrivalTime;
+
     /**
      * Actual departure time
      */
@@ -171,9 +184,10 @@ public class Flight {
     private Integer passengerCapacity;
 
     /**
-     * Booked passengers
+     * Booked passengers - entity güncellemeleri bu kolonu yazmaz; değişiklikler
+     * BookingCounterService üzerinden atomik SQL ile yapılır
      */
-    @Column(name = "booked_passengers")
+    @Column(name = "booked_passengers", updatable = false)
     private Integer bookedPassengers;
 
     /**
@@ -218,6 +232,19 @@ public class Flight {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
+    /**
+     * İlk kayıtta planlanan zamanlar orijinal plan olarak saklanır
+     */
+    @PrePersist
+    void captureOriginalSchedule() {
+        if (originalScheduledDepartureTime == null) {
+            originalScheduledDepartureTime = scheduledDepartureTime;
+        }
+        if (originalScheduledArrivalTime == null) {
+            originalScheduledArrivalTime = scheduledArrivalTime;
+        }
+    }
+
     // Helper methods
     
     /**
@@ -245,6 +272,13 @@ public class Flight {
      * Calculate load factor (passenger percentage)
      */
     public Double getLoadFactor() {
+        return loadFactor(bookedPassengers, passengerCapacity);
+    }
+
+    /**
+     * Calculate load factor for the given booked passengers and capacity
+     */
+    public static Double loadFactor(Integer bookedPassengers, Integer passengerCapacity) {
         if (passengerCapacity == null || passengerCapacity == 0 || bookedPassengers == null) {
             return null;
         }
@@ -275,10 +309,10 @@ public class Flight {
     }
 
     /**
-     * Delay flight
+     * Delay flight by additional minutes; delayMinutes is the total shift from the original schedule
      */
     public void delay(int minutes) {
-        this.delayMinutes = minutes;
+        this.delayMinutes = (delayMinutes != null ? delayMinutes : 0) + minutes;
         this.status = FlightStatus.DELAYED;
         this.scheduledDepartureTime = this.scheduledDepartureTime.plusMinutes(minutes);
         this.scheduledArrivalTime = this.scheduledArrivalTime.plusMinutes(minutes);
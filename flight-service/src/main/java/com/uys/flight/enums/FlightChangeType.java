@@ -0,0 +1,22 @@
+package com.uys.flight.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Flight Change Type Enum
+ */
+@Getter
+@RequiredArgsConstructor
+public enum FlightChangeType {
+    CREATED("Created", "Flight is created"),
+    UPDATED("Updated", "Flight fields are updated"),
+    STATUS_CHANGED("Status Changed", "Flight status is changed"),
+    DELAYED("Delayed", "Flight is delayed"),
+    CANCELLED("Cancelled", "Flight is cancelled"),
+    DELETED("Deleted", "Flight is deactivated"),
+    BOOKING_UPDATED("Booking Updated", "Booked passenger count is updated");
+
+    private final String displayName;
+    private final String description;
+}
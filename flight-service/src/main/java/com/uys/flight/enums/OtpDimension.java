@@ -0,0 +1,19 @@
+package com.uys.flight.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * On-time performance grouping dimension
+ */
+@Getter
+@RequiredArgsConstructor
+public enum OtpDimension {
+    AIRLINE("Airline", "Grouped by airline code"),
+    ROUTE("Route", "Grouped by departure-arrival station pair"),
+    STATION("Station", "Grouped by departure station"),
+    HOUR("Hour", "Grouped by hour of scheduled departure");
+
+    private final String displayName;
+    private final String description;
+}
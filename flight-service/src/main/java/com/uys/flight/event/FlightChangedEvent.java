@@ -0,0 +1,15 @@
+package com.uys.flight.event;
+
+import com.uys.flight.dto.FlightDto;
+import com.uys.flight.enums.FlightChangeType;
+
+/**
+ * Flight Changed Event - Uçuş yazma işlemlerinden sonra yayınlanan uygulama içi olay
+ *
+ * In-memory index'ler bu olayı transaction commit edildikten sonra dinler.
+ *
+ * @param flight     değişiklik sonrası uçuşun son hali
+ * @param changeType değişiklik tipi
+ */
+public record FlightChangedEvent(FlightDto.Response flight, FlightChangeType changeType) {
+}
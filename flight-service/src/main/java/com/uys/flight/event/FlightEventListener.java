@@ -0,0 +1,115 @@
+package com.uys.flight.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.uys.flight.dto.FlightDto;
+import com.uys.flight.enums.FlightChangeType;
+import com.uys.flight.enums.FlightStatus;
+import com.uys.flight.event.dto.FlightEventDto;
+import com.uys.flight.outbox.FlightOutboxWriter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Flight Event Listener - Diğer instance'ların uçuş değişikliklerini yerel olarak yayınlar
+ *
+ * Her instance tüm event'leri görmelidir; consumer group id instance başına rastgeledir ve
+ * sadece açılıştan sonraki event'ler okunur (önceki durum index'lerin açılış yüklemesinden
+ * gelir). Bu instance'ın outbox'a yazdığı event'ler zaten commit sonrası yerelde uygulandığı
+ * için atlanır. Uçuş başına son uygulanan version tutulur; geç gelen eski bir event daha yeni
+ * bir yerel değişikliği ezmez.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FlightEventListener {
+
+    private final FlightOutboxWriter flightOutboxWriter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.flight.replication.tracked-flights:100000}")
+    private int trackedFlights;
+
+    private final Map<Long, Long> versions = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+            return size() > trackedFlights;
+        }
+    };
+
+    @KafkaListener(topics = "${app.flight.outbox.topic:flight.events}",
+            groupId = "${spring.application.name}-replica-${random.uuid}",
+            properties = "auto.offset.reset=latest")
+    public void onFlightEvent(String message) {
+        try {
+            FlightEventDto event = objectMapper.readValue(message, FlightEventDto.class);
+            if (event.getFlightId() == null || flightOutboxWriter.getInstanceId().equals(event.getOriginInstanceId())) {
+                return;
+            }
+            if (!advance(event.getFlightId(), event.getFlightVersion())) {
+                log.debug("Skipping stale replicated event of flight {} (version {})",
+                        event.getFlightNumber(), event.getFlightVersion());
+                return;
+            }
+            eventPublisher.publishEvent(new FlightReplicatedEvent(toResponse(event),
+                    FlightChangeType.valueOf(event.getEventType())));
+        } catch (Exception e) {
+            log.error("Failed to apply flight event: {}", message, e);
+        }
+    }
+
+    /**
+     * Yerel commit'lerin version'larını kaydeder
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onFlightChanged(FlightChangedEvent event) {
+        advance(event.flight().getId(), event.flight().getVersion());
+    }
+
+    /**
+     * Version bilinenden yeni ise kaydeder; version'ı olmayan event'ler her zaman uygulanır
+     */
+    private synchronized boolean advance(Long flightId, Long version) {
+        if (flightId == null || version == null) {
+            return true;
+        }
+        Long seen = versions.get(flightId);
+        if (seen != null && seen >= version) {
+            return false;
+        }
+        versions.put(flightId, version);
+        return true;
+    }
+
+    private static FlightDto.Response toResponse(FlightEventDto event) {
+        return FlightDto.Response.builder()
+                .id(event.getFlightId())
+                .flightNumber(event.getFlightNumber())
+                .airlineCode(event.getAirlineCode())
+                .aircraftRegistration(event.getAircraftRegistration())
+                .departureStationCode(event.getDepartureStationCode())
+                .arrivalStationCode(event.getArrivalStationCode())
+                .scheduledDepartureTime(event.getScheduledDepartureTime())
+                .scheduledArrivalTime(event.getScheduledArrivalTime())
+                .originalScheduledDepartureTime(event.getOriginalScheduledDepartureTime())
+                .originalScheduledArrivalTime(event.getOriginalScheduledArrivalTime())
+                .actualDepartureTime(event.getActualDepartureTime())
+                .actualArrivalTime(event.getActualArrivalTime())
+                .status(event.getStatus() != null ? FlightStatus.valueOf(event.getStatus()) : null)
+                .gate(event.getGate())
+                .terminal(event.getTerminal())
+                .delayMinutes(event.getDelayMinutes())
+                .active(event.getActive())
+                .version(event.getFlightVersion())
+                .build();
+    }
+}
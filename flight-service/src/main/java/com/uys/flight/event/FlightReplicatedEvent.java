@@ -0,0 +1,20 @@
+package com.uys.flight.event;
+
+import com.uys.flight.dto.FlightDto;
+import com.uys.flight.enums.FlightChangeType;
+
+/**
+ * Flight Replicated Event - Başka bir instance'ta commit edilen uçuş değişikliği
+ *
+ * {@code flight.events} topic'inden okunur ve in-memory index'lere, canlı akışa ve OTP
+ * sayaçlarına uygulanır. Outbox'a yazılmaz ve geçmiş kaydı oluşturmaz.
+ *
+ * @param flight     değişiklik sonrası uçuşun son hali
+ * @param changeType değişiklik tipi
+ */
+public record FlightReplicatedEvent(FlightDto.Response flight, FlightChangeType changeType) {
+
+    public FlightChangedEvent toChangedEvent() {
+        return new FlightChangedEvent(flight, changeType);
+    }
+}
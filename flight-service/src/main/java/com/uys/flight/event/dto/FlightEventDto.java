@@ -0,0 +1,61 @@
+package com.uys.flight.event.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flight Event DTO - flight.events topic'ine yayınlanan uçuş değişikliği
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightEventDto {
+
+    private String eventId;
+    private String eventType; // CREATED, UPDATED, STATUS_CHANGED, DELAYED, CANCELLED, DELETED
+    private Long flightId;
+    private String flightNumber;
+    private String airlineCode;
+    private String aircraftRegistration;
+    private String departureStationCode;
+    private String arrivalStationCode;
+    private String status;
+    private Integer delayMinutes;
+    private String gate;
+    private String terminal;
+    private Boolean active;
+    private Long flightVersion;
+    private String originInstanceId;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime scheduledDepartureTime;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime scheduledArrivalTime;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime originalScheduledDepartureTime;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime originalScheduledArrivalTime;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime actualDepartureTime;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime actualArrivalTime;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime eventTimestamp;
+
+    @Builder.Default
+    private String sourceService = "flight-service";
+    @Builder.Default
+    private String version = "1.0";
+}
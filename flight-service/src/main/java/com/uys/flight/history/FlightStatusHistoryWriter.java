@@ -0,0 +1,93 @@
+package com.uys.flight.history;
+
+import com.uys.flight.dto.FlightDto;
+import com.uys.flight.enums.FlightChangeType;
+import com.uys.flight.enums.FlightStatus;
+import com.uys.flight.event.FlightChangedEvent;
+import com.uys.flight.index.FlightSlot;
+import com.uys.flight.repository.FlightStatusHistoryRepository;
+import com.uys.flight.repository.FlightStatusHistoryRepository.HistoryEntry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Flight Status History Writer - Durum değişikliklerini aynı transaction içinde geçmiş tablosuna ekler
+ *
+ * Kayıtlar transaction boyunca biriktirilir ve commit'ten hemen önce tek bir JDBC batch ile
+ * yazılır; durum güncellemesine eklenen gecikme tek bir batch insert'tür. Enum'lar ordinal olarak
+ * saklandığından {@link FlightStatus} ve {@link FlightChangeType}'a yeni değerler sona eklenmelidir.
+ */
+@Component
+@RequiredArgsConstructor
+public class FlightStatusHistoryWriter {
+
+    private final FlightStatusHistoryRepository flightStatusHistoryRepository;
+
+    @EventListener
+    public void onFlightChanged(FlightChangedEvent event) {
+        // Rezervasyon sayacı yazımları durumu değiştirmez
+        if (event.changeType() == FlightChangeType.DELETED || event.changeType() == FlightChangeType.BOOKING_UPDATED
+                || event.flight().getStatus() == null) {
+            return;
+        }
+        HistoryEntry entry = toEntry(event);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            flightStatusHistoryRepository.insertAll(List.of(entry));
+            return;
+        }
+        pendingEntries().add(entry);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<HistoryEntry> pendingEntries() {
+        List<HistoryEntry> pending = (List<HistoryEntry>) TransactionSynchronizationManager.getResource(this);
+        if (pending != null) {
+            return pending;
+        }
+        List<HistoryEntry> buffer = new ArrayList<>();
+        TransactionSynchronizationManager.bindResource(this, buffer);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                if (!buffer.isEmpty()) {
+                    flightStatusHistoryRepository.insertAll(buffer);
+                }
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(FlightStatusHistoryWriter.this);
+            }
+        });
+        return buffer;
+    }
+
+    private static HistoryEntry toEntry(FlightChangedEvent event) {
+        FlightDto.Response flight = event.flight();
+        long changedAt = FlightSlot.toEpoch(changedAt(flight));
+        long departure = flight.getScheduledDepartureTime() != null
+                ? FlightSlot.toEpoch(flight.getScheduledDepartureTime()) : changedAt;
+        return new HistoryEntry(flight.getId(), flight.getStatus().ordinal(), event.changeType().ordinal(),
+                changedAt, Math.toIntExact(departure - changedAt), flight.getDelayMinutes());
+    }
+
+    /**
+     * Kalkış/varış geçişlerinde gerçek zaman, diğerlerinde kayıt anı kullanılır
+     */
+    private static LocalDateTime changedAt(FlightDto.Response flight) {
+        if (flight.getStatus() == FlightStatus.DEPARTED && flight.getActualDepartureTime() != null) {
+            return flight.getActualDepartureTime();
+        }
+        if (flight.getStatus() == FlightStatus.ARRIVED && flight.getActualArrivalTime() != null) {
+            return flight.getActualArrivalTime();
+        }
+        return LocalDateTime.now();
+    }
+}
@@ -0,0 +1,9 @@
+package com.uys.flight.hold;
+
+/**
+ * Seat Hold - Süreli koltuk tutma kaydı
+ *
+ * @param expiresAt süre sonu (epoch millis)
+ */
+public record SeatHold(long holdId, long flightId, int seats, String channel, long expiresAt) {
+}
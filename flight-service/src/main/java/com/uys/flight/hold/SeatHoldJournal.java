@@ -0,0 +1,234 @@
+package com.uys.flight.hold;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Seat Hold Journal - Koltuk tutmaları için yalnızca ekleme yapılan dosya günlüğü
+ *
+ * Her satır tek bir olaydır: {@code H|holdId|flightId|seats|expiresAt|channel} tutma,
+ * {@code C|holdId} onay, {@code R|holdId} bırakma/süre dolumu. Yazmalar tamponlanır ve
+ * {@code journal-flush-ms} aralığıyla kendi flusher thread'inde diske zorlanır (group commit).
+ * Açılışta günlük baştan okunarak açık tutmalar geri yüklenir ve günlük yalnızca açık
+ * tutmalarla yeniden yazılır.
+ *
+ * Onay, kaydı fsync ile kalıcı olana kadar bekler. Tutma ve bırakma beklemez: crash anında son
+ * {@code journal-flush-ms} içindeki tutmalar kaybolabilir, bırakılan tutmalar ise süreleri
+ * dolana kadar geri gelebilir.
+ */
+@Component
+@Slf4j
+public class SeatHoldJournal {
+
+    private final Path path;
+    private final long flushMillis;
+    private final Thread flusher;
+    private FileChannel channel;
+    private Writer writer;
+    private long records;
+    // Eklenen ve fsync ile kalıcı olan son olay numaraları; sıkıştırmada sıfırlanmaz
+    private long appended;
+    private long durable;
+    private long failedUpTo;
+    private volatile boolean running = true;
+
+    public SeatHoldJournal(@Value("${app.flight.hold.journal-path:data/seat-holds.journal}") String path,
+                           @Value("${app.flight.hold.journal-flush-ms:100}") long flushMillis) {
+        this.path = Path.of(path);
+        this.flushMillis = flushMillis;
+        // Zamanlanmış görev thread'ini paylaşmaz; fsync gecikmesi diğer görevleri bekletmez
+        this.flusher = new Thread(this::runFlusher, "seat-hold-journal-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    public synchronized void hold(SeatHold hold) {
+        append(holdLine(hold));
+    }
+
+    /**
+     * Onayı ekler ve sonraki group commit ile diske yazılana kadar bekler
+     */
+    public synchronized void confirm(long holdId) {
+        awaitDurable(append("C|" + holdId));
+    }
+
+    public synchronized void release(long holdId) {
+        append("R|" + holdId);
+    }
+
+    /**
+     * Günlükte kayıtlı olay sayısı (son sıkıştırmadan beri)
+     */
+    public synchronized long records() {
+        return records;
+    }
+
+    /**
+     * Günlüğü okuyup onaylanmamış ve bırakılmamış tutmaları sırasıyla döner.
+     * Yarım yazılmış son satır (crash) atlanır.
+     */
+    public synchronized Collection<SeatHold> replay() {
+        Map<Long, SeatHold> open = new LinkedHashMap<>();
+        int skipped = 0;
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                try {
+                    String[] parts = line.split("\\|", -1);
+                    switch (parts[0]) {
+                        case "H" -> open.put(Long.parseLong(parts[1]), new SeatHold(Long.parseLong(parts[1]),
+                                Long.parseLong(parts[2]), Integer.parseInt(parts[3]), parts[5].isEmpty() ? null : parts[5],
+                                Long.parseLong(parts[4])));
+                        case "C", "R" -> open.remove(Long.parseLong(parts[1]));
+                        default -> skipped++;
+                    }
+                } catch (RuntimeException e) {
+                    skipped++;
+                }
+            }
+        } catch (NoSuchFileException e) {
+            return open.values();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read seat hold journal " + path, e);
+        }
+        if (skipped > 0) {
+            log.warn("Skipped {} malformed seat hold journal records", skipped);
+        }
+        return open.values();
+    }
+
+    /**
+     * Günlüğü verilen açık tutmalarla yeni bir dosyaya yazar ve atomik olarak değiştirir.
+     * Kilit tutulduğu için sıkıştırma sırasında gelen olaylar yeni dosyaya yazılır.
+     */
+    public synchronized void compact(Collection<SeatHold> openHolds) {
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            close();
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            try (BufferedWriter out = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+                for (SeatHold hold : openHolds) {
+                    out.write(holdLine(hold));
+                    out.newLine();
+                }
+            }
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            records = openHolds.size();
+            open();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot compact seat hold journal " + path, e);
+        }
+    }
+
+    /**
+     * Tamponu diske yazar; ardışık olaylar tek fsync ile kalıcı olur
+     */
+    public synchronized void flush() {
+        long upTo = appended;
+        try {
+            if (writer != null) {
+                writer.flush();
+                channel.force(false);
+            }
+            durable = upTo;
+        } catch (IOException e) {
+            failedUpTo = upTo;
+            log.error("Seat hold journal flush failed: {}", e.getMessage());
+        }
+        notifyAll();
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException {
+        running = false;
+        flusher.interrupt();
+        close();
+    }
+
+    private synchronized void close() throws IOException {
+        if (writer != null) {
+            flush();
+            writer.close();
+            writer = null;
+            channel = null;
+        }
+    }
+
+    private void runFlusher() {
+        while (running) {
+            try {
+                Thread.sleep(flushMillis);
+            } catch (InterruptedException e) {
+                return;
+            }
+            flush();
+        }
+    }
+
+    /**
+     * Verilen olay fsync ile kalıcı olana kadar bekler; wait kilidi bıraktığından diğer
+     * yazmalar aynı group commit'e katılabilir
+     */
+    private void awaitDurable(long seq) {
+        while (durable < seq) {
+            if (failedUpTo >= seq) {
+                throw new UncheckedIOException(new IOException("Seat hold journal fsync failed for " + path));
+            }
+            try {
+                wait(flushMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for seat hold journal", e);
+            }
+        }
+    }
+
+    private long append(String line) {
+        try {
+            if (writer == null) {
+                open();
+            }
+            writer.write(line);
+            writer.write('\n');
+            records++;
+            return ++appended;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot append to seat hold journal " + path, e);
+        }
+    }
+
+    private static String holdLine(SeatHold hold) {
+        return "H|" + hold.holdId() + '|' + hold.flightId() + '|' + hold.seats() + '|' + hold.expiresAt()
+                + '|' + (hold.channel() != null ? hold.channel().replace('|', '_') : "");
+    }
+
+    private void open() throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8), 64 * 1024);
+    }
+}
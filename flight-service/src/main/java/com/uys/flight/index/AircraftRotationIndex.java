@@ -0,0 +1,178 @@
+package com.uys.flight.index;
+
+import com.uys.flight.dto.FlightDto;
+import com.uys.flight.entity.Flight;
+import com.uys.flight.enums.FlightStatus;
+import com.uys.flight.event.FlightChangedEvent;
+import com.uys.flight.event.FlightReplicatedEvent;
+import com.uys.flight.repository.FlightRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Aircraft Rotation Index - Uçak tescili bazında uçuş aralıkları
+ *
+ * Her aircraftRegistration için [scheduledDepartureTime, scheduledArrivalTime) aralıklarını
+ * bir {@link IntervalTree} içinde tutar. Çakışma kontrolü ve günlük rotasyon sorguları
+ * veritabanına gitmeden O(log n) maliyetle yapılır.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AircraftRotationIndex {
+
+    private final FlightRepository flightRepository;
+
+    private final Map<String, IntervalTree<FlightSlot>> rotations = new HashMap<>();
+    private final Map<Long, FlightSlot> slotsById = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Value("${app.flight.rotation.history-days:2}")
+    private int historyDays;
+
+    /**
+     * Uygulama açılışında aktif uçuşlarla index'i doldurur
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void bootstrap() {
+        LocalDateTime since = LocalDateTime.now().minusDays(historyDays);
+        List<Flight> flights = flightRepository.findByActiveTrueAndScheduledArrivalTimeAfter(since);
+
+        int loaded = 0;
+        for (Flight flight : flights) {
+            if (isAssigned(flight.getActive(), flight.getStatus())) {
+                put(FlightSlot.of(flight));
+                loaded++;
+            }
+        }
+        log.info("Aircraft rotation index loaded with {} flights", loaded);
+    }
+
+    /**
+     * Commit edilen uçuş değişikliklerini index'e yansıtır
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onFlightChanged(FlightChangedEvent event) {
+        FlightDto.Response flight = event.flight();
+        if (isAssigned(flight.getActive(), flight.getStatus())) {
+            put(FlightSlot.of(flight));
+        } else {
+            remove(flight.getId());
+        }
+    }
+
+    /**
+     * Diğer instance'larda commit edilen değişiklikleri aynı şekilde uygular
+     */
+    @EventListener
+    public void onFlightReplicated(FlightReplicatedEvent event) {
+        onFlightChanged(event.toChangedEvent());
+    }
+
+    public void put(FlightSlot slot) {
+        lock.writeLock().lock();
+        try {
+            FlightSlot previous = slotsById.put(slot.flightId(), slot);
+            if (previous != null) {
+                detach(previous);
+            }
+            rotations.computeIfAbsent(slot.aircraftRegistration(), registration -> new IntervalTree<>())
+                    .insert(slot.startEpoch(), slot.endEpoch(), slot.flightId(), slot);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long flightId) {
+        lock.writeLock().lock();
+        try {
+            FlightSlot previous = slotsById.remove(flightId);
+            if (previous != null) {
+                detach(previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Verilen zaman aralığında aynı uçağa atanmış ilk çakışan uçuşu döner
+     *
+     * @param excludeFlightId kontrol dışı tutulacak uçuş (güncellenen uçuşun kendisi), null olabilir
+     */
+    public Optional<FlightSlot> findFirstConflict(String aircraftRegistration, LocalDateTime start,
+                                                  LocalDateTime end, Long excludeFlightId) {
+        lock.readLock().lock();
+        try {
+            IntervalTree<FlightSlot> tree = rotations.get(aircraftRegistration);
+            if (tree == null) {
+                return Optional.empty();
+            }
+            long exclude = excludeFlightId != null ? excludeFlightId : Long.MIN_VALUE;
+            return Optional.ofNullable(tree.firstOverlap(FlightSlot.toEpoch(start), FlightSlot.toEpoch(end), exclude));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Verilen zaman aralığında aynı uçağa atanmış tüm çakışan uçuşları sıralı döner
+     */
+    public List<FlightSlot> findConflicts(String aircraftRegistration, LocalDateTime start,
+                                          LocalDateTime end, Long excludeFlightId) {
+        return overlapping(aircraftRegistration, start, end).stream()
+                .filter(slot -> !slot.flightId().equals(excludeFlightId))
+                .toList();
+    }
+
+    /**
+     * Uçağın verilen gündeki rotasyonunu kalkış saatine göre sıralı döner.
+     * Gün sınırını aşan (önceki gün kalkıp bu gün inen) uçuşlar da dahildir.
+     */
+    public List<FlightSlot> getRotation(String aircraftRegistration, LocalDate date) {
+        return overlapping(aircraftRegistration, date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+    }
+
+    private List<FlightSlot> overlapping(String aircraftRegistration, LocalDateTime start, LocalDateTime end) {
+        lock.readLock().lock();
+        try {
+            IntervalTree<FlightSlot> tree = rotations.get(aircraftRegistration);
+            if (tree == null) {
+                return List.of();
+            }
+            return tree.overlapping(FlightSlot.toEpoch(start), FlightSlot.toEpoch(end));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void detach(FlightSlot slot) {
+        IntervalTree<FlightSlot> tree = rotations.get(slot.aircraftRegistration());
+        if (tree != null) {
+            tree.remove(slot.startEpoch(), slot.flightId());
+            if (tree.isEmpty()) {
+                rotations.remove(slot.aircraftRegistration());
+            }
+        }
+    }
+
+    private static boolean isAssigned(Boolean active, FlightStatus status) {
+        return Boolean.TRUE.equals(active) && status != FlightStatus.CANCELLED;
+    }
+}
@@ -0,0 +1,46 @@
+package com.uys.flight.index;
+
+import com.uys.flight.dto.FlightDto;
+import com.uys.flight.entity.Flight;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Flight Slot - Bir uçağın rotasyonundaki tek bir uçuşun hafif kopyası
+ */
+public record FlightSlot(Long flightId,
+                         String flightNumber,
+                         String aircraftRegistration,
+                         String departureStationCode,
+                         String arrivalStationCode,
+                         LocalDateTime scheduledDepartureTime,
+                         LocalDateTime scheduledArrivalTime) {
+
+    public static FlightSlot of(Flight flight) {
+        return new FlightSlot(flight.getId(), flight.getFlightNumber(), flight.getAircraftRegistration(),
+                flight.getDepartureStationCode(), flight.getArrivalStationCode(),
+                flight.getScheduledDepartureTime(), flight.getScheduledArrivalTime());
+    }
+
+    public static FlightSlot of(FlightDto.Response flight) {
+        return new FlightSlot(flight.getId(), flight.getFlightNumber(), flight.getAircraftRegistration(),
+                flight.getDepartureStationCode(), flight.getArrivalStationCode(),
+                flight.getScheduledDepartureTime(), flight.getScheduledArrivalTime());
+    }
+
+    public long startEpoch() {
+        return toEpoch(scheduledDepartureTime);
+    }
+
+    public long endEpoch() {
+        return toEpoch(scheduledArrivalTime);
+    }
+
+    /**
+     * Servis UTC ile çalıştığı için zamanlar UTC epoch saniyesine çevrilir
+     */
+    public static long toEpoch(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+}
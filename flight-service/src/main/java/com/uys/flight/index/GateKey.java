@@ -0,0 +1,17 @@
+package com.uys.flight.index;
+
+import java.util.Locale;
+
+/**
+ * Gate Key - (station, terminal, gate) üçlüsü; serbest metin alanlar normalize edilir
+ */
+public record GateKey(String stationCode, String terminal, String gate) {
+
+    public static GateKey of(String stationCode, String terminal, String gate) {
+        return new GateKey(normalize(stationCode), normalize(terminal), normalize(gate));
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toUpperCase(Locale.ROOT);
+    }
+}
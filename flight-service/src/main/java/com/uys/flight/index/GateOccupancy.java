@@ -0,0 +1,21 @@
+package com.uys.flight.index;
+
+import java.time.LocalDateTime;
+
+/**
+ * Gate Occupancy - Bir uçuşun kapıyı on-block ile off-block arasında işgal ettiği aralık
+ */
+public record GateOccupancy(Long flightId,
+                            String flightNumber,
+                            GateKey gate,
+                            LocalDateTime onBlockTime,
+                            LocalDateTime offBlockTime) {
+
+    public long startEpoch() {
+        return FlightSlot.toEpoch(onBlockTime);
+    }
+
+    public long endEpoch() {
+        return FlightSlot.toEpoch(offBlockTime);
+    }
+}
@@ -0,0 +1,197 @@
+package com.uys.flight.index;
+
+import com.uys.flight.dto.FlightDto;
+import com.uys.flight.entity.Flight;
+import com.uys.flight.enums.FlightStatus;
+import com.uys.flight.event.FlightChangedEvent;
+import com.uys.flight.event.FlightReplicatedEvent;
+import com.uys.flight.repository.FlightRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Gate Occupancy Index - (station, terminal, gate) bazında kapı işgal aralıkları
+ *
+ * Kalkış kapısı, planlanan kalkıştan {@code on-block-minutes} önce işgal edilmeye başlar
+ * ve kalkıştan {@code off-block-buffer-minutes} sonra boşalır. Her kapı için aralıklar bir
+ * {@link IntervalTree} içinde tutulur.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GateOccupancyIndex {
+
+    private final FlightRepository flightRepository;
+
+    private final Map<GateKey, IntervalTree<GateOccupancy>> gates = new HashMap<>();
+    private final Map<Long, GateOccupancy> occupancyByFlight = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Value("${app.flight.gate.on-block-minutes:60}")
+    private int onBlockMinutes;
+
+    @Value("${app.flight.gate.off-block-buffer-minutes:10}")
+    private int offBlockBufferMinutes;
+
+    @Value("${app.flight.rotation.history-days:2}")
+    private int historyDays;
+
+    /**
+     * Uygulama açılışında kapısı atanmış aktif uçuşlarla index'i doldurur
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void bootstrap() {
+        LocalDateTime since = LocalDateTime.now().minusDays(historyDays);
+        int loaded = 0;
+        for (Flight flight : flightRepository.findByActiveTrueAndScheduledArrivalTimeAfter(since)) {
+            if (occupiesGate(flight.getActive(), flight.getStatus(), flight.getGate())) {
+                put(toOccupancy(flight.getId(), flight.getFlightNumber(), flight.getDepartureStationCode(),
+                        flight.getTerminal(), flight.getGate(), flight.getScheduledDepartureTime()));
+                loaded++;
+            }
+        }
+        log.info("Gate occupancy index loaded with {} flights", loaded);
+    }
+
+    /**
+     * Commit edilen uçuş değişikliklerini index'e yansıtır
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onFlightChanged(FlightChangedEvent event) {
+        FlightDto.Response flight = event.flight();
+        if (!occupiesGate(flight.getActive(), flight.getStatus(), flight.getGate())) {
+            remove(flight.getId());
+            return;
+        }
+
+        GateOccupancy occupancy = toOccupancy(flight.getId(), flight.getFlightNumber(), flight.getDepartureStationCode(),
+                flight.getTerminal(), flight.getGate(), flight.getScheduledDepartureTime());
+        put(occupancy);
+
+        List<GateOccupancy> conflicts = findConflicts(occupancy.gate(), occupancy.onBlockTime(),
+                occupancy.offBlockTime(), occupancy.flightId());
+        if (!conflicts.isEmpty()) {
+            log.warn("Gate {} at {} is double-booked: flight {} overlaps {}", occupancy.gate().gate(),
+                    occupancy.gate().stationCode(), occupancy.flightNumber(),
+                    conflicts.stream().map(GateOccupancy::flightNumber).toList());
+        }
+    }
+
+    /**
+     * Diğer instance'larda commit edilen değişiklikleri aynı şekilde uygular
+     */
+    @EventListener
+    public void onFlightReplicated(FlightReplicatedEvent event) {
+        onFlightChanged(event.toChangedEvent());
+    }
+
+    public void put(GateOccupancy occupancy) {
+        lock.writeLock().lock();
+        try {
+            GateOccupancy previous = occupancyByFlight.put(occupancy.flightId(), occupancy);
+            if (previous != null) {
+                detach(previous);
+            }
+            gates.computeIfAbsent(occupancy.gate(), key -> new IntervalTree<>())
+                    .insert(occupancy.startEpoch(), occupancy.endEpoch(), occupancy.flightId(), occupancy);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long flightId) {
+        lock.writeLock().lock();
+        try {
+            GateOccupancy previous = occupancyByFlight.remove(flightId);
+            if (previous != null) {
+                detach(previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Kapıyı verilen aralıkta işgal eden uçuşları on-block sırasıyla döner
+     */
+    public List<GateOccupancy> findConflicts(GateKey gate, LocalDateTime from, LocalDateTime to, Long excludeFlightId) {
+        lock.readLock().lock();
+        try {
+            IntervalTree<GateOccupancy> tree = gates.get(gate);
+            if (tree == null) {
+                return List.of();
+            }
+            return tree.overlapping(FlightSlot.toEpoch(from), FlightSlot.toEpoch(to)).stream()
+                    .filter(occupancy -> !occupancy.flightId().equals(excludeFlightId))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isFree(GateKey gate, LocalDateTime from, LocalDateTime to) {
+        lock.readLock().lock();
+        try {
+            IntervalTree<GateOccupancy> tree = gates.get(gate);
+            return tree == null || tree.firstOverlap(FlightSlot.toEpoch(from), FlightSlot.toEpoch(to), Long.MIN_VALUE) == null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Station/terminal için index'te bilinen kapıları döner
+     */
+    public List<String> knownGates(String stationCode, String terminal) {
+        GateKey probe = GateKey.of(stationCode, terminal, null);
+        lock.readLock().lock();
+        try {
+            return gates.keySet().stream()
+                    .filter(key -> key.stationCode().equals(probe.stationCode()) && key.terminal().equals(probe.terminal()))
+                    .map(GateKey::gate)
+                    .sorted()
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private GateOccupancy toOccupancy(Long flightId, String flightNumber, String stationCode, String terminal,
+                                      String gate, LocalDateTime scheduledDepartureTime) {
+        return new GateOccupancy(flightId, flightNumber, GateKey.of(stationCode, terminal, gate),
+                scheduledDepartureTime.minusMinutes(onBlockMinutes),
+                scheduledDepartureTime.plusMinutes(offBlockBufferMinutes));
+    }
+
+    private void detach(GateOccupancy occupancy) {
+        IntervalTree<GateOccupancy> tree = gates.get(occupancy.gate());
+        if (tree != null) {
+            tree.remove(occupancy.startEpoch(), occupancy.flightId());
+            if (tree.isEmpty()) {
+                gates.remove(occupancy.gate());
+            }
+        }
+    }
+
+    private static boolean occupiesGate(Boolean active, FlightStatus status, String gate) {
+        return Boolean.TRUE.equals(active) && gate != null && !gate.isBlank()
+                && status != FlightStatus.CANCELLED
+                && status != FlightStatus.DEPARTED
+                && status != FlightStatus.IN_FLIGHT
+                && status != FlightStatus.ARRIVED;
+    }
+}
@@ -0,0 +1,226 @@
+package com.uys.flight.index;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Interval Tree - AVL ağacı üzerinde max-end ile zenginleştirilmiş aralık ağacı
+ *
+ * Aralıklar yarı açıktır: [start, end). Düğümler (start, id) ikilisine göre sıralanır,
+ * böylece aynı başlangıç zamanına sahip farklı kayıtlar birlikte tutulabilir.
+ * Ekleme, silme ve çakışma kontrolü O(log n), çakışan k kaydın listelenmesi O(log n + k).
+ *
+ * Sınıf thread-safe değildir; senkronizasyon çağıran tarafın sorumluluğundadır.
+ *
+ * @param <V> aralığa bağlı değer tipi
+ */
+public class IntervalTree<V> {
+
+    private Node<V> root;
+    private int size;
+
+    /**
+     * Aralık ekler. Aynı (start, id) ikilisi varsa değeri ve bitişi günceller.
+     */
+    public void insert(long start, long end, long id, V value) {
+        root = insert(root, start, end, id, value);
+    }
+
+    /**
+     * (start, id) ile tanımlı aralığı siler.
+     *
+     * @return kayıt bulunup silindiyse true
+     */
+    public boolean remove(long start, long id) {
+        int before = size;
+        root = remove(root, start, id);
+        return size < before;
+    }
+
+    /**
+     * [from, to) ile çakışan tüm değerleri başlangıç zamanına göre sıralı döner.
+     */
+    public List<V> overlapping(long from, long to) {
+        List<V> result = new ArrayList<>();
+        collect(root, from, to, result::add);
+        return result;
+    }
+
+    /**
+     * [from, to) ile çakışan ve id'si excludeId olmayan ilk değeri döner; yoksa null.
+     */
+    public V firstOverlap(long from, long to, long excludeId) {
+        return firstOverlap(root, from, to, excludeId);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private V firstOverlap(Node<V> node, long from, long to, long excludeId) {
+        if (node == null || node.maxEnd <= from) {
+            return null;
+        }
+        V found = firstOverlap(node.left, from, to, excludeId);
+        if (found != null) {
+            return found;
+        }
+        if (node.start >= to) {
+            return null;
+        }
+        if (node.end > from && node.id != excludeId) {
+            return node.value;
+        }
+        return firstOverlap(node.right, from, to, excludeId);
+    }
+
+    private void collect(Node<V> node, long from, long to, Consumer<V> sink) {
+        if (node == null || node.maxEnd <= from) {
+            return;
+        }
+        collect(node.left, from, to, sink);
+        if (node.start >= to) {
+            return;
+        }
+        if (node.end > from) {
+            sink.accept(node.value);
+        }
+        collect(node.right, from, to, sink);
+    }
+
+    private Node<V> insert(Node<V> node, long start, long end, long id, V value) {
+        if (node == null) {
+            size++;
+            return new Node<>(start, end, id, value);
+        }
+        int cmp = compare(start, id, node.start, node.id);
+        if (cmp < 0) {
+            node.left = insert(node.left, start, end, id, value);
+        } else if (cmp > 0) {
+            node.right = insert(node.right, start, end, id, value);
+        } else {
+            node.end = end;
+            node.value = value;
+        }
+        return rebalance(node);
+    }
+
+    private Node<V> remove(Node<V> node, long start, long id) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(start, id, node.start, node.id);
+        if (cmp < 0) {
+            node.left = remove(node.left, start, id);
+        } else if (cmp > 0) {
+            node.right = remove(node.right, start, id);
+        } else {
+            size--;
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            Node<V> successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            node.right = removeMin(node.right);
+            successor.right = node.right;
+            successor.left = node.left;
+            return rebalance(successor);
+        }
+        return rebalance(node);
+    }
+
+    private Node<V> removeMin(Node<V> node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = removeMin(node.left);
+        return rebalance(node);
+    }
+
+    private Node<V> rebalance(Node<V> node) {
+        update(node);
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private Node<V> rotateRight(Node<V> node) {
+        Node<V> pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private Node<V> rotateLeft(Node<V> node) {
+        Node<V> pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private void update(Node<V> node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        long maxEnd = node.end;
+        if (node.left != null) {
+            maxEnd = Math.max(maxEnd, node.left.maxEnd);
+        }
+        if (node.right != null) {
+            maxEnd = Math.max(maxEnd, node.right.maxEnd);
+        }
+        node.maxEnd = maxEnd;
+    }
+
+    private static int height(Node<?> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static int compare(long startA, long idA, long startB, long idB) {
+        int cmp = Long.compare(startA, startB);
+        return cmp != 0 ? cmp : Long.compare(idA, idB);
+    }
+
+    private static final class Node<V> {
+        private final long start;
+        private final long id;
+        private long end;
+        private long maxEnd;
+        private int height;
+        private V value;
+        private Node<V> left;
+        private Node<V> right;
+
+        private Node(long start, long end, long id, V value) {
+            this.start = start;
+            this.end = end;
+            this.id = id;
+            this.value = value;
+            this.maxEnd = end;
+            this.height = 1;
+        }
+    }
+}
@@ -43,5 +43,6 @@ public interface FlightMapper {
     @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "version", ignore = true)
     @Mapping(target = "flightLegs", ignore = true)
+    @Mapping(target = "bookedPassengers", ignore = true)
     void updateEntityFromUpdateRequest(FlightDto.UpdateRequest updateRequest, @MappingTarget Flight flight);
 }
\ No newline at end of file
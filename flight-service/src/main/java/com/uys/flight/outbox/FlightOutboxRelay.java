@@ -0,0 +1,133 @@
+package com.uys.flight.outbox;
+
+import com.uys.flight.repository.FlightOutboxRepository;
+import com.uys.flight.repository.FlightOutboxRepository.OutboxRecord;
+import com.uys.flight.repository.FlightOutboxRepository.OutboxStats;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Flight Outbox Relay - Outbox kayıtlarını toplu olarak flight.events topic'ine aktarır
+ *
+ * Her turda en eski kayıtlar kilitlenir, uçuş numarası anahtarıyla gönderilir ve tüm
+ * gönderimler onaylandıktan sonra aynı transaction içinde silinir. Gönderim başarısız olursa
+ * transaction geri alınır ve kayıtlar sonraki turda tekrar denenir (at-least-once). Kayıtlar
+ * başka bir instance tarafından kilitliyse o tur atlanır.
+ */
+@Component
+@Slf4j
+public class FlightOutboxRelay {
+
+    private final FlightOutboxRepository flightOutboxRepository;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Counter publishedCounter;
+    private final Counter failureCounter;
+    private final Timer batchTimer;
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong lagSeconds = new AtomicLong();
+
+    @Value("${app.flight.outbox.topic:flight.events}")
+    private String topic;
+
+    @Value("${app.flight.outbox.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.flight.outbox.send-timeout-ms:10000}")
+    private long sendTimeoutMillis;
+
+    public FlightOutboxRelay(FlightOutboxRepository flightOutboxRepository,
+                             KafkaTemplate<String, String> kafkaTemplate,
+                             TransactionTemplate transactionTemplate,
+                             MeterRegistry meterRegistry) {
+        this.flightOutboxRepository = flightOutboxRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.publishedCounter = meterRegistry.counter("flight.outbox.published");
+        this.failureCounter = meterRegistry.counter("flight.outbox.failures");
+        this.batchTimer = meterRegistry.timer("flight.outbox.batch");
+        Gauge.builder("flight.outbox.pending", pending, AtomicLong::get)
+                .description("Outbox records waiting to be published")
+                .register(meterRegistry);
+        Gauge.builder("flight.outbox.lag.seconds", lagSeconds, AtomicLong::get)
+                .description("Age of the oldest unpublished outbox record")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.flight.outbox.poll-interval-ms:500}")
+    public void relay() {
+        try {
+            Integer sent;
+            do {
+                sent = transactionTemplate.execute(status -> relayBatch());
+            } while (sent != null && sent == batchSize);
+        } catch (PessimisticLockingFailureException e) {
+            log.debug("Flight outbox is being drained by another instance");
+        } catch (Exception e) {
+            failureCounter.increment();
+            log.warn("Flight outbox relay failed, will retry: {}", e.getMessage());
+        } finally {
+            refreshLag();
+        }
+    }
+
+    private int relayBatch() {
+        List<OutboxRecord> batch = flightOutboxRepository.lockBatch(batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        Timer.Sample sample = Timer.start();
+
+        CompletableFuture<?>[] sends = batch.stream()
+                .map(record -> kafkaTemplate.send(topic, record.flightNumber(), record.payload()))
+                .toArray(CompletableFuture[]::new);
+        awaitAll(sends);
+
+        flightOutboxRepository.deleteAll(batch.stream().map(OutboxRecord::id).toList());
+        publishedCounter.increment(batch.size());
+        sample.stop(batchTimer);
+        log.debug("Relayed {} flight events to {}", batch.size(), topic);
+        return batch.size();
+    }
+
+    private void awaitAll(CompletableFuture<?>[] sends) {
+        try {
+            CompletableFuture.allOf(sends).get(sendTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while publishing flight events", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("Failed to publish flight events", e);
+        }
+    }
+
+    private void refreshLag() {
+        try {
+            OutboxStats stats = flightOutboxRepository.stats();
+            pending.set(stats.pending());
+            lagSeconds.set(stats.oldest() != null
+                    ? Math.max(0, Duration.between(stats.oldest(), LocalDateTime.now()).getSeconds()) : 0);
+        } catch (Exception e) {
+            log.debug("Could not refresh flight outbox lag: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.uys.flight.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.uys.flight.dto.FlightDto;
+import com.uys.flight.event.FlightChangedEvent;
+import com.uys.flight.event.dto.FlightEventDto;
+import com.uys.flight.repository.FlightOutboxRepository;
+import com.uys.flight.repository.FlightOutboxRepository.OutboxEntry;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Flight Outbox Writer - Uçuş değişikliklerini aynı transaction içinde outbox tablosuna yazar
+ *
+ * Event'ler transaction boyunca biriktirilir ve commit'ten hemen önce tek bir JDBC batch ile
+ * eklenir. Transaction geri alınırsa outbox kayıtları da geri alınır; commit edilen her
+ * değişikliğin kaydı garanti altındadır. Kafka'ya gönderim {@link FlightOutboxRelay}'in işidir.
+ * Event'ler yazan instance'ın id'sini taşır; instance kendi event'lerini topic'ten tekrar uygulamaz.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FlightOutboxWriter {
+
+    private final FlightOutboxRepository flightOutboxRepository;
+    private final ObjectMapper objectMapper;
+
+    @Getter
+    private final String instanceId = UUID.randomUUID().toString();
+
+    @EventListener
+    public void onFlightChanged(FlightChangedEvent event) {
+        OutboxEntry entry = toEntry(event);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            flightOutboxRepository.insertAll(List.of(entry));
+            return;
+        }
+        pendingEntries().add(entry);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<OutboxEntry> pendingEntries() {
+        List<OutboxEntry> pending = (List<OutboxEntry>) TransactionSynchronizationManager.getResource(this);
+        if (pending != null) {
+            return pending;
+        }
+        List<OutboxEntry> buffer = new ArrayList<>();
+        TransactionSynchronizationManager.bindResource(this, buffer);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                if (!buffer.isEmpty()) {
+                    flightOutboxRepository.insertAll(buffer);
+                }
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(FlightOutboxWriter.this);
+            }
+        });
+        return buffer;
+    }
+
+    private OutboxEntry toEntry(FlightChangedEvent event) {
+        FlightDto.Response flight = event.flight();
+        FlightEventDto eventDto = FlightEventDto.builder()
+                .eventId(UUID.randomUUID().toString())
+                .eventType(event.changeType().name())
+                .flightId(flight.getId())
+                .flightNumber(flight.getFlightNumber())
+                .airlineCode(flight.getAirlineCode())
+                .aircraftRegistration(flight.getAircraftRegistration())
+                .departureStationCode(flight.getDepartureStationCode())
+                .arrivalStationCode(flight.getArrivalStationCode())
+                .status(flight.getStatus() != null ? flight.getStatus().name() : null)
+                .delayMinutes(flight.getDelayMinutes())
+                .gate(flight.getGate())
+                .terminal(flight.getTerminal())
+                .active(flight.getActive())
+                .flightVersion(flight.getVersion())
+                .originInstanceId(instanceId)
+                .scheduledDepartureTime(flight.getScheduledDepartureTime())
+                .scheduledArrivalTime(flight.getScheduledArrivalTime())
+                .originalScheduledDepartureTime(flight.getOriginalScheduledDepartureTime())
+                .originalScheduledArrivalTime(flight.getOriginalScheduledArrivalTime())
+                .actualDepartureTime(flight.getActualDepartureTime())
+                .actualArrivalTime(flight.getActualArrivalTime())
+                .eventTimestamp(LocalDateTime.now())
+                .build();
+        try {
+            return new OutboxEntry(flight.getId(), flight.getFlightNumber(), event.changeType().name(),
+                    objectMapper.writeValueAsString(eventDto), eventDto.getEventTimestamp());
+        } catch (JsonProcessingException e) {
+            // Kayıt yazılamıyorsa değişiklik de commit edilmemeli
+            throw new IllegalStateException("Failed to serialize flight event for flight: " + flight.getFlightNumber(), e);
+        }
+    }
+}
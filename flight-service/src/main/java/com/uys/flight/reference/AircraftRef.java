@@ -0,0 +1,7 @@
+package com.uys.flight.reference;
+
+/**
+ * Replica'daki uçak kaydı
+ */
+public record AircraftRef(String registration, String airlineCode, String aircraftType, Integer capacity) {
+}
@@ -0,0 +1,7 @@
+package com.uys.flight.reference;
+
+/**
+ * Replica'daki havayolu kaydı
+ */
+public record AirlineRef(String airlineCode, String airlineName) {
+}
@@ -0,0 +1,69 @@
+package com.uys.flight.reference;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reference Code Map - Paketlenmiş kod anahtarlı map
+ *
+ * Kodların neredeyse tamamı {@link ReferenceCodes#pack} ile long'a sığar ve
+ * {@link LongObjectHashMap} içinde tutulur; sığmayan nadir kodlar için String anahtarlı
+ * yedek map kullanılır.
+ *
+ * @param <V> değer tipi
+ */
+public class ReferenceCodeMap<V> {
+
+    private final LongObjectHashMap<V> packed;
+    private final Map<String, V> overflow;
+
+    public ReferenceCodeMap(int expectedSize) {
+        this.packed = new LongObjectHashMap<>(expectedSize);
+        this.overflow = new HashMap<>();
+    }
+
+    private ReferenceCodeMap(ReferenceCodeMap<V> source) {
+        this.packed = source.packed.copy();
+        this.overflow = new HashMap<>(source.overflow);
+    }
+
+    public ReferenceCodeMap<V> copy() {
+        return new ReferenceCodeMap<>(this);
+    }
+
+    public V get(String code) {
+        long key = ReferenceCodes.pack(code);
+        return key != ReferenceCodes.NOT_PACKABLE ? packed.get(key) : code == null ? null : overflow.get(normalize(code));
+    }
+
+    public void put(String code, V value) {
+        long key = ReferenceCodes.pack(code);
+        if (key != ReferenceCodes.NOT_PACKABLE) {
+            packed.put(key, value);
+        } else if (code != null) {
+            overflow.put(normalize(code), value);
+        }
+    }
+
+    public void remove(String code) {
+        long key = ReferenceCodes.pack(code);
+        if (key != ReferenceCodes.NOT_PACKABLE) {
+            packed.remove(key);
+        } else if (code != null) {
+            overflow.remove(normalize(code));
+        }
+    }
+
+    public boolean contains(String code) {
+        return get(code) != null;
+    }
+
+    public int size() {
+        return packed.size() + overflow.size();
+    }
+
+    private static String normalize(String code) {
+        return code.toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,50 @@
+package com.uys.flight.reference;
+
+/**
+ * Reference Codes - IATA/ICAO kodlarını ve tescilleri tek bir long değerine paketler
+ *
+ * Alfabe 0-9, A-Z ve '-' karakterlerinden oluşur (büyük/küçük harf duyarsız). Her karakter
+ * 38 tabanında bir basamaktır; 0 boşluk için ayrıldığından paketlenmiş değer hiçbir zaman 0
+ * olmaz ve 12 karaktere kadar kodlar çakışmasız tek bir long'a sığar.
+ */
+public final class ReferenceCodes {
+
+    /**
+     * Paketlenemeyen kod (boş, çok uzun ya da alfabe dışı karakter içeren)
+     */
+    public static final long NOT_PACKABLE = -1L;
+
+    private static final int BASE = 38;
+    private static final int MAX_LENGTH = 12;
+
+    private ReferenceCodes() {
+    }
+
+    public static long pack(String code) {
+        if (code == null || code.isEmpty() || code.length() > MAX_LENGTH) {
+            return NOT_PACKABLE;
+        }
+        long packed = 0;
+        for (int i = 0; i < code.length(); i++) {
+            int digit = digit(code.charAt(i));
+            if (digit < 0) {
+                return NOT_PACKABLE;
+            }
+            packed = packed * BASE + digit;
+        }
+        return packed;
+    }
+
+    private static int digit(char c) {
+        if (c >= '0' && c <= '9') {
+            return 1 + (c - '0');
+        }
+        if (c >= 'A' && c <= 'Z') {
+            return 11 + (c - 'A');
+        }
+        if (c >= 'a' && c <= 'z') {
+            return 11 + (c - 'a');
+        }
+        return c == '-' ? 37 : -1;
+    }
+}
@@ -0,0 +1,51 @@
+package com.uys.flight.reference;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.uys.flight.dto.ReferenceDataDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Consumer;
+
+/**
+ * Reference Data Event Listener - reference-manager event'lerini replica'ya uygular
+ *
+ * Her instance tüm event'leri görmelidir; bu yüzden consumer group id instance başına
+ * rastgeledir ve sadece açılıştan sonraki event'ler okunur (geçmiş durum snapshot'tan gelir).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReferenceDataEventListener {
+
+    private final ReferenceDataReplica referenceDataReplica;
+    private final ObjectMapper objectMapper;
+
+    @KafkaListener(topics = "airline-events", groupId = "${spring.application.name}-reference-${random.uuid}",
+            properties = "auto.offset.reset=latest")
+    public void onAirlineEvent(String message) {
+        apply(message, ReferenceDataDto.Airline.class, referenceDataReplica::applyAirline);
+    }
+
+    @KafkaListener(topics = "aircraft-events", groupId = "${spring.application.name}-reference-${random.uuid}",
+            properties = "auto.offset.reset=latest")
+    public void onAircraftEvent(String message) {
+        apply(message, ReferenceDataDto.Aircraft.class, referenceDataReplica::applyAircraft);
+    }
+
+    @KafkaListener(topics = "station-events", groupId = "${spring.application.name}-reference-${random.uuid}",
+            properties = "auto.offset.reset=latest")
+    public void onStationEvent(String message) {
+        apply(message, ReferenceDataDto.Station.class, referenceDataReplica::applyStation);
+    }
+
+    private <T> void apply(String message, Class<T> type, Consumer<T> handler) {
+        try {
+            handler.accept(objectMapper.readValue(message, type));
+        } catch (Exception e) {
+            log.error("Failed to apply reference data event: {}", message, e);
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.uys.flight.reference;
+
+import com.uys.flight.dto.ReferenceDataDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Reference Data Replica - Havayolu, uçak ve istasyonların process içi kopyası
+ *
+ * reference-manager Kafka event'leri ile güncel tutulur ve açılışta tam bir snapshot ile
+ * doldurulur. Map'ler copy-on-write olarak değiştirilir; okumalar kilitsizdir. Snapshot
+ * yüklenirken gelen event'ler snapshot'tan daha yeni kabul edilir ve ezilmez.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReferenceDataReplica {
+
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private final ReferenceManagerClient referenceManagerClient;
+
+    private volatile ReferenceCodeMap<AirlineRef> airlines = new ReferenceCodeMap<>(16);
+    private volatile ReferenceCodeMap<AircraftRef> aircraft = new ReferenceCodeMap<>(16);
+    private volatile ReferenceCodeMap<StationRef> stations = new ReferenceCodeMap<>(16);
+    private volatile boolean ready;
+
+    /**
+     * Snapshot tamamlanana kadar event ile yazılan anahtarlar; guarded by this
+     */
+    private final Set<String> touchedBeforeSnapshot = new HashSet<>();
+
+    @Value("${app.flight.reference.bootstrap-attempts:5}")
+    private int bootstrapAttempts;
+
+    @Value("${app.flight.reference.bootstrap-backoff-ms:5000}")
+    private long bootstrapBackoffMillis;
+
+    /**
+     * Açılışta reference-manager'dan tam snapshot alır; hata durumunda artan bekleme ile tekrar dener
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrap() {
+        for (int attempt = 1; attempt <= bootstrapAttempts; attempt++) {
+            try {
+                loadSnapshot(referenceManagerClient.getActiveAirlines(),
+                        referenceManagerClient.getActiveAircraft(),
+                        referenceManagerClient.getActiveStations());
+                return;
+            } catch (Exception e) {
+                log.warn("Reference data snapshot attempt {}/{} failed: {}", attempt, bootstrapAttempts, e.getMessage());
+                if (attempt < bootstrapAttempts && !sleep(bootstrapBackoffMillis * attempt)) {
+                    return;
+                }
+            }
+        }
+        log.error("Reference data replica could not be bootstrapped; reference validation stays disabled");
+    }
+
+    synchronized void loadSnapshot(List<ReferenceDataDto.Airline> airlineSnapshot,
+                                   List<ReferenceDataDto.Aircraft> aircraftSnapshot,
+                                   List<ReferenceDataDto.Station> stationSnapshot) {
+        ReferenceCodeMap<AirlineRef> nextAirlines = airlines.copy();
+        for (ReferenceDataDto.Airline airline : airlineSnapshot) {
+            if (!touchedBeforeSnapshot.contains("airline:" + airline.getAirlineCode()) && isActive(airline.getActive())) {
+                nextAirlines.put(airline.getAirlineCode(), toRef(airline));
+            }
+        }
+        ReferenceCodeMap<AircraftRef> nextAircraft = aircraft.copy();
+        for (ReferenceDataDto.Aircraft entry : aircraftSnapshot) {
+            if (!touchedBeforeSnapshot.contains("aircraft:" + entry.getRegistration()) && isActive(entry.getActive())) {
+                nextAircraft.put(entry.getRegistration(), toRef(entry));
+            }
+        }
+        ReferenceCodeMap<StationRef> nextStations = stations.copy();
+        for (ReferenceDataDto.Station station : stationSnapshot) {
+            if (!touchedBeforeSnapshot.contains("station:" + station.getStationCode()) && isActive(station.getActive())) {
+                nextStations.put(station.getStationCode(), toRef(station));
+            }
+        }
+
+        airlines = nextAirlines;
+        aircraft = nextAircraft;
+        stations = nextStations;
+        touchedBeforeSnapshot.clear();
+        ready = true;
+        log.info("Reference data replica loaded: {} airlines, {} aircraft, {} stations",
+                nextAirlines.size(), nextAircraft.size(), nextStations.size());
+    }
+
+    public synchronized void applyAirline(ReferenceDataDto.Airline event) {
+        ReferenceCodeMap<AirlineRef> next = airlines.copy();
+        if (isRemoval(event.getEventType(), event.getActive())) {
+            next.remove(event.getAirlineCode());
+        } else {
+            next.put(event.getAirlineCode(), toRef(event));
+        }
+        airlines = next;
+        touch("airline:" + event.getAirlineCode());
+    }
+
+    public synchronized void applyAircraft(ReferenceDataDto.Aircraft event) {
+        ReferenceCodeMap<AircraftRef> next = aircraft.copy();
+        if (isRemoval(event.getEventType(), event.getActive())) {
+            next.remove(event.getRegistration());
+        } else {
+            next.put(event.getRegistration(), toRef(event));
+        }
+        aircraft = next;
+        touch("aircraft:" + event.getRegistration());
+    }
+
+    public synchronized void applyStation(ReferenceDataDto.Station event) {
+        ReferenceCodeMap<StationRef> next = stations.copy();
+        if (isRemoval(event.getEventType(), event.getActive())) {
+            next.remove(event.getStationCode());
+        } else {
+            next.put(event.getStationCode(), toRef(event));
+        }
+        stations = next;
+        touch("station:" + event.getStationCode());
+    }
+
+    /**
+     * Snapshot yüklendiyse true; yüklenmeden önce doğrulama yapılmamalıdır
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    public boolean isKnownAirline(String airlineCode) {
+        return airlines.contains(airlineCode);
+    }
+
+    public Optional<AircraftRef> findAircraft(String registration) {
+        return Optional.ofNullable(aircraft.get(registration));
+    }
+
+    public Optional<StationRef> findStation(String stationCode) {
+        return Optional.ofNullable(stations.get(stationCode));
+    }
+
+    /**
+     * İki istasyon arasındaki büyük daire (haversine) mesafesi, km
+     */
+    public Optional<Integer> distanceKm(String fromStationCode, String toStationCode) {
+        StationRef from = stations.get(fromStationCode);
+        StationRef to = stations.get(toStationCode);
+        if (from == null || to == null || !from.hasCoordinates() || !to.hasCoordinates()) {
+            return Optional.empty();
+        }
+        double lat1 = Math.toRadians(from.latitude());
+        double lat2 = Math.toRadians(to.latitude());
+        double dLat = lat2 - lat1;
+        double dLon = Math.toRadians(to.longitude() - from.longitude());
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(lat1) * Math.cos(lat2) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return Optional.of((int) Math.round(2 * EARTH_RADIUS_KM * Math.asin(Math.sqrt(a))));
+    }
+
+    private void touch(String key) {
+        if (!ready) {
+            touchedBeforeSnapshot.add(key);
+        }
+    }
+
+    private static AirlineRef toRef(ReferenceDataDto.Airline airline) {
+        return new AirlineRef(airline.getAirlineCode(), airline.getAirlineName());
+    }
+
+    private static AircraftRef toRef(ReferenceDataDto.Aircraft entry) {
+        return new AircraftRef(entry.getRegistration(), entry.getAirlineCode(), entry.getAircraftType(), entry.getCapacity());
+    }
+
+    private static StationRef toRef(ReferenceDataDto.Station station) {
+        return new StationRef(station.getStationCode(), station.getStationName(), station.getTimezone(),
+                station.getLatitude() != null ? station.getLatitude() : Double.NaN,
+                station.getLongitude() != null ? station.getLongitude() : Double.NaN);
+    }
+
+    private static boolean isActive(Boolean active) {
+        return !Boolean.FALSE.equals(active);
+    }
+
+    private static boolean isRemoval(String eventType, Boolean active) {
+        return "DELETED".equals(eventType) || !isActive(active);
+    }
+
+    private static boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.uys.flight.reference;
+
+import com.uys.flight.dto.ReferenceDataDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.util.List;
+
+/**
+ * Reference Manager Client - Replica'nın açılış snapshot'ı için reference-manager liste API'leri
+ */
+@Component
+public class ReferenceManagerClient {
+
+    private final RestClient restClient;
+
+    public ReferenceManagerClient(RestClient.Builder builder,
+                                  @Value("${app.reference-manager.base-url}") String baseUrl,
+                                  @Value("${app.reference-manager.timeout:5000}") int timeoutMillis) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(timeoutMillis);
+        requestFactory.setReadTimeout(timeoutMillis);
+        this.restClient = builder.baseUrl(baseUrl).requestFactory(requestFactory).build();
+    }
+
+    public List<ReferenceDataDto.Airline> getActiveAirlines() {
+        return get("/airlines", new ParameterizedTypeReference<>() {
+        });
+    }
+
+    public List<ReferenceDataDto.Aircraft> getActiveAircraft() {
+        return get("/aircraft", new ParameterizedTypeReference<>() {
+        });
+    }
+
+    public List<ReferenceDataDto.Station> getActiveStations() {
+        return get("/stations", new ParameterizedTypeReference<>() {
+        });
+    }
+
+    private <T> List<T> get(String path, ParameterizedTypeReference<List<T>> type) {
+        List<T> body = restClient.get().uri(path).retrieve().body(type);
+        return body != null ? body : List.of();
+    }
+}
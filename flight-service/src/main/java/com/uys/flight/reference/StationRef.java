@@ -0,0 +1,11 @@
+package com.uys.flight.reference;
+
+/**
+ * Replica'daki istasyon kaydı; koordinat bilinmiyorsa latitude/longitude NaN'dır
+ */
+public record StationRef(String stationCode, String stationName, String timezone, double latitude, double longitude) {
+
+    public boolean hasCoordinates() {
+        return !Double.isNaN(latitude) && !Double.isNaN(longitude);
+    }
+}
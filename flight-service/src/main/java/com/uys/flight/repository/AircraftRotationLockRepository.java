@@ -0,0 +1,70 @@
+package com.uys.flight.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Aircraft Rotation Lock Repository - Uçak ataması çakışmalarını veritabanında kilit altında kontrol eder
+ *
+ * Bellek içi rotasyon index'i yalnızca ön kontroldür; commit edilmemiş ya da başka bir
+ * instance'ta yapılmış atamaları görmez. Bu repository uçağın kilit satırını alır ve çakışmayı
+ * flights tablosu üzerinde yeniden sorgular. Çağıran tarafın transaction'ına katılır; kilit
+ * commit'e kadar tutulur.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AircraftRotationLockRepository {
+
+    private static final String ENSURE_SQL = """
+            INSERT IGNORE INTO aircraft_rotation_lock (aircraft_registration)
+            VALUES (:registration)""";
+
+    private static final String LOCK_SQL = """
+            SELECT aircraft_registration
+              FROM aircraft_rotation_lock
+             WHERE aircraft_registration = :registration
+               FOR UPDATE""";
+
+    private static final String OVERLAP_SQL = """
+            SELECT flight_number
+              FROM flights
+             WHERE aircraft_registration = :registration
+               AND active = true AND status <> 'CANCELLED'
+               AND scheduled_departure_time < :arrival
+               AND scheduled_arrival_time > :departure
+               AND (:excludeId IS NULL OR id <> :excludeId)
+             LIMIT 1""";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Uçağın kilit satırını oluşturur (yoksa) ve transaction sonuna kadar kilitler
+     */
+    public void lock(String aircraftRegistration) {
+        MapSqlParameterSource params = new MapSqlParameterSource("registration", aircraftRegistration);
+        jdbcTemplate.update(ENSURE_SQL, params);
+        jdbcTemplate.queryForList(LOCK_SQL, params, String.class);
+    }
+
+    /**
+     * Aynı uçağa atanmış, verilen aralıkla çakışan ilk aktif uçuşun numarasını döner
+     *
+     * @param excludeFlightId kontrol dışı tutulacak uçuş (güncellenen uçuşun kendisi), null olabilir
+     */
+    public Optional<String> findOverlappingFlightNumber(String aircraftRegistration, LocalDateTime departure,
+                                                        LocalDateTime arrival, Long excludeFlightId) {
+        List<String> flightNumbers = jdbcTemplate.queryForList(OVERLAP_SQL, new MapSqlParameterSource()
+                .addValue("registration", aircraftRegistration)
+                .addValue("departure", Timestamp.valueOf(departure))
+                .addValue("arrival", Timestamp.valueOf(arrival))
+                .addValue("excludeId", excludeFlightId), String.class);
+        return flightNumbers.stream().findFirst();
+    }
+}
@@ -0,0 +1,79 @@
+package com.uys.flight.repository;
+
+import com.uys.flight.analytics.OtpSample;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Flight Analytics Repository - OTP snapshot'ı için kalkmış uçuşları okur
+ *
+ * MySQL Connector/J varsayılan olarak tüm sonucu belleğe alır; bu repository fetch size'ı
+ * {@link Integer#MIN_VALUE} olan ayrı bir template kullanır ve satırlar sunucudan akış olarak
+ * okunur. Akış sürerken bağlantı başka sorgu çalıştıramaz; geri çağrı yalnızca bellekte iş yapmalıdır.
+ */
+@Repository
+public class FlightAnalyticsRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public FlightAnalyticsRepository(DataSource dataSource) {
+        JdbcTemplate streaming = new JdbcTemplate(dataSource);
+        streaming.setFetchSize(Integer.MIN_VALUE);
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(streaming);
+    }
+
+    /**
+     * Orijinal planlanan kalkışı [from, to) aralığında olan, kalkmış ve iptal edilmemiş aktif uçuşları
+     * satır satır (uçuş id, version, örnek) olarak işler; sonuç listesi bellekte biriktirilmez
+     */
+    public void forEachDeparted(LocalDateTime from, LocalDateTime to, DepartedFlightConsumer consumer) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("from", Timestamp.valueOf(from))
+                .addValue("to", Timestamp.valueOf(to));
+        jdbcTemplate.query("""
+                SELECT id, version, airline_code, departure_station_code, arrival_station_code,
+                       original_scheduled_departure_time, original_scheduled_arrival_time,
+                       actual_departure_time, actual_arrival_time
+                  FROM flights
+                 WHERE active = true
+                   AND original_scheduled_departure_time >= :from AND original_scheduled_departure_time < :to
+                   AND actual_departure_time IS NOT NULL
+                   AND status <> 'CANCELLED'""", params, rs -> {
+            OtpSample sample = toSample(rs);
+            if (sample != null) {
+                consumer.accept(rs.getLong("id"), rs.getLong("version"), sample);
+            }
+        });
+    }
+
+    private static OtpSample toSample(ResultSet rs) throws SQLException {
+        return OtpSample.of(
+                rs.getString("airline_code"),
+                rs.getString("departure_station_code"),
+                rs.getString("arrival_station_code"),
+                toTime(rs.getTimestamp("original_scheduled_departure_time")),
+                toTime(rs.getTimestamp("original_scheduled_arrival_time")),
+                toTime(rs.getTimestamp("actual_departure_time")),
+                toTime(rs.getTimestamp("actual_arrival_time")));
+    }
+
+    private static LocalDateTime toTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    /**
+     * Okunan uçuş satırı için geri çağrı
+     */
+    @FunctionalInterface
+    public interface DepartedFlightConsumer {
+        void accept(long flightId, long version, OtpSample sample);
+    }
+}
@@ -0,0 +1,290 @@
+package com.uys.flight.repository;
+
+import com.uys.flight.dto.FlightDto;
+import com.uys.flight.enums.FlightStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Flight Batch Repository - Toplu uçuş güncellemeleri için JDBC erişimi
+ *
+ * Güncellemeler "WHERE id = ? AND version = ?" koşulu ile JDBC batch olarak gönderilir;
+ * etkilenmeyen satırlar optimistic lock çakışması olarak raporlanır. Çağıran tarafın
+ * transaction'ına katılır.
+ */
+@Repository
+@RequiredArgsConstructor
+public class FlightBatchRepository {
+
+    private static final String DELAY_SQL = """
+            UPDATE flights
+               SET status = :status, delay_minutes = COALESCE(delay_minutes, 0) + :delayMinutes,
+                   scheduled_departure_time = :departure, scheduled_arrival_time = :arrival,
+                   version = version + 1, updated_at = :now
+             WHERE id = :id AND version = :version""";
+
+    private static final String STATUS_SQL = """
+            UPDATE flights
+               SET status = :status,
+                   actual_departure_time = CASE WHEN :status = 'DEPARTED'
+                       THEN COALESCE(actual_departure_time, :now) ELSE actual_departure_time END,
+                   actual_arrival_time = CASE WHEN :status = 'ARRIVED'
+                       THEN COALESCE(actual_arrival_time, :now) ELSE actual_arrival_time END,
+                   version = version + 1, updated_at = :now
+             WHERE id = :id AND version = :version""";
+
+    /**
+     * Kapasite korumalı atomik artış/azalış; korumayı geçemeyen satır güncellenmez
+     */
+    private static final String BOOKING_SQL = """
+            UPDATE flights
+               SET booked_passengers = COALESCE(booked_passengers, 0) + :delta
+             WHERE id = :id
+               AND COALESCE(booked_passengers, 0) + :delta >= 0
+               AND (passenger_capacity IS NULL OR COALESCE(booked_passengers, 0) + :delta <= passenger_capacity)""";
+
+    /**
+     * Zamana bağlı durum geçişi; satır planlandığından beri durum veya kalkış zamanı
+     * değiştiyse güncellenmez. Gerçek kalkış/varış zamanları yalnızca operasyondan gelir,
+     * planlanan zamanlardan türetilmez.
+     */
+    private static final String TRANSITION_SQL = """
+            UPDATE flights
+               SET status = :to, version = version + 1, updated_at = :now
+             WHERE id = :id AND active = true AND status = :from AND scheduled_departure_time = :departure""";
+
+    /**
+     * Başka bir instance'ın (veya yazma işleminin) kilitlediği satırlar beklenmeden atlanır
+     */
+    private static final String CLAIM_SQL = """
+            SELECT id
+              FROM flights
+             WHERE id IN (:ids)
+               FOR UPDATE SKIP LOCKED""";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Filtreye uyan aktif uçuşların id, version ve planlanan zamanlarını döner
+     *
+     * @param notDepartedOnly true ise kalkmış uçuşlar hariç tutulur
+     */
+    public List<BulkTarget> findTargets(FlightDto.BulkFilter filter, boolean notDepartedOnly, int limit) {
+        StringBuilder sql = new StringBuilder("""
+                SELECT id, version, scheduled_departure_time, scheduled_arrival_time
+                  FROM flights
+                 WHERE active = true""");
+        MapSqlParameterSource params = new MapSqlParameterSource();
+
+        if (filter.getFlightIds() != null && !filter.getFlightIds().isEmpty()) {
+            sql.append(" AND id IN (:ids)");
+            params.addValue("ids", filter.getFlightIds());
+        }
+        if (filter.getStationCode() != null) {
+            sql.append(" AND (departure_station_code = :station OR arrival_station_code = :station)");
+            params.addValue("station", filter.getStationCode());
+        }
+        if (filter.getAirlineCode() != null) {
+            sql.append(" AND airline_code = :airline");
+            params.addValue("airline", filter.getAirlineCode());
+        }
+        if (filter.getStartTime() != null) {
+            sql.append(" AND scheduled_departure_time >= :startTime");
+            params.addValue("startTime", Timestamp.valueOf(filter.getStartTime()));
+        }
+        if (filter.getEndTime() != null) {
+            sql.append(" AND scheduled_departure_time < :endTime");
+            params.addValue("endTime", Timestamp.valueOf(filter.getEndTime()));
+        }
+        if (notDepartedOnly) {
+            sql.append(" AND actual_departure_time IS NULL");
+        }
+        sql.append(" ORDER BY scheduled_departure_time, id LIMIT :limit");
+        params.addValue("limit", limit);
+
+        return jdbcTemplate.query(sql.toString(), params, (rs, rowNum) -> new BulkTarget(
+                rs.getLong("id"),
+                rs.getLong("version"),
+                rs.getTimestamp("scheduled_departure_time").toLocalDateTime(),
+                rs.getTimestamp("scheduled_arrival_time").toLocalDateTime()));
+    }
+
+    /**
+     * Hedef uçuşları verilen dakika kadar daha geciktirir; {@code Flight.delay} gibi toplam
+     * gecikmeye eklenir
+     *
+     * @return version kontrolünü geçip güncellenen uçuş id'leri
+     */
+    public List<Long> delay(List<BulkTarget> targets, int delayMinutes, LocalDateTime now) {
+        MapSqlParameterSource[] batch = targets.stream()
+                .map(target -> new MapSqlParameterSource()
+                        .addValue("status", FlightStatus.DELAYED.name())
+                        .addValue("delayMinutes", delayMinutes)
+                        .addValue("departure", Timestamp.valueOf(target.scheduledDepartureTime().plusMinutes(delayMinutes)))
+                        .addValue("arrival", Timestamp.valueOf(target.scheduledArrivalTime().plusMinutes(delayMinutes)))
+                        .addValue("now", Timestamp.valueOf(now))
+                        .addValue("id", target.id())
+                        .addValue("version", target.version()))
+                .toArray(MapSqlParameterSource[]::new);
+        return updated(targets, jdbcTemplate.batchUpdate(DELAY_SQL, batch));
+    }
+
+    /**
+     * Hedef uçuşların durumunu günceller; DEPARTED/ARRIVED için boşsa gerçek zamanı doldurur
+     *
+     * @return version kontrolünü geçip güncellenen uçuş id'leri
+     */
+    public List<Long> updateStatus(List<BulkTarget> targets, FlightStatus status, LocalDateTime now) {
+        MapSqlParameterSource[] batch = targets.stream()
+                .map(target -> new MapSqlParameterSource()
+                        .addValue("status", status.name())
+                        .addValue("now", Timestamp.valueOf(now))
+                        .addValue("id", target.id())
+                        .addValue("version", target.version()))
+                .toArray(MapSqlParameterSource[]::new);
+        return updated(targets, jdbcTemplate.batchUpdate(STATUS_SQL, batch));
+    }
+
+    /**
+     * Rezervasyon sayaç farklarını tek batch ile uygular
+     *
+     * @param deltas uçuş id -> eklenecek yolcu sayısı (negatif olabilir)
+     * @return kapasite korumasını geçemeyen uçuş id'leri
+     */
+    public List<Long> addBookedPassengers(Map<Long, Long> deltas) {
+        List<Long> ids = new ArrayList<>(deltas.keySet());
+        MapSqlParameterSource[] batch = ids.stream()
+                .map(id -> new MapSqlParameterSource()
+                        .addValue("delta", deltas.get(id))
+                        .addValue("id", id))
+                .toArray(MapSqlParameterSource[]::new);
+        int[] counts = jdbcTemplate.batchUpdate(BOOKING_SQL, batch);
+
+        List<Long> rejected = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                rejected.add(ids.get(i));
+            }
+        }
+        return rejected;
+    }
+
+    /**
+     * Kalkışı verilen pencerede olan ve durumu ilerleyebilecek aktif uçuşları döner.
+     * idx_active_departure üzerinden aralık taraması yapar.
+     *
+     * @param shardCount 1 ise tüm uçuşlar; aksi halde yalnızca {@code MOD(id, shardCount) = shardIndex}
+     */
+    public List<StatusRow> findTransitionCandidates(LocalDateTime from, LocalDateTime to, int shardCount, int shardIndex) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("from", Timestamp.valueOf(from))
+                .addValue("to", Timestamp.valueOf(to))
+                .addValue("shardCount", shardCount)
+                .addValue("shardIndex", shardIndex)
+                .addValue("statuses", List.of(FlightStatus.SCHEDULED.name(), FlightStatus.DELAYED.name(),
+                        FlightStatus.BOARDING.name(), FlightStatus.DEPARTED.name(), FlightStatus.IN_FLIGHT.name()));
+        return jdbcTemplate.query("""
+                SELECT id, status, scheduled_departure_time, scheduled_arrival_time
+                  FROM flights
+                 WHERE active = true
+                   AND scheduled_departure_time >= :from AND scheduled_departure_time < :to
+                   AND status IN (:statuses)
+                   AND (:shardCount = 1 OR MOD(id, :shardCount) = :shardIndex)""", params, (rs, rowNum) -> new StatusRow(
+                rs.getLong("id"),
+                FlightStatus.valueOf(rs.getString("status")),
+                rs.getTimestamp("scheduled_departure_time").toLocalDateTime(),
+                rs.getTimestamp("scheduled_arrival_time").toLocalDateTime()));
+    }
+
+    /**
+     * Kilitlenebilen satırları sahiplenir ve zamana bağlı durum geçişlerini tek batch ile uygular;
+     * çağıran transaction içinde olmalıdır
+     *
+     * @return geçişi uygulanan uçuş id'leri
+     */
+    public List<Long> applyTransitions(List<StatusTransition> transitions, LocalDateTime now) {
+        if (transitions.isEmpty()) {
+            return List.of();
+        }
+        Set<Long> claimed = new HashSet<>(jdbcTemplate.queryForList(CLAIM_SQL,
+                new MapSqlParameterSource("ids", transitions.stream().map(StatusTransition::flightId).toList()),
+                Long.class));
+        List<StatusTransition> owned = transitions.stream()
+                .filter(transition -> claimed.contains(transition.flightId()))
+                .toList();
+        if (owned.isEmpty()) {
+            return List.of();
+        }
+
+        MapSqlParameterSource[] batch = owned.stream()
+                .map(transition -> new MapSqlParameterSource()
+                        .addValue("from", transition.from().name())
+                        .addValue("to", transition.to().name())
+                        .addValue("departure", Timestamp.valueOf(transition.scheduledDepartureTime()))
+                        .addValue("now", Timestamp.valueOf(now))
+                        .addValue("id", transition.flightId()))
+                .toArray(MapSqlParameterSource[]::new);
+        int[] counts = jdbcTemplate.batchUpdate(TRANSITION_SQL, batch);
+
+        List<Long> ids = new ArrayList<>(owned.size());
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0 || counts[i] == Statement.SUCCESS_NO_INFO) {
+                ids.add(owned.get(i).flightId());
+            }
+        }
+        return ids;
+    }
+
+    private static List<Long> updated(List<BulkTarget> targets, int[] counts) {
+        List<Long> ids = new ArrayList<>(targets.size());
+        for (int i = 0; i < counts.length; i++) {
+            // Bazı sürücüler batch sonucunu SUCCESS_NO_INFO (-2) olarak döner
+            if (counts[i] > 0 || counts[i] == Statement.SUCCESS_NO_INFO) {
+                ids.add(targets.get(i).id());
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Toplu işlem hedefi
+     */
+    public record BulkTarget(Long id, Long version, LocalDateTime scheduledDepartureTime,
+                             LocalDateTime scheduledArrivalTime) {
+
+        public BulkTarget withVersion(Long expectedVersion) {
+            return new BulkTarget(id, expectedVersion, scheduledDepartureTime, scheduledArrivalTime);
+        }
+    }
+
+    /**
+     * Durum geçişi planlaması için uçuş özeti
+     */
+    public record StatusRow(Long id, FlightStatus status, LocalDateTime scheduledDepartureTime,
+                            LocalDateTime scheduledArrivalTime) {
+    }
+
+    /**
+     * Planlanmış durum geçişi
+     *
+     * @param at planlanan geçiş anı
+     */
+    public record StatusTransition(Long flightId, FlightStatus from, FlightStatus to, LocalDateTime at,
+                                   LocalDateTime scheduledDepartureTime) {
+
+        public StatusTransition retryAt(LocalDateTime retryAt) {
+            return new StatusTransition(flightId, from, to, retryAt, scheduledDepartureTime);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.uys.flight.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Flight Outbox Repository - flight_outbox tablosu için JDBC erişimi
+ */
+@Repository
+@RequiredArgsConstructor
+public class FlightOutboxRepository {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO flight_outbox (flight_id, flight_number, event_type, payload, created_at)
+            VALUES (:flightId, :flightNumber, :eventType, :payload, :createdAt)""";
+
+    /**
+     * NOWAIT: kayıtlar başka bir relay tarafından kilitliyse beklemeden hata verir. SKIP LOCKED
+     * kullanılmaz; aksi halde iki relay aynı uçuşun event'lerini farklı sırada gönderebilir.
+     */
+    private static final String LOCK_BATCH_SQL = """
+            SELECT id, flight_number, payload
+              FROM flight_outbox
+             ORDER BY id
+             LIMIT :limit
+               FOR UPDATE NOWAIT""";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public void insertAll(List<OutboxEntry> entries) {
+        MapSqlParameterSource[] batch = entries.stream()
+                .map(entry -> new MapSqlParameterSource()
+                        .addValue("flightId", entry.flightId())
+                        .addValue("flightNumber", entry.flightNumber())
+                        .addValue("eventType", entry.eventType())
+                        .addValue("payload", entry.payload())
+                        .addValue("createdAt", Timestamp.valueOf(entry.createdAt())))
+                .toArray(MapSqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+    }
+
+    /**
+     * En eski kayıtları id sırasıyla kilitler; çağıran transaction içinde olmalıdır
+     */
+    public List<OutboxRecord> lockBatch(int limit) {
+        return jdbcTemplate.query(LOCK_BATCH_SQL, new MapSqlParameterSource("limit", limit),
+                (rs, rowNum) -> new OutboxRecord(rs.getLong("id"), rs.getString("flight_number"), rs.getString("payload")));
+    }
+
+    public void deleteAll(List<Long> ids) {
+        jdbcTemplate.update("DELETE FROM flight_outbox WHERE id IN (:ids)", new MapSqlParameterSource("ids", ids));
+    }
+
+    public OutboxStats stats() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) AS pending, MIN(created_at) AS oldest FROM flight_outbox",
+                new MapSqlParameterSource(), (rs, rowNum) -> {
+                    Timestamp oldest = rs.getTimestamp("oldest");
+                    return new OutboxStats(rs.getLong("pending"), oldest != null ? oldest.toLocalDateTime() : null);
+                });
+    }
+
+    /**
+     * Yazılacak outbox kaydı
+     */
+    public record OutboxEntry(Long flightId, String flightNumber, String eventType, String payload,
+                              LocalDateTime createdAt) {
+    }
+
+    /**
+     * Gönderilecek outbox kaydı
+     */
+    public record OutboxRecord(Long id, String flightNumber, String payload) {
+    }
+
+    /**
+     * Bekleyen kayıt sayısı ve en eski kaydın zamanı (boşsa null)
+     */
+    public record OutboxStats(long pending, LocalDateTime oldest) {
+    }
+}
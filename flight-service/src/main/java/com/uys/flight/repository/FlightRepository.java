@@ -1,8 +1,9 @@
 package com.uys.flight.repository;
 
+import com.uys.flight.dto.FlightDto;
 import com.uys.flight.entity.Flight;
 import com.uys.flight.enums.FlightStatus;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -20,7 +21,6 @@ import java.util.Optional;
 @Repository
 public interface FlightRepository extends JpaRepository<Flight, Long> {
 
-    @Cacheable(value = "flights", key = "#flightNumber")
     Optional<Flight> findByFlightNumber(String flightNumber);
 
     List<Flight> findByAirlineCode(String airlineCode);
@@ -35,6 +35,52 @@ public interface FlightRepository extends JpaRepository<Flight, Long> {
 
     Page<Flight> findByActiveTrue(Pageable pageable);
 
+    List<Flight> findByActiveTrueAndScheduledArrivalTimeAfter(LocalDateTime scheduledArrivalTime);
+
+    /**
+     * Keyset pagination - ilk sayfa. Sadece liste kolonları seçilir, COUNT sorgusu yoktur.
+     */
+    @Query("""
+            SELECT new com.uys.flight.dto.FlightDto$ListResponse(f.id, f.flightNumber, f.airlineCode,
+                   f.departureStationCode, f.arrivalStationCode, f.scheduledDepartureTime, f.scheduledArrivalTime,
+                   f.status, f.flightType, f.delayMinutes, f.active)
+              FROM Flight f
+             WHERE f.active = true
+             ORDER BY f.scheduledDepartureTime, f.id""")
+    List<FlightDto.ListResponse> findActiveListFirst(Limit limit);
+
+    /**
+     * Keyset pagination - (scheduledDepartureTime, id) imlecinden sonraki sayfa.
+     * İlk koşul optimizer'a idx_active_departure üzerinde range sınırı verir.
+     */
+    @Query("""
+            SELECT new com.uys.flight.dto.FlightDto$ListResponse(f.id, f.flightNumber, f.airlineCode,
+                   f.departureStationCode, f.arrivalStationCode, f.scheduledDepartureTime, f.scheduledArrivalTime,
+                   f.status, f.flightType, f.delayMinutes, f.active)
+              FROM Flight f
+             WHERE f.active = true
+               AND f.scheduledDepartureTime >= :afterTime
+               AND (f.scheduledDepartureTime > :afterTime OR f.id > :afterId)
+             ORDER BY f.scheduledDepartureTime, f.id""")
+    List<FlightDto.ListResponse> findActiveListAfter(@Param("afterTime") LocalDateTime afterTime,
+                                                     @Param("afterId") Long afterId,
+                                                     Limit limit);
+
+    /**
+     * Uçağın verilen andan itibaren kalkan, atanmış (aktif ve iptal edilmemiş) uçuşları; kalkış sırasıyla.
+     * idx_aircraft_departure üzerinden aralık taraması yapar.
+     */
+    @Query("""
+            SELECT f FROM Flight f
+             WHERE f.aircraftRegistration = :registration
+               AND f.scheduledDepartureTime >= :from
+               AND f.active = true AND f.status <> :cancelled
+             ORDER BY f.scheduledDepartureTime, f.id""")
+    List<Flight> findRotationFrom(@Param("registration") String aircraftRegistration,
+                                  @Param("from") LocalDateTime from,
+                                  @Param("cancelled") FlightStatus cancelled,
+                                  Limit limit);
+
     @Query("SELECT f FROM Flight f WHERE f.scheduledDepartureTime BETWEEN :startTime AND :endTime")
     List<Flight> findByDepartureTimeBetween(@Param("startTime") LocalDateTime startTime, 
                                           @Param("endTime") LocalDateTime endTime);
@@ -0,0 +1,150 @@
+package com.uys.flight.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Flight Seat Lease Repository - flight_seat_lease tablosu için JDBC erişimi
+ *
+ * Her instance bir uçuştan koltuk bloğu kiralar ve bu bloktan bellekte satış yapar. Kiralama
+ * uçuş satırı kilitliyken yapılır; {@code booked_passengers} ile tüm geçerli kiraların toplamı
+ * kapasiteyi aşamaz. Süresi dolmuş kiralar bir sonraki kiralamada silinir. Çağıran tarafın
+ * transaction'ına katılır.
+ */
+@Repository
+@RequiredArgsConstructor
+public class FlightSeatLeaseRepository {
+
+    private static final String LOCK_FLIGHT_SQL = """
+            SELECT passenger_capacity, COALESCE(booked_passengers, 0) AS booked
+              FROM flights
+             WHERE id = :flightId
+               FOR UPDATE""";
+
+    private static final String DELETE_EXPIRED_SQL = """
+            DELETE FROM flight_seat_lease
+             WHERE flight_id = :flightId AND expires_at < :now""";
+
+    private static final String LEASED_SQL = """
+            SELECT COALESCE(SUM(seats), 0)
+              FROM flight_seat_lease
+             WHERE flight_id = :flightId""";
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO flight_seat_lease (flight_id, instance_id, seats, expires_at)
+            VALUES (:flightId, :instanceId, :seats, :expiresAt)
+            ON DUPLICATE KEY UPDATE seats = seats + VALUES(seats), expires_at = VALUES(expires_at)""";
+
+    private static final String SUBTRACT_SQL = """
+            UPDATE flight_seat_lease
+               SET seats = GREATEST(seats - :seats, 0)
+             WHERE flight_id = :flightId AND instance_id = :instanceId""";
+
+    private static final String RENEW_SQL = """
+            UPDATE flight_seat_lease
+               SET expires_at = :expiresAt
+             WHERE instance_id = :instanceId""";
+
+    private static final String DELETE_INSTANCE_SQL = """
+            DELETE FROM flight_seat_lease
+             WHERE instance_id = :instanceId""";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Uçuş satırını kilitleyip boş koltuklardan kiralar; transaction içinde çağrılmalıdır
+     *
+     * @param needed en az kiralanacak koltuk
+     * @param block  yer varsa kiralanacak koltuk; needed'dan küçükse needed kullanılır
+     * @return kiralanan koltuk ve kiralama öncesi boş koltuk sayısı; yer yetmezse granted 0'dır
+     */
+    public SeatLease lease(long flightId, String instanceId, int needed, int block,
+                           LocalDateTime now, LocalDateTime expiresAt) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("flightId", flightId)
+                .addValue("instanceId", instanceId)
+                .addValue("now", Timestamp.valueOf(now))
+                .addValue("expiresAt", Timestamp.valueOf(expiresAt));
+        List<int[]> rows = jdbcTemplate.query(LOCK_FLIGHT_SQL, params, (rs, rowNum) -> new int[] {
+                rs.getObject("passenger_capacity") != null ? rs.getInt("passenger_capacity") : Integer.MAX_VALUE,
+                rs.getInt("booked")});
+        if (rows.isEmpty()) {
+            throw new IllegalArgumentException("Flight not found: " + flightId);
+        }
+        jdbcTemplate.update(DELETE_EXPIRED_SQL, params);
+        Integer leased = jdbcTemplate.queryForObject(LEASED_SQL, params, Integer.class);
+
+        int free = rows.get(0)[0] - rows.get(0)[1] - (leased != null ? leased : 0);
+        if (free < needed) {
+            return new SeatLease(0, Math.max(free, 0));
+        }
+        int granted = Math.min(free, Math.max(needed, block));
+        jdbcTemplate.update(UPSERT_SQL, params.addValue("seats", granted));
+        return new SeatLease(granted, free);
+    }
+
+    /**
+     * Satılan veya iade edilen koltukları instance'ın kiralarından düşer
+     *
+     * @param seats uçuş id -> düşülecek koltuk
+     */
+    public void subtract(String instanceId, Map<Long, Long> seats) {
+        MapSqlParameterSource[] batch = seats.entrySet().stream()
+                .map(entry -> new MapSqlParameterSource()
+                        .addValue("flightId", entry.getKey())
+                        .addValue("instanceId", instanceId)
+                        .addValue("seats", entry.getValue()))
+                .toArray(MapSqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(SUBTRACT_SQL, batch);
+    }
+
+    /**
+     * Instance'ın tüm kiralarının süresini uzatır
+     */
+    public int renew(String instanceId, LocalDateTime expiresAt) {
+        return jdbcTemplate.update(RENEW_SQL, new MapSqlParameterSource()
+                .addValue("instanceId", instanceId)
+                .addValue("expiresAt", Timestamp.valueOf(expiresAt)));
+    }
+
+    /**
+     * Instance'ın kiralarını verilen koltuklarla değiştirir; kira süresi kaçırıldıktan sonra
+     * başka instance'ların silmiş olabileceği kayıtları yeniden kurmak için kullanılır
+     *
+     * @param seats uçuş id -> instance'ın hâlâ kullandığı koltuk
+     */
+    public void replaceAll(String instanceId, Map<Long, Long> seats, LocalDateTime expiresAt) {
+        deleteAll(instanceId);
+        MapSqlParameterSource[] batch = seats.entrySet().stream()
+                .filter(entry -> entry.getValue() > 0)
+                .map(entry -> new MapSqlParameterSource()
+                        .addValue("flightId", entry.getKey())
+                        .addValue("instanceId", instanceId)
+                        .addValue("seats", entry.getValue())
+                        .addValue("expiresAt", Timestamp.valueOf(expiresAt)))
+                .toArray(MapSqlParameterSource[]::new);
+        if (batch.length > 0) {
+            jdbcTemplate.batchUpdate(UPSERT_SQL, batch);
+        }
+    }
+
+    public void deleteAll(String instanceId) {
+        jdbcTemplate.update(DELETE_INSTANCE_SQL, new MapSqlParameterSource("instanceId", instanceId));
+    }
+
+    /**
+     * Kiralama sonucu
+     *
+     * @param granted   kiralanan koltuk; yer yetmediyse 0
+     * @param available kiralama öncesi kiralanmamış boş koltuk
+     */
+    public record SeatLease(int granted, int available) {
+    }
+}
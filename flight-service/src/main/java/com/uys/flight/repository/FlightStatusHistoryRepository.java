@@ -0,0 +1,64 @@
+package com.uys.flight.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Flight Status History Repository - flight_status_history tablosu için JDBC erişimi
+ */
+@Repository
+@RequiredArgsConstructor
+public class FlightStatusHistoryRepository {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO flight_status_history (flight_id, status, change_type, changed_at, departure_delta, delay_minutes)
+            VALUES (:flightId, :status, :changeType, :changedAt, :departureDelta, :delayMinutes)""";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public void insertAll(List<HistoryEntry> entries) {
+        MapSqlParameterSource[] batch = entries.stream()
+                .map(entry -> new MapSqlParameterSource()
+                        .addValue("flightId", entry.flightId())
+                        .addValue("status", entry.status())
+                        .addValue("changeType", entry.changeType())
+                        .addValue("changedAt", entry.changedAt())
+                        .addValue("departureDelta", entry.departureDelta())
+                        .addValue("delayMinutes", entry.delayMinutes()))
+                .toArray(MapSqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+    }
+
+    /**
+     * Uçuşun geçmişini yazılma sırasıyla döner
+     */
+    public List<HistoryEntry> findByFlightId(Long flightId) {
+        return jdbcTemplate.query("""
+                SELECT flight_id, status, change_type, changed_at, departure_delta, delay_minutes
+                  FROM flight_status_history
+                 WHERE flight_id = :flightId
+                 ORDER BY id""", new MapSqlParameterSource("flightId", flightId), (rs, rowNum) -> new HistoryEntry(
+                rs.getLong("flight_id"),
+                rs.getInt("status"),
+                rs.getInt("change_type"),
+                rs.getLong("changed_at"),
+                rs.getInt("departure_delta"),
+                rs.getObject("delay_minutes", Integer.class)));
+    }
+
+    /**
+     * Sıkıştırılmış geçmiş kaydı
+     *
+     * @param status         FlightStatus ordinal
+     * @param changeType     FlightChangeType ordinal
+     * @param changedAt      değişiklik anı (epoch saniye, UTC)
+     * @param departureDelta planlanan kalkış - changedAt (saniye)
+     */
+    public record HistoryEntry(Long flightId, int status, int changeType, long changedAt, int departureDelta,
+                               Integer delayMinutes) {
+    }
+}
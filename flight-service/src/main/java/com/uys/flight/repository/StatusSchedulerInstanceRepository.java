@@ -0,0 +1,52 @@
+package com.uys.flight.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Status Scheduler Instance Repository - status_scheduler_instance tablosu için JDBC erişimi
+ */
+@Repository
+@RequiredArgsConstructor
+public class StatusSchedulerInstanceRepository {
+
+    private static final String HEARTBEAT_SQL = """
+            INSERT INTO status_scheduler_instance (instance_id, heartbeat_at)
+            VALUES (:instanceId, :now)
+            ON DUPLICATE KEY UPDATE heartbeat_at = VALUES(heartbeat_at)""";
+
+    private static final String DELETE_EXPIRED_SQL = """
+            DELETE FROM status_scheduler_instance
+             WHERE heartbeat_at < :expiredBefore""";
+
+    private static final String LIVE_SQL = """
+            SELECT instance_id
+              FROM status_scheduler_instance
+             ORDER BY instance_id""";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Heartbeat yazar, zaman aşımına uğramış instance'ları siler ve canlı instance'ları sıralı döner
+     */
+    public List<String> heartbeat(String instanceId, LocalDateTime now, LocalDateTime expiredBefore) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("instanceId", instanceId)
+                .addValue("now", Timestamp.valueOf(now))
+                .addValue("expiredBefore", Timestamp.valueOf(expiredBefore));
+        jdbcTemplate.update(HEARTBEAT_SQL, params);
+        jdbcTemplate.update(DELETE_EXPIRED_SQL, params);
+        return jdbcTemplate.queryForList(LIVE_SQL, params, String.class);
+    }
+
+    public void delete(String instanceId) {
+        jdbcTemplate.update("DELETE FROM status_scheduler_instance WHERE instance_id = :instanceId",
+                new MapSqlParameterSource("instanceId", instanceId));
+    }
+}
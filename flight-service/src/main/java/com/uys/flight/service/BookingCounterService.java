@@ -0,0 +1,562 @@
+package com.uys.flight.service;
+
+import com.uys.flight.dto.FlightDto;
+import com.uys.flight.entity.Flight;
+import com.uys.flight.enums.FlightChangeType;
+import com.uys.flight.event.FlightChangedEvent;
+import com.uys.flight.mapper.FlightMapper;
+import com.uys.flight.repository.FlightBatchRepository;
+import com.uys.flight.repository.FlightRepository;
+import com.uys.flight.repository.FlightSeatLeaseRepository;
+import com.uys.flight.repository.FlightSeatLeaseRepository.SeatLease;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Booking Counter Service - Uçuş başına bellek içi rezervasyon sayaçları
+ *
+ * Rezervasyonlar entity okuma/yazması ve @Version kontrolü olmadan bellekte sayılır. Her instance
+ * kapasiteli uçuşlardan {@code flight_seat_lease} üzerinden koltuk bloğu kiralar; rezervasyon ve
+ * tutma bu bloktan tek bir CAS ile düşülür. Blok bitince uçuş satırı kilitlenerek yeni blok
+ * kiralanır; boş koltuk yoksa istek reddedilir. Böylece onaylanan her rezervasyon veritabanında
+ * ayrılmış bir koltuğa karşılık gelir ve başka bir instance aynı koltuğu satamaz.
+ *
+ * Yazılmamış farklar LongAdder içinde biriktirilir ve periyodik olarak tek JDBC batch ile yazılır;
+ * satılan koltuklar aynı transaction'da kiradan düşülür. Kiralar her flush'ta uzatılır; uzatılamayan
+ * kiradan satış yapılmaz. Boşta kalan sayaç durumuna "retired" işareti CAS ile konur, ardından
+ * map'ten çıkarılır; işaretli sayaca fark yazılamaz ve kalan kira iade edilir.
+ */
+@Service
+@Slf4j
+public class BookingCounterService {
+
+    private final FlightRepository flightRepository;
+    private final FlightBatchRepository flightBatchRepository;
+    private final FlightSeatLeaseRepository flightSeatLeaseRepository;
+    private final FlightMapper flightMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final ConcurrentMap<Long, SeatCounter> counters = new ConcurrentHashMap<>();
+    // Map'ten çıkarılmış sayaçlar; geç gelen farkları bir sonraki flush'ta yazılır
+    private final Map<Long, SeatCounter> retired = new HashMap<>();
+    // Yazılamayan farklar; yalnızca flush içinde kullanılır
+    private final Map<Long, Delta> failedDeltas = new HashMap<>();
+    private final String instanceId = UUID.randomUUID().toString();
+    private final Counter rejectedCounter;
+    private final Counter leaseCounter;
+
+    private volatile long lastRenewal = System.nanoTime();
+    private volatile long leaseValidUntil;
+
+    @Value("${app.flight.booking.idle-minutes:10}")
+    private long idleMinutes;
+
+    @Value("${app.flight.booking.lease-block:20}")
+    private int leaseBlock;
+
+    private final long leaseTtlSeconds;
+
+    public BookingCounterService(FlightRepository flightRepository, FlightBatchRepository flightBatchRepository,
+                                 FlightSeatLeaseRepository flightSeatLeaseRepository, FlightMapper flightMapper,
+                                 ApplicationEventPublisher eventPublisher, TransactionTemplate transactionTemplate,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.flight.booking.lease-ttl-seconds:60}") long leaseTtlSeconds) {
+        this.flightRepository = flightRepository;
+        this.flightBatchRepository = flightBatchRepository;
+        this.flightSeatLeaseRepository = flightSeatLeaseRepository;
+        this.flightMapper = flightMapper;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.leaseTtlSeconds = leaseTtlSeconds;
+        // Diğer instance'lar kirayı ancak tam süre dolunca geri alır; yerel satış yarı sürede durur
+        this.leaseValidUntil = lastRenewal + TimeUnit.SECONDS.toNanos(leaseTtlSeconds) / 2;
+        this.rejectedCounter = meterRegistry.counter("flight.booking.flush.rejected");
+        this.leaseCounter = meterRegistry.counter("flight.booking.leases");
+    }
+
+    public FlightDto.BookingCounter reserve(Long flightId, int seats) {
+        requirePositive(seats);
+        return toResponse(flightId, allocate(flightId, seats, 0));
+    }
+
+    public FlightDto.BookingCounter release(Long flightId, int seats) {
+        requirePositive(seats);
+        for (;;) {
+            SeatCounter counter = counter(flightId);
+            // Bırakılan koltuk kiraya değil ortak havuza döner; flush booked_passengers'ı düşürür
+            if (counter.tryAdd(-seats, 0, 0)) {
+                counter.unflushed.add(-seats);
+                return toResponse(flightId, counter);
+            }
+            if (!counter.isRetired()) {
+                throw new IllegalArgumentException("Cannot release " + seats + " seats on flight " + flightId
+                        + ": only " + counter.booked() + " booked");
+            }
+        }
+    }
+
+    /**
+     * Koltukları süreli tutmaya alır; tutulan koltuklar kiradan düşer ama booked_passengers'a yazılmaz
+     */
+    public void hold(long flightId, int seats) {
+        requirePositive(seats);
+        allocate(flightId, 0, seats);
+    }
+
+    /**
+     * Tutulan koltukları rezervasyona çevirir ve cevap dönmeden veritabanına yazar. Koltuklar tutma
+     * anında kiralanmıştır; aynı transaction'da kiradan düşülüp booked_passengers'a eklenir.
+     */
+    public void confirmHold(long flightId, int seats) {
+        SeatCounter counter = counters.get(flightId);
+        if (counter == null || counter.held() < seats) {
+            throw new IllegalStateException("Hold of " + seats + " seats not found on flight " + flightId);
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!flightBatchRepository.addBookedPassengers(Map.of(flightId, (long) seats)).isEmpty()) {
+                throw new IllegalStateException("Confirmed seats rejected by capacity guard on flight " + flightId);
+            }
+            if (counter.capacity != null) {
+                flightSeatLeaseRepository.subtract(instanceId, Map.of(flightId, (long) seats));
+            }
+            Flight flight = flightRepository.findById(flightId).orElseThrow();
+            eventPublisher.publishEvent(new FlightChangedEvent(flightMapper.toResponse(flight),
+                    FlightChangeType.BOOKING_UPDATED));
+        });
+        // Tutulan koltuklar sayacı bırakılmasını engeller; sayaç hâlâ aynı nesnedir
+        if (!counter.tryAdd(seats, -seats, 0)) {
+            log.error("Confirmed hold of {} seats on flight {} could not be applied to the counter", seats, flightId);
+        }
+    }
+
+    public void releaseHold(long flightId, int seats) {
+        SeatCounter counter = counters.get(flightId);
+        int allowanceDelta = counter != null && counter.capacity != null ? seats : 0;
+        if (counter == null || !counter.tryAdd(0, -seats, allowanceDelta)) {
+            log.warn("Released hold of {} seats not found on flight {}", seats, flightId);
+        }
+    }
+
+    public FlightDto.BookingCounter getCounter(Long flightId) {
+        return toResponse(flightId, counter(flightId));
+    }
+
+    /**
+     * Sayacı yüklenmiş uçuşlarda cevaptaki yolcu sayısını ve doluluk oranını canlı değerle değiştirir
+     */
+    public FlightDto.Response withLiveCounter(FlightDto.Response flight) {
+        SeatCounter counter = counters.get(flight.getId());
+        if (counter == null) {
+            return flight;
+        }
+        int booked = counter.booked();
+        return flight.toBuilder()
+                .bookedPassengers(booked)
+                .loadFactor(Flight.loadFactor(booked, flight.getPassengerCapacity()))
+                .build();
+    }
+
+    /**
+     * Kiraları uzatır, biriken farkları tek JDBC batch ile yazar ve uzun süre kullanılmayan sayaçları bırakır
+     */
+    @Scheduled(fixedDelayString = "${app.flight.booking.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        renewLeases();
+
+        Map<Long, Delta> deltas = new HashMap<>(failedDeltas);
+        failedDeltas.clear();
+        retired.forEach((flightId, counter) -> drain(flightId, counter, deltas));
+        retired.clear();
+        counters.forEach((flightId, counter) -> drain(flightId, counter, deltas));
+        retireIdle(deltas);
+
+        deltas.values().removeIf(Delta::isEmpty);
+        if (!deltas.isEmpty()) {
+            write(deltas);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+        try {
+            // Açık tutmalar yeniden başlatmada günlükten tekrar kiralanır
+            flightSeatLeaseRepository.deleteAll(instanceId);
+        } catch (Exception e) {
+            log.warn("Could not return seat leases on shutdown, they expire in {}s: {}", leaseTtlSeconds, e.getMessage());
+        }
+    }
+
+    /**
+     * Sayacın kiralık bloğundan koltuk düşer; blok yetmezse uçuş satırı kilitlenerek yeni blok kiralanır
+     */
+    private SeatCounter allocate(long flightId, int bookedDelta, int heldDelta) {
+        int seats = bookedDelta + heldDelta;
+        for (;;) {
+            SeatCounter counter = counter(flightId);
+            if (counter.capacity == null) {
+                if (counter.tryAdd(bookedDelta, heldDelta, 0)) {
+                    counter.unflushed.add(bookedDelta);
+                    return counter;
+                }
+                if (counter.isRetired()) {
+                    continue;
+                }
+                throw new IllegalArgumentException("Too many seats requested on flight " + flightId + ": " + seats);
+            }
+            requireValidLease(flightId);
+            if (counter.tryAdd(bookedDelta, heldDelta, -seats)) {
+                counter.sold(bookedDelta);
+                return counter;
+            }
+            if (counter.isRetired()) {
+                continue;
+            }
+            // Yavaş yol: aynı sayaç için tek kiralama; bu sırada diğer thread'ler CAS ile devam eder
+            synchronized (counter) {
+                if (counter.isRetired()) {
+                    continue;
+                }
+                if (counter.tryAdd(bookedDelta, heldDelta, -seats)) {
+                    counter.sold(bookedDelta);
+                    return counter;
+                }
+                SeatLease lease = lease(flightId, seats);
+                if (lease.granted() == 0) {
+                    throw new IllegalArgumentException("Not enough seats on flight " + flightId + ": requested "
+                            + seats + ", available " + (lease.available() + counter.allowance()));
+                }
+                leaseCounter.increment();
+                counter.tryAdd(0, 0, lease.granted());
+            }
+        }
+    }
+
+    private SeatLease lease(long flightId, int seats) {
+        LocalDateTime now = LocalDateTime.now();
+        return transactionTemplate.execute(status -> flightSeatLeaseRepository.lease(flightId, instanceId, seats,
+                leaseBlock, now, now.plusSeconds(leaseTtlSeconds)));
+    }
+
+    private void requireValidLease(long flightId) {
+        if (System.nanoTime() - leaseValidUntil > 0) {
+            throw new IllegalStateException("Seat leases could not be renewed; bookings on flight " + flightId
+                    + " are paused until the database is reachable");
+        }
+    }
+
+    /**
+     * Kiraların süresini uzatır. Son uzatmadan bu yana tam kira süresi geçtiyse kayıtlar başka bir
+     * instance tarafından silinmiş olabilir; yerel bloklar sıfırlanır ve kullanılan koltuklar
+     * (tutmalar ve yazılmamış satışlar) yeniden kaydedilir.
+     */
+    private void renewLeases() {
+        long start = System.nanoTime();
+        LocalDateTime expiresAt = LocalDateTime.now().plusSeconds(leaseTtlSeconds);
+        try {
+            if (start - lastRenewal > TimeUnit.SECONDS.toNanos(leaseTtlSeconds)) {
+                Map<Long, Long> inUse = new HashMap<>();
+                counters.forEach((flightId, counter) -> {
+                    if (counter.capacity != null) {
+                        counter.dropAllowance();
+                        long pending = counter.held() + counter.unleased.sum()
+                                + failedDeltas.getOrDefault(flightId, Delta.EMPTY).unleased();
+                        inUse.put(flightId, pending);
+                    }
+                });
+                retired.forEach((flightId, counter) -> inUse.merge(flightId, counter.unleased.sum(), Long::sum));
+                transactionTemplate.executeWithoutResult(status ->
+                        flightSeatLeaseRepository.replaceAll(instanceId, inUse, expiresAt));
+                log.warn("Seat leases lapsed; re-registered {} flights, seats sold elsewhere meanwhile may be oversold",
+                        inUse.size());
+            } else {
+                flightSeatLeaseRepository.renew(instanceId, expiresAt);
+            }
+            lastRenewal = start;
+            leaseValidUntil = start + TimeUnit.SECONDS.toNanos(leaseTtlSeconds) / 2;
+        } catch (Exception e) {
+            log.warn("Seat lease renewal failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    private static void drain(Long flightId, SeatCounter counter, Map<Long, Delta> deltas) {
+        Delta delta = new Delta(counter.unflushed.sumThenReset(), counter.unleased.sumThenReset());
+        if (!delta.isEmpty()) {
+            deltas.merge(flightId, delta, Delta::plus);
+        }
+    }
+
+    /**
+     * Boşta kalan sayaçları işaretleyip map'ten çıkarır; kalan blok kiradan düşülür
+     */
+    private void retireIdle(Map<Long, Delta> deltas) {
+        long idleBefore = System.nanoTime() - TimeUnit.MINUTES.toNanos(idleMinutes);
+        counters.forEach((flightId, counter) -> {
+            if (counter.lastAccess - idleBefore > 0 || failedDeltas.containsKey(flightId)) {
+                return;
+            }
+            synchronized (counter) {
+                int allowance = counter.retire();
+                if (allowance < 0) {
+                    return;
+                }
+                counters.remove(flightId, counter);
+                retired.put(flightId, counter);
+                if (allowance > 0) {
+                    deltas.merge(flightId, new Delta(0, allowance), Delta::plus);
+                }
+            }
+        });
+    }
+
+    private void write(Map<Long, Delta> deltas) {
+        Map<Long, Long> booked = new HashMap<>();
+        Map<Long, Long> unleased = new HashMap<>();
+        deltas.forEach((flightId, delta) -> {
+            if (delta.booked() != 0) {
+                booked.put(flightId, delta.booked());
+            }
+            if (delta.unleased() != 0) {
+                unleased.put(flightId, delta.unleased());
+            }
+        });
+
+        List<Long> rejected;
+        try {
+            rejected = transactionTemplate.execute(status -> {
+                List<Long> rejectedIds = booked.isEmpty() ? List.of() : flightBatchRepository.addBookedPassengers(booked);
+                if (!unleased.isEmpty()) {
+                    flightSeatLeaseRepository.subtract(instanceId, unleased);
+                }
+                Set<Long> written = new HashSet<>(booked.keySet());
+                rejectedIds.forEach(written::remove);
+                // Commit sonrası cache ve outbox güncel yolcu sayısı ve doluluk oranını görür
+                for (Flight flight : flightRepository.findAllById(written)) {
+                    eventPublisher.publishEvent(new FlightChangedEvent(flightMapper.toResponse(flight),
+                            FlightChangeType.BOOKING_UPDATED));
+                }
+                return rejectedIds;
+            });
+        } catch (Exception e) {
+            // Transaction geri alındı; farklar sayaçtan bağımsız tutulur ve sonraki turda tekrar denenir
+            deltas.forEach((flightId, delta) -> failedDeltas.merge(flightId, delta, Delta::plus));
+            log.warn("Booking counter flush failed for {} flights, will retry: {}", deltas.size(), e.getMessage());
+            return;
+        }
+
+        // Kiralanmış koltuklar korumayı her zaman geçer; red ancak kapasite küçültüldüğünde
+        // veya başka instance'ta bırakılan koltuklarla sıfırın altına inildiğinde olur
+        for (Long flightId : rejected) {
+            rejectedCounter.increment();
+            log.error("Booking delta {} for flight {} rejected by capacity guard; resyncing counter",
+                    booked.get(flightId), flightId);
+            resync(flightId);
+        }
+    }
+
+    /**
+     * Sayacın booked değerini veritabanından yeniler; açık tutmalar, blok ve yazılmamış farklar korunur
+     */
+    private void resync(Long flightId) {
+        Integer stored = flightRepository.findById(flightId).map(Flight::getBookedPassengers).orElse(null);
+        SeatCounter counter = counters.get(flightId);
+        if (counter != null) {
+            counter.reset(stored != null ? stored : 0);
+        }
+    }
+
+    private SeatCounter counter(long flightId) {
+        SeatCounter counter = counters.get(flightId);
+        if (counter == null) {
+            counter = counters.computeIfAbsent(flightId, this::load);
+        }
+        counter.lastAccess = System.nanoTime();
+        return counter;
+    }
+
+    private SeatCounter load(long flightId) {
+        Flight flight = flightRepository.findById(flightId)
+                .orElseThrow(() -> new IllegalArgumentException("Flight not found: " + flightId));
+        return new SeatCounter(flight.getPassengerCapacity(),
+                flight.getBookedPassengers() != null ? flight.getBookedPassengers() : 0);
+    }
+
+    private FlightDto.BookingCounter toResponse(Long flightId, SeatCounter counter) {
+        int booked = counter.booked();
+        return FlightDto.BookingCounter.builder()
+                .flightId(flightId)
+                .passengerCapacity(counter.capacity)
+                .bookedPassengers(booked)
+                .heldSeats(counter.held())
+                .availableSeats(counter.available())
+                .loadFactor(Flight.loadFactor(booked, counter.capacity))
+                .build();
+    }
+
+    private static void requirePositive(int seats) {
+        if (seats <= 0) {
+            throw new IllegalArgumentException("Seats must be positive: " + seats);
+        }
+    }
+
+    /**
+     * Yazılacak fark: booked_passengers'a eklenecek yolcu ve kiradan düşülecek koltuk
+     */
+    private record Delta(long booked, long unleased) {
+        private static final Delta EMPTY = new Delta(0, 0);
+
+        private Delta plus(Delta other) {
+            return new Delta(booked + other.booked, unleased + other.unleased);
+        }
+
+        private boolean isEmpty() {
+            return booked == 0 && unleased == 0;
+        }
+    }
+
+    private static final class SeatCounter {
+        // 21 bit'lik alanlar: booked | held | allowance; en üst bit "retired" işaretidir
+        private static final int BITS = 21;
+        private static final long MASK = (1L << BITS) - 1;
+        private static final long RETIRED = Long.MIN_VALUE;
+
+        private final Integer capacity;
+        private final AtomicLong state;
+        private final LongAdder unflushed = new LongAdder();
+        private final LongAdder unleased = new LongAdder();
+        private volatile long lastAccess = System.nanoTime();
+
+        private SeatCounter(Integer capacity, int booked) {
+            this.capacity = capacity;
+            this.state = new AtomicLong(pack(booked, 0, 0));
+        }
+
+        /**
+         * booked, held ve kiralık blok değerlerini tek CAS ile değiştirir. Sınır dışına çıkan veya
+         * bırakılmış sayaçtaki değişiklik uygulanmaz.
+         */
+        private boolean tryAdd(int bookedDelta, int heldDelta, int allowanceDelta) {
+            long current;
+            long next;
+            do {
+                current = state.get();
+                if ((current & RETIRED) != 0) {
+                    return false;
+                }
+                long nextBooked = booked(current) + bookedDelta;
+                long nextHeld = held(current) + heldDelta;
+                long nextAllowance = allowance(current) + allowanceDelta;
+                if (!fits(nextBooked) || !fits(nextHeld) || !fits(nextAllowance)) {
+                    return false;
+                }
+                next = pack(nextBooked, nextHeld, nextAllowance);
+            } while (!state.compareAndSet(current, next));
+            return true;
+        }
+
+        /**
+         * Kiralık bloktan satılan koltukları yazılacak farklara ekler
+         */
+        private void sold(int bookedDelta) {
+            if (bookedDelta != 0) {
+                unflushed.add(bookedDelta);
+                unleased.add(bookedDelta);
+            }
+        }
+
+        /**
+         * Açık tutma yoksa sayacı işaretler
+         *
+         * @return iade edilecek kiralık blok; sayaç kullanımdaysa -1
+         */
+        private int retire() {
+            long current = state.get();
+            if (held(current) != 0 || unflushed.sum() != 0 || unleased.sum() != 0
+                    || !state.compareAndSet(current, current | RETIRED)) {
+                return -1;
+            }
+            return (int) allowance(current);
+        }
+
+        private void dropAllowance() {
+            long current;
+            do {
+                current = state.get();
+            } while ((current & RETIRED) == 0
+                    && !state.compareAndSet(current, pack(booked(current), held(current), 0)));
+        }
+
+        /**
+         * booked'u kaydedilmiş değer + yazılmamış farklar yapar; held ve blok korunur. Yazılmamış
+         * farklar her denemede yeniden okunur, arada gelen bir değişiklik kaybolmaz.
+         */
+        private void reset(int stored) {
+            long current;
+            do {
+                current = state.get();
+            } while ((current & RETIRED) == 0 && !state.compareAndSet(current,
+                    pack(Math.max(0, stored + unflushed.sum()), held(current), allowance(current))));
+        }
+
+        private boolean isRetired() {
+            return (state.get() & RETIRED) != 0;
+        }
+
+        private int booked() {
+            return (int) booked(state.get());
+        }
+
+        private int held() {
+            return (int) held(state.get());
+        }
+
+        private int allowance() {
+            return (int) allowance(state.get());
+        }
+
+        private Integer available() {
+            long current = state.get();
+            return capacity != null ? capacity - (int) booked(current) - (int) held(current) : null;
+        }
+
+        private static boolean fits(long value) {
+            return value >= 0 && value <= MASK;
+        }
+
+        private static long pack(long booked, long held, long allowance) {
+            return (booked << (2 * BITS)) | (held << BITS) | allowance;
+        }
+
+        private static long booked(long state) {
+            return (state >>> (2 * BITS)) & MASK;
+        }
+
+        private static long held(long state) {
+            return (state >>> BITS) & MASK;
+        }
+
+        private static long allowance(long state) {
+            return state & MASK;
+        }
+    }
+}
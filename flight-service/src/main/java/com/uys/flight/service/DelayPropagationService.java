@@ -0,0 +1,143 @@
+package com.uys.flight.service;
+
+import com.uys.flight.dto.FlightDto;
+import com.uys.flight.entity.Flight;
+import com.uys.flight.enums.FlightChangeType;
+import com.uys.flight.enums.FlightStatus;
+import com.uys.flight.event.FlightChangedEvent;
+import com.uys.flight.mapper.FlightMapper;
+import com.uys.flight.repository.AircraftRotationLockRepository;
+import com.uys.flight.repository.FlightRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Delay Propagation Service - Gecikmeyi aynı uçağın sonraki uçuşlarına yayar
+ *
+ * Uçağın sonraki uçuşları, uçuş oluşturma ile aynı {@code aircraft_rotation_lock} kilidi
+ * alındıktan sonra veritabanından tek sorguda yüklenir; başka instance'larda oluşturulan veya
+ * kaydırılan uçuşlar da güncel zamanlarıyla görülür. Her uçuş için gereken minimum turnaround
+ * süresi çıkarıldıktan sonra kalan boşluk gecikmeyi emer; gecikme tamamen emildiğinde yürüme
+ * durur. Kaydırmalar {@link Flight#delay} ile mevcut gecikmeye eklenir ve aynı transaction içinde
+ * toplu olarak yazılır.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(propagation = Propagation.MANDATORY)
+public class DelayPropagationService {
+
+    private final FlightRepository flightRepository;
+    private final FlightMapper flightMapper;
+    private final AircraftRotationLockRepository aircraftRotationLockRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.flight.delay-propagation.min-turnaround-minutes:45}")
+    private int minTurnaroundMinutes;
+
+    @Value("${app.flight.delay-propagation.max-flights:500}")
+    private int maxFlights;
+
+    /**
+     * Geciktirilen uçuşun ardından gelen rotasyona gecikmeyi yayar
+     *
+     * @param delayedFlight          gecikme uygulanmış (henüz commit edilmemiş) uçuş
+     * @param originalDepartureTime  gecikme öncesi planlanan kalkış zamanı
+     * @return yayılan gecikmeler ve turnaround boşluklarınca emilen dakika
+     */
+    public FlightDto.DelayPropagationResponse propagate(Flight delayedFlight, LocalDateTime originalDepartureTime) {
+        aircraftRotationLockRepository.lock(delayedFlight.getAircraftRegistration());
+        List<Flight> following = flightRepository.findRotationFrom(delayedFlight.getAircraftRegistration(),
+                originalDepartureTime, FlightStatus.CANCELLED, Limit.of(maxFlights + 1));
+
+        List<PlannedShift> plan = plan(delayedFlight, following);
+        List<FlightDto.PropagatedDelay> propagated = apply(plan);
+
+        // Emilen: bu işlemde eklenen gecikme - zincirin son uçuşunda kalan gecikme
+        int addedMinutes = (int) Duration.between(originalDepartureTime, delayedFlight.getScheduledDepartureTime()).toMinutes();
+        int remaining = !propagated.isEmpty() ? propagated.get(propagated.size() - 1).getAddedDelayMinutes()
+                : !plan.isEmpty() ? plan.get(0).minutes() : 0;
+        int absorbed = Math.max(0, addedMinutes - remaining);
+
+        if (!propagated.isEmpty()) {
+            log.info("Propagated delay of flight {} to {} downstream flights",
+                    delayedFlight.getFlightNumber(), propagated.size());
+        }
+
+        return FlightDto.DelayPropagationResponse.builder()
+                .delayedFlight(flightMapper.toResponse(delayedFlight))
+                .propagatedFlights(propagated)
+                .absorbedMinutes(absorbed)
+                .build();
+    }
+
+    /**
+     * Rotasyonu ileri doğru yürür; her uçuş en erken önceki varış + turnaround süresinde kalkabilir
+     */
+    private List<PlannedShift> plan(Flight delayedFlight, List<Flight> following) {
+        List<PlannedShift> plan = new ArrayList<>();
+        LocalDateTime readyTime = delayedFlight.getScheduledArrivalTime().plusMinutes(minTurnaroundMinutes);
+
+        for (Flight flight : following) {
+            if (flight.getId().equals(delayedFlight.getId())) {
+                continue;
+            }
+            if (!flight.getScheduledDepartureTime().isBefore(readyTime)) {
+                break;
+            }
+            if (flight.isDeparted()) {
+                // Kalkmış bir uçuş kaydırılamaz; zincir burada kopar
+                break;
+            }
+            if (plan.size() == maxFlights) {
+                log.warn("Delay propagation of flight {} truncated at {} flights",
+                        delayedFlight.getFlightNumber(), maxFlights);
+                break;
+            }
+            int shift = (int) Math.ceil(Duration.between(flight.getScheduledDepartureTime(), readyTime).getSeconds() / 60.0);
+            plan.add(new PlannedShift(flight, shift));
+            readyTime = flight.getScheduledArrivalTime().plusMinutes(shift + minTurnaroundMinutes);
+        }
+        return plan;
+    }
+
+    private List<FlightDto.PropagatedDelay> apply(List<PlannedShift> plan) {
+        if (plan.isEmpty()) {
+            return List.of();
+        }
+        List<Flight> changed = new ArrayList<>(plan.size());
+        List<FlightDto.PropagatedDelay> propagated = new ArrayList<>(plan.size());
+        for (PlannedShift shift : plan) {
+            shift.flight().delay(shift.minutes());
+            changed.add(shift.flight());
+        }
+
+        for (Flight flight : flightRepository.saveAllAndFlush(changed)) {
+            eventPublisher.publishEvent(new FlightChangedEvent(flightMapper.toResponse(flight), FlightChangeType.DELAYED));
+            propagated.add(FlightDto.PropagatedDelay.builder()
+                    .id(flight.getId())
+                    .flightNumber(flight.getFlightNumber())
+                    .addedDelayMinutes(plan.get(propagated.size()).minutes())
+                    .totalDelayMinutes(flight.getDelayMinutes())
+                    .scheduledDepartureTime(flight.getScheduledDepartureTime())
+                    .scheduledArrivalTime(flight.getScheduledArrivalTime())
+                    .version(flight.getVersion())
+                    .build());
+        }
+        return propagated;
+    }
+
+    private record PlannedShift(Flight flight, int minutes) {
+    }
+}
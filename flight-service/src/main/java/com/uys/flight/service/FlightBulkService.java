@@ -0,0 +1,173 @@
+package com.uys.flight.service;
+
+import com.uys.flight.dto.FlightDto;
+import com.uys.flight.entity.Flight;
+import com.uys.flight.enums.FlightChangeType;
+import com.uys.flight.enums.FlightStatus;
+import com.uys.flight.event.FlightChangedEvent;
+import com.uys.flight.index.AircraftRotationIndex;
+import com.uys.flight.mapper.FlightMapper;
+import com.uys.flight.repository.FlightBatchRepository;
+import com.uys.flight.repository.FlightBatchRepository.BulkTarget;
+import com.uys.flight.repository.FlightRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Flight Bulk Service - Düzensiz operasyonlar için toplu gecikme/iptal/durum güncellemesi
+ *
+ * Hedefler tek sorguda seçilir, güncellemeler version kontrollü JDBC batch olarak yapılır.
+ * Güncellenen uçuşlar için {@link FlightChangedEvent} yayınlanır; in-memory index'ler ve
+ * cache anahtarları commit sonrası uçuş bazında güncellenir.
+ *
+ * Toplu gecikmede her geciktirilen uçuş için tek uçuş gecikmesi gibi
+ * {@link DelayPropagationService} çalıştırılır; rotasyondaki sonraki uçuşlar aynı transaction
+ * içinde kaydırılır ve çakışma oluşmaz. Uçaklar kayıt sırasıyla kilitlenir.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class FlightBulkService {
+
+    private final FlightRepository flightRepository;
+    private final FlightBatchRepository flightBatchRepository;
+    private final FlightMapper flightMapper;
+    private final DelayPropagationService delayPropagationService;
+    private final AircraftRotationIndex aircraftRotationIndex;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.flight.bulk.max-flights:2000}")
+    private int maxFlights;
+
+    @Value("${app.flight.delay-propagation.enabled:true}")
+    private boolean delayPropagationEnabled;
+
+    public FlightDto.BulkResult delayFlights(FlightDto.BulkFilter filter, int delayMinutes) {
+        if (delayMinutes <= 0) {
+            throw new IllegalArgumentException("Delay minutes must be positive: " + delayMinutes);
+        }
+        log.info("Bulk delaying flights by {} minutes: {}", delayMinutes, filter);
+
+        List<BulkTarget> targets = resolveTargets(filter, true);
+        List<Long> updatedIds = flightBatchRepository.delay(targets, delayMinutes, LocalDateTime.now());
+        List<Flight> updatedFlights = flightRepository.findAllById(updatedIds);
+        List<FlightDto.PropagatedDelay> propagated = propagate(updatedFlights, delayMinutes);
+        return complete(targets, updatedIds, updatedFlights, FlightChangeType.DELAYED, propagated);
+    }
+
+    public FlightDto.BulkResult cancelFlights(FlightDto.BulkFilter filter) {
+        log.info("Bulk cancelling flights: {}", filter);
+
+        List<BulkTarget> targets = resolveTargets(filter, true);
+        List<Long> updatedIds = flightBatchRepository.updateStatus(targets, FlightStatus.CANCELLED, LocalDateTime.now());
+        return complete(targets, updatedIds, flightRepository.findAllById(updatedIds), FlightChangeType.CANCELLED, List.of());
+    }
+
+    public FlightDto.BulkResult updateFlightStatus(FlightDto.BulkFilter filter, FlightStatus status) {
+        log.info("Bulk updating flight status to {}: {}", status, filter);
+
+        List<BulkTarget> targets = resolveTargets(filter, false);
+        List<Long> updatedIds = flightBatchRepository.updateStatus(targets, status, LocalDateTime.now());
+        return complete(targets, updatedIds, flightRepository.findAllById(updatedIds), status == FlightStatus.CANCELLED
+                ? FlightChangeType.CANCELLED : FlightChangeType.STATUS_CHANGED, List.of());
+    }
+
+    private List<BulkTarget> resolveTargets(FlightDto.BulkFilter filter, boolean notDepartedOnly) {
+        boolean hasIds = filter.getFlightIds() != null && !filter.getFlightIds().isEmpty();
+        boolean hasWindow = filter.getStartTime() != null && filter.getEndTime() != null;
+        if (!hasIds && !hasWindow) {
+            throw new IllegalArgumentException("Bulk filter requires flightIds or a startTime/endTime window");
+        }
+        if (hasWindow && !filter.getEndTime().isAfter(filter.getStartTime())) {
+            throw new IllegalArgumentException("End time must be after start time");
+        }
+
+        List<BulkTarget> targets = flightBatchRepository.findTargets(filter, notDepartedOnly, maxFlights + 1);
+        if (targets.size() > maxFlights) {
+            throw new IllegalArgumentException("Bulk filter matches more than " + maxFlights + " flights");
+        }
+
+        Map<Long, Long> expectedVersions = filter.getExpectedVersions();
+        if (expectedVersions == null || expectedVersions.isEmpty()) {
+            return targets;
+        }
+        return targets.stream()
+                .map(target -> expectedVersions.containsKey(target.id())
+                        ? target.withVersion(expectedVersions.get(target.id())) : target)
+                .toList();
+    }
+
+    /**
+     * Geciktirilen uçuşların gecikmesini rotasyonlarına yayar
+     *
+     * Uçuşlar uçak kaydı ve kalkış saatine göre işlenir; aynı uçaktaki bir uçuş önceki bir
+     * uçuşun yayılımıyla ayrıca kaydırılmışsa kendi yayılımı güncel zamanlarından devam eder.
+     */
+    private List<FlightDto.PropagatedDelay> propagate(List<Flight> delayedFlights, int delayMinutes) {
+        Map<Long, LocalDateTime> originalDepartureTimes = new HashMap<>();
+        for (Flight flight : delayedFlights) {
+            originalDepartureTimes.put(flight.getId(), flight.getScheduledDepartureTime().minusMinutes(delayMinutes));
+        }
+
+        List<FlightDto.PropagatedDelay> propagated = new ArrayList<>();
+        delayedFlights.stream()
+                .filter(flight -> flight.getAircraftRegistration() != null)
+                .sorted(Comparator.comparing(Flight::getAircraftRegistration)
+                        .thenComparing(flight -> originalDepartureTimes.get(flight.getId())))
+                .forEach(flight -> {
+                    if (delayPropagationEnabled) {
+                        propagated.addAll(delayPropagationService
+                                .propagate(flight, originalDepartureTimes.get(flight.getId()))
+                                .getPropagatedFlights());
+                    } else {
+                        aircraftRotationIndex.findFirstConflict(flight.getAircraftRegistration(),
+                                        flight.getScheduledDepartureTime(), flight.getScheduledArrivalTime(), flight.getId())
+                                .ifPresent(conflict -> log.warn("Bulk delayed flight {} now overlaps flight {} on aircraft {}",
+                                        flight.getFlightNumber(), conflict.flightNumber(), flight.getAircraftRegistration()));
+                    }
+                });
+        return propagated;
+    }
+
+    /**
+     * Güncellenen uçuşlar için değişiklik event'lerini yayınlar ve sonucu oluşturur
+     */
+    private FlightDto.BulkResult complete(List<BulkTarget> targets, List<Long> updatedIds, List<Flight> updatedFlights,
+                                          FlightChangeType changeType, List<FlightDto.PropagatedDelay> propagated) {
+        for (Flight flight : updatedFlights) {
+            eventPublisher.publishEvent(new FlightChangedEvent(flightMapper.toResponse(flight), changeType));
+        }
+
+        Set<Long> updated = new HashSet<>(updatedIds);
+        List<Long> conflictedIds = targets.stream()
+                .map(BulkTarget::id)
+                .filter(id -> !updated.contains(id))
+                .toList();
+        if (!conflictedIds.isEmpty()) {
+            log.warn("Bulk {} skipped {} flights with stale versions: {}", changeType, conflictedIds.size(), conflictedIds);
+        }
+
+        log.info("Bulk {} applied to {} of {} flights", changeType, updatedIds.size(), targets.size());
+        return FlightDto.BulkResult.builder()
+                .matchedCount(targets.size())
+                .updatedCount(updatedIds.size())
+                .updatedIds(updatedIds)
+                .conflictedIds(conflictedIds)
+                .propagatedFlights(propagated)
+                .build();
+    }
+}
@@ -1,22 +1,40 @@
 package com.uys.flight.service;
 
+import com.uys.flight.cache.FlightCacheInvalidator;
 import com.uys.flight.dto.FlightDto;
 import com.uys.flight.entity.Flight;
+import com.uys.flight.enums.FlightChangeType;
 import com.uys.flight.enums.FlightStatus;
+import com.uys.flight.event.FlightChangedEvent;
+import com.uys.flight.index.AircraftRotationIndex;
+import com.uys.flight.index.FlightSlot;
 import com.uys.flight.mapper.FlightMapper;
+import com.uys.flight.reference.AircraftRef;
+import com.uys.flight.reference.ReferenceDataReplica;
+import com.uys.flight.repository.AircraftRotationLockRepository;
 import com.uys.flight.repository.FlightRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Flight Service
@@ -29,23 +47,42 @@ public class FlightService {
 
     private final FlightRepository flightRepository;
     private final FlightMapper flightMapper;
+    private final AircraftRotationIndex aircraftRotationIndex;
+    private final AircraftRotationLockRepository aircraftRotationLockRepository;
+    private final DelayPropagationService delayPropagationService;
+    private final ReferenceDataReplica referenceDataReplica;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.flight.delay-propagation.enabled:true}")
+    private boolean delayPropagationEnabled;
+
+    @Value("${app.flight.reference.validation-enabled:true}")
+    private boolean referenceValidationEnabled;
+
+    @Value("${app.flight.listing.max-page-size:500}")
+    private int maxPageSize;
 
-    @CacheEvict(value = "flights", allEntries = true)
     public FlightDto.Response createFlight(FlightDto.CreateRequest createRequest) {
         log.info("Creating flight: {}", createRequest.getFlightNumber());
         
         if (flightRepository.existsByFlightNumber(createRequest.getFlightNumber())) {
             throw new IllegalArgumentException("Flight number already exists: " + createRequest.getFlightNumber());
         }
+
+        requireFreeRotation(createRequest.getAircraftRegistration(), createRequest.getScheduledDepartureTime(),
+                createRequest.getScheduledArrivalTime(), null);
         
+        validateReferences(createRequest);
+
         Flight flight = flightMapper.toEntity(createRequest);
+        enrichFromReferences(flight);
         Flight savedFlight = flightRepository.save(flight);
         
         log.info("Flight created successfully: {}", savedFlight.getId());
-        return flightMapper.toResponse(savedFlight);
+        return publishChange(savedFlight, FlightChangeType.CREATED);
     }
 
-    @Cacheable(value = "flights", key = "#flightNumber")
+    @Cacheable(value = FlightCacheInvalidator.FLIGHTS_BY_NUMBER, key = "#flightNumber", unless = "#result == null")
     @Transactional(readOnly = true)
     public Optional<FlightDto.Response> getFlightByNumber(String flightNumber) {
         log.debug("Getting flight by number: {}", flightNumber);
@@ -54,6 +91,7 @@ public class FlightService {
                 .map(flightMapper::toResponse);
     }
 
+    @Cacheable(value = FlightCacheInvalidator.FLIGHTS_BY_ID, key = "#id")
     @Transactional(readOnly = true)
     public FlightDto.Response getFlightById(Long id) {
         log.debug("Getting flight by ID: {}", id);
@@ -64,21 +102,10 @@ public class FlightService {
         return flightMapper.toResponse(flight);
     }
 
-    @CacheEvict(value = "flights", allEntries = true)
     public FlightDto.Response updateFlight(Long id, FlightDto.UpdateRequest updateRequest) {
-        log.info("Updating flight: {}", id);
-        
-        Flight flight = flightRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Flight not found: " + id));
-        
-        flightMapper.updateEntityFromUpdateRequest(updateRequest, flight);
-        Flight updatedFlight = flightRepository.save(flight);
-        
-        log.info("Flight updated successfully: {}", id);
-        return flightMapper.toResponse(updatedFlight);
+        return applyUpdate(id, updateRequest, null);
     }
 
-    @CacheEvict(value = "flights", allEntries = true)
     public void deleteFlight(Long id) {
         log.info("Deleting flight: {}", id);
         
@@ -86,7 +113,8 @@ public class FlightService {
                 .orElseThrow(() -> new IllegalArgumentException("Flight not found: " + id));
         
         flight.setActive(false);
-        flightRepository.save(flight);
+        Flight deletedFlight = flightRepository.save(flight);
+        publishChange(deletedFlight, FlightChangeType.DELETED);
         
         log.info("Flight deleted successfully: {}", id);
     }
@@ -99,6 +127,38 @@ public class FlightService {
         return flights.map(flightMapper::toResponse);
     }
 
+    /**
+     * (scheduledDepartureTime, id) üzerinde keyset pagination; sayfa maliyeti offset'ten bağımsızdır.
+     * Bir fazla satır okunarak sonraki sayfanın varlığı COUNT sorgusu olmadan belirlenir.
+     */
+    @Transactional(readOnly = true)
+    public FlightDto.CursorPage getFlightsAfterCursor(String cursor, int size) {
+        log.debug("Getting flights after cursor: {} size: {}", cursor, size);
+
+        if (size < 1 || size > maxPageSize) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + maxPageSize);
+        }
+
+        Limit limit = Limit.of(size + 1);
+        List<FlightDto.ListResponse> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = flightRepository.findActiveListFirst(limit);
+        } else {
+            String[] position = decodeCursor(cursor);
+            rows = flightRepository.findActiveListAfter(LocalDateTime.parse(position[0]), Long.valueOf(position[1]), limit);
+        }
+
+        boolean hasNext = rows.size() > size;
+        List<FlightDto.ListResponse> items = hasNext ? rows.subList(0, size) : rows;
+        FlightDto.ListResponse last = items.isEmpty() ? null : items.get(items.size() - 1);
+
+        return FlightDto.CursorPage.builder()
+                .items(items)
+                .nextCursor(hasNext ? encodeCursor(last.getScheduledDepartureTime(), last.getId()) : null)
+                .hasNext(hasNext)
+                .build();
+    }
+
     @Transactional(readOnly = true)
     public List<FlightDto.ListResponse> getFlightsByAirline(String airlineCode) {
         log.debug("Getting flights by airline: {}", airlineCode);
@@ -123,40 +183,200 @@ public class FlightService {
         return flightMapper.toListResponseList(flights);
     }
 
-    @CacheEvict(value = "flights", allEntries = true)
     public FlightDto.Response updateFlightStatus(Long id, FlightStatus status) {
-        log.info("Updating flight status: {} to {}", id, status);
-        
+        return applyUpdate(id, null, status);
+    }
+
+    /**
+     * Güncelleme ve durum değişikliğini tek okuma/yazma ile uygular; önce replacement
+     * (PUT semantiği), sonra status uygulanır. Birleştirilmiş (coalesced) güncellemeler de
+     * bu metotla yazılır.
+     *
+     * @param replacement null değilse updateFlight ile aynı şekilde uygulanır
+     * @param status      null değilse updateFlightStatus ile aynı şekilde uygulanır
+     */
+    public FlightDto.Response applyUpdate(Long id, FlightDto.UpdateRequest replacement, FlightStatus status) {
         Flight flight = flightRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Flight not found: " + id));
-        
-        flight.setStatus(status);
-        
-        if (status == FlightStatus.DEPARTED && flight.getActualDepartureTime() == null) {
-            flight.setActualDepartureTime(LocalDateTime.now());
+        FlightStatus previousStatus = flight.getStatus();
+
+        if (replacement != null) {
+            log.info("Updating flight: {}", id);
+            flightMapper.updateEntityFromUpdateRequest(replacement, flight);
         }
-        
-        if (status == FlightStatus.ARRIVED && flight.getActualArrivalTime() == null) {
-            flight.setActualArrivalTime(LocalDateTime.now());
+
+        if (status != null) {
+            log.info("Updating flight status: {} to {}", id, status);
+            flight.setStatus(status);
+
+            if (status == FlightStatus.DEPARTED && flight.getActualDepartureTime() == null) {
+                flight.setActualDepartureTime(LocalDateTime.now());
+            }
+
+            if (status == FlightStatus.ARRIVED && flight.getActualArrivalTime() == null) {
+                flight.setActualArrivalTime(LocalDateTime.now());
+            }
         }
-        
+
+        // Uçak veya zamanlar değişmiş ya da iptal geri alınmış olabilir
+        boolean assigned = Boolean.TRUE.equals(flight.getActive()) && flight.getStatus() != FlightStatus.CANCELLED;
+        if (assigned && (replacement != null || previousStatus == FlightStatus.CANCELLED)) {
+            requireFreeRotation(flight.getAircraftRegistration(), flight.getScheduledDepartureTime(),
+                    flight.getScheduledArrivalTime(), id);
+        }
+
         Flight updatedFlight = flightRepository.save(flight);
-        
-        log.info("Flight status updated successfully: {} to {}", id, status);
-        return flightMapper.toResponse(updatedFlight);
+
+        log.info("Flight updated successfully: {}", id);
+        FlightChangeType changeType = status == FlightStatus.CANCELLED
+                ? FlightChangeType.CANCELLED
+                : replacement == null ? FlightChangeType.STATUS_CHANGED : FlightChangeType.UPDATED;
+        return publishChange(updatedFlight, changeType);
     }
 
-    @CacheEvict(value = "flights", allEntries = true)
     public FlightDto.Response delayFlight(Long id, int delayMinutes) {
+        return delayFlightWithPropagation(id, delayMinutes).getDelayedFlight();
+    }
+
+    public FlightDto.DelayPropagationResponse delayFlightWithPropagation(Long id, int delayMinutes) {
         log.info("Delaying flight: {} by {} minutes", id, delayMinutes);
         
         Flight flight = flightRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Flight not found: " + id));
         
+        LocalDateTime originalDepartureTime = flight.getScheduledDepartureTime();
         flight.delay(delayMinutes);
         Flight updatedFlight = flightRepository.save(flight);
+
+        FlightDto.DelayPropagationResponse changeSet;
+        if (delayPropagationEnabled) {
+            changeSet = delayPropagationService.propagate(updatedFlight, originalDepartureTime);
+        } else {
+            aircraftRotationIndex.findFirstConflict(updatedFlight.getAircraftRegistration(),
+                            updatedFlight.getScheduledDepartureTime(), updatedFlight.getScheduledArrivalTime(), id)
+                    .ifPresent(conflict -> log.warn("Delayed flight {} now overlaps flight {} on aircraft {}",
+                            updatedFlight.getFlightNumber(), conflict.flightNumber(), updatedFlight.getAircraftRegistration()));
+            changeSet = FlightDto.DelayPropagationResponse.builder()
+                    .delayedFlight(flightMapper.toResponse(updatedFlight))
+                    .propagatedFlights(List.of())
+                    .build();
+        }
+        eventPublisher.publishEvent(new FlightChangedEvent(changeSet.getDelayedFlight(), FlightChangeType.DELAYED));
         
         log.info("Flight delayed successfully: {} by {} minutes", id, delayMinutes);
-        return flightMapper.toResponse(updatedFlight);
+        return changeSet;
+    }
+
+    @Transactional(readOnly = true)
+    public List<FlightDto.ListResponse> getAircraftRotation(String aircraftRegistration, LocalDate date) {
+        log.debug("Getting rotation of aircraft {} for {}", aircraftRegistration, date);
+
+        return loadOrdered(aircraftRotationIndex.getRotation(aircraftRegistration, date));
+    }
+
+    @Transactional(readOnly = true)
+    public List<FlightDto.ListResponse> getAircraftConflicts(String aircraftRegistration,
+                                                             LocalDateTime startTime, LocalDateTime endTime) {
+        log.debug("Checking aircraft {} conflicts between {} and {}", aircraftRegistration, startTime, endTime);
+
+        return loadOrdered(aircraftRotationIndex.findConflicts(aircraftRegistration, startTime, endTime, null));
+    }
+
+    /**
+     * Uçağın rotasyon kilidini alır ve çakışmayı veritabanında kontrol eder. Rotasyon index'i yalnızca
+     * bu instance'ın commit'lerini gördüğünden ret sebebi olmaz; farkı teşhis için loglanır.
+     *
+     * @param excludeFlightId güncellenen uçuşun kendisi, null olabilir
+     */
+    private void requireFreeRotation(String aircraftRegistration, LocalDateTime departure, LocalDateTime arrival,
+                                     Long excludeFlightId) {
+        aircraftRotationLockRepository.lock(aircraftRegistration);
+        Optional<String> overlapping = aircraftRotationLockRepository.findOverlappingFlightNumber(
+                aircraftRegistration, departure, arrival, excludeFlightId);
+        if (overlapping.isPresent()) {
+            throw new IllegalArgumentException("Aircraft " + aircraftRegistration
+                    + " is already assigned to overlapping flight: " + overlapping.get());
+        }
+        aircraftRotationIndex.findFirstConflict(aircraftRegistration, departure, arrival, excludeFlightId)
+                .ifPresent(conflict -> log.debug("Rotation index is stale: flight {} no longer overlaps on aircraft {}",
+                        conflict.flightNumber(), aircraftRegistration));
+    }
+
+    /**
+     * Index'ten gelen slot sırasını koruyarak uçuşları tek sorguda yükler
+     */
+    private List<FlightDto.ListResponse> loadOrdered(List<FlightSlot> slots) {
+        if (slots.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Flight> flights = flightRepository.findAllById(slots.stream().map(FlightSlot::flightId).toList())
+                .stream()
+                .collect(Collectors.toMap(Flight::getId, Function.identity()));
+        return slots.stream()
+                .map(slot -> flights.get(slot.flightId()))
+                .filter(Objects::nonNull)
+                .map(flightMapper::toListResponse)
+                .toList();
+    }
+
+    /**
+     * Havayolu, istasyon ve uçak kodlarını yerel reference data replica'sına karşı doğrular
+     */
+    private void validateReferences(FlightDto.CreateRequest createRequest) {
+        if (!referenceValidationEnabled || !referenceDataReplica.isReady()) {
+            return;
+        }
+        if (!referenceDataReplica.isKnownAirline(createRequest.getAirlineCode())) {
+            throw new IllegalArgumentException("Unknown airline code: " + createRequest.getAirlineCode());
+        }
+        if (referenceDataReplica.findStation(createRequest.getDepartureStationCode()).isEmpty()) {
+            throw new IllegalArgumentException("Unknown departure station: " + createRequest.getDepartureStationCode());
+        }
+        if (referenceDataReplica.findStation(createRequest.getArrivalStationCode()).isEmpty()) {
+            throw new IllegalArgumentException("Unknown arrival station: " + createRequest.getArrivalStationCode());
+        }
+        if (referenceDataReplica.findAircraft(createRequest.getAircraftRegistration()).isEmpty()) {
+            throw new IllegalArgumentException("Unknown aircraft registration: " + createRequest.getAircraftRegistration());
+        }
+    }
+
+    /**
+     * Boş bırakılan kapasite ve mesafeyi uçak ve istasyon verisinden doldurur
+     */
+    private void enrichFromReferences(Flight flight) {
+        if (flight.getPassengerCapacity() == null) {
+            referenceDataReplica.findAircraft(flight.getAircraftRegistration())
+                    .map(AircraftRef::capacity)
+                    .ifPresent(flight::setPassengerCapacity);
+        }
+        if (flight.getDistanceKm() == null) {
+            referenceDataReplica.distanceKm(flight.getDepartureStationCode(), flight.getArrivalStationCode())
+                    .ifPresent(flight::setDistanceKm);
+        }
+    }
+
+    private static String encodeCursor(LocalDateTime scheduledDepartureTime, Long id) {
+        String position = scheduledDepartureTime + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(String cursor) {
+        try {
+            String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if (position.length != 2) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            LocalDateTime.parse(position[0]);
+            Long.parseLong(position[1]);
+            return position;
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    private FlightDto.Response publishChange(Flight flight, FlightChangeType changeType) {
+        FlightDto.Response response = flightMapper.toResponse(flight);
+        eventPublisher.publishEvent(new FlightChangedEvent(response, changeType));
+        return response;
     }
 }
\ No newline at end of file
@@ -0,0 +1,75 @@
+package com.uys.flight.service;
+
+import com.uys.flight.dto.FlightDto;
+import com.uys.flight.enums.FlightChangeType;
+import com.uys.flight.enums.FlightStatus;
+import com.uys.flight.repository.FlightRepository;
+import com.uys.flight.repository.FlightStatusHistoryRepository;
+import com.uys.flight.repository.FlightStatusHistoryRepository.HistoryEntry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Flight Status History Service - Sıkıştırılmış durum geçmişini zaman çizelgesine çevirir
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class FlightStatusHistoryService {
+
+    private static final FlightStatus[] STATUSES = FlightStatus.values();
+    private static final FlightChangeType[] CHANGE_TYPES = FlightChangeType.values();
+
+    private final FlightRepository flightRepository;
+    private final FlightStatusHistoryRepository flightStatusHistoryRepository;
+
+    /**
+     * Uçuşun durum zaman çizelgesini döner. Durum, planlanan kalkış ve gecikmesi bir önceki
+     * kayıtla aynı olan kayıtlar (ör. yalnızca kapı değişikliği) atlanır.
+     */
+    public FlightDto.Timeline getTimeline(Long flightId) {
+        if (!flightRepository.existsById(flightId)) {
+            throw new IllegalArgumentException("Flight not found: " + flightId);
+        }
+
+        List<FlightDto.TimelineEntry> entries = new ArrayList<>();
+        FlightDto.TimelineEntry previous = null;
+        for (HistoryEntry entry : flightStatusHistoryRepository.findByFlightId(flightId)) {
+            FlightDto.TimelineEntry decoded = decode(entry);
+            if (previous != null && previous.getStatus() == decoded.getStatus()
+                    && Objects.equals(previous.getScheduledDepartureTime(), decoded.getScheduledDepartureTime())
+                    && Objects.equals(previous.getDelayMinutes(), decoded.getDelayMinutes())) {
+                continue;
+            }
+            entries.add(decoded);
+            previous = decoded;
+        }
+        return FlightDto.Timeline.builder()
+                .flightId(flightId)
+                .entries(entries)
+                .build();
+    }
+
+    private static FlightDto.TimelineEntry decode(HistoryEntry entry) {
+        return FlightDto.TimelineEntry.builder()
+                .status(STATUSES[entry.status()])
+                .changeType(CHANGE_TYPES[entry.changeType()].name())
+                .changedAt(toTime(entry.changedAt()))
+                .scheduledDepartureTime(toTime(entry.changedAt() + entry.departureDelta()))
+                .delayMinutes(entry.delayMinutes())
+                .build();
+    }
+
+    private static LocalDateTime toTime(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+}
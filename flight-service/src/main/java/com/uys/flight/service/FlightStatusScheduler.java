@@ -0,0 +1,404 @@
+package com.uys.flight.service;
+
+import com.uys.flight.dto.FlightDto;
+import com.uys.flight.entity.Flight;
+import com.uys.flight.enums.FlightChangeType;
+import com.uys.flight.enums.FlightStatus;
+import com.uys.flight.event.FlightChangedEvent;
+import com.uys.flight.event.FlightReplicatedEvent;
+import com.uys.flight.mapper.FlightMapper;
+import com.uys.flight.repository.FlightBatchRepository;
+import com.uys.flight.repository.FlightBatchRepository.StatusRow;
+import com.uys.flight.repository.FlightBatchRepository.StatusTransition;
+import com.uys.flight.repository.FlightRepository;
+import com.uys.flight.repository.StatusSchedulerInstanceRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Flight Status Scheduler - Zamana bağlı durum geçişleri
+ *
+ * Uçuşlar planlanan zamanlara göre ilerletilir: kalkıştan {@code boarding-minutes} önce BOARDING,
+ * kalkışta DEPARTED, {@code taxi-out-minutes} sonra IN_FLIGHT, planlanan varışta ARRIVED.
+ * Gecikme planlanan zamanları kaydırdığı için ayrıca hesaba katılmaz.
+ *
+ * Her uçuşun sıradaki geçişi bir öncelik kuyruğunda tutulur; kuyruk kalkış index'i üzerinden
+ * pencere pencere doldurulur ve commit edilen uçuş değişiklikleriyle güncellenir. Vadesi gelen
+ * geçişler durum ve kalkış zamanı korumalı JDBC batch olarak yazılır; yalnızca durum ilerler,
+ * gerçek kalkış/varış zamanları operasyondan gelir.
+ *
+ * Uçuşlar canlı instance'lar arasında {@code MOD(id, instance sayısı)} ile paylaştırılır. Üyelik
+ * {@code status_scheduler_instance} tablosundaki heartbeat'lerden çıkar; bir instance düşünce
+ * shard'lar yeniden hesaplanır ve pencere yeni shard'a göre yüklenir. Başka instance'larda oluşturulan
+ * uçuşlar için pencere {@code reload-minutes}'ta bir yeniden yüklenir. Shard değişimi sırasında
+ * aynı uçuşu iki instance planlayabilir; vadesi gelen satırlar {@code FOR UPDATE SKIP LOCKED} ile
+ * sahiplenildiği ve geçişler durum korumalı olduğu için bir geçiş iki kez uygulanmaz.
+ *
+ * {@code max-lateness-minutes}'tan fazla gecikmiş geçişler otomatik uygulanmaz;
+ * {@link #findOverdue()} ile elle işlenmek üzere listelenir.
+ */
+@Component
+@Slf4j
+public class FlightStatusScheduler {
+
+    private static final Comparator<StatusTransition> BY_TIME =
+            Comparator.comparing(StatusTransition::at).thenComparing(StatusTransition::flightId);
+
+    private final FlightBatchRepository flightBatchRepository;
+    private final FlightRepository flightRepository;
+    private final StatusSchedulerInstanceRepository statusSchedulerInstanceRepository;
+    private final FlightMapper flightMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    private final PriorityQueue<StatusTransition> queue = new PriorityQueue<>(BY_TIME);
+    private final Map<Long, StatusTransition> planned = new HashMap<>();
+    private final Counter appliedCounter;
+    private final Counter skippedCounter;
+    private final String instanceId = UUID.randomUUID().toString();
+    private LocalDateTime loadedUntil;
+    private LocalDateTime lastReload;
+    private int shardCount = 1;
+    private int shardIndex;
+
+    @Value("${app.flight.status-scheduler.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.flight.status-scheduler.boarding-minutes:40}")
+    private int boardingMinutes;
+
+    @Value("${app.flight.status-scheduler.taxi-out-minutes:15}")
+    private int taxiOutMinutes;
+
+    @Value("${app.flight.status-scheduler.lookback-hours:24}")
+    private int lookbackHours;
+
+    @Value("${app.flight.status-scheduler.horizon-hours:6}")
+    private int horizonHours;
+
+    @Value("${app.flight.status-scheduler.max-lateness-minutes:60}")
+    private int maxLatenessMinutes;
+
+    @Value("${app.flight.status-scheduler.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.flight.status-scheduler.retry-backoff-ms:5000}")
+    private long retryBackoffMillis;
+
+    @Value("${app.flight.status-scheduler.instance-timeout-seconds:30}")
+    private int instanceTimeoutSeconds;
+
+    @Value("${app.flight.status-scheduler.reload-minutes:2}")
+    private int reloadMinutes;
+
+    public FlightStatusScheduler(FlightBatchRepository flightBatchRepository, FlightRepository flightRepository,
+                                 StatusSchedulerInstanceRepository statusSchedulerInstanceRepository,
+                                 FlightMapper flightMapper, ApplicationEventPublisher eventPublisher,
+                                 TransactionTemplate transactionTemplate, MeterRegistry meterRegistry) {
+        this.flightBatchRepository = flightBatchRepository;
+        this.flightRepository = flightRepository;
+        this.statusSchedulerInstanceRepository = statusSchedulerInstanceRepository;
+        this.flightMapper = flightMapper;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.appliedCounter = meterRegistry.counter("flight.status.scheduler.applied");
+        this.skippedCounter = meterRegistry.counter("flight.status.scheduler.skipped");
+        Gauge.builder("flight.status.scheduler.queued", this, FlightStatusScheduler::queued).register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrap() {
+        if (!enabled) {
+            return;
+        }
+        heartbeat();
+        LocalDateTime now = LocalDateTime.now();
+        lastReload = now;
+        int loaded = load(now.minusHours(lookbackHours), now.plusHours(horizonHours));
+        log.info("Status scheduler shard {}/{} loaded {} flights", shardIndex, shardCount, loaded);
+    }
+
+    /**
+     * Heartbeat yazar ve canlı instance'lara göre shard'ı günceller; shard değişirse pencere yeniden yüklenir
+     */
+    @Scheduled(fixedDelayString = "${app.flight.status-scheduler.heartbeat-ms:10000}")
+    public void heartbeat() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            List<String> live = statusSchedulerInstanceRepository.heartbeat(instanceId, now,
+                    now.minusSeconds(instanceTimeoutSeconds));
+            int index = Math.max(live.indexOf(instanceId), 0);
+            int count = Math.max(live.size(), 1);
+            boolean reload;
+            synchronized (this) {
+                if (index == shardIndex && count == shardCount) {
+                    return;
+                }
+                shardIndex = index;
+                shardCount = count;
+                planned.keySet().removeIf(flightId -> !owns(flightId));
+                reload = loadedUntil != null;
+            }
+            log.info("Status scheduler now owns shard {}/{}", index, count);
+            if (reload) {
+                reload(now);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Status scheduler heartbeat failed: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void leave() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            // Shard'ı zaman aşımını beklemeden diğer instance'lara bırakır
+            statusSchedulerInstanceRepository.delete(instanceId);
+        } catch (RuntimeException e) {
+            log.debug("Could not leave status scheduler membership: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Commit edilen değişikliğe göre uçuşun sıradaki geçişini yeniden planlar
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onFlightChanged(FlightChangedEvent event) {
+        FlightDto.Response flight = event.flight();
+        if (!enabled || flight.getId() == null) {
+            return;
+        }
+        if (!Boolean.TRUE.equals(flight.getActive())) {
+            plan(flight.getId(), null);
+            return;
+        }
+        plan(flight.getId(), next(flight.getId(), flight.getStatus(),
+                flight.getScheduledDepartureTime(), flight.getScheduledArrivalTime()));
+    }
+
+    /**
+     * Diğer instance'larda commit edilen değişiklikleri aynı şekilde uygular
+     */
+    @EventListener
+    public void onFlightReplicated(FlightReplicatedEvent event) {
+        onFlightChanged(event.toChangedEvent());
+    }
+
+    @Scheduled(fixedDelayString = "${app.flight.status-scheduler.tick-ms:1000}")
+    public void tick() {
+        if (!enabled || loadedUntil == null) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            LocalDateTime horizon = now.plusHours(horizonHours);
+            if (horizon.isAfter(loadedUntil.plusMinutes(5))) {
+                load(loadedUntil, horizon);
+            }
+            if (!now.isBefore(lastReload.plusMinutes(reloadMinutes))) {
+                reload(now);
+            }
+
+            // İlerleme olmayan batch'te durulur; atlanan geçişler geri çekilerek yeniden planlanmıştır
+            List<StatusTransition> due = pollDue(now);
+            while (!due.isEmpty() && apply(due, now) > 0) {
+                due = pollDue(now);
+            }
+        } catch (RuntimeException e) {
+            log.error("Status scheduler tick failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Verilen durumdaki uçuşun sıradaki zamana bağlı geçişini hesaplar; yoksa null
+     */
+    StatusTransition next(Long flightId, FlightStatus status, LocalDateTime departure, LocalDateTime arrival) {
+        if (status == null || departure == null || arrival == null) {
+            return null;
+        }
+        return switch (status) {
+            case SCHEDULED, DELAYED -> new StatusTransition(flightId, status, FlightStatus.BOARDING,
+                    departure.minusMinutes(boardingMinutes), departure);
+            case BOARDING -> new StatusTransition(flightId, status, FlightStatus.DEPARTED, departure, departure);
+            case DEPARTED -> new StatusTransition(flightId, status, FlightStatus.IN_FLIGHT,
+                    departure.plusMinutes(taxiOutMinutes), departure);
+            case IN_FLIGHT -> new StatusTransition(flightId, status, FlightStatus.ARRIVED, arrival, departure);
+            default -> null;
+        };
+    }
+
+    /**
+     * Elle işlenmesi gereken, {@code max-lateness-minutes}'tan fazla gecikmiş geçişleri tüm shard'lar için döner
+     */
+    public List<FlightDto.OverdueTransition> findOverdue() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime tooLate = now.minusMinutes(maxLatenessMinutes);
+        List<FlightDto.OverdueTransition> overdue = new ArrayList<>();
+        for (StatusRow row : flightBatchRepository.findTransitionCandidates(now.minusHours(lookbackHours), now, 1, 0)) {
+            StatusTransition transition = next(row.id(), row.status(), row.scheduledDepartureTime(),
+                    row.scheduledArrivalTime());
+            if (transition != null && transition.at().isBefore(tooLate)) {
+                overdue.add(FlightDto.OverdueTransition.builder()
+                        .flightId(transition.flightId())
+                        .fromStatus(transition.from())
+                        .toStatus(transition.to())
+                        .dueAt(transition.at())
+                        .build());
+            }
+        }
+        return overdue;
+    }
+
+    /**
+     * Pencerenin başından yüklenmiş ufka kadar yeniden yükler; başka instance'larda oluşturulan
+     * veya değişen uçuşlar böylece planlanır
+     */
+    private void reload(LocalDateTime now) {
+        lastReload = now;
+        int loaded = load(now.minusHours(lookbackHours), loadedUntil);
+        log.debug("Status scheduler reloaded {} flights", loaded);
+    }
+
+    private int load(LocalDateTime from, LocalDateTime to) {
+        int count;
+        int index;
+        synchronized (this) {
+            count = shardCount;
+            index = shardIndex;
+        }
+        List<StatusRow> rows = flightBatchRepository.findTransitionCandidates(from, to, count, index);
+        LocalDateTime tooLate = LocalDateTime.now().minusMinutes(maxLatenessMinutes);
+        synchronized (this) {
+            for (StatusRow row : rows) {
+                StatusTransition transition = next(row.id(), row.status(), row.scheduledDepartureTime(),
+                        row.scheduledArrivalTime());
+                // Fazla gecikmiş geçişler yeniden planlanmaz; findOverdue ile listelenir
+                if (transition != null && owns(row.id()) && !transition.at().isBefore(tooLate)) {
+                    planned.put(row.id(), transition);
+                    queue.add(transition);
+                }
+            }
+            if (loadedUntil == null || to.isAfter(loadedUntil)) {
+                loadedUntil = to;
+            }
+        }
+        return rows.size();
+    }
+
+    private synchronized void plan(Long flightId, StatusTransition transition) {
+        if (transition == null || !owns(flightId)) {
+            planned.remove(flightId);
+            return;
+        }
+        // Kalkışı henüz yüklenmemiş pencerede olan uçuşlar pencere yüklenince planlanır
+        if (loadedUntil != null && !transition.scheduledDepartureTime().isBefore(loadedUntil)) {
+            planned.remove(flightId);
+            return;
+        }
+        planned.put(flightId, transition);
+        queue.add(transition);
+    }
+
+    /**
+     * Vadesi gelmiş geçişleri kuyruktan alır; yerine yenisi planlanmış eski kayıtlar atlanır
+     */
+    private synchronized List<StatusTransition> pollDue(LocalDateTime now) {
+        List<StatusTransition> due = new ArrayList<>();
+        LocalDateTime tooLate = now.minusMinutes(maxLatenessMinutes);
+        while (due.size() < batchSize && !queue.isEmpty() && !queue.peek().at().isAfter(now)) {
+            StatusTransition transition = queue.poll();
+            if (planned.get(transition.flightId()) != transition) {
+                continue;
+            }
+            planned.remove(transition.flightId());
+            if (transition.at().isBefore(tooLate)) {
+                // Servis kapalıyken kaçırılan geçişler otomatik uygulanmaz; findOverdue ile elle işlenir
+                skippedCounter.increment();
+                log.warn("Skipped overdue {} -> {} transition of flight {} due at {}", transition.from(),
+                        transition.to(), transition.flightId(), transition.at());
+                continue;
+            }
+            due.add(transition);
+        }
+        return due;
+    }
+
+    /**
+     * @return uygulanan geçiş sayısı
+     */
+    private int apply(List<StatusTransition> due, LocalDateTime now) {
+        List<Long> updatedIds = transactionTemplate.execute(status -> {
+            List<Long> ids = flightBatchRepository.applyTransitions(due, now);
+            // Yayınlanan event'ler commit sonrası index/cache/outbox'ı günceller ve sıradaki geçişi planlar
+            for (Flight flight : flightRepository.findAllById(ids)) {
+                eventPublisher.publishEvent(new FlightChangedEvent(flightMapper.toResponse(flight),
+                        FlightChangeType.STATUS_CHANGED));
+            }
+            return ids;
+        });
+        appliedCounter.increment(updatedIds.size());
+
+        if (updatedIds.size() < due.size()) {
+            // Başka bir instance'ta değişen veya şu an kilitli uçuşların event'i buraya gelmez; güncel
+            // satırdan yeniden planlanır. Hâlâ vadesi gelmiş geçiş (kilit bırakılmamış) retry-backoff-ms
+            // sonra tekrar denenir; aynı turda yeniden alınmaz.
+            Set<Long> updated = new HashSet<>(updatedIds);
+            List<Long> stale = due.stream()
+                    .map(StatusTransition::flightId)
+                    .filter(id -> !updated.contains(id))
+                    .toList();
+            LocalDateTime retryAt = now.plusNanos(retryBackoffMillis * 1_000_000);
+            for (Flight flight : flightRepository.findAllById(stale)) {
+                StatusTransition transition = Boolean.TRUE.equals(flight.getActive())
+                        ? next(flight.getId(), flight.getStatus(), flight.getScheduledDepartureTime(),
+                        flight.getScheduledArrivalTime())
+                        : null;
+                if (transition != null && !transition.at().isAfter(now)) {
+                    transition = transition.retryAt(retryAt);
+                }
+                plan(flight.getId(), transition);
+            }
+            log.debug("Re-planned {} status transitions of flights changed or locked since planning", stale.size());
+        }
+        return updatedIds.size();
+    }
+
+    /**
+     * Çağıran bu nesnenin kilidini tutmalıdır
+     */
+    private boolean owns(Long flightId) {
+        return shardCount == 1 || Math.floorMod(flightId, shardCount) == shardIndex;
+    }
+
+    private synchronized int queued() {
+        return planned.size();
+    }
+}
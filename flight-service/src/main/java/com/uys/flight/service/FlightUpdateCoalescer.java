@@ -0,0 +1,189 @@
+package com.uys.flight.service;
+
+import com.uys.flight.dto.FlightDto;
+import com.uys.flight.enums.FlightStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+
+/**
+ * Flight Update Coalescer - Aynı uçuşa kısa aralıkla gelen güncellemeleri tek yazmada birleştirir
+ *
+ * Bir uçuş için ilk güncelleme bir pencere (window) açar; pencere kapanana kadar gelen
+ * güncellemeler sıralı olarak birleştirilir ve sonuç tek bir findById + save ile yazılır.
+ * Penceredeki tüm çağıranlar aynı nihai durumla cevaplanır. Birleştirme sıralı uygulamayla
+ * aynı sonucu verir: PUT önceki tüm değişiklikleri ezer, durum değişikliği en son uygulanır.
+ *
+ * Durum geçişleri birleştirilmez: penceredekinden farklı bir durum gelirse açık pencere hemen
+ * yazılır ve yeni durum kendi penceresinde, öncekinin yazılmasından sonra yazılır. Böylece her
+ * geçiş ayrı bir event ve durum geçmişi kaydı üretir.
+ */
+@Component
+@Slf4j
+public class FlightUpdateCoalescer {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final FlightService flightService;
+    private final ConcurrentMap<Long, PendingUpdate> pending = new ConcurrentHashMap<>();
+    private final ThreadPoolTaskScheduler scheduler;
+    private final long windowMillis;
+    private final Counter writesCounter;
+    private final Counter coalescedCounter;
+
+    @Value("${app.flight.coalescing.enabled:true}")
+    private boolean enabled;
+
+    public FlightUpdateCoalescer(FlightService flightService, MeterRegistry meterRegistry,
+                                 @Value("${app.flight.coalescing.threads:4}") int threads,
+                                 @Value("${app.flight.coalescing.window-ms:200}") long windowMillis) {
+        this.flightService = flightService;
+        this.windowMillis = windowMillis;
+        // Context bean'i olarak tanımlanmaz; aksi halde @Scheduled ve @Async için otomatik yapılandırılan
+        // scheduler/executor devre dışı kalır. Yaşam döngüsü bu bileşene bağlıdır.
+        this.scheduler = new ThreadPoolTaskScheduler();
+        this.scheduler.setPoolSize(threads);
+        this.scheduler.setThreadNamePrefix("flight-coalescer-");
+        this.scheduler.setWaitForTasksToCompleteOnShutdown(true);
+        this.scheduler.setAwaitTerminationMillis(windowMillis + 5000);
+        this.scheduler.initialize();
+        this.writesCounter = meterRegistry.counter("flight.coalescing.writes");
+        this.coalescedCounter = meterRegistry.counter("flight.coalescing.merged");
+    }
+
+    public CompletableFuture<FlightDto.Response> updateFlight(Long id, FlightDto.UpdateRequest updateRequest) {
+        return submit(id, updateRequest.getStatus(), update -> {
+            update.replacement = updateRequest;
+            update.status = null;
+        });
+    }
+
+    public CompletableFuture<FlightDto.Response> updateFlightStatus(Long id, FlightStatus status) {
+        return submit(id, status, update -> update.status = status);
+    }
+
+    /**
+     * @param status isteğin yazacağı durum; null ise durumu değiştirmez
+     */
+    private CompletableFuture<FlightDto.Response> submit(Long id, FlightStatus status, Consumer<PendingUpdate> mutation) {
+        if (!enabled) {
+            PendingUpdate single = new PendingUpdate(CompletableFuture.completedFuture(null));
+            mutation.accept(single);
+            try {
+                return CompletableFuture.completedFuture(write(id, single));
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+
+        CompletableFuture<FlightDto.Response> caller = new CompletableFuture<>();
+        pending.compute(id, (key, update) -> {
+            if (update != null && status != null && update.targetStatus() != null && update.targetStatus() != status) {
+                // Farklı bir duruma geçiş: açık pencere hemen yazılır, yeni pencere onun ardından yazılır
+                PendingUpdate previous = update;
+                scheduler.execute(() -> writeWindow(key, previous));
+                update = open(key, previous.written);
+            } else if (update == null) {
+                update = open(key, CompletableFuture.completedFuture(null));
+            }
+            mutation.accept(update);
+            update.callers.add(caller);
+            return update;
+        });
+        return caller;
+    }
+
+    private PendingUpdate open(Long id, CompletableFuture<Void> after) {
+        PendingUpdate update = new PendingUpdate(after);
+        scheduler.schedule(() -> flush(id, update), Instant.now().plusMillis(windowMillis));
+        return update;
+    }
+
+    private void flush(Long id, PendingUpdate update) {
+        // remove atomiktir; sonradan gelen güncelleme yeni bir pencere açar. Erken yazılmış pencere atlanır.
+        if (pending.remove(id, update)) {
+            writeWindow(id, update);
+        }
+    }
+
+    /**
+     * Pencereyi, önceki pencere yazıldıktan sonra yazar; yazma sırası geliş sırasıdır
+     */
+    private void writeWindow(Long id, PendingUpdate update) {
+        update.after.whenComplete((ignored, previousFailure) -> {
+            try {
+                FlightDto.Response response = write(id, update);
+                update.callers.forEach(caller -> caller.complete(response));
+                if (update.callers.size() > 1) {
+                    coalescedCounter.increment(update.callers.size() - 1);
+                    log.debug("Coalesced {} updates of flight {} into one write", update.callers.size(), id);
+                }
+            } catch (RuntimeException e) {
+                update.callers.forEach(caller -> caller.completeExceptionally(e));
+            } finally {
+                update.written.complete(null);
+            }
+        });
+    }
+
+    /**
+     * Birleştirilmiş güncellemeyi güncel satır üzerine yeniden uygulayarak version çakışmalarını emer
+     */
+    private FlightDto.Response write(Long id, PendingUpdate update) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                writesCounter.increment();
+                return flightService.applyUpdate(id, update.replacement, update.status);
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt == MAX_ATTEMPTS) {
+                    throw e;
+                }
+                log.debug("Optimistic lock conflict on flight {}, retrying ({}/{})", id, attempt, MAX_ATTEMPTS);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Bekleyen pencereler kapanışta da yazılır
+        scheduler.shutdown();
+        if (!pending.isEmpty()) {
+            log.warn("Flight update coalescer did not drain {} pending flights", pending.size());
+        }
+    }
+
+    private static final class PendingUpdate {
+        private final CompletableFuture<Void> after;
+        private final CompletableFuture<Void> written = new CompletableFuture<>();
+        private FlightDto.UpdateRequest replacement;
+        private FlightStatus status;
+        private final List<CompletableFuture<FlightDto.Response>> callers = new ArrayList<>();
+
+        private PendingUpdate(CompletableFuture<Void> after) {
+            this.after = after;
+        }
+
+        /**
+         * Pencerenin yazacağı durum; durum değişikliği PUT'taki durumun üzerine uygulanır
+         */
+        private FlightStatus targetStatus() {
+            if (status != null) {
+                return status;
+            }
+            return replacement != null ? replacement.getStatus() : null;
+        }
+    }
+}
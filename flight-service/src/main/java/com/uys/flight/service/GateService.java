@@ -0,0 +1,84 @@
+package com.uys.flight.service;
+
+import com.uys.flight.dto.GateDto;
+import com.uys.flight.index.GateKey;
+import com.uys.flight.index.GateOccupancy;
+import com.uys.flight.index.GateOccupancyIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Gate Service - Kapı doluluk sorguları
+ *
+ * Tüm sorgular {@link GateOccupancyIndex} üzerinden bellekte cevaplanır.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GateService {
+
+    private final GateOccupancyIndex gateOccupancyIndex;
+
+    public GateDto.AvailabilityResponse checkGate(String stationCode, String terminal, String gate,
+                                                  LocalDateTime startTime, LocalDateTime endTime) {
+        log.debug("Checking gate {} at {}/{} between {} and {}", gate, stationCode, terminal, startTime, endTime);
+        validateWindow(startTime, endTime);
+
+        GateKey key = GateKey.of(stationCode, terminal, gate);
+        List<GateDto.Occupancy> conflicts = gateOccupancyIndex.findConflicts(key, startTime, endTime, null).stream()
+                .map(this::toOccupancy)
+                .toList();
+
+        return GateDto.AvailabilityResponse.builder()
+                .stationCode(key.stationCode())
+                .terminal(key.terminal())
+                .gate(key.gate())
+                .free(conflicts.isEmpty())
+                .conflicts(conflicts)
+                .build();
+    }
+
+    /**
+     * Aday kapıları paralel tarar; aday verilmezse index'te bilinen kapılar kullanılır
+     */
+    public GateDto.FreeGatesResponse findFreeGates(String stationCode, String terminal, List<String> candidateGates,
+                                                   LocalDateTime startTime, LocalDateTime endTime) {
+        log.debug("Finding free gates at {}/{} between {} and {}", stationCode, terminal, startTime, endTime);
+        validateWindow(startTime, endTime);
+
+        List<String> candidates = candidateGates == null || candidateGates.isEmpty()
+                ? gateOccupancyIndex.knownGates(stationCode, terminal)
+                : candidateGates;
+
+        List<String> freeGates = candidates.parallelStream()
+                .filter(gate -> gateOccupancyIndex.isFree(GateKey.of(stationCode, terminal, gate), startTime, endTime))
+                .toList();
+
+        return GateDto.FreeGatesResponse.builder()
+                .stationCode(stationCode)
+                .terminal(terminal)
+                .startTime(startTime)
+                .endTime(endTime)
+                .freeGates(freeGates)
+                .build();
+    }
+
+    private GateDto.Occupancy toOccupancy(GateOccupancy occupancy) {
+        return GateDto.Occupancy.builder()
+                .flightId(occupancy.flightId())
+                .flightNumber(occupancy.flightNumber())
+                .onBlockTime(occupancy.onBlockTime())
+                .offBlockTime(occupancy.offBlockTime())
+                .build();
+    }
+
+    private static void validateWindow(LocalDateTime startTime, LocalDateTime endTime) {
+        if (!endTime.isAfter(startTime)) {
+            throw new IllegalArgumentException("End time must be after start time");
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.uys.flight.service;
+
+import com.uys.flight.analytics.OtpColumnarSnapshot;
+import com.uys.flight.analytics.OtpCounts;
+import com.uys.flight.analytics.OtpLiveAggregates;
+import com.uys.flight.analytics.OtpSample;
+import com.uys.flight.dto.AnalyticsDto;
+import com.uys.flight.dto.FlightDto;
+import com.uys.flight.enums.FlightStatus;
+import com.uys.flight.enums.OtpDimension;
+import com.uys.flight.event.FlightChangedEvent;
+import com.uys.flight.event.FlightReplicatedEvent;
+import com.uys.flight.repository.FlightAnalyticsRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * OTP Analytics Service - Orijinal plana göre D0/D15/A15 zamanında performans
+ *
+ * Bugünün uçuşları commit edilen değişikliklerle (diğer instance'lardakiler {@code flight.events}
+ * üzerinden) artımlı güncellenen {@link OtpLiveAggregates} üzerinden, önceki günler gece yenilenen {@link OtpColumnarSnapshot} üzerinde fork-join
+ * taramasıyla hesaplanır. Sorgular veritabanına gitmez.
+ */
+@Service
+@Slf4j
+public class OtpAnalyticsService {
+
+    private final FlightAnalyticsRepository flightAnalyticsRepository;
+    private final ForkJoinPool pool;
+
+    private volatile OtpColumnarSnapshot history;
+    private volatile OtpLiveAggregates today = new OtpLiveAggregates(LocalDate.now());
+    private volatile OtpLiveAggregates loading;
+
+    @Value("${app.flight.otp.history-days:90}")
+    private int historyDays;
+
+    public OtpAnalyticsService(FlightAnalyticsRepository flightAnalyticsRepository,
+                               @Value("${app.flight.otp.parallelism:0}") int parallelism) {
+        this.flightAnalyticsRepository = flightAnalyticsRepository;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrap() {
+        refresh();
+    }
+
+    /**
+     * Gün dönümünden sonra snapshot'ı dünü de kapsayacak şekilde yeniler ve yeni günü başlatır
+     */
+    @Scheduled(cron = "${app.flight.otp.refresh-cron:0 5 0 * * *}")
+    public void refresh() {
+        LocalDate day = LocalDate.now();
+        loadToday(day);
+        loadHistory(day);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onFlightChanged(FlightChangedEvent event) {
+        FlightDto.Response flight = event.flight();
+        // Yükleme önce today'i değiştirip sonra loading'i temizlediğinden ters sırada okunur
+        OtpLiveAggregates next = loading;
+        OtpLiveAggregates current = today;
+        OtpSample sample = Boolean.TRUE.equals(flight.getActive()) && flight.getStatus() != FlightStatus.CANCELLED
+                ? OtpSample.of(flight.getAirlineCode(), flight.getDepartureStationCode(), flight.getArrivalStationCode(),
+                        flight.getOriginalScheduledDepartureTime(), flight.getOriginalScheduledArrivalTime(),
+                        flight.getActualDepartureTime(), flight.getActualArrivalTime())
+                : null;
+        current.put(flight.getId(), flight.getVersion(), sample);
+        // Yüklenmekte olan yeni gün de event'leri alır; version kontrolü sırayı korur
+        if (next != null && next != current) {
+            next.put(flight.getId(), flight.getVersion(), sample);
+        }
+    }
+
+    /**
+     * Diğer instance'larda commit edilen değişiklikleri aynı şekilde uygular
+     */
+    @EventListener
+    public void onFlightReplicated(FlightReplicatedEvent event) {
+        onFlightChanged(event.toChangedEvent());
+    }
+
+    /**
+     * Verilen gün aralığı (her iki uç dahil) için OTP raporu
+     */
+    public AnalyticsDto.OtpReport getOtp(OtpDimension dimension, LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("End date must not be before start date");
+        }
+        OtpLiveAggregates live = today;
+        Map<String, OtpCounts> merged = new HashMap<>();
+
+        if (from.isBefore(live.day())) {
+            OtpColumnarSnapshot snapshot = history;
+            if (snapshot == null) {
+                throw new IllegalStateException("OTP history is still loading");
+            }
+            if (from.atStartOfDay().isBefore(snapshot.from())) {
+                throw new IllegalArgumentException("OTP history is kept for " + historyDays + " days, from "
+                        + snapshot.from().toLocalDate());
+            }
+            LocalDate historyEnd = to.isBefore(live.day()) ? to.plusDays(1) : live.day();
+            merge(merged, snapshot.aggregate(dimension, from.atStartOfDay(), historyEnd.atStartOfDay(), pool));
+        }
+        if (!to.isBefore(live.day()) && !from.isAfter(live.day())) {
+            merge(merged, live.snapshot(dimension));
+        }
+
+        List<AnalyticsDto.OtpRow> rows = merged.entrySet().stream()
+                .map(entry -> toRow(entry.getKey(), entry.getValue()))
+                .sorted(Comparator.comparing(AnalyticsDto.OtpRow::getDepartures).reversed())
+                .toList();
+        return AnalyticsDto.OtpReport.builder()
+                .dimension(dimension)
+                .from(from)
+                .to(to)
+                .rows(rows)
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Yeni günün sayaçları yayındakinden ayrı doldurulur ve tamamlanınca yerine konur; yükleme
+     * sırasında gelen event'ler her ikisine de yazılır. Veritabanı satırı ile event arasında
+     * version'ı yüksek olan kalır, böylece yarım dolu sayaçlar sorgulara görünmez.
+     */
+    private synchronized void loadToday(LocalDate day) {
+        OtpLiveAggregates live = new OtpLiveAggregates(day);
+        loading = live;
+        try {
+            flightAnalyticsRepository.forEachDeparted(day.atStartOfDay(), day.plusDays(1).atStartOfDay(), live::put);
+            today = live;
+        } finally {
+            loading = null;
+        }
+    }
+
+    private void loadHistory(LocalDate day) {
+        long started = System.currentTimeMillis();
+        OtpColumnarSnapshot.Builder builder = OtpColumnarSnapshot.builder();
+        LocalDate from = day.minusDays(historyDays);
+        flightAnalyticsRepository.forEachDeparted(from.atStartOfDay(), day.atStartOfDay(),
+                (flightId, version, sample) -> builder.add(sample));
+        history = builder.build(from.atStartOfDay(), day.atStartOfDay());
+        log.info("OTP history snapshot loaded with {} flights in {} ms", history.size(),
+                System.currentTimeMillis() - started);
+    }
+
+    private static void merge(Map<String, OtpCounts> target, Map<String, OtpCounts> source) {
+        source.forEach((key, counts) -> target.merge(key, counts, (left, right) -> {
+            left.merge(right);
+            return left;
+        }));
+    }
+
+    private static AnalyticsDto.OtpRow toRow(String key, OtpCounts counts) {
+        return AnalyticsDto.OtpRow.builder()
+                .key(key)
+                .departures(counts.departures())
+                .d0Percent(counts.d0Percent())
+                .d15Percent(counts.d15Percent())
+                .arrivals(counts.arrivals())
+                .a15Percent(counts.a15Percent())
+                .averageDepartureDelayMinutes(counts.averageDepartureDelay())
+                .build();
+    }
+}
@@ -0,0 +1,214 @@
+package com.uys.flight.service;
+
+import com.uys.flight.dto.SeatHoldDto;
+import com.uys.flight.hold.HashedTimerWheel;
+import com.uys.flight.hold.SeatHold;
+import com.uys.flight.hold.SeatHoldJournal;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Seat Hold Service - Süreli koltuk tutmaları
+ *
+ * Tutmalar bellekte bir ConcurrentHashMap'te, süre dolumları {@link HashedTimerWheel} üzerinde
+ * tutulur; tutma başına zamanlanmış görev veya veritabanı taraması yoktur. Koltuk sayımı
+ * {@link BookingCounterService} sayaçlarında yapılır, böylece tutma/onay {@code flights}
+ * satırına dokunmaz. Her olay {@link SeatHoldJournal}'a eklenir ve açılışta geri yüklenir.
+ *
+ * Onay, bırakma ve süre dolumu aynı tutma için yarışabilir; map'ten remove eden kazanır.
+ *
+ * Tutulan koltuklar instance'ın kiraladığı bloktan düşülür, bu yüzden diğer instance'lar onları
+ * satamaz. Tutma kaydının kendisi ise tutmayı alan instance'tadır; onay ve bırakma aynı instance'a
+ * gelmelidir (ör. uçuş id'sine göre yönlendirme).
+ */
+@Service
+@Slf4j
+public class SeatHoldService {
+
+    private final BookingCounterService bookingCounterService;
+    private final SeatHoldJournal journal;
+    private final ConcurrentMap<Long, Entry> holds = new ConcurrentHashMap<>();
+    private final HashedTimerWheel<Long> timer;
+    private final AtomicLong sequence = new AtomicLong(System.currentTimeMillis() * 1000);
+    private final Counter expiredCounter;
+    private final Counter confirmedCounter;
+
+    @Value("${app.flight.hold.ttl-minutes:15}")
+    private int ttlMinutes;
+
+    @Value("${app.flight.hold.max-ttl-minutes:60}")
+    private int maxTtlMinutes;
+
+    @Value("${app.flight.hold.compact-after-records:1000000}")
+    private long compactAfterRecords;
+
+    public SeatHoldService(BookingCounterService bookingCounterService, SeatHoldJournal journal,
+                           MeterRegistry meterRegistry,
+                           @Value("${app.flight.hold.tick-ms:1000}") long tickMillis,
+                           @Value("${app.flight.hold.wheel-size:4096}") int wheelSize) {
+        this.bookingCounterService = bookingCounterService;
+        this.journal = journal;
+        this.timer = new HashedTimerWheel<>("seat-hold-timer", tickMillis, TimeUnit.MILLISECONDS, wheelSize, this::expire);
+        this.expiredCounter = meterRegistry.counter("flight.hold.expired");
+        this.confirmedCounter = meterRegistry.counter("flight.hold.confirmed");
+        Gauge.builder("flight.hold.active", holds, ConcurrentMap::size).register(meterRegistry);
+    }
+
+    /**
+     * Günlükten açık tutmaları geri yükler ve günlüğü sıkıştırır. Web sunucusu başlamadan
+     * çalışır; böylece geri yükleme bitmeden yeni tutma veya onay alınmaz.
+     */
+    @PostConstruct
+    public void recover() {
+        long now = System.currentTimeMillis();
+        int restored = 0;
+        for (SeatHold hold : journal.replay()) {
+            sequence.accumulateAndGet(hold.holdId() + 1, Math::max);
+            if (hold.expiresAt() <= now) {
+                continue;
+            }
+            try {
+                bookingCounterService.hold(hold.flightId(), hold.seats());
+                holds.put(hold.holdId(), new Entry(hold,
+                        timer.schedule(hold.holdId(), hold.expiresAt() - now, TimeUnit.MILLISECONDS)));
+                restored++;
+            } catch (IllegalArgumentException e) {
+                log.warn("Dropped seat hold {} on recovery: {}", hold.holdId(), e.getMessage());
+            }
+        }
+        compact();
+        log.info("Seat hold journal recovered with {} open holds", restored);
+    }
+
+    public SeatHoldDto.Response hold(Long flightId, SeatHoldDto.HoldRequest request) {
+        int ttl = request.getTtlMinutes() != null ? Math.min(request.getTtlMinutes(), maxTtlMinutes) : ttlMinutes;
+        bookingCounterService.hold(flightId, request.getSeats());
+
+        SeatHold hold = new SeatHold(sequence.incrementAndGet(), flightId, request.getSeats(), request.getChannel(),
+                System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(ttl));
+        // Önce map, sonra günlük; sıkıştırma sırası bu varsayıma dayanır
+        holds.put(hold.holdId(), new Entry(hold, timer.schedule(hold.holdId(), ttl, TimeUnit.MINUTES)));
+        journal.hold(hold);
+        return toResponse(hold);
+    }
+
+    public SeatHoldDto.Response getHold(Long flightId, Long holdId) {
+        return toResponse(find(flightId, holdId).hold());
+    }
+
+    /**
+     * Tutmayı rezervasyona çevirir; koltuklar veritabanına yazılmadan cevap dönmez. Onay kaydı
+     * yazmadan sonra günlüğe eklenir; arada çökülürse tutma açılışta geri gelir ve süresi dolunca
+     * bırakılır, yazılmış rezervasyon kaybolmaz.
+     */
+    public SeatHoldDto.Response confirm(Long flightId, Long holdId) {
+        Entry entry = take(flightId, holdId);
+        entry.timeout().cancel();
+        try {
+            bookingCounterService.confirmHold(flightId, entry.hold().seats());
+        } catch (RuntimeException e) {
+            // Rezervasyon yazılamadı; tutma bırakılır ve koltuklar satışa döner
+            bookingCounterService.releaseHold(flightId, entry.hold().seats());
+            journal.release(holdId);
+            throw e;
+        }
+        try {
+            journal.confirm(holdId);
+        } catch (RuntimeException e) {
+            log.warn("Confirmed seat hold {} could not be journaled, it is replayed until expiry: {}",
+                    holdId, e.getMessage());
+        }
+        confirmedCounter.increment();
+        return toResponse(entry.hold());
+    }
+
+    public void release(Long flightId, Long holdId) {
+        Entry entry = take(flightId, holdId);
+        entry.timeout().cancel();
+        bookingCounterService.releaseHold(flightId, entry.hold().seats());
+        journal.release(holdId);
+    }
+
+    /**
+     * Günlük çok büyüdüğünde yalnızca açık tutmalarla yeniden yazılır
+     */
+    @Scheduled(fixedDelayString = "${app.flight.hold.compact-check-ms:60000}")
+    public void compactIfNeeded() {
+        if (journal.records() > Math.max(compactAfterRecords, holds.size() * 2L)) {
+            compact();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timer.close();
+    }
+
+    private void compact() {
+        Collection<Entry> entries = holds.values();
+        List<SeatHold> open = new ArrayList<>(entries.size());
+        entries.forEach(entry -> open.add(entry.hold()));
+        journal.compact(open);
+    }
+
+    /**
+     * Timer wheel thread'inde çalışır
+     */
+    private void expire(Long holdId) {
+        Entry entry = holds.remove(holdId);
+        if (entry == null) {
+            return;
+        }
+        bookingCounterService.releaseHold(entry.hold().flightId(), entry.hold().seats());
+        journal.release(holdId);
+        expiredCounter.increment();
+    }
+
+    private Entry find(Long flightId, Long holdId) {
+        Entry entry = holds.get(holdId);
+        if (entry == null || entry.hold().flightId() != flightId) {
+            throw new IllegalArgumentException("Seat hold not found or expired: " + holdId);
+        }
+        return entry;
+    }
+
+    private Entry take(Long flightId, Long holdId) {
+        find(flightId, holdId);
+        Entry entry = holds.remove(holdId);
+        if (entry == null) {
+            throw new IllegalArgumentException("Seat hold not found or expired: " + holdId);
+        }
+        return entry;
+    }
+
+    private static SeatHoldDto.Response toResponse(SeatHold hold) {
+        return SeatHoldDto.Response.builder()
+                .holdId(hold.holdId())
+                .flightId(hold.flightId())
+                .seats(hold.seats())
+                .channel(hold.channel())
+                .expiresAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(hold.expiresAt()), ZoneId.systemDefault()))
+                .build();
+    }
+
+    private record Entry(SeatHold hold, HashedTimerWheel.Timeout<Long> timeout) {
+    }
+}
@@ -0,0 +1,102 @@
+package com.uys.flight.stream;
+
+import com.uys.flight.dto.FlightDto;
+import com.uys.flight.enums.FlightChangeType;
+import com.uys.flight.event.FlightChangedEvent;
+import com.uys.flight.event.FlightReplicatedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Flight Status Stream - Commit edilen uçuş değişikliklerini canlı abonelere yayar
+ *
+ * Tüm aboneler tek bir multicast sink'i paylaşır; değişiklik başına iş abone sayısından
+ * bağımsız olarak bir kez yapılır ve veritabanına hiç gidilmez. Her abonenin kendi sınırlı
+ * buffer'ı vardır; yavaş bir ekran buffer'ı dolduğunda en eski güncellemeleri kaybeder,
+ * diğer aboneleri yavaşlatmaz. Yalnızca ekranda görünen durum, kapı ve zaman değişiklikleri
+ * yayılır; rezervasyon sayısı güncellemeleri gibi event'ler akışa girmez.
+ */
+@Component
+@Slf4j
+public class FlightStatusStream {
+
+    private static final Set<FlightChangeType> STREAMED_TYPES = EnumSet.of(FlightChangeType.CREATED,
+            FlightChangeType.UPDATED, FlightChangeType.STATUS_CHANGED, FlightChangeType.DELAYED,
+            FlightChangeType.CANCELLED, FlightChangeType.DELETED);
+
+    private final Sinks.Many<FlightDto.StatusUpdate> sink = Sinks.many().multicast().directBestEffort();
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final Counter droppedCounter;
+
+    @Value("${app.flight.stream.buffer-size:256}")
+    private int bufferSize;
+
+    public FlightStatusStream(MeterRegistry meterRegistry) {
+        this.droppedCounter = meterRegistry.counter("flight.stream.dropped");
+        Gauge.builder("flight.stream.subscribers", subscribers, AtomicInteger::get)
+                .description("Open flight status stream subscriptions")
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onFlightChanged(FlightChangedEvent event) {
+        if (!STREAMED_TYPES.contains(event.changeType())) {
+            return;
+        }
+        FlightDto.Response flight = event.flight();
+        FlightDto.StatusUpdate update = FlightDto.StatusUpdate.builder()
+                .id(flight.getId())
+                .flightNumber(flight.getFlightNumber())
+                .airlineCode(flight.getAirlineCode())
+                .departureStationCode(flight.getDepartureStationCode())
+                .arrivalStationCode(flight.getArrivalStationCode())
+                .status(flight.getStatus())
+                .gate(flight.getGate())
+                .terminal(flight.getTerminal())
+                .delayMinutes(flight.getDelayMinutes())
+                .scheduledDepartureTime(flight.getScheduledDepartureTime())
+                .scheduledArrivalTime(flight.getScheduledArrivalTime())
+                .actualDepartureTime(flight.getActualDepartureTime())
+                .actualArrivalTime(flight.getActualArrivalTime())
+                .active(flight.getActive())
+                .changeType(event.changeType().name())
+                .version(flight.getVersion())
+                .build();
+        // Farklı request thread'lerinden eş zamanlı emit'ler sıraya sokulur
+        sink.emitNext(update, Sinks.EmitFailureHandler.busyLooping(Duration.ofMillis(100)));
+    }
+
+    /**
+     * Diğer instance'larda commit edilen değişiklikleri aynı şekilde uygular
+     */
+    @EventListener
+    public void onFlightReplicated(FlightReplicatedEvent event) {
+        onFlightChanged(event.toChangedEvent());
+    }
+
+    /**
+     * Filtreye uyan güncellemeleri abone başına sınırlı buffer ile döner (drop-oldest)
+     */
+    public Flux<FlightDto.StatusUpdate> subscribe(FlightStreamFilter filter) {
+        return sink.asFlux()
+                .filter(filter::matches)
+                .onBackpressureBuffer(bufferSize, dropped -> droppedCounter.increment(), BufferOverflowStrategy.DROP_OLDEST)
+                .doOnSubscribe(subscription -> subscribers.incrementAndGet())
+                .doFinally(signal -> subscribers.decrementAndGet());
+    }
+}
@@ -0,0 +1,20 @@
+package com.uys.flight.stream;
+
+import com.uys.flight.dto.FlightDto;
+
+/**
+ * Flight Stream Filter - Abonenin ilgilendiği uçuşlar
+ *
+ * Verilen tüm kriterler sağlanmalıdır; boş kriter her uçuşla eşleşir. İstasyon kalkış ya da
+ * varış istasyonu ile karşılaştırılır.
+ */
+public record FlightStreamFilter(String stationCode, String airlineCode, String flightNumber) {
+
+    public boolean matches(FlightDto.StatusUpdate update) {
+        return (stationCode == null
+                || stationCode.equalsIgnoreCase(update.getDepartureStationCode())
+                || stationCode.equalsIgnoreCase(update.getArrivalStationCode()))
+                && (airlineCode == null || airlineCode.equalsIgnoreCase(update.getAirlineCode()))
+                && (flightNumber == null || flightNumber.equalsIgnoreCase(update.getFlightNumber()));
+    }
+}
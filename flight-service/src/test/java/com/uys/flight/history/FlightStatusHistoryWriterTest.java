@@ -0,0 +1,111 @@
+package com.uys.flight.history;
+
+import com.uys.flight.dto.FlightDto;
+import com.uys.flight.enums.FlightChangeType;
+import com.uys.flight.enums.FlightStatus;
+import com.uys.flight.event.FlightChangedEvent;
+import com.uys.flight.repository.FlightStatusHistoryRepository;
+import com.uys.flight.repository.FlightStatusHistoryRepository.HistoryEntry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for FlightStatusHistoryWriter
+ */
+class FlightStatusHistoryWriterTest {
+
+    private FlightStatusHistoryRepository flightStatusHistoryRepository;
+    private FlightStatusHistoryWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        flightStatusHistoryRepository = mock(FlightStatusHistoryRepository.class);
+        writer = new FlightStatusHistoryWriter(flightStatusHistoryRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(writer);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void onFlightChanged_InTransaction_ShouldWriteOneBatchBeforeCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        writer.onFlightChanged(event(1L, FlightStatus.BOARDING, FlightChangeType.STATUS_CHANGED));
+        writer.onFlightChanged(event(2L, FlightStatus.DEPARTED, FlightChangeType.STATUS_CHANGED));
+
+        verify(flightStatusHistoryRepository, never()).insertAll(anyList());
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        assertEquals(1, synchronizations.size());
+
+        synchronizations.forEach(synchronization -> synchronization.beforeCommit(false));
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        ArgumentCaptor<List<HistoryEntry>> batch = ArgumentCaptor.forClass(List.class);
+        verify(flightStatusHistoryRepository).insertAll(batch.capture());
+        assertEquals(List.of(1L, 2L), batch.getValue().stream().map(HistoryEntry::flightId).toList());
+        assertEquals(FlightStatus.DEPARTED.ordinal(), batch.getValue().get(1).status());
+        assertNull(TransactionSynchronizationManager.getResource(writer));
+    }
+
+    @Test
+    void onFlightChanged_WhenRolledBack_ShouldWriteNothing() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        writer.onFlightChanged(event(1L, FlightStatus.CANCELLED, FlightChangeType.CANCELLED));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        verify(flightStatusHistoryRepository, never()).insertAll(anyList());
+        assertNull(TransactionSynchronizationManager.getResource(writer));
+    }
+
+    @Test
+    void onFlightChanged_WithoutTransaction_ShouldWriteImmediately() {
+        writer.onFlightChanged(event(1L, FlightStatus.DELAYED, FlightChangeType.DELAYED));
+
+        verify(flightStatusHistoryRepository).insertAll(argThat(entries -> entries.size() == 1
+                && entries.get(0).changeType() == FlightChangeType.DELAYED.ordinal()));
+    }
+
+    @Test
+    void onFlightChanged_ShouldSkipDeletedAndBookingEvents() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        writer.onFlightChanged(event(1L, FlightStatus.SCHEDULED, FlightChangeType.DELETED));
+        writer.onFlightChanged(event(2L, FlightStatus.SCHEDULED, FlightChangeType.BOOKING_UPDATED));
+
+        assertTrue(TransactionSynchronizationManager.getSynchronizations().isEmpty());
+        assertNull(TransactionSynchronizationManager.getResource(writer));
+        verify(flightStatusHistoryRepository, never()).insertAll(anyList());
+    }
+
+    private static FlightChangedEvent event(Long id, FlightStatus status, FlightChangeType changeType) {
+        LocalDateTime departure = LocalDateTime.now().plusHours(2);
+        FlightDto.Response flight = FlightDto.Response.builder()
+                .id(id)
+                .status(status)
+                .scheduledDepartureTime(departure)
+                .scheduledArrivalTime(departure.plusHours(3))
+                .delayMinutes(0)
+                .active(true)
+                .build();
+        return new FlightChangedEvent(flight, changeType);
+    }
+}
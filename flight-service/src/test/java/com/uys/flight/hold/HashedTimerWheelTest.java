@@ -0,0 +1,126 @@
+package com.uys.flight.hold;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for HashedTimerWheel
+ */
+class HashedTimerWheelTest {
+
+    private static final long TICK_MILLIS = 10;
+
+    private HashedTimerWheel<String> timer;
+
+    @AfterEach
+    void tearDown() {
+        if (timer != null) {
+            timer.close();
+        }
+    }
+
+    @Test
+    void schedule_ShouldExpireNotBeforeTheDelay() throws InterruptedException {
+        Map<String, Long> expiredAt = new ConcurrentHashMap<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        timer = new HashedTimerWheel<>("test-wheel", TICK_MILLIS, TimeUnit.MILLISECONDS, 16, value -> {
+            expiredAt.put(value, System.nanoTime());
+            latch.countDown();
+        });
+
+        long scheduledAt = System.nanoTime();
+        timer.schedule("hold-1", 50, TimeUnit.MILLISECONDS);
+        assertEquals(1, timer.pending());
+
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(expiredAt.get("hold-1") - scheduledAt) >= 50);
+        assertEquals(0, timer.pending());
+    }
+
+    @Test
+    void cancel_BeforeDeadline_ShouldPreventExpiry() throws InterruptedException {
+        List<String> expired = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        timer = new HashedTimerWheel<>("test-wheel", TICK_MILLIS, TimeUnit.MILLISECONDS, 16, value -> {
+            expired.add(value);
+            latch.countDown();
+        });
+
+        HashedTimerWheel.Timeout<String> cancelled = timer.schedule("cancelled", 30, TimeUnit.MILLISECONDS);
+        timer.schedule("kept", 80, TimeUnit.MILLISECONDS);
+
+        assertTrue(cancelled.cancel());
+        assertFalse(cancelled.cancel());
+        assertEquals(1, timer.pending());
+
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        assertEquals(List.of("kept"), expired);
+        assertEquals(0, timer.pending());
+    }
+
+    @Test
+    void cancel_AfterExpiry_ShouldReturnFalse() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        timer = new HashedTimerWheel<>("test-wheel", TICK_MILLIS, TimeUnit.MILLISECONDS, 16, value -> latch.countDown());
+
+        HashedTimerWheel.Timeout<String> timeout = timer.schedule("hold-1", 0, TimeUnit.MILLISECONDS);
+
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        assertFalse(timeout.cancel());
+        assertEquals(0, timer.pending());
+    }
+
+    @Test
+    void schedule_BeyondOneRound_ShouldWaitForRemainingRounds() throws InterruptedException {
+        Map<String, Long> expiredAt = new ConcurrentHashMap<>();
+        CountDownLatch latch = new CountDownLatch(2);
+        // 4 kova x 10ms: 150ms'lik zaman aşımı halkayı üç kez dolaşır
+        timer = new HashedTimerWheel<>("test-wheel", TICK_MILLIS, TimeUnit.MILLISECONDS, 4, value -> {
+            expiredAt.put(value, System.nanoTime());
+            latch.countDown();
+        });
+
+        long scheduledAt = System.nanoTime();
+        timer.schedule("long", 150, TimeUnit.MILLISECONDS);
+        timer.schedule("short", 15, TimeUnit.MILLISECONDS);
+
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(expiredAt.get("long") - scheduledAt) >= 150);
+        assertTrue(expiredAt.get("short") < expiredAt.get("long"));
+    }
+
+    @Test
+    void schedule_ManyTimeouts_ShouldExpireEachExactlyOnce() throws InterruptedException {
+        int count = 1_000;
+        Map<String, Integer> expired = new ConcurrentHashMap<>();
+        CountDownLatch latch = new CountDownLatch(count);
+        timer = new HashedTimerWheel<>("test-wheel", TICK_MILLIS, TimeUnit.MILLISECONDS, 8, value -> {
+            expired.merge(value, 1, Integer::sum);
+            latch.countDown();
+        });
+
+        for (int i = 0; i < count; i++) {
+            timer.schedule("hold-" + i, i % 200, TimeUnit.MILLISECONDS);
+        }
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(count, expired.size());
+        assertTrue(expired.values().stream().allMatch(times -> times == 1));
+        assertEquals(0, timer.pending());
+    }
+
+    @Test
+    void constructor_WithNonPositiveTick_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new HashedTimerWheel<String>("test-wheel", 0, TimeUnit.MILLISECONDS, 8, value -> { }));
+    }
+}
@@ -0,0 +1,99 @@
+package com.uys.flight.hold;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SeatHoldJournal
+ */
+class SeatHoldJournalTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path path;
+    private SeatHoldJournal journal;
+
+    @BeforeEach
+    void setUp() {
+        path = tempDir.resolve("holds/seat-holds.journal");
+        journal = new SeatHoldJournal(path.toString(), 10);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        journal.shutdown();
+    }
+
+    @Test
+    void replay_WithoutJournalFile_ShouldReturnNoHolds() {
+        assertTrue(journal.replay().isEmpty());
+    }
+
+    @Test
+    void replay_ShouldDropConfirmedAndReleasedHolds() {
+        journal.hold(new SeatHold(1L, 10L, 2, "WEB", 1_000L));
+        journal.hold(new SeatHold(2L, 10L, 1, null, 2_000L));
+        journal.hold(new SeatHold(3L, 11L, 4, "MOBILE", 3_000L));
+        journal.confirm(1L);
+        journal.release(3L);
+        journal.flush();
+
+        assertEquals(List.of(new SeatHold(2L, 10L, 1, null, 2_000L)), List.copyOf(journal.replay()));
+        assertEquals(5, journal.records());
+    }
+
+    @Test
+    void confirm_ShouldReturnOnlyAfterTheRecordIsOnDisk() throws IOException {
+        journal.hold(new SeatHold(1L, 10L, 2, "WEB", 1_000L));
+        journal.confirm(1L);
+
+        assertEquals(List.of("H|1|10|2|1000|WEB", "C|1"), Files.readAllLines(path, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void replay_ShouldSkipTornLastLine() throws IOException {
+        Files.createDirectories(path.getParent());
+        Files.writeString(path, "H|1|10|2|1000|WEB\nH|2|10|1|2000|\nC|2\nH|3|11|4", StandardCharsets.UTF_8);
+
+        assertEquals(List.of(new SeatHold(1L, 10L, 2, "WEB", 1_000L)), List.copyOf(journal.replay()));
+    }
+
+    @Test
+    void hold_ShouldEscapeSeparatorInChannel() {
+        journal.hold(new SeatHold(1L, 10L, 2, "WEB|B2B", 1_000L));
+        journal.flush();
+
+        assertEquals("WEB_B2B", journal.replay().iterator().next().channel());
+    }
+
+    @Test
+    void compact_ShouldRewriteOpenHoldsAndKeepAppending() throws IOException {
+        journal.hold(new SeatHold(1L, 10L, 2, "WEB", 1_000L));
+        journal.hold(new SeatHold(2L, 10L, 1, "WEB", 2_000L));
+        journal.release(1L);
+        journal.flush();
+
+        journal.compact(journal.replay());
+
+        assertEquals(1, journal.records());
+        assertEquals(List.of("H|2|10|1|2000|WEB"), Files.readAllLines(path, StandardCharsets.UTF_8));
+        assertFalse(Files.exists(path.resolveSibling(path.getFileName() + ".tmp")));
+
+        journal.hold(new SeatHold(3L, 12L, 3, null, 3_000L));
+        journal.confirm(2L);
+
+        assertEquals(List.of(new SeatHold(3L, 12L, 3, null, 3_000L)), List.copyOf(journal.replay()));
+        assertEquals(3, journal.records());
+    }
+}
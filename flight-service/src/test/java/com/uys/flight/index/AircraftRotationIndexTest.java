@@ -0,0 +1,92 @@
+package com.uys.flight.index;
+
+import com.uys.flight.dto.FlightDto;
+import com.uys.flight.enums.FlightChangeType;
+import com.uys.flight.enums.FlightStatus;
+import com.uys.flight.event.FlightChangedEvent;
+import com.uys.flight.repository.FlightRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for AircraftRotationIndex
+ */
+class AircraftRotationIndexTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 6, 1, 8, 0);
+
+    private AircraftRotationIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new AircraftRotationIndex(mock(FlightRepository.class));
+    }
+
+    @Test
+    void findFirstConflict_ShouldReturnEarliestOverlappingFlightOfSameAircraft() {
+        index.put(slot(1L, "TK100", "TC-JFA", T0, T0.plusHours(2)));
+        index.put(slot(2L, "TK102", "TC-JFA", T0.plusHours(3), T0.plusHours(5)));
+        index.put(slot(3L, "TK200", "TC-JFB", T0.plusHours(1), T0.plusHours(4)));
+
+        Optional<FlightSlot> conflict = index.findFirstConflict("TC-JFA", T0.plusHours(1), T0.plusHours(4), null);
+
+        assertTrue(conflict.isPresent());
+        assertEquals("TK100", conflict.get().flightNumber());
+    }
+
+    @Test
+    void findFirstConflict_ShouldIgnoreAdjacentFlightsAndTheFlightItself() {
+        index.put(slot(1L, "TK100", "TC-JFA", T0, T0.plusHours(2)));
+        index.put(slot(2L, "TK102", "TC-JFA", T0.plusHours(4), T0.plusHours(6)));
+
+        assertTrue(index.findFirstConflict("TC-JFA", T0.plusHours(2), T0.plusHours(4), null).isEmpty());
+        assertTrue(index.findFirstConflict("TC-JFA", T0.minusHours(1), T0.plusHours(1), 1L).isEmpty());
+        assertTrue(index.findFirstConflict("TC-XXX", T0, T0.plusHours(6), null).isEmpty());
+    }
+
+    @Test
+    void put_WhenFlightMoves_ShouldReplaceItsPreviousSlot() {
+        index.put(slot(1L, "TK100", "TC-JFA", T0, T0.plusHours(2)));
+        index.put(slot(1L, "TK100", "TC-JFB", T0.plusHours(5), T0.plusHours(7)));
+
+        assertTrue(index.findFirstConflict("TC-JFA", T0, T0.plusHours(2), null).isEmpty());
+        assertEquals("TK100", index.findFirstConflict("TC-JFB", T0.plusHours(6), T0.plusHours(8), null)
+                .map(FlightSlot::flightNumber).orElse(null));
+    }
+
+    @Test
+    void onFlightChanged_WhenCancelled_ShouldReleaseTheSlot() {
+        index.onFlightChanged(event(1L, FlightStatus.SCHEDULED, FlightChangeType.CREATED));
+        assertTrue(index.findFirstConflict("TC-JFA", T0, T0.plusHours(2), null).isPresent());
+
+        index.onFlightChanged(event(1L, FlightStatus.CANCELLED, FlightChangeType.CANCELLED));
+
+        assertTrue(index.findFirstConflict("TC-JFA", T0, T0.plusHours(2), null).isEmpty());
+    }
+
+    private static FlightSlot slot(Long id, String flightNumber, String registration,
+                                   LocalDateTime departure, LocalDateTime arrival) {
+        return new FlightSlot(id, flightNumber, registration, "IST", "ESB", departure, arrival);
+    }
+
+    private static FlightChangedEvent event(Long id, FlightStatus status, FlightChangeType changeType) {
+        FlightDto.Response flight = FlightDto.Response.builder()
+                .id(id)
+                .flightNumber("TK100")
+                .aircraftRegistration("TC-JFA")
+                .departureStationCode("IST")
+                .arrivalStationCode("ESB")
+                .scheduledDepartureTime(T0)
+                .scheduledArrivalTime(T0.plusHours(2))
+                .status(status)
+                .active(true)
+                .build();
+        return new FlightChangedEvent(flight, changeType);
+    }
+}
@@ -0,0 +1,166 @@
+package com.uys.flight.index;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for IntervalTree
+ */
+class IntervalTreeTest {
+
+    @Test
+    void overlapping_ShouldTreatIntervalsAsHalfOpen() {
+        IntervalTree<String> tree = new IntervalTree<>();
+        tree.insert(10, 20, 1, "A");
+
+        assertEquals(List.of(), tree.overlapping(0, 10));
+        assertEquals(List.of(), tree.overlapping(20, 30));
+        assertEquals(List.of("A"), tree.overlapping(19, 20));
+        assertEquals(List.of("A"), tree.overlapping(0, 11));
+    }
+
+    @Test
+    void overlapping_ShouldReturnValuesOrderedByStartThenId() {
+        IntervalTree<String> tree = new IntervalTree<>();
+        tree.insert(30, 40, 3, "C");
+        tree.insert(10, 50, 2, "B2");
+        tree.insert(10, 15, 1, "B1");
+        tree.insert(60, 70, 4, "D");
+
+        assertEquals(List.of("B1", "B2", "C"), tree.overlapping(12, 35));
+    }
+
+    @Test
+    void insert_WithSameStartAndId_ShouldReplaceEndAndValue() {
+        IntervalTree<String> tree = new IntervalTree<>();
+        tree.insert(10, 20, 1, "old");
+        tree.insert(10, 40, 1, "new");
+
+        assertEquals(1, tree.size());
+        assertEquals(List.of("new"), tree.overlapping(30, 35));
+    }
+
+    @Test
+    void remove_ShouldDropOnlyMatchingStartAndId() {
+        IntervalTree<String> tree = new IntervalTree<>();
+        tree.insert(10, 20, 1, "A");
+        tree.insert(10, 20, 2, "B");
+
+        assertFalse(tree.remove(11, 1));
+        assertTrue(tree.remove(10, 1));
+        assertFalse(tree.remove(10, 1));
+        assertEquals(1, tree.size());
+        assertEquals(List.of("B"), tree.overlapping(0, 100));
+    }
+
+    @Test
+    void firstOverlap_ShouldSkipExcludedIdAndReturnEarliest() {
+        IntervalTree<String> tree = new IntervalTree<>();
+        tree.insert(10, 20, 1, "self");
+        tree.insert(15, 25, 2, "other");
+        tree.insert(18, 30, 3, "later");
+
+        assertEquals("other", tree.firstOverlap(10, 20, 1));
+        assertEquals("self", tree.firstOverlap(10, 20, Long.MIN_VALUE));
+        assertNull(tree.firstOverlap(30, 40, Long.MIN_VALUE));
+    }
+
+    @Test
+    void overlapping_ShouldFindLongIntervalAfterRotations() {
+        IntervalTree<String> tree = new IntervalTree<>();
+        tree.insert(0, 10_000, 0, "long");
+        for (int i = 1; i <= 100; i++) {
+            tree.insert(i * 10L, i * 10L + 5, i, "short-" + i);
+        }
+
+        // Uzun aralık sol alt ağaçta kalır; yalnızca maxEnd sayesinde bulunabilir
+        assertEquals(List.of("long"), tree.overlapping(5_000, 5_001));
+        assertEquals("long", tree.firstOverlap(5_000, 5_001, Long.MIN_VALUE));
+    }
+
+    @Test
+    void insert_InAscendingOrder_ShouldKeepTreeBalanced() {
+        IntervalTree<Long> tree = new IntervalTree<>();
+        int count = 1023;
+        for (long i = 0; i < count; i++) {
+            tree.insert(i, i + 1, i, i);
+        }
+
+        assertEquals(count, tree.size());
+        assertEquals(10, rootHeight(tree));
+        assertBalanced(tree);
+
+        for (long i = 0; i < count; i += 2) {
+            assertTrue(tree.remove(i, i));
+        }
+        assertEquals(count / 2, tree.size());
+        assertBalanced(tree);
+    }
+
+    @Test
+    void randomOperations_ShouldMatchLinearScan() {
+        Random random = new Random(42);
+        IntervalTree<long[]> tree = new IntervalTree<>();
+        List<long[]> expected = new ArrayList<>();
+
+        for (int step = 0; step < 5_000; step++) {
+            if (!expected.isEmpty() && random.nextInt(3) == 0) {
+                long[] victim = expected.remove(random.nextInt(expected.size()));
+                assertTrue(tree.remove(victim[0], victim[2]));
+            } else {
+                long start = random.nextInt(10_000);
+                long[] interval = {start, start + 1 + random.nextInt(500), step};
+                tree.insert(interval[0], interval[1], interval[2], interval);
+                expected.add(interval);
+            }
+
+            if (step % 50 == 0) {
+                long from = random.nextInt(10_000);
+                long to = from + 1 + random.nextInt(300);
+                List<long[]> matches = expected.stream()
+                        .filter(interval -> interval[0] < to && interval[1] > from)
+                        .sorted(Comparator.<long[]>comparingLong(interval -> interval[0])
+                                .thenComparingLong(interval -> interval[2]))
+                        .toList();
+                assertEquals(matches, tree.overlapping(from, to));
+                assertEquals(matches.isEmpty() ? null : matches.get(0), tree.firstOverlap(from, to, Long.MIN_VALUE));
+            }
+        }
+        assertEquals(expected.size(), tree.size());
+        assertBalanced(tree);
+    }
+
+    private static int rootHeight(IntervalTree<?> tree) {
+        Object root = ReflectionTestUtils.getField(tree, "root");
+        return root == null ? 0 : (int) ReflectionTestUtils.getField(root, "height");
+    }
+
+    /**
+     * Her düğümde AVL dengesini, yüksekliği ve maxEnd değerini doğrular
+     */
+    private static void assertBalanced(IntervalTree<?> tree) {
+        check(ReflectionTestUtils.getField(tree, "root"));
+    }
+
+    private static long[] check(Object node) {
+        if (node == null) {
+            return new long[] {0, Long.MIN_VALUE};
+        }
+        long[] left = check(ReflectionTestUtils.getField(node, "left"));
+        long[] right = check(ReflectionTestUtils.getField(node, "right"));
+        long height = 1 + Math.max(left[0], right[0]);
+        long maxEnd = Math.max((long) ReflectionTestUtils.getField(node, "end"), Math.max(left[1], right[1]));
+
+        assertTrue(Math.abs(left[0] - right[0]) <= 1, "AVL balance violated");
+        assertEquals(height, (int) ReflectionTestUtils.getField(node, "height"));
+        assertEquals(maxEnd, (long) ReflectionTestUtils.getField(node, "maxEnd"));
+        return new long[] {height, maxEnd};
+    }
+}
@@ -0,0 +1,82 @@
+package com.uys.flight.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for AircraftRotationLockRepository
+ */
+class AircraftRotationLockRepositoryTest {
+
+    private static final LocalDateTime DEPARTURE = LocalDateTime.of(2026, 6, 1, 8, 0);
+    private static final LocalDateTime ARRIVAL = DEPARTURE.plusHours(2);
+
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    private AircraftRotationLockRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(NamedParameterJdbcTemplate.class);
+        repository = new AircraftRotationLockRepository(jdbcTemplate);
+    }
+
+    @Test
+    void lock_ShouldCreateLockRowThenSelectItForUpdate() {
+        repository.lock("TC-JFA");
+
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).update(contains("INSERT IGNORE INTO aircraft_rotation_lock"),
+                any(MapSqlParameterSource.class));
+        inOrder.verify(jdbcTemplate).queryForList(contains("FOR UPDATE"), any(MapSqlParameterSource.class),
+                eq(String.class));
+    }
+
+    @Test
+    void findOverlappingFlightNumber_ShouldQueryHalfOpenWindowExcludingTheFlight() {
+        when(jdbcTemplate.queryForList(anyString(), any(MapSqlParameterSource.class), eq(String.class)))
+                .thenReturn(List.of("TK100"));
+
+        Optional<String> overlapping = repository.findOverlappingFlightNumber("TC-JFA", DEPARTURE, ARRIVAL, 7L);
+
+        assertEquals(Optional.of("TK100"), overlapping);
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<MapSqlParameterSource> params = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        verify(jdbcTemplate).queryForList(sql.capture(), params.capture(), eq(String.class));
+        assertTrue(sql.getValue().contains("scheduled_departure_time < :arrival"));
+        assertTrue(sql.getValue().contains("scheduled_arrival_time > :departure"));
+        assertTrue(sql.getValue().contains("status <> 'CANCELLED'"));
+        assertEquals("TC-JFA", params.getValue().getValue("registration"));
+        assertEquals(Timestamp.valueOf(DEPARTURE), params.getValue().getValue("departure"));
+        assertEquals(Timestamp.valueOf(ARRIVAL), params.getValue().getValue("arrival"));
+        assertEquals(7L, params.getValue().getValue("excludeId"));
+    }
+
+    @Test
+    void findOverlappingFlightNumber_WhenNothingOverlaps_ShouldReturnEmpty() {
+        when(jdbcTemplate.queryForList(anyString(), any(MapSqlParameterSource.class), eq(String.class)))
+                .thenReturn(List.of());
+
+        assertTrue(repository.findOverlappingFlightNumber("TC-JFA", DEPARTURE, ARRIVAL, null).isEmpty());
+
+        ArgumentCaptor<MapSqlParameterSource> params = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        verify(jdbcTemplate).queryForList(anyString(), params.capture(), eq(String.class));
+        assertTrue(params.getValue().hasValue("excludeId"));
+        assertNull(params.getValue().getValue("excludeId"));
+    }
+}
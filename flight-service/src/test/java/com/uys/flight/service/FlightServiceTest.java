@@ -0,0 +1,104 @@
+package com.uys.flight.service;
+
+import com.uys.flight.dto.FlightDto;
+import com.uys.flight.index.AircraftRotationIndex;
+import com.uys.flight.mapper.FlightMapper;
+import com.uys.flight.reference.ReferenceDataReplica;
+import com.uys.flight.repository.AircraftRotationLockRepository;
+import com.uys.flight.repository.FlightRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for FlightService cursor pagination
+ */
+class FlightServiceTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 6, 1, 8, 0);
+
+    private FlightRepository flightRepository;
+    private FlightService flightService;
+
+    @BeforeEach
+    void setUp() {
+        flightRepository = mock(FlightRepository.class);
+        flightService = new FlightService(flightRepository, mock(FlightMapper.class), mock(AircraftRotationIndex.class),
+                mock(AircraftRotationLockRepository.class), mock(DelayPropagationService.class),
+                mock(ReferenceDataReplica.class), mock(ApplicationEventPublisher.class));
+        ReflectionTestUtils.setField(flightService, "maxPageSize", 500);
+    }
+
+    @Test
+    void getFlightsAfterCursor_FirstPage_ShouldReturnCursorOfLastItem() {
+        when(flightRepository.findActiveListFirst(argThat(limit -> limit.max() == 3)))
+                .thenReturn(List.of(row(1L, T0), row(2L, T0), row(3L, T0.plusHours(1))));
+
+        FlightDto.CursorPage page = flightService.getFlightsAfterCursor(null, 2);
+
+        assertEquals(List.of(1L, 2L), page.getItems().stream().map(FlightDto.ListResponse::getId).toList());
+        assertTrue(page.getHasNext());
+        assertNotNull(page.getNextCursor());
+        assertFalse(page.getNextCursor().contains("="));
+    }
+
+    @Test
+    void getFlightsAfterCursor_WithNextCursor_ShouldContinueAfterLastItem() {
+        when(flightRepository.findActiveListFirst(any(Limit.class)))
+                .thenReturn(List.of(row(1L, T0), row(2L, T0), row(3L, T0.plusHours(1))));
+        when(flightRepository.findActiveListAfter(eq(T0), eq(2L), any(Limit.class)))
+                .thenReturn(List.of(row(3L, T0.plusHours(1))));
+
+        String cursor = flightService.getFlightsAfterCursor(null, 2).getNextCursor();
+        FlightDto.CursorPage page = flightService.getFlightsAfterCursor(cursor, 2);
+
+        verify(flightRepository).findActiveListAfter(eq(T0), eq(2L), argThat(limit -> limit.max() == 3));
+        assertEquals(List.of(3L), page.getItems().stream().map(FlightDto.ListResponse::getId).toList());
+        assertFalse(page.getHasNext());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void getFlightsAfterCursor_WithInvalidCursor_ShouldThrowException() {
+        for (String cursor : List.of("not base64!", encode("2026-06-01T08:00"), encode("yesterday|5"),
+                encode("2026-06-01T08:00|abc"), encode("2026-06-01T08:00|5|6"))) {
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                    () -> flightService.getFlightsAfterCursor(cursor, 10));
+            assertEquals("Invalid cursor: " + cursor, exception.getMessage());
+        }
+        verify(flightRepository, never()).findActiveListAfter(any(), any(), any());
+    }
+
+    @Test
+    void getFlightsAfterCursor_WithPageSizeOutOfRange_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> flightService.getFlightsAfterCursor(null, 0));
+        assertThrows(IllegalArgumentException.class, () -> flightService.getFlightsAfterCursor(null, 501));
+        verifyNoInteractions(flightRepository);
+    }
+
+    private static FlightDto.ListResponse row(Long id, LocalDateTime departure) {
+        return FlightDto.ListResponse.builder()
+                .id(id)
+                .flightNumber("TK" + id)
+                .scheduledDepartureTime(departure)
+                .scheduledArrivalTime(departure.plusHours(2))
+                .build();
+    }
+
+    private static String encode(String position) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,134 @@
+package com.uys.flight.service;
+
+import com.uys.flight.dto.FlightDto;
+import com.uys.flight.enums.FlightStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for FlightUpdateCoalescer
+ */
+class FlightUpdateCoalescerTest {
+
+    private static final long WINDOW_MILLIS = 300;
+
+    private FlightService flightService;
+    private SimpleMeterRegistry meterRegistry;
+    private FlightUpdateCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        flightService = mock(FlightService.class);
+        meterRegistry = new SimpleMeterRegistry();
+        coalescer = new FlightUpdateCoalescer(flightService, meterRegistry, 2, WINDOW_MILLIS);
+        ReflectionTestUtils.setField(coalescer, "enabled", true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        coalescer.shutdown();
+    }
+
+    @Test
+    void updatesInOneWindow_ShouldBeMergedIntoOneWrite() throws Exception {
+        FlightDto.UpdateRequest gateChange = FlightDto.UpdateRequest.builder().gate("A12").build();
+        FlightDto.Response written = response(1L, FlightStatus.BOARDING);
+        when(flightService.applyUpdate(1L, gateChange, FlightStatus.BOARDING)).thenReturn(written);
+
+        CompletableFuture<FlightDto.Response> first = coalescer.updateFlight(1L, gateChange);
+        CompletableFuture<FlightDto.Response> second = coalescer.updateFlightStatus(1L, FlightStatus.BOARDING);
+        CompletableFuture<FlightDto.Response> third = coalescer.updateFlightStatus(1L, FlightStatus.BOARDING);
+
+        assertSame(written, first.get(5, TimeUnit.SECONDS));
+        assertSame(written, second.get(5, TimeUnit.SECONDS));
+        assertSame(written, third.get(5, TimeUnit.SECONDS));
+        verify(flightService, times(1)).applyUpdate(any(), any(), any());
+        assertEquals(1.0, meterRegistry.counter("flight.coalescing.writes").count());
+        assertEquals(2.0, meterRegistry.counter("flight.coalescing.merged").count());
+    }
+
+    @Test
+    void statusChangeInOpenWindow_ShouldWriteOpenWindowEarlyAndInOrder() throws Exception {
+        when(flightService.applyUpdate(eq(1L), isNull(), eq(FlightStatus.BOARDING)))
+                .thenReturn(response(1L, FlightStatus.BOARDING));
+        when(flightService.applyUpdate(eq(1L), isNull(), eq(FlightStatus.DEPARTED)))
+                .thenReturn(response(1L, FlightStatus.DEPARTED));
+
+        CompletableFuture<FlightDto.Response> boarding = coalescer.updateFlightStatus(1L, FlightStatus.BOARDING);
+        CompletableFuture<FlightDto.Response> departed = coalescer.updateFlightStatus(1L, FlightStatus.DEPARTED);
+
+        // Önceki pencere kapanmasını beklemeden yazılır
+        assertEquals(FlightStatus.BOARDING, boarding.get(WINDOW_MILLIS / 2, TimeUnit.MILLISECONDS).getStatus());
+        assertEquals(FlightStatus.DEPARTED, departed.get(5, TimeUnit.SECONDS).getStatus());
+
+        InOrder inOrder = inOrder(flightService);
+        inOrder.verify(flightService).applyUpdate(1L, null, FlightStatus.BOARDING);
+        inOrder.verify(flightService).applyUpdate(1L, null, FlightStatus.DEPARTED);
+    }
+
+    @Test
+    void write_OnOptimisticLockConflict_ShouldRetry() throws Exception {
+        FlightDto.Response written = response(1L, FlightStatus.BOARDING);
+        when(flightService.applyUpdate(1L, null, FlightStatus.BOARDING))
+                .thenThrow(new ObjectOptimisticLockingFailureException("Flight", 1L))
+                .thenThrow(new ObjectOptimisticLockingFailureException("Flight", 1L))
+                .thenReturn(written);
+
+        assertSame(written, coalescer.updateFlightStatus(1L, FlightStatus.BOARDING).get(5, TimeUnit.SECONDS));
+        verify(flightService, times(3)).applyUpdate(1L, null, FlightStatus.BOARDING);
+    }
+
+    @Test
+    void write_WhenConflictPersists_ShouldFailAllCallersAndAllowNextWindow() throws Exception {
+        when(flightService.applyUpdate(1L, null, FlightStatus.BOARDING))
+                .thenThrow(new ObjectOptimisticLockingFailureException("Flight", 1L));
+        when(flightService.applyUpdate(1L, null, FlightStatus.DEPARTED))
+                .thenReturn(response(1L, FlightStatus.DEPARTED));
+
+        CompletableFuture<FlightDto.Response> first = coalescer.updateFlightStatus(1L, FlightStatus.BOARDING);
+        CompletableFuture<FlightDto.Response> second = coalescer.updateFlightStatus(1L, FlightStatus.BOARDING);
+        CompletableFuture<FlightDto.Response> next = coalescer.updateFlightStatus(1L, FlightStatus.DEPARTED);
+
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(OptimisticLockingFailureException.class, failure.getCause());
+        assertThrows(ExecutionException.class, () -> second.get(5, TimeUnit.SECONDS));
+        verify(flightService, times(3)).applyUpdate(1L, null, FlightStatus.BOARDING);
+        assertEquals(FlightStatus.DEPARTED, next.get(5, TimeUnit.SECONDS).getStatus());
+    }
+
+    @Test
+    void updateFlightStatus_WhenDisabled_ShouldWriteImmediately() throws Exception {
+        ReflectionTestUtils.setField(coalescer, "enabled", false);
+        FlightDto.Response written = response(1L, FlightStatus.BOARDING);
+        when(flightService.applyUpdate(1L, null, FlightStatus.BOARDING)).thenReturn(written);
+
+        CompletableFuture<FlightDto.Response> result = coalescer.updateFlightStatus(1L, FlightStatus.BOARDING);
+
+        assertTrue(result.isDone());
+        assertSame(written, result.get());
+    }
+
+    private static FlightDto.Response response(Long id, FlightStatus status) {
+        return FlightDto.Response.builder()
+                .id(id)
+                .flightNumber("TK100")
+                .status(status)
+                .build();
+    }
+}
@@ -2,19 +2,28 @@ package com.uys.reference.controller;
 
 import com.uys.reference.dto.AircraftDto;
 import com.uys.reference.service.AircraftService;
+import com.uys.reference.web.ConditionalResponses;
+import com.uys.reference.web.SerializedBody;
+import com.uys.reference.web.SerializedResponseCache;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Aircraft Controller - Uçak REST API
@@ -31,6 +40,7 @@ import java.util.List;
 public class AircraftController {
 
     private final AircraftService aircraftService;
+    private final SerializedResponseCache serializedResponseCache;
 
     /**
      * Yeni aircraft oluşturur
@@ -56,10 +66,11 @@ public class AircraftController {
     @GetMapping("/{id}")
     @Operation(summary = "ID ile aircraft getir", description = "Belirtilen ID'ye sahip aircraft'ı getirir")
     public ResponseEntity<AircraftDto.Response> getAircraftById(
-            @Parameter(description = "Aircraft ID") @PathVariable Long id) {
+            @Parameter(description = "Aircraft ID") @PathVariable Long id,
+            @Parameter(hidden = true) @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.debug("Getting aircraft by ID: {}", id);
         AircraftDto.Response response = aircraftService.getAircraftById(id);
-        return ResponseEntity.ok(response);
+        return ConditionalResponses.respond(ifNoneMatch, etag(response), () -> response);
     }
 
     /**
@@ -71,9 +82,40 @@ public class AircraftController {
     @GetMapping("/registration/{registration}")
     @Operation(summary = "Registration ile aircraft getir", description = "Belirtilen registration'a sahip aircraft'ı getirir")
     public ResponseEntity<AircraftDto.Response> getAircraftByRegistration(
-            @Parameter(description = "Aircraft registration") @PathVariable String registration) {
+            @Parameter(description = "Aircraft registration") @PathVariable String registration,
+            @Parameter(hidden = true) @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.debug("Getting aircraft by registration: {}", registration);
         AircraftDto.Response response = aircraftService.getAircraftByRegistration(registration);
+        return ConditionalResponses.respond(ifNoneMatch, etag(response), () -> response);
+    }
+
+    /**
+     * Birden fazla registration ile aircraft getirir
+     * 
+     * @param registrations virgülle ayrılmış registration listesi
+     * @return registration → aircraft
+     */
+    @GetMapping("/batch")
+    @Operation(summary = "Çoklu aircraft getir", description = "Verilen registration'lara sahip aircraft kayıtlarını tek istekte getirir; bulunamayanlar cevapta yer almaz")
+    public ResponseEntity<Map<String, AircraftDto.Response>> getAircraftByRegistrations(
+            @Parameter(description = "Registration'lar", example = "TC-JRE,D-AIKE") @RequestParam List<String> registrations) {
+        log.debug("Getting {} aircraft by batch registration", registrations.size());
+        Map<String, AircraftDto.Response> response = aircraftService.getAircraftByRegistrations(registrations);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Büyük registration listeleri için istek gövdesiyle çoklu aircraft getirir
+     * 
+     * @param batchRequest registration listesi
+     * @return registration → aircraft
+     */
+    @PostMapping("/batch")
+    @Operation(summary = "Çoklu aircraft getir (body)", description = "URL uzunluğunu aşan registration listeleri için GET /batch ile aynı sonucu döner")
+    public ResponseEntity<Map<String, AircraftDto.Response>> getAircraftByRegistrations(
+            @Valid @RequestBody AircraftDto.BatchRequest batchRequest) {
+        log.debug("Getting {} aircraft by batch registration body", batchRequest.getRegistrations().size());
+        Map<String, AircraftDto.Response> response = aircraftService.getAircraftByRegistrations(batchRequest.getRegistrations());
         return ResponseEntity.ok(response);
     }
 
@@ -83,11 +125,16 @@ public class AircraftController {
      * @return aircraft listesi
      */
     @GetMapping
-    @Operation(summary = "Tüm aktif aircraft'ları listele", description = "Aktif tüm uçakları listeler")
-    public ResponseEntity<List<AircraftDto.ListResponse>> getAllActiveAircraft() {
+    @Operation(summary = "Tüm aktif aircraft'ları listele", description = "Aktif tüm uçakları listeler; cevap önceden serialize edilmiş (ve gzip'lenmiş) byte'lardan strong ETag ile döner")
+    @ApiResponse(responseCode = "200", description = "Aircraft listesi",
+            content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = AircraftDto.ListResponse.class))))
+    public ResponseEntity<byte[]> getAllActiveAircraft(
+            @Parameter(hidden = true) @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @Parameter(hidden = true) @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.debug("Getting all active aircraft");
-        List<AircraftDto.ListResponse> response = aircraftService.getAllActiveAircraft();
-        return ResponseEntity.ok(response);
+        SerializedBody body = serializedResponseCache.get("aircraft", snapshot -> snapshot.aircraft().active(),
+                aircraftService::getAllActiveAircraft);
+        return body.toResponse(acceptEncoding, ifNoneMatch);
     }
 
     /**
@@ -162,10 +209,11 @@ public class AircraftController {
     @GetMapping("/airline/{airlineId}")
     @Operation(summary = "Airline ID ile aircraft ara", description = "Belirtilen airline'a ait aircraft'ları listeler")
     public ResponseEntity<List<AircraftDto.ListResponse>> getAircraftByAirlineId(
-            @Parameter(description = "Airline ID") @PathVariable Long airlineId) {
+            @Parameter(description = "Airline ID") @PathVariable Long airlineId,
+            @Parameter(hidden = true) @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.debug("Getting aircraft by airline ID: {}", airlineId);
-        List<AircraftDto.ListResponse> response = aircraftService.getAircraftByAirlineId(airlineId);
-        return ResponseEntity.ok(response);
+        String etag = aircraftService.getAircraftEtag();
+        return ConditionalResponses.respond(ifNoneMatch, etag, () -> aircraftService.getAircraftByAirlineId(airlineId));
     }
 
     /**
@@ -177,10 +225,11 @@ public class AircraftController {
     @GetMapping("/airline-code/{airlineCode}")
     @Operation(summary = "Airline code ile aircraft ara", description = "Belirtilen airline code'a ait aircraft'ları listeler")
     public ResponseEntity<List<AircraftDto.ListResponse>> getAircraftByAirlineCode(
-            @Parameter(description = "Airline code") @PathVariable String airlineCode) {
+            @Parameter(description = "Airline code") @PathVariable String airlineCode,
+            @Parameter(hidden = true) @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.debug("Getting aircraft by airline code: {}", airlineCode);
-        List<AircraftDto.ListResponse> response = aircraftService.getAircraftByAirlineCode(airlineCode);
-        return ResponseEntity.ok(response);
+        String etag = aircraftService.getAircraftEtag();
+        return ConditionalResponses.respond(ifNoneMatch, etag, () -> aircraftService.getAircraftByAirlineCode(airlineCode));
     }
 
     /**
@@ -192,10 +241,11 @@ public class AircraftController {
     @GetMapping("/type/{aircraftType}")
     @Operation(summary = "Type ile aircraft ara", description = "Belirtilen type'a sahip aircraft'ları listeler")
     public ResponseEntity<List<AircraftDto.ListResponse>> getAircraftByType(
-            @Parameter(description = "Aircraft type") @PathVariable String aircraftType) {
+            @Parameter(description = "Aircraft type") @PathVariable String aircraftType,
+            @Parameter(hidden = true) @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.debug("Getting aircraft by type: {}", aircraftType);
-        List<AircraftDto.ListResponse> response = aircraftService.getAircraftByType(aircraftType);
-        return ResponseEntity.ok(response);
+        String etag = aircraftService.getAircraftEtag();
+        return ConditionalResponses.respond(ifNoneMatch, etag, () -> aircraftService.getAircraftByType(aircraftType));
     }
 
     /**
@@ -207,10 +257,11 @@ public class AircraftController {
     @GetMapping("/manufacturer/{manufacturer}")
     @Operation(summary = "Manufacturer ile aircraft ara", description = "Belirtilen manufacturer'a sahip aircraft'ları listeler")
     public ResponseEntity<List<AircraftDto.ListResponse>> getAircraftByManufacturer(
-            @Parameter(description = "Manufacturer") @PathVariable String manufacturer) {
+            @Parameter(description = "Manufacturer") @PathVariable String manufacturer,
+            @Parameter(hidden = true) @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.debug("Getting aircraft by manufacturer: {}", manufacturer);
-        List<AircraftDto.ListResponse> response = aircraftService.getAircraftByManufacturer(manufacturer);
-        return ResponseEntity.ok(response);
+        String etag = aircraftService.getAircraftEtag();
+        return ConditionalResponses.respond(ifNoneMatch, etag, () -> aircraftService.getAircraftByManufacturer(manufacturer));
     }
 
     /**
@@ -274,4 +325,10 @@ public class AircraftController {
         List<AircraftDto.ListResponse> response = aircraftService.getAircraftByCapacityRange(minCapacity, maxCapacity);
         return ResponseEntity.ok(response);
     }
-} 
\ No newline at end of file
+
+    private static String etag(AircraftDto.Response response) {
+        // Aircraft cevabı airline bilgisini de içerir
+        Long airlineVersion = response.getAirline() != null ? response.getAirline().getVersion() : Long.valueOf(0);
+        return ConditionalResponses.versionEtag("aircraft", response.getId(), response.getVersion(), airlineVersion);
+    }
+}
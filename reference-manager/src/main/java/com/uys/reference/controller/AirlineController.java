@@ -3,8 +3,12 @@ package com.uys.reference.controller;
 import com.uys.reference.dto.AirlineDto;
 import com.uys.reference.dto.ErrorResponse;
 import com.uys.reference.service.AirlineService;
+import com.uys.reference.web.ConditionalResponses;
+import com.uys.reference.web.SerializedBody;
+import com.uys.reference.web.SerializedResponseCache;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -15,11 +19,13 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Airline Controller - Havayolu şirketi REST API
@@ -36,6 +42,7 @@ import java.util.List;
 public class AirlineController {
 
     private final AirlineService airlineService;
+    private final SerializedResponseCache serializedResponseCache;
 
     /**
      * Yeni airline oluşturur
@@ -82,10 +89,11 @@ public class AirlineController {
     @GetMapping("/{id}")
     @Operation(summary = "ID ile airline getir", description = "Belirtilen ID'ye sahip airline'ı getirir")
     public ResponseEntity<AirlineDto.Response> getAirlineById(
-            @Parameter(description = "Airline ID") @PathVariable Long id) {
+            @Parameter(description = "Airline ID") @PathVariable Long id,
+            @Parameter(hidden = true) @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.debug("Getting airline by ID: {}", id);
         AirlineDto.Response response = airlineService.getAirlineById(id);
-        return ResponseEntity.ok(response);
+        return ConditionalResponses.respond(ifNoneMatch, ConditionalResponses.versionEtag("airline", response.getId(), response.getVersion()), () -> response);
     }
 
     /**
@@ -97,9 +105,40 @@ public class AirlineController {
     @GetMapping("/code/{airlineCode}")
     @Operation(summary = "Code ile airline getir", description = "Belirtilen code'a sahip airline'ı getirir")
     public ResponseEntity<AirlineDto.Response> getAirlineByCode(
-            @Parameter(description = "Airline code") @PathVariable String airlineCode) {
+            @Parameter(description = "Airline code") @PathVariable String airlineCode,
+            @Parameter(hidden = true) @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.debug("Getting airline by code: {}", airlineCode);
         AirlineDto.Response response = airlineService.getAirlineByCode(airlineCode);
+        return ConditionalResponses.respond(ifNoneMatch, ConditionalResponses.versionEtag("airline", response.getId(), response.getVersion()), () -> response);
+    }
+
+    /**
+     * Birden fazla code ile airline getirir
+     * 
+     * @param codes virgülle ayrılmış code listesi
+     * @return code → airline
+     */
+    @GetMapping("/batch")
+    @Operation(summary = "Çoklu airline getir", description = "Verilen code'lara sahip airline kayıtlarını tek istekte getirir; bulunamayanlar cevapta yer almaz")
+    public ResponseEntity<Map<String, AirlineDto.Response>> getAirlinesByCodes(
+            @Parameter(description = "Airline code'ları", example = "TK,LH") @RequestParam List<String> codes) {
+        log.debug("Getting {} airline by batch code", codes.size());
+        Map<String, AirlineDto.Response> response = airlineService.getAirlinesByCodes(codes);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Büyük code listeleri için istek gövdesiyle çoklu airline getirir
+     * 
+     * @param batchRequest code listesi
+     * @return code → airline
+     */
+    @PostMapping("/batch")
+    @Operation(summary = "Çoklu airline getir (body)", description = "URL uzunluğunu aşan code listeleri için GET /batch ile aynı sonucu döner")
+    public ResponseEntity<Map<String, AirlineDto.Response>> getAirlinesByCodes(
+            @Valid @RequestBody AirlineDto.BatchRequest batchRequest) {
+        log.debug("Getting {} airline by batch code body", batchRequest.getAirlineCodes().size());
+        Map<String, AirlineDto.Response> response = airlineService.getAirlinesByCodes(batchRequest.getAirlineCodes());
         return ResponseEntity.ok(response);
     }
 
@@ -109,11 +148,16 @@ public class AirlineController {
      * @return airline listesi
      */
     @GetMapping
-    @Operation(summary = "Tüm aktif airline'ları listele", description = "Aktif tüm havayolu şirketlerini listeler")
-    public ResponseEntity<List<AirlineDto.ListResponse>> getAllActiveAirlines() {
+    @Operation(summary = "Tüm aktif airline'ları listele", description = "Aktif tüm havayolu şirketlerini listeler; cevap önceden serialize edilmiş (ve gzip'lenmiş) byte'lardan strong ETag ile döner")
+    @ApiResponse(responseCode = "200", description = "Airline listesi",
+            content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = AirlineDto.ListResponse.class))))
+    public ResponseEntity<byte[]> getAllActiveAirlines(
+            @Parameter(hidden = true) @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @Parameter(hidden = true) @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.debug("Getting all active airlines");
-        List<AirlineDto.ListResponse> response = airlineService.getAllActiveAirlines();
-        return ResponseEntity.ok(response);
+        SerializedBody body = serializedResponseCache.get("airlines", snapshot -> snapshot.airlines().active(),
+                airlineService::getAllActiveAirlines);
+        return body.toResponse(acceptEncoding, ifNoneMatch);
     }
 
     /**
@@ -188,10 +232,11 @@ public class AirlineController {
     @GetMapping("/country/{country}")
     @Operation(summary = "Country ile airline ara", description = "Belirtilen ülkedeki airline'ları listeler")
     public ResponseEntity<List<AirlineDto.ListResponse>> getAirlinesByCountry(
-            @Parameter(description = "Country") @PathVariable String country) {
+            @Parameter(description = "Country") @PathVariable String country,
+            @Parameter(hidden = true) @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.debug("Getting airlines by country: {}", country);
-        List<AirlineDto.ListResponse> response = airlineService.getAirlinesByCountry(country);
-        return ResponseEntity.ok(response);
+        String etag = airlineService.getAirlinesEtag();
+        return ConditionalResponses.respond(ifNoneMatch, etag, () -> airlineService.getAirlinesByCountry(country));
     }
 
     /**
@@ -203,24 +248,29 @@ public class AirlineController {
     @GetMapping("/city/{city}")
     @Operation(summary = "City ile airline ara", description = "Belirtilen şehirdeki airline'ları listeler")
     public ResponseEntity<List<AirlineDto.ListResponse>> getAirlinesByCity(
-            @Parameter(description = "City") @PathVariable String city) {
+            @Parameter(description = "City") @PathVariable String city,
+            @Parameter(hidden = true) @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.debug("Getting airlines by city: {}", city);
-        List<AirlineDto.ListResponse> response = airlineService.getAirlinesByCity(city);
-        return ResponseEntity.ok(response);
+        String etag = airlineService.getAirlinesEtag();
+        return ConditionalResponses.respond(ifNoneMatch, etag, () -> airlineService.getAirlinesByCity(city));
     }
 
     /**
      * Airline name ile arama yapar
      * 
      * @param airlineName airline name
+     * @param fuzzy yazım hatalarını tolere et
      * @return airline listesi
      */
     @GetMapping("/search/name")
-    @Operation(summary = "Name ile airline ara", description = "Airline name ile arama yapar")
+    @Operation(summary = "Name ile airline ara", description = "Airline name ile arama yapar; fuzzy=true ise yazım hatalarını tolere eder")
     public ResponseEntity<List<AirlineDto.ListResponse>> searchAirlinesByName(
-            @Parameter(description = "Airline name") @RequestParam String airlineName) {
-        log.debug("Searching airlines by name: {}", airlineName);
-        List<AirlineDto.ListResponse> response = airlineService.searchAirlinesByName(airlineName);
+            @Parameter(description = "Airline name") @RequestParam String airlineName,
+            @Parameter(description = "Yazım hatalarını tolere et") @RequestParam(defaultValue = "false") boolean fuzzy) {
+        log.debug("Searching airlines by name: {} fuzzy: {}", airlineName, fuzzy);
+        List<AirlineDto.ListResponse> response = fuzzy
+                ? airlineService.fuzzySearchAirlinesByName(airlineName)
+                : airlineService.searchAirlinesByName(airlineName);
         return ResponseEntity.ok(response);
     }
 
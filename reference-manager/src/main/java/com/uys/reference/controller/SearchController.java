@@ -0,0 +1,51 @@
+package com.uys.reference.controller;
+
+import com.uys.reference.dto.SearchDto;
+import com.uys.reference.search.ReferenceType;
+import com.uys.reference.service.ReferenceSearchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Search Controller - Referans veri arama REST API
+ */
+@RestController
+@RequestMapping("/search")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Search", description = "Referans veri arama API'leri")
+public class SearchController {
+
+    private final ReferenceSearchService referenceSearchService;
+
+    /**
+     * Airline, station ve aircraft için sıralı autocomplete önerileri
+     * 
+     * @param q arama metni
+     * @param type referans tipi
+     * @param limit en fazla sonuç sayısı
+     * @param fuzzy yazım hatalarını tolere et
+     * @return öneri listesi
+     */
+    @GetMapping("/autocomplete")
+    @Operation(summary = "Autocomplete", description = "Code, isim, şehir ve ülke üzerinde bellek içi index ile sıralı öneriler döner")
+    public ResponseEntity<List<SearchDto.Suggestion>> autocomplete(
+            @Parameter(description = "Arama metni") @RequestParam String q,
+            @Parameter(description = "Referans tipi (boş ise tümü)") @RequestParam(required = false) ReferenceType type,
+            @Parameter(description = "En fazla sonuç sayısı") @RequestParam(defaultValue = "10") int limit,
+            @Parameter(description = "Yazım hatalarını tolere et") @RequestParam(defaultValue = "false") boolean fuzzy) {
+        log.debug("Autocomplete for query: {} type: {}", q, type);
+        List<SearchDto.Suggestion> response = referenceSearchService.autocomplete(q, type, limit, fuzzy);
+        return ResponseEntity.ok(response);
+    }
+}
@@ -2,19 +2,28 @@ package com.uys.reference.controller;
 
 import com.uys.reference.dto.StationDto;
 import com.uys.reference.service.StationService;
+import com.uys.reference.web.ConditionalResponses;
+import com.uys.reference.web.SerializedBody;
+import com.uys.reference.web.SerializedResponseCache;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Station Controller - Havaalanı REST API
@@ -31,6 +40,7 @@ import java.util.List;
 public class StationController {
 
     private final StationService stationService;
+    private final SerializedResponseCache serializedResponseCache;
 
     /**
      * Yeni station oluşturur
@@ -56,10 +66,11 @@ public class StationController {
     @GetMapping("/{id}")
     @Operation(summary = "ID ile station getir", description = "Belirtilen ID'ye sahip station'ı getirir")
     public ResponseEntity<StationDto.Response> getStationById(
-            @Parameter(description = "Station ID") @PathVariable Long id) {
+            @Parameter(description = "Station ID") @PathVariable Long id,
+            @Parameter(hidden = true) @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.debug("Getting station by ID: {}", id);
         StationDto.Response response = stationService.getStationById(id);
-        return ResponseEntity.ok(response);
+        return ConditionalResponses.respond(ifNoneMatch, ConditionalResponses.versionEtag("station", response.getId(), response.getVersion()), () -> response);
     }
 
     /**
@@ -71,9 +82,40 @@ public class StationController {
     @GetMapping("/code/{stationCode}")
     @Operation(summary = "Code ile station getir", description = "Belirtilen code'a sahip station'ı getirir")
     public ResponseEntity<StationDto.Response> getStationByCode(
-            @Parameter(description = "Station code") @PathVariable String stationCode) {
+            @Parameter(description = "Station code") @PathVariable String stationCode,
+            @Parameter(hidden = true) @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.debug("Getting station by code: {}", stationCode);
         StationDto.Response response = stationService.getStationByCode(stationCode);
+        return ConditionalResponses.respond(ifNoneMatch, ConditionalResponses.versionEtag("station", response.getId(), response.getVersion()), () -> response);
+    }
+
+    /**
+     * Birden fazla code ile station getirir
+     * 
+     * @param codes virgülle ayrılmış code listesi
+     * @return code → station
+     */
+    @GetMapping("/batch")
+    @Operation(summary = "Çoklu station getir", description = "Verilen code'lara sahip station kayıtlarını tek istekte getirir; bulunamayanlar cevapta yer almaz")
+    public ResponseEntity<Map<String, StationDto.Response>> getStationsByCodes(
+            @Parameter(description = "Station code'ları", example = "IST,FRA") @RequestParam List<String> codes) {
+        log.debug("Getting {} station by batch code", codes.size());
+        Map<String, StationDto.Response> response = stationService.getStationsByCodes(codes);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Büyük code listeleri için istek gövdesiyle çoklu station getirir
+     * 
+     * @param batchRequest code listesi
+     * @return code → station
+     */
+    @PostMapping("/batch")
+    @Operation(summary = "Çoklu station getir (body)", description = "URL uzunluğunu aşan code listeleri için GET /batch ile aynı sonucu döner")
+    public ResponseEntity<Map<String, StationDto.Response>> getStationsByCodes(
+            @Valid @RequestBody StationDto.BatchRequest batchRequest) {
+        log.debug("Getting {} station by batch code body", batchRequest.getStationCodes().size());
+        Map<String, StationDto.Response> response = stationService.getStationsByCodes(batchRequest.getStationCodes());
         return ResponseEntity.ok(response);
     }
 
@@ -83,11 +125,16 @@ public class StationController {
      * @return station listesi
      */
     @GetMapping
-    @Operation(summary = "Tüm aktif station'ları listele", description = "Aktif tüm havaalanlarını listeler")
-    public ResponseEntity<List<StationDto.ListResponse>> getAllActiveStations() {
+    @Operation(summary = "Tüm aktif station'ları listele", description = "Aktif tüm havaalanlarını listeler; cevap önceden serialize edilmiş (ve gzip'lenmiş) byte'lardan strong ETag ile döner")
+    @ApiResponse(responseCode = "200", description = "Station listesi",
+            content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = StationDto.ListResponse.class))))
+    public ResponseEntity<byte[]> getAllActiveStations(
+            @Parameter(hidden = true) @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @Parameter(hidden = true) @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.debug("Getting all active stations");
-        List<StationDto.ListResponse> response = stationService.getAllActiveStations();
-        return ResponseEntity.ok(response);
+        SerializedBody body = serializedResponseCache.get("stations", snapshot -> snapshot.stations().active(),
+                stationService::getAllActiveStations);
+        return body.toResponse(acceptEncoding, ifNoneMatch);
     }
 
     /**
@@ -162,10 +209,11 @@ public class StationController {
     @GetMapping("/country/{country}")
     @Operation(summary = "Country ile station ara", description = "Belirtilen ülkedeki station'ları listeler")
     public ResponseEntity<List<StationDto.ListResponse>> getStationsByCountry(
-            @Parameter(description = "Country") @PathVariable String country) {
+            @Parameter(description = "Country") @PathVariable String country,
+            @Parameter(hidden = true) @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.debug("Getting stations by country: {}", country);
-        List<StationDto.ListResponse> response = stationService.getStationsByCountry(country);
-        return ResponseEntity.ok(response);
+        String etag = stationService.getStationsEtag();
+        return ConditionalResponses.respond(ifNoneMatch, etag, () -> stationService.getStationsByCountry(country));
     }
 
     /**
@@ -177,10 +225,11 @@ public class StationController {
     @GetMapping("/city/{city}")
     @Operation(summary = "City ile station ara", description = "Belirtilen şehirdeki station'ları listeler")
     public ResponseEntity<List<StationDto.ListResponse>> getStationsByCity(
-            @Parameter(description = "City") @PathVariable String city) {
+            @Parameter(description = "City") @PathVariable String city,
+            @Parameter(hidden = true) @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.debug("Getting stations by city: {}", city);
-        List<StationDto.ListResponse> response = stationService.getStationsByCity(city);
-        return ResponseEntity.ok(response);
+        String etag = stationService.getStationsEtag();
+        return ConditionalResponses.respond(ifNoneMatch, etag, () -> stationService.getStationsByCity(city));
     }
 
     /**
@@ -192,24 +241,29 @@ public class StationController {
     @GetMapping("/timezone/{timezone}")
     @Operation(summary = "Timezone ile station ara", description = "Belirtilen timezone'daki station'ları listeler")
     public ResponseEntity<List<StationDto.ListResponse>> getStationsByTimezone(
-            @Parameter(description = "Timezone") @PathVariable String timezone) {
+            @Parameter(description = "Timezone") @PathVariable String timezone,
+            @Parameter(hidden = true) @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.debug("Getting stations by timezone: {}", timezone);
-        List<StationDto.ListResponse> response = stationService.getStationsByTimezone(timezone);
-        return ResponseEntity.ok(response);
+        String etag = stationService.getStationsEtag();
+        return ConditionalResponses.respond(ifNoneMatch, etag, () -> stationService.getStationsByTimezone(timezone));
     }
 
     /**
      * Station name ile arama yapar
      * 
      * @param stationName station name
+     * @param fuzzy yazım hatalarını tolere et
      * @return station listesi
      */
     @GetMapping("/search/name")
-    @Operation(summary = "Name ile station ara", description = "Station name ile arama yapar")
+    @Operation(summary = "Name ile station ara", description = "Station name ile arama yapar; fuzzy=true ise yazım hatalarını tolere eder")
     public ResponseEntity<List<StationDto.ListResponse>> searchStationsByName(
-            @Parameter(description = "Station name") @RequestParam String stationName) {
-        log.debug("Searching stations by name: {}", stationName);
-        List<StationDto.ListResponse> response = stationService.searchStationsByName(stationName);
+            @Parameter(description = "Station name") @RequestParam String stationName,
+            @Parameter(description = "Yazım hatalarını tolere et") @RequestParam(defaultValue = "false") boolean fuzzy) {
+        log.debug("Searching stations by name: {} fuzzy: {}", stationName, fuzzy);
+        List<StationDto.ListResponse> response = fuzzy
+                ? stationService.fuzzySearchStationsByName(stationName)
+                : stationService.searchStationsByName(stationName);
         return ResponseEntity.ok(response);
     }
 
@@ -278,4 +332,76 @@ public class StationController {
         List<StationDto.ListResponse> response = stationService.getStationsByLocationRange(minLat, maxLat, minLon, maxLon);
         return ResponseEntity.ok(response);
     }
-} 
\ No newline at end of file
+
+    /**
+     * Koordinata en yakın station'ları getirir
+     * 
+     * @param lat latitude
+     * @param lon longitude
+     * @param n sonuç sayısı
+     * @return mesafeye göre sıralı station listesi
+     */
+    @GetMapping("/nearest")
+    @Operation(summary = "En yakın station'lar", description = "Koordinata en yakın havaalanlarını büyük daire mesafesiyle listeler")
+    public ResponseEntity<List<StationDto.NearbyStation>> getNearestStations(
+            @Parameter(description = "Latitude") @RequestParam double lat,
+            @Parameter(description = "Longitude") @RequestParam double lon,
+            @Parameter(description = "Sonuç sayısı") @RequestParam(defaultValue = "5") int n) {
+        log.debug("Getting {} nearest stations to ({}, {})", n, lat, lon);
+        List<StationDto.NearbyStation> response = stationService.getNearestStations(lat, lon, n);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Yarıçap içindeki station'ları getirir
+     * 
+     * @param lat latitude
+     * @param lon longitude
+     * @param radiusKm yarıçap (km)
+     * @param limit en fazla sonuç sayısı
+     * @return mesafeye göre sıralı station listesi
+     */
+    @GetMapping("/radius")
+    @Operation(summary = "Yarıçap içindeki station'lar", description = "Koordinata verilen mesafedeki havaalanlarını listeler")
+    public ResponseEntity<List<StationDto.NearbyStation>> getStationsWithinRadius(
+            @Parameter(description = "Latitude") @RequestParam double lat,
+            @Parameter(description = "Longitude") @RequestParam double lon,
+            @Parameter(description = "Yarıçap (km)") @RequestParam double radiusKm,
+            @Parameter(description = "En fazla sonuç sayısı") @RequestParam(defaultValue = "100") int limit) {
+        log.debug("Getting stations within {} km of ({}, {})", radiusKm, lat, lon);
+        List<StationDto.NearbyStation> response = stationService.getStationsWithinRadius(lat, lon, radiusKm, limit);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * İki station arasındaki mesafeyi getirir
+     * 
+     * @param from kalkış station code
+     * @param to varış station code
+     * @return büyük daire mesafesi
+     */
+    @GetMapping("/distance")
+    @Operation(summary = "Station'lar arası mesafe", description = "İki havaalanı arasındaki büyük daire mesafesini getirir")
+    public ResponseEntity<StationDto.Distance> getDistance(
+            @Parameter(description = "Kalkış station code") @RequestParam String from,
+            @Parameter(description = "Varış station code") @RequestParam String to) {
+        log.debug("Getting distance between {} and {}", from, to);
+        StationDto.Distance response = stationService.getDistance(from, to);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Station çiftlerinin mesafelerini toplu getirir
+     * 
+     * @param request station çiftleri
+     * @return istek sırasıyla mesafeler
+     */
+    @PostMapping("/distances")
+    @Operation(summary = "Toplu mesafe sorgusu", description = "Birden çok havaalanı çifti arasındaki mesafeleri tek çağrıda getirir")
+    public ResponseEntity<List<StationDto.Distance>> getDistances(
+            @Valid @RequestBody StationDto.DistanceBatchRequest request) {
+        log.debug("Getting distances for {} station pairs", request.getPairs().size());
+        List<StationDto.Distance> response = stationService.getDistances(request);
+        return ResponseEntity.ok(response);
+    }
+}
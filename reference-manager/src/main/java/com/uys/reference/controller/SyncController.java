@@ -0,0 +1,47 @@
+package com.uys.reference.controller;
+
+import com.uys.reference.dto.SyncDto;
+import com.uys.reference.search.ReferenceType;
+import com.uys.reference.service.SyncService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Sync Controller - Referans veri delta sync REST API
+ */
+@RestController
+@RequestMapping("/sync")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Sync", description = "Referans veri delta sync API'leri")
+public class SyncController {
+
+    private final SyncService syncService;
+
+    /**
+     * Verilen seq'ten sonraki airline, station ve aircraft değişiklikleri
+     *
+     * @param since son uygulanan seq
+     * @param type referans tipi
+     * @param limit okunacak en fazla değişiklik sayısı
+     * @return değişiklikler ve bir sonraki seq
+     */
+    @GetMapping("/changes")
+    @Operation(summary = "Delta sync", description = "Verilen seq'ten sonraki değişiklikleri sıkıştırılmış upsert/delete olarak döner; since=0 tüm veriyi verir")
+    public ResponseEntity<SyncDto.ChangePage> getChanges(
+            @Parameter(description = "Son uygulanan seq (ilk senkronizasyon için 0)") @RequestParam(defaultValue = "0") long since,
+            @Parameter(description = "Referans tipi (boş ise tümü)") @RequestParam(required = false) ReferenceType type,
+            @Parameter(description = "Okunacak en fazla değişiklik sayısı") @RequestParam(defaultValue = "500") int limit) {
+        log.debug("Fetching reference changes since seq: {}", since);
+        SyncDto.ChangePage response = syncService.getChanges(since, type, limit);
+        return ResponseEntity.ok(response);
+    }
+}
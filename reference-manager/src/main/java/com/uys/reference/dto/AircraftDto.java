@@ -1,6 +1,7 @@
 package com.uys.reference.dto;
 
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
@@ -9,6 +10,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Aircraft DTO - Uçak veri transfer nesnesi
@@ -23,7 +25,7 @@ public class AircraftDto {
      * Aircraft Response DTO
      */
     @Data
-    @Builder
+    @Builder(toBuilder = true)
     @NoArgsConstructor
     @AllArgsConstructor
     public static class Response {
@@ -103,7 +105,7 @@ public class AircraftDto {
      * Aircraft List Response DTO
      */
     @Data
-    @Builder
+    @Builder(toBuilder = true)
     @NoArgsConstructor
     @AllArgsConstructor
     public static class ListResponse {
@@ -117,4 +119,16 @@ public class AircraftDto {
         private String airlineName;
         private Boolean active;
     }
-} 
\ No newline at end of file
+
+    /**
+     * Batch Request DTO - Çoklu code sorgusu
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BatchRequest {
+        @NotEmpty(message = "At least one registration is required")
+        private List<String> registrations;
+    }
+}
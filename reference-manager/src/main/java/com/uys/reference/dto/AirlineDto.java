@@ -2,6 +2,7 @@ package com.uys.reference.dto;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -9,6 +10,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Airline DTO - Havayolu şirketi veri transfer nesnesi
@@ -128,4 +130,17 @@ public class AirlineDto {
         private String city;
         private Boolean active;
     }
-} 
\ No newline at end of file
+
+    /**
+     * Batch Request DTO - Çoklu code sorgusu
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "Airline multi-get request")
+    public static class BatchRequest {
+        @NotEmpty(message = "At least one airline code is required")
+        private List<String> airlineCodes;
+    }
+}
@@ -0,0 +1,42 @@
+package com.uys.reference.dto;
+
+import com.uys.reference.search.ReferenceType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Search DTO - Referans veri arama sonuçları
+ */
+public class SearchDto {
+
+    /**
+     * Autocomplete Suggestion DTO
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "Autocomplete suggestion")
+    public static class Suggestion {
+        @Schema(description = "Reference type", example = "STATION")
+        private ReferenceType type;
+
+        @Schema(description = "Entity ID", example = "1")
+        private Long id;
+
+        @Schema(description = "Airline code, station code or aircraft registration", example = "IST")
+        private String code;
+
+        @Schema(description = "Display name", example = "Istanbul Airport")
+        private String name;
+
+        @Schema(description = "Additional detail", example = "Istanbul Turkey")
+        private String detail;
+
+        @Schema(description = "Match score; code exact > code prefix > name prefix > word prefix > substring > fuzzy", example = "100")
+        private Integer score;
+    }
+}
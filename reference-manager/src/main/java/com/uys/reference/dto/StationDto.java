@@ -1,6 +1,8 @@
 package com.uys.reference.dto;
 
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -8,6 +10,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Station DTO - Havaalanı veri transfer nesnesi
@@ -130,6 +133,78 @@ public class StationDto {
         private String city;
         private String country;
         private String timezone;
+        private Double latitude;
+        private Double longitude;
         private Boolean active;
     }
-} 
\ No newline at end of file
+
+    /**
+     * Nearby Station DTO - Mesafe bilgisiyle station
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class NearbyStation {
+        private Long id;
+        private String stationCode;
+        private String stationName;
+        private String city;
+        private String country;
+        private Double latitude;
+        private Double longitude;
+        private Double distanceKm;
+    }
+
+    /**
+     * Station Distance DTO - İki station arası büyük daire mesafesi
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Distance {
+        private String fromStationCode;
+        private String toStationCode;
+        private Double distanceKm;
+    }
+
+    /**
+     * Station Pair DTO
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class StationPair {
+        @NotBlank(message = "From station code is required")
+        private String fromStationCode;
+
+        @NotBlank(message = "To station code is required")
+        private String toStationCode;
+    }
+
+    /**
+     * Distance Batch Request DTO
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class DistanceBatchRequest {
+        @NotEmpty(message = "At least one station pair is required")
+        private List<@Valid StationPair> pairs;
+    }
+
+    /**
+     * Batch Request DTO - Çoklu code sorgusu
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BatchRequest {
+        @NotEmpty(message = "At least one station code is required")
+        private List<String> stationCodes;
+    }
+}
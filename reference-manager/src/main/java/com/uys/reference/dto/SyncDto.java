@@ -0,0 +1,68 @@
+package com.uys.reference.dto;
+
+import com.uys.reference.search.ReferenceType;
+import com.uys.reference.sync.ChangeOperation;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Sync DTO - Referans veri delta sync sonuçları
+ */
+public class SyncDto {
+
+    /**
+     * Change DTO - Tek kaydın son hali
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "Reference data change")
+    public static class Change {
+        @Schema(description = "Global change sequence", example = "42")
+        private Long seq;
+
+        @Schema(description = "Reference type", example = "STATION")
+        private ReferenceType type;
+
+        @Schema(description = "Entity ID", example = "1")
+        private Long id;
+
+        @Schema(description = "Airline code, station code or aircraft registration", example = "IST")
+        private String code;
+
+        @Schema(description = "UPSERT for created or updated records, DELETE for deleted or deactivated records", example = "UPSERT")
+        private ChangeOperation operation;
+
+        @Schema(description = "Entity version", example = "3")
+        private Long version;
+
+        @Schema(description = "Compact record for UPSERT; null for DELETE",
+                oneOf = {AirlineDto.ListResponse.class, StationDto.ListResponse.class, AircraftDto.ListResponse.class})
+        private Object data;
+    }
+
+    /**
+     * Change Page DTO
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "Reference data changes since a sequence")
+    public static class ChangePage {
+        @Schema(description = "Latest change of each record in this page, ordered by sequence")
+        private List<Change> changes;
+
+        @Schema(description = "Sequence to pass as since for the next pull", example = "42")
+        private Long nextSeq;
+
+        @Schema(description = "Whether more changes follow this page")
+        private Boolean hasMore;
+    }
+}
@@ -0,0 +1,25 @@
+package com.uys.reference.event;
+
+import com.uys.reference.entity.Aircraft;
+import com.uys.reference.entity.Airline;
+import com.uys.reference.entity.Station;
+import com.uys.reference.event.enums.EventType;
+
+/**
+ * Reference Data Changed Event - Referans veri yazmalarından sonra yayınlanan uygulama içi olay
+ *
+ * In-memory index'ler bu olayı transaction commit edildikten sonra dinler.
+ */
+public sealed interface ReferenceDataChangedEvent {
+
+    EventType eventType();
+
+    record AirlineChanged(Airline airline, EventType eventType) implements ReferenceDataChangedEvent {
+    }
+
+    record AircraftChanged(Aircraft aircraft, EventType eventType) implements ReferenceDataChangedEvent {
+    }
+
+    record StationChanged(Station station, EventType eventType) implements ReferenceDataChangedEvent {
+    }
+}
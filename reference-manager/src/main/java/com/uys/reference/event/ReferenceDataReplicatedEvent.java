@@ -0,0 +1,15 @@
+package com.uys.reference.event;
+
+import java.util.List;
+
+/**
+ * Reference Data Replicated Event - Change log'dan okunan, herhangi bir instance'ta commit edilmiş değişiklikler
+ *
+ * Her instance kendi change feed'i ile yayınlar; bellek içi snapshot ve index'ler bu olayla diğer
+ * pod'lardaki yazmaları da görür. Change log'a tekrar yazılmaması için
+ * {@link ReferenceDataChangedEvent}'ten ayrı bir tiptir.
+ *
+ * @param changes kayıtların veritabanındaki güncel halleri, seq sırasıyla
+ */
+public record ReferenceDataReplicatedEvent(List<ReferenceDataChangedEvent> changes) {
+}
@@ -0,0 +1,201 @@
+package com.uys.reference.index;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Geo KD-Tree - Koordinatlar üzerinde değişmez 3 boyutlu k-d ağacı
+ *
+ * Enlem/boylam birim küre üzerinde (x, y, z) noktasına çevrilir. Kiriş uzunluğu büyük daire
+ * mesafesiyle monoton arttığı için en yakın komşu ve yarıçap sorguları kesin sonuç verir;
+ * 180. meridyen ve kutuplarda özel durum yoktur. Ağaç dizilerde örtük olarak tutulur
+ * (her aralığın ortası düğümdür), oluşturulduktan sonra kilitsiz okunur.
+ */
+public final class GeoKdTree<T> {
+
+    private final double[][] points;
+    private final Object[] values;
+    private final int size;
+
+    private GeoKdTree(double[][] points, Object[] values) {
+        this.points = points;
+        this.values = values;
+        this.size = values.length;
+        build(0, size, 0);
+    }
+
+    /**
+     * @param latitudes  derece
+     * @param longitudes derece
+     */
+    public static <T> GeoKdTree<T> of(List<T> values, double[] latitudes, double[] longitudes) {
+        double[][] points = new double[values.size()][];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = toPoint(latitudes[i], longitudes[i]);
+        }
+        return new GeoKdTree<>(points, values.toArray());
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * En yakın {@code n} değeri mesafeye göre artan sırada döner
+     */
+    public List<Neighbor<T>> nearest(double latitude, double longitude, int n) {
+        if (n <= 0 || size == 0) {
+            return List.of();
+        }
+        double[] target = toPoint(latitude, longitude);
+        PriorityQueue<Candidate> best = new PriorityQueue<>(n + 1,
+                Comparator.comparingDouble((Candidate candidate) -> candidate.squaredChord).reversed());
+        nearest(0, size, 0, target, n, best);
+
+        List<Candidate> ordered = new ArrayList<>(best);
+        ordered.sort(Comparator.comparingDouble(candidate -> candidate.squaredChord));
+        return ordered.stream().map(this::toNeighbor).toList();
+    }
+
+    /**
+     * Yarıçap içindeki değerleri mesafeye göre artan sırada döner
+     */
+    public List<Neighbor<T>> withinRadius(double latitude, double longitude, double radiusKm) {
+        if (size == 0 || radiusKm < 0) {
+            return List.of();
+        }
+        double chord = GeoMath.kmToChord(radiusKm);
+        List<Candidate> found = new ArrayList<>();
+        withinRadius(0, size, 0, toPoint(latitude, longitude), chord * chord, found);
+        found.sort(Comparator.comparingDouble(candidate -> candidate.squaredChord));
+        return found.stream().map(this::toNeighbor).toList();
+    }
+
+    private void nearest(int low, int high, int axis, double[] target, int n, PriorityQueue<Candidate> best) {
+        if (low >= high) {
+            return;
+        }
+        int mid = (low + high) >>> 1;
+        double[] point = points[mid];
+        double squared = squaredDistance(point, target);
+        if (best.size() < n) {
+            best.add(new Candidate(mid, squared));
+        } else if (squared < best.peek().squaredChord) {
+            best.poll();
+            best.add(new Candidate(mid, squared));
+        }
+
+        double diff = target[axis] - point[axis];
+        int next = (axis + 1) % 3;
+        if (diff < 0) {
+            nearest(low, mid, next, target, n, best);
+            if (best.size() < n || diff * diff < best.peek().squaredChord) {
+                nearest(mid + 1, high, next, target, n, best);
+            }
+        } else {
+            nearest(mid + 1, high, next, target, n, best);
+            if (best.size() < n || diff * diff < best.peek().squaredChord) {
+                nearest(low, mid, next, target, n, best);
+            }
+        }
+    }
+
+    private void withinRadius(int low, int high, int axis, double[] target, double squaredChord, List<Candidate> found) {
+        if (low >= high) {
+            return;
+        }
+        int mid = (low + high) >>> 1;
+        double[] point = points[mid];
+        double squared = squaredDistance(point, target);
+        if (squared <= squaredChord) {
+            found.add(new Candidate(mid, squared));
+        }
+        double diff = target[axis] - point[axis];
+        int next = (axis + 1) % 3;
+        if (diff < 0 || diff * diff <= squaredChord) {
+            withinRadius(low, mid, next, target, squaredChord, found);
+        }
+        if (diff >= 0 || diff * diff <= squaredChord) {
+            withinRadius(mid + 1, high, next, target, squaredChord, found);
+        }
+    }
+
+    /**
+     * Her aralığın ortasına eksene göre medyanı yerleştirir (quickselect)
+     */
+    private void build(int low, int high, int axis) {
+        if (high - low <= 1) {
+            return;
+        }
+        int mid = (low + high) >>> 1;
+        select(low, high - 1, mid, axis);
+        int next = (axis + 1) % 3;
+        build(low, mid, next);
+        build(mid + 1, high, next);
+    }
+
+    private void select(int left, int right, int k, int axis) {
+        while (left < right) {
+            double pivot = points[(left + right) >>> 1][axis];
+            int i = left;
+            int j = right;
+            while (i <= j) {
+                while (points[i][axis] < pivot) {
+                    i++;
+                }
+                while (points[j][axis] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(i++, j--);
+                }
+            }
+            if (k <= j) {
+                right = j;
+            } else if (k >= i) {
+                left = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private void swap(int i, int j) {
+        double[] point = points[i];
+        points[i] = points[j];
+        points[j] = point;
+        Object value = values[i];
+        values[i] = values[j];
+        values[j] = value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Neighbor<T> toNeighbor(Candidate candidate) {
+        return new Neighbor<>((T) values[candidate.index], GeoMath.chordToKm(Math.sqrt(candidate.squaredChord)));
+    }
+
+    private static double squaredDistance(double[] a, double[] b) {
+        double dx = a[0] - b[0];
+        double dy = a[1] - b[1];
+        double dz = a[2] - b[2];
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    private static double[] toPoint(double latitude, double longitude) {
+        double lat = Math.toRadians(latitude);
+        double lon = Math.toRadians(longitude);
+        double cosLat = Math.cos(lat);
+        return new double[]{cosLat * Math.cos(lon), cosLat * Math.sin(lon), Math.sin(lat)};
+    }
+
+    private record Candidate(int index, double squaredChord) {
+    }
+
+    /**
+     * Sorgu sonucu ve büyük daire mesafesi (km)
+     */
+    public record Neighbor<T>(T value, double distanceKm) {
+    }
+}
@@ -0,0 +1,38 @@
+package com.uys.reference.index;
+
+/**
+ * Geo Math - Büyük daire mesafe hesapları
+ */
+public final class GeoMath {
+
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private GeoMath() {
+    }
+
+    /**
+     * İki koordinat arasındaki büyük daire mesafesi (haversine, km)
+     */
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    /**
+     * Birim küre üzerindeki iki nokta arasındaki kiriş uzunluğundan büyük daire mesafesi (km)
+     */
+    static double chordToKm(double chord) {
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, chord / 2));
+    }
+
+    /**
+     * Büyük daire mesafesinden (km) birim küre kiriş uzunluğu
+     */
+    static double kmToChord(double km) {
+        double angle = Math.min(km / EARTH_RADIUS_KM, Math.PI);
+        return 2 * Math.sin(angle / 2);
+    }
+}
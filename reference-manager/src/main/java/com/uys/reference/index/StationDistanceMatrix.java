@@ -0,0 +1,214 @@
+package com.uys.reference.index;
+
+import com.uys.reference.entity.Station;
+import com.uys.reference.event.ReferenceDataChangedEvent;
+import com.uys.reference.event.ReferenceDataReplicatedEvent;
+import com.uys.reference.repository.StationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Station Distance Matrix - Aktif station'lar arası önceden hesaplanmış büyük daire mesafeleri
+ *
+ * Her station'a yoğun bir ordinal atanır; mesafeler alt üçgen olarak tek bir {@code float[]}
+ * içinde tutulur ({@code i > j} için indeks {@code i * (i - 1) / 2 + j}). Bu yerleşim ordinal
+ * sayısı arttığında önek olarak korunur, büyütme yalnızca kopyalamadır. Koordinat değişikliği
+ * yalnızca ilgili satır/sütunu (O(n)) yeniden hesaplar. Pasif olan station'ın ordinal'ı
+ * yeniden kullanılmak üzere serbest bırakılır. Diğer pod'lardaki yazmalar change feed üzerinden
+ * gelir; açılış yüklemesi ve değişiklikler aynı monitor altında uygulanır, böylece açılışta okunan
+ * eski koordinat feed'in yazdığı yenisinin üzerine yazılmaz.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StationDistanceMatrix {
+
+    private static final int MIN_CAPACITY = 64;
+
+    private final StationRepository stationRepository;
+
+    private final StampedLock lock = new StampedLock();
+    private final Map<String, Integer> ordinals = new HashMap<>();
+    private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+    private int nextOrdinal;
+    private double[] latitudes = new double[MIN_CAPACITY];
+    private double[] longitudes = new double[MIN_CAPACITY];
+    private float[] distances = new float[triangle(MIN_CAPACITY)];
+
+    /**
+     * Uygulama açılışında aktif station'larla matrisi doldurur
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public synchronized void bootstrap() {
+        int loaded = 0;
+        for (Station station : stationRepository.findByActiveTrue()) {
+            if (StationPoint.isIndexable(station)) {
+                put(station.getStationCode(), station.getLatitude().doubleValue(), station.getLongitude().doubleValue());
+                loaded++;
+            }
+        }
+        log.info("Station distance matrix loaded with {} stations", loaded);
+    }
+
+    /**
+     * Commit edilen station değişikliklerini matrise yansıtır
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onStationChanged(ReferenceDataChangedEvent.StationChanged event) {
+        apply(event.station());
+    }
+
+    /**
+     * Herhangi bir pod'da commit edilen station değişikliklerini matrise yansıtır
+     */
+    @EventListener
+    public synchronized void onReferenceDataReplicated(ReferenceDataReplicatedEvent event) {
+        for (ReferenceDataChangedEvent change : event.changes()) {
+            if (change instanceof ReferenceDataChangedEvent.StationChanged stationChanged) {
+                apply(stationChanged.station());
+            }
+        }
+    }
+
+    /**
+     * Station'ı ekler veya koordinatı değiştiyse satırını yeniden hesaplar
+     */
+    public void put(String stationCode, double latitude, double longitude) {
+        String code = normalize(stationCode);
+        long stamp = lock.writeLock();
+        try {
+            Integer ordinal = ordinals.get(code);
+            if (ordinal != null && latitudes[ordinal] == latitude && longitudes[ordinal] == longitude) {
+                return;
+            }
+            if (ordinal == null) {
+                ordinal = freeOrdinals.isEmpty() ? nextOrdinal++ : freeOrdinals.pop();
+                ensureCapacity(ordinal + 1);
+                ordinals.put(code, ordinal);
+            }
+            latitudes[ordinal] = latitude;
+            longitudes[ordinal] = longitude;
+            for (int other : ordinals.values()) {
+                if (other != ordinal) {
+                    distances[index(ordinal, other)] = (float) GeoMath.distanceKm(
+                            latitude, longitude, latitudes[other], longitudes[other]);
+                }
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public void remove(String stationCode) {
+        long stamp = lock.writeLock();
+        try {
+            Integer ordinal = ordinals.remove(normalize(stationCode));
+            if (ordinal != null) {
+                freeOrdinals.push(ordinal);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * İki station arasındaki mesafe (km); station'lardan biri bilinmiyorsa -1
+     */
+    public float distanceKm(String fromStationCode, String toStationCode) {
+        String from = normalize(fromStationCode);
+        String to = normalize(toStationCode);
+        long stamp = lock.readLock();
+        try {
+            return lookup(from, to);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Çiftlerin mesafelerini tek okuma kilidi altında döner; bilinmeyen station'lar için -1
+     */
+    public float[] distancesKm(String[] fromStationCodes, String[] toStationCodes) {
+        float[] result = new float[fromStationCodes.length];
+        String[] from = new String[fromStationCodes.length];
+        String[] to = new String[toStationCodes.length];
+        for (int i = 0; i < result.length; i++) {
+            from[i] = normalize(fromStationCodes[i]);
+            to[i] = normalize(toStationCodes[i]);
+        }
+        long stamp = lock.readLock();
+        try {
+            for (int i = 0; i < result.length; i++) {
+                result[i] = lookup(from[i], to[i]);
+            }
+        } finally {
+            lock.unlockRead(stamp);
+        }
+        return result;
+    }
+
+    public boolean contains(String stationCode) {
+        long stamp = lock.readLock();
+        try {
+            return ordinals.containsKey(normalize(stationCode));
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private void apply(Station station) {
+        if (StationPoint.isIndexable(station)) {
+            put(station.getStationCode(), station.getLatitude().doubleValue(), station.getLongitude().doubleValue());
+        } else {
+            remove(station.getStationCode());
+        }
+    }
+
+    private float lookup(String from, String to) {
+        Integer i = ordinals.get(from);
+        Integer j = ordinals.get(to);
+        if (i == null || j == null) {
+            return -1f;
+        }
+        return i.equals(j) ? 0f : distances[index(i, j)];
+    }
+
+    private void ensureCapacity(int size) {
+        if (size <= latitudes.length) {
+            return;
+        }
+        int capacity = Math.max(size, latitudes.length * 2);
+        latitudes = Arrays.copyOf(latitudes, capacity);
+        longitudes = Arrays.copyOf(longitudes, capacity);
+        distances = Arrays.copyOf(distances, triangle(capacity));
+    }
+
+    private static int index(int a, int b) {
+        int row = Math.max(a, b);
+        int column = Math.min(a, b);
+        return row * (row - 1) / 2 + column;
+    }
+
+    private static int triangle(int size) {
+        return size * (size - 1) / 2;
+    }
+
+    private static String normalize(String stationCode) {
+        return stationCode == null ? "" : stationCode.trim().toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,24 @@
+package com.uys.reference.index;
+
+import com.uys.reference.entity.Station;
+
+/**
+ * Station Point - Spatial index'te tutulan station özeti
+ */
+public record StationPoint(Long stationId, String stationCode, String stationName, String city, String country,
+                           double latitude, double longitude) {
+
+    /**
+     * Aktif ve koordinatı olan station'lar index'lenir
+     */
+    public static boolean isIndexable(Station station) {
+        return Boolean.TRUE.equals(station.getActive())
+                && station.getLatitude() != null && station.getLongitude() != null;
+    }
+
+    public static StationPoint of(Station station) {
+        return new StationPoint(station.getId(), station.getStationCode(), station.getStationName(),
+                station.getCity(), station.getCountry(),
+                station.getLatitude().doubleValue(), station.getLongitude().doubleValue());
+    }
+}
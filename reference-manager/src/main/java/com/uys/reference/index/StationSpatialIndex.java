@@ -0,0 +1,121 @@
+package com.uys.reference.index;
+
+import com.uys.reference.entity.Station;
+import com.uys.reference.event.ReferenceDataChangedEvent;
+import com.uys.reference.event.ReferenceDataReplicatedEvent;
+import com.uys.reference.repository.StationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Station Spatial Index - Aktif station koordinatları üzerinde k-d ağacı
+ *
+ * Ağaç değişmezdir; station değişikliklerinde yeniden kurulup volatile alan üzerinden
+ * değiştirilir. Sorgular kilitsiz ve veritabanına gitmeden çalışır. Diğer pod'lardaki
+ * yazmalar change feed üzerinden gelir.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StationSpatialIndex {
+
+    private final StationRepository stationRepository;
+
+    private final Map<Long, StationPoint> pointsById = new HashMap<>();
+    private volatile GeoKdTree<StationPoint> tree = GeoKdTree.of(List.of(), new double[0], new double[0]);
+
+    /**
+     * Uygulama açılışında aktif station'larla index'i doldurur
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void bootstrap() {
+        synchronized (pointsById) {
+            pointsById.clear();
+            for (Station station : stationRepository.findByActiveTrue()) {
+                if (StationPoint.isIndexable(station)) {
+                    pointsById.put(station.getId(), StationPoint.of(station));
+                }
+            }
+            rebuild();
+        }
+        log.info("Station spatial index loaded with {} stations", tree.size());
+    }
+
+    /**
+     * Commit edilen station değişikliklerini index'e yansıtır
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStationChanged(ReferenceDataChangedEvent.StationChanged event) {
+        synchronized (pointsById) {
+            if (apply(event.station())) {
+                rebuild();
+            }
+        }
+    }
+
+    /**
+     * Herhangi bir pod'da commit edilen station değişikliklerini tek rebuild ile yansıtır
+     */
+    @EventListener
+    public void onReferenceDataReplicated(ReferenceDataReplicatedEvent event) {
+        synchronized (pointsById) {
+            boolean changed = false;
+            for (ReferenceDataChangedEvent change : event.changes()) {
+                if (change instanceof ReferenceDataChangedEvent.StationChanged stationChanged) {
+                    changed |= apply(stationChanged.station());
+                }
+            }
+            if (changed) {
+                rebuild();
+            }
+        }
+    }
+
+    /**
+     * En yakın {@code n} station'ı mesafeye göre artan sırada döner
+     */
+    public List<GeoKdTree.Neighbor<StationPoint>> nearest(double latitude, double longitude, int n) {
+        return tree.nearest(latitude, longitude, n);
+    }
+
+    /**
+     * Yarıçap içindeki station'ları mesafeye göre artan sırada döner
+     */
+    public List<GeoKdTree.Neighbor<StationPoint>> withinRadius(double latitude, double longitude, double radiusKm) {
+        return tree.withinRadius(latitude, longitude, radiusKm);
+    }
+
+    public int size() {
+        return tree.size();
+    }
+
+    private boolean apply(Station station) {
+        StationPoint previous = StationPoint.isIndexable(station)
+                ? pointsById.put(station.getId(), StationPoint.of(station))
+                : pointsById.remove(station.getId());
+        return previous != null || StationPoint.isIndexable(station);
+    }
+
+    private void rebuild() {
+        List<StationPoint> points = new ArrayList<>(pointsById.values());
+        double[] latitudes = new double[points.size()];
+        double[] longitudes = new double[points.size()];
+        for (int i = 0; i < points.size(); i++) {
+            latitudes[i] = points.get(i).latitude();
+            longitudes[i] = points.get(i).longitude();
+        }
+        tree = GeoKdTree.of(points, latitudes, longitudes);
+    }
+}
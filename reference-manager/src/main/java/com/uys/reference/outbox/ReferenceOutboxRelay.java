@@ -0,0 +1,145 @@
+package com.uys.reference.outbox;
+
+import com.uys.reference.repository.ReferenceOutboxRepository;
+import com.uys.reference.repository.ReferenceOutboxRepository.OutboxRecord;
+import com.uys.reference.repository.ReferenceOutboxRepository.OutboxStats;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reference Outbox Relay - Outbox kayıtlarını toplu olarak airline, aircraft ve station topic'lerine aktarır
+ *
+ * Her turda en eski kayıtlar kilitlenir, hepsi beklemeden gönderilir ve her gönderimin sonucu
+ * callback ile ölçülür. Tüm gönderimler onaylandıktan sonra kayıtlar aynı transaction içinde
+ * silinir. Bir gönderim başarısız olursa transaction geri alınır ve batch sonraki turda tekrar
+ * denenir (at-least-once). Kayıtlar başka bir instance tarafından kilitliyse o tur atlanır.
+ */
+@Component
+@Slf4j
+public class ReferenceOutboxRelay {
+
+    private final ReferenceOutboxRepository referenceOutboxRepository;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final Counter relayFailureCounter;
+    private final Timer batchTimer;
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong lagSeconds = new AtomicLong();
+
+    @Value("${app.reference.outbox.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.reference.outbox.send-timeout-ms:10000}")
+    private long sendTimeoutMillis;
+
+    public ReferenceOutboxRelay(ReferenceOutboxRepository referenceOutboxRepository,
+                                KafkaTemplate<String, String> kafkaTemplate,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry) {
+        this.referenceOutboxRepository = referenceOutboxRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.relayFailureCounter = meterRegistry.counter("reference.outbox.relay.failures");
+        this.batchTimer = meterRegistry.timer("reference.outbox.batch");
+        Gauge.builder("reference.outbox.pending", pending, AtomicLong::get)
+                .description("Outbox records waiting to be published")
+                .register(meterRegistry);
+        Gauge.builder("reference.outbox.lag.seconds", lagSeconds, AtomicLong::get)
+                .description("Age of the oldest unpublished outbox record")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.reference.outbox.poll-interval-ms:500}")
+    public void relay() {
+        try {
+            Integer sent;
+            do {
+                sent = transactionTemplate.execute(status -> relayBatch());
+            } while (sent != null && sent == batchSize);
+        } catch (PessimisticLockingFailureException e) {
+            log.debug("Reference outbox is being drained by another instance");
+        } catch (Exception e) {
+            relayFailureCounter.increment();
+            log.warn("Reference outbox relay failed, will retry: {}", e.getMessage());
+        } finally {
+            refreshLag();
+        }
+    }
+
+    private int relayBatch() {
+        List<OutboxRecord> batch = referenceOutboxRepository.lockBatch(batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        Timer.Sample sample = Timer.start();
+
+        CompletableFuture<?>[] sends = batch.stream()
+                .map(this::send)
+                .toArray(CompletableFuture[]::new);
+        awaitAll(sends);
+
+        referenceOutboxRepository.deleteAll(batch.stream().map(OutboxRecord::id).toList());
+        sample.stop(batchTimer);
+        log.debug("Relayed {} reference events", batch.size());
+        return batch.size();
+    }
+
+    private CompletableFuture<?> send(OutboxRecord record) {
+        return kafkaTemplate.send(record.topic(), record.key(), record.payload())
+                .whenComplete((result, ex) -> {
+                    if (ex != null) {
+                        meterRegistry.counter("reference.outbox.send.failures", "topic", record.topic()).increment();
+                        log.warn("Failed to publish outbox record {} to {}: {}", record.id(), record.topic(), ex.getMessage());
+                        return;
+                    }
+                    meterRegistry.counter("reference.outbox.published", "topic", record.topic()).increment();
+                    // Değişikliğin yazılmasından broker onayına kadar geçen süre
+                    meterRegistry.timer("reference.outbox.publish.lag", "topic", record.topic())
+                            .record(Duration.between(record.createdAt(), LocalDateTime.now()));
+                });
+    }
+
+    private void awaitAll(CompletableFuture<?>[] sends) {
+        try {
+            CompletableFuture.allOf(sends).get(sendTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while publishing reference events", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("Failed to publish reference events", e);
+        }
+    }
+
+    private void refreshLag() {
+        try {
+            OutboxStats stats = referenceOutboxRepository.stats();
+            pending.set(stats.pending());
+            lagSeconds.set(stats.oldest() != null
+                    ? Math.max(0, Duration.between(stats.oldest(), LocalDateTime.now()).getSeconds()) : 0);
+        } catch (Exception e) {
+            log.debug("Could not refresh reference outbox lag: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.uys.reference.outbox;
+
+import com.uys.reference.repository.ReferenceOutboxRepository;
+import com.uys.reference.repository.ReferenceOutboxRepository.OutboxEntry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reference Outbox Writer - Referans veri event'lerini aynı transaction içinde outbox tablosuna yazar
+ *
+ * Event'ler transaction boyunca biriktirilir ve commit'ten hemen önce tek bir JDBC batch ile
+ * eklenir. Transaction geri alınırsa outbox kayıtları da geri alınır; commit edilen her
+ * değişikliğin kaydı garanti altındadır. Kafka'ya gönderim {@link ReferenceOutboxRelay}'in işidir.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReferenceOutboxWriter {
+
+    private final ReferenceOutboxRepository referenceOutboxRepository;
+
+    /**
+     * Event'i aktif transaction'a ekler; transaction yoksa hemen yazar
+     */
+    public void write(OutboxEntry entry) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            referenceOutboxRepository.insertAll(List.of(entry));
+            return;
+        }
+        pendingEntries().add(entry);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<OutboxEntry> pendingEntries() {
+        List<OutboxEntry> pending = (List<OutboxEntry>) TransactionSynchronizationManager.getResource(this);
+        if (pending != null) {
+            return pending;
+        }
+        List<OutboxEntry> buffer = new ArrayList<>();
+        TransactionSynchronizationManager.bindResource(this, buffer);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                if (!buffer.isEmpty()) {
+                    referenceOutboxRepository.insertAll(buffer);
+                    log.debug("Wrote {} reference events to outbox", buffer.size());
+                }
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ReferenceOutboxWriter.this);
+            }
+        });
+        return buffer;
+    }
+}
@@ -4,11 +4,13 @@ import com.uys.reference.entity.Aircraft;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,6 +24,16 @@ import java.util.Optional;
 @Repository
 public interface AircraftRepository extends JpaRepository<Aircraft, Long> {
 
+    /**
+     * ID ile aircraft'ı airline'ı ile birlikte getirir
+     * 
+     * @param id aircraft ID
+     * @return optional aircraft
+     */
+    @Override
+    @EntityGraph(attributePaths = "airline")
+    Optional<Aircraft> findById(Long id);
+
     /**
      * Registration ile aircraft arar
      * 
@@ -29,14 +41,25 @@ public interface AircraftRepository extends JpaRepository<Aircraft, Long> {
      * @return optional aircraft
      */
     @Cacheable(value = "aircraft", key = "#registration")
+    @EntityGraph(attributePaths = "airline")
     Optional<Aircraft> findByRegistration(String registration);
 
+    /**
+     * Birden fazla registration ile aircraft'ları airline bilgisiyle tek sorguda getirir
+     * 
+     * @param registrations registration'lar
+     * @return bulunan aircraft'lar
+     */
+    @EntityGraph(attributePaths = "airline")
+    List<Aircraft> findByRegistrationIn(Collection<String> registrations);
+
     /**
      * Aktif aircraft'ları listeler
      * 
      * @return aktif aircraft listesi
      */
     @Cacheable(value = "aircraft", key = "'active'")
+    @EntityGraph(attributePaths = "airline")
     List<Aircraft> findByActiveTrue();
 
     /**
@@ -53,6 +76,7 @@ public interface AircraftRepository extends JpaRepository<Aircraft, Long> {
      * @param airlineId airline ID
      * @return aircraft listesi
      */
+    @EntityGraph(attributePaths = "airline")
     List<Aircraft> findByAirlineIdAndActiveTrue(Long airlineId);
 
     /**
@@ -61,6 +85,7 @@ public interface AircraftRepository extends JpaRepository<Aircraft, Long> {
      * @param aircraftType aircraft type
      * @return aircraft listesi
      */
+    @EntityGraph(attributePaths = "airline")
     List<Aircraft> findByAircraftTypeAndActiveTrue(String aircraftType);
 
     /**
@@ -69,6 +94,7 @@ public interface AircraftRepository extends JpaRepository<Aircraft, Long> {
      * @param manufacturer manufacturer
      * @return aircraft listesi
      */
+    @EntityGraph(attributePaths = "airline")
     List<Aircraft> findByManufacturerAndActiveTrue(String manufacturer);
 
     /**
@@ -123,5 +149,6 @@ public interface AircraftRepository extends JpaRepository<Aircraft, Long> {
      * @return aircraft listesi
      */
     @Query("SELECT a FROM Aircraft a JOIN a.airline al WHERE al.airlineCode = :airlineCode AND a.active = true")
+    @EntityGraph(attributePaths = "airline")
     List<Aircraft> findByAirlineCodeAndActiveTrue(@Param("airlineCode") String airlineCode);
 } 
\ No newline at end of file
@@ -9,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -31,6 +32,14 @@ public interface AirlineRepository extends JpaRepository<Airline, Long> {
     @Cacheable(value = "airlines", key = "#airlineCode")
     Optional<Airline> findByAirlineCode(String airlineCode);
 
+    /**
+     * Birden fazla airline code ile airline'ları tek sorguda getirir
+     * 
+     * @param airlineCodes airline code'ları
+     * @return bulunan airline'lar
+     */
+    List<Airline> findByAirlineCodeIn(Collection<String> airlineCodes);
+
     /**
      * Aktif airline'ları listeler
      * 
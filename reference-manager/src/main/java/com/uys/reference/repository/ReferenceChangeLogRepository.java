@@ -0,0 +1,118 @@
+package com.uys.reference.repository;
+
+import com.uys.reference.search.ReferenceType;
+import com.uys.reference.sync.ChangeOperation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Reference Change Log Repository - reference_change_log ve reference_change_sequence tabloları için JDBC erişimi
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReferenceChangeLogRepository {
+
+    /**
+     * Sequence satırını kilitler; kilit transaction sonuna kadar tutulduğundan seq sırası commit sırasıyla aynıdır
+     */
+    private static final String ALLOCATE_SQL = """
+            UPDATE reference_change_sequence
+               SET last_seq = last_seq + :count
+             WHERE id = 1""";
+
+    private static final String INSERT_SQL = """
+            INSERT INTO reference_change_log (seq, entity_type, entity_id, code, operation, entity_version, changed_at)
+            VALUES (:seq, :entityType, :entityId, :code, :operation, :entityVersion, :changedAt)""";
+
+    private static final String FIND_SINCE_SQL = """
+            SELECT seq, entity_type, entity_id, code, operation, entity_version
+              FROM reference_change_log
+             WHERE seq > :since
+             ORDER BY seq
+             LIMIT :limit""";
+
+    private static final String FIND_SINCE_BY_TYPE_SQL = """
+            SELECT seq, entity_type, entity_id, code, operation, entity_version
+              FROM reference_change_log
+             WHERE entity_type = :entityType
+               AND seq > :since
+             ORDER BY seq
+             LIMIT :limit""";
+
+    private static final RowMapper<ChangeRecord> CHANGE_RECORD_MAPPER = (rs, rowNum) -> {
+        long entityVersion = rs.getLong("entity_version");
+        return new ChangeRecord(rs.getLong("seq"), ReferenceType.valueOf(rs.getString("entity_type")),
+                rs.getLong("entity_id"), rs.getString("code"), ChangeOperation.valueOf(rs.getString("operation")),
+                rs.wasNull() ? null : entityVersion);
+    };
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Kayıtlara ardışık seq değerleri atayıp ekler; çağıran transaction içinde olmalıdır
+     *
+     * @return son atanan seq
+     */
+    public long append(List<ChangeEntry> entries) {
+        jdbcTemplate.update(ALLOCATE_SQL, new MapSqlParameterSource("count", entries.size()));
+        long last = lastSeq();
+        long seq = last - entries.size();
+
+        MapSqlParameterSource[] batch = new MapSqlParameterSource[entries.size()];
+        for (int i = 0; i < entries.size(); i++) {
+            ChangeEntry entry = entries.get(i);
+            batch[i] = new MapSqlParameterSource()
+                    .addValue("seq", ++seq)
+                    .addValue("entityType", entry.type().name())
+                    .addValue("entityId", entry.entityId())
+                    .addValue("code", entry.code())
+                    .addValue("operation", entry.operation().name())
+                    .addValue("entityVersion", entry.entityVersion())
+                    .addValue("changedAt", Timestamp.valueOf(entry.changedAt()));
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+        return last;
+    }
+
+    /**
+     * Verilen seq'ten sonraki değişiklikleri seq sırasıyla döner
+     *
+     * @param type null ise tüm tipler
+     */
+    public List<ChangeRecord> findSince(long since, ReferenceType type, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("since", since)
+                .addValue("limit", limit);
+        if (type == null) {
+            return jdbcTemplate.query(FIND_SINCE_SQL, params, CHANGE_RECORD_MAPPER);
+        }
+        return jdbcTemplate.query(FIND_SINCE_BY_TYPE_SQL, params.addValue("entityType", type.name()), CHANGE_RECORD_MAPPER);
+    }
+
+    public long lastSeq() {
+        Long last = jdbcTemplate.queryForObject("SELECT last_seq FROM reference_change_sequence WHERE id = 1",
+                new MapSqlParameterSource(), Long.class);
+        return last != null ? last : 0;
+    }
+
+    /**
+     * Yazılacak değişiklik kaydı
+     */
+    public record ChangeEntry(ReferenceType type, Long entityId, String code, ChangeOperation operation,
+                              Long entityVersion, LocalDateTime changedAt) {
+    }
+
+    /**
+     * Okunan değişiklik kaydı
+     */
+    public record ChangeRecord(long seq, ReferenceType type, Long entityId, String code, ChangeOperation operation,
+                               Long entityVersion) {
+    }
+}
@@ -9,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -31,6 +32,14 @@ public interface StationRepository extends JpaRepository<Station, Long> {
     @Cacheable(value = "stations", key = "#stationCode")
     Optional<Station> findByStationCode(String stationCode);
 
+    /**
+     * Birden fazla station code ile station'ları tek sorguda getirir
+     * 
+     * @param stationCodes station code'ları
+     * @return bulunan station'lar
+     */
+    List<Station> findByStationCodeIn(Collection<String> stationCodes);
+
     /**
      * Aktif station'ları listeler
      * 
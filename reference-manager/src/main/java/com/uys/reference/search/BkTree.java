@@ -0,0 +1,131 @@
+package com.uys.reference.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * BK-Tree - Levenshtein mesafesi üzerinde metrik ağaç
+ *
+ * Üçgen eşitsizliği sayesinde sorgu, {@code d(query, node)} değerinin
+ * {@code ±maxDistance} aralığındaki çocuk kenarlarına iner; katalogun küçük bir kısmı
+ * ziyaret edilir. Mesafe hesabı sınır aşıldığında erken biter.
+ */
+public final class BkTree<V> {
+
+    private Node<V> root;
+    private int size;
+
+    public void add(String key, V value) {
+        if (root == null) {
+            root = new Node<>(key);
+            root.values.add(value);
+            size++;
+            return;
+        }
+        Node<V> node = root;
+        while (true) {
+            int distance = distance(key, node.key, Integer.MAX_VALUE);
+            if (distance == 0) {
+                node.values.add(value);
+                return;
+            }
+            Node<V> child = node.children.get(distance);
+            if (child == null) {
+                child = new Node<>(key);
+                child.values.add(value);
+                node.children.put(distance, child);
+                size++;
+                return;
+            }
+            node = child;
+        }
+    }
+
+    /**
+     * Farklı anahtar sayısı
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * {@code maxDistance} içindeki anahtarların değerlerini mesafeleriyle döner
+     */
+    public List<Hit<V>> search(String query, int maxDistance) {
+        List<Hit<V>> hits = new ArrayList<>();
+        if (root == null) {
+            return hits;
+        }
+        List<Node<V>> pending = new ArrayList<>();
+        pending.add(root);
+        while (!pending.isEmpty()) {
+            Node<V> node = pending.remove(pending.size() - 1);
+            // Sınırı aşan mesafede hiçbir çocuk kenarı aralığa girmez
+            int distance = distance(query, node.key, maxDistance + node.maxEdge());
+            if (distance <= maxDistance) {
+                for (V value : node.values) {
+                    hits.add(new Hit<>(value, node.key, distance));
+                }
+            }
+            for (Map.Entry<Integer, Node<V>> child : node.children
+                    .subMap(distance - maxDistance, true, distance + maxDistance, true).entrySet()) {
+                pending.add(child.getValue());
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Levenshtein mesafesi; sonuç {@code bound} değerini aşarsa {@code bound + 1} döner
+     */
+    static int distance(String first, String second, int bound) {
+        int exceeded = bound == Integer.MAX_VALUE ? bound : bound + 1;
+        if (Math.abs(first.length() - second.length()) > bound) {
+            return exceeded;
+        }
+        int[] previous = new int[second.length() + 1];
+        int[] current = new int[second.length() + 1];
+        for (int j = 0; j <= second.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= first.length(); i++) {
+            current[0] = i;
+            int rowMinimum = current[0];
+            char c = first.charAt(i - 1);
+            for (int j = 1; j <= second.length(); j++) {
+                int substitution = previous[j - 1] + (c == second.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+                rowMinimum = Math.min(rowMinimum, current[j]);
+            }
+            if (rowMinimum > bound) {
+                return exceeded;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return Math.min(previous[second.length()], exceeded);
+    }
+
+    private static final class Node<V> {
+        private final String key;
+        private final List<V> values = new ArrayList<>(1);
+        private final TreeMap<Integer, Node<V>> children = new TreeMap<>();
+
+        private Node(String key) {
+            this.key = key;
+        }
+
+        private int maxEdge() {
+            return children.isEmpty() ? 0 : children.lastKey();
+        }
+    }
+
+    /**
+     * Sorgu sonucu
+     */
+    public record Hit<V>(V value, String key, int distance) {
+    }
+}
@@ -0,0 +1,176 @@
+package com.uys.reference.search;
+
+import com.uys.reference.entity.Aircraft;
+import com.uys.reference.entity.Airline;
+import com.uys.reference.entity.Station;
+import com.uys.reference.event.ReferenceDataChangedEvent;
+import com.uys.reference.event.ReferenceDataReplicatedEvent;
+import com.uys.reference.repository.AircraftRepository;
+import com.uys.reference.repository.AirlineRepository;
+import com.uys.reference.repository.StationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reference Search Index - Airline, station ve aircraft için bellek içi arama index'i
+ *
+ * Her tip için ayrı, değişmez bir {@link TrigramIndex} tutulur. Commit edilen yazmalardan
+ * sonra yalnızca değişen tipin index'i yeniden kurulur ve atomik olarak değiştirilir;
+ * aramalar kilitsiz çalışır. Diğer pod'lardaki yazmalar change feed üzerinden gelir.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReferenceSearchIndex {
+
+    private static final TrigramIndex EMPTY = TrigramIndex.of(List.of());
+
+    private final AirlineRepository airlineRepository;
+    private final StationRepository stationRepository;
+    private final AircraftRepository aircraftRepository;
+
+    private final Map<ReferenceType, Map<Long, SearchEntry>> entries = new EnumMap<>(ReferenceType.class);
+    private volatile Map<ReferenceType, TrigramIndex> indexes = Map.of();
+    private volatile boolean loaded;
+
+    /**
+     * Uygulama açılışında aktif kayıtlarla index'leri doldurur
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void bootstrap() {
+        List<SearchEntry> airlines;
+        List<SearchEntry> stations;
+        List<SearchEntry> aircraft;
+        // Okuma da kilit altında yapılır; aksi halde arada feed'den gelen yeni hal eskisiyle ezilebilir
+        synchronized (entries) {
+            airlines = airlineRepository.findByActiveTrue().stream().map(SearchEntry::of).toList();
+            stations = stationRepository.findByActiveTrue().stream().map(SearchEntry::of).toList();
+            aircraft = aircraftRepository.findByActiveTrue().stream().map(SearchEntry::of).toList();
+            load(ReferenceType.AIRLINE, airlines);
+            load(ReferenceType.STATION, stations);
+            load(ReferenceType.AIRCRAFT, aircraft);
+            loaded = true;
+        }
+        log.info("Reference search index loaded with {} airlines, {} stations and {} aircraft",
+                airlines.size(), stations.size(), aircraft.size());
+    }
+
+    /**
+     * Commit edilen referans veri değişikliklerini index'e yansıtır
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onReferenceDataChanged(ReferenceDataChangedEvent event) {
+        synchronized (entries) {
+            ReferenceType changed = apply(event);
+            if (changed != null) {
+                publish(changed, entries.get(changed));
+            }
+        }
+    }
+
+    /**
+     * Herhangi bir pod'da commit edilen değişiklikleri yansıtır; her tipin index'i en fazla bir kez kurulur
+     */
+    @EventListener
+    public void onReferenceDataReplicated(ReferenceDataReplicatedEvent event) {
+        synchronized (entries) {
+            Set<ReferenceType> changed = EnumSet.noneOf(ReferenceType.class);
+            for (ReferenceDataChangedEvent change : event.changes()) {
+                ReferenceType type = apply(change);
+                if (type != null) {
+                    changed.add(type);
+                }
+            }
+            changed.forEach(type -> publish(type, entries.get(type)));
+        }
+    }
+
+    /**
+     * Sorguyla eşleşen kayıtları puana göre sıralı döner
+     *
+     * @param type  null ise tüm tiplerde arar
+     * @param fuzzy true ise yazım hatalı eşleşmeler de döner
+     */
+    public List<TrigramIndex.Match> search(String query, ReferenceType type, int limit, boolean fuzzy) {
+        if (type != null) {
+            return index(type).search(query, limit, fuzzy);
+        }
+        List<TrigramIndex.Match> matches = new ArrayList<>();
+        for (ReferenceType each : ReferenceType.values()) {
+            matches.addAll(index(each).search(query, limit, fuzzy));
+        }
+        matches.sort(TrigramIndex.ranking());
+        return matches.size() > limit ? matches.subList(0, limit) : matches;
+    }
+
+    /**
+     * Code'u veya aranabilir alanlarından biri sorguyu içeren aktif kayıtlar
+     */
+    public List<SearchEntry> containing(String query, ReferenceType type) {
+        return index(type).containing(query);
+    }
+
+    /**
+     * Açılış yüklemesi tamamlandıysa true; öncesinde aramalar veritabanına düşmelidir
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    private TrigramIndex index(ReferenceType type) {
+        TrigramIndex index = indexes.get(type);
+        return index != null ? index : EMPTY;
+    }
+
+    private void load(ReferenceType type, List<SearchEntry> loaded) {
+        Map<Long, SearchEntry> byId = new HashMap<>();
+        loaded.forEach(entry -> byId.put(entry.id(), entry));
+        entries.put(type, byId);
+        publish(type, byId);
+    }
+
+    /**
+     * Değişikliği entry map'ine uygular; index'i yeniden kurmak gerekiyorsa değişen tipi döner
+     */
+    private ReferenceType apply(ReferenceDataChangedEvent event) {
+        if (event instanceof ReferenceDataChangedEvent.AirlineChanged changed) {
+            Airline airline = changed.airline();
+            return apply(ReferenceType.AIRLINE, airline.getId(), Boolean.TRUE.equals(airline.getActive()) ? SearchEntry.of(airline) : null);
+        } else if (event instanceof ReferenceDataChangedEvent.StationChanged changed) {
+            Station station = changed.station();
+            return apply(ReferenceType.STATION, station.getId(), Boolean.TRUE.equals(station.getActive()) ? SearchEntry.of(station) : null);
+        } else if (event instanceof ReferenceDataChangedEvent.AircraftChanged changed) {
+            Aircraft aircraft = changed.aircraft();
+            return apply(ReferenceType.AIRCRAFT, aircraft.getId(), Boolean.TRUE.equals(aircraft.getActive()) ? SearchEntry.of(aircraft) : null);
+        }
+        return null;
+    }
+
+    private ReferenceType apply(ReferenceType type, Long id, SearchEntry entry) {
+        Map<Long, SearchEntry> byId = entries.computeIfAbsent(type, key -> new HashMap<>());
+        SearchEntry previous = entry != null ? byId.put(id, entry) : byId.remove(id);
+        return previous != null || entry != null ? type : null;
+    }
+
+    private void publish(ReferenceType type, Map<Long, SearchEntry> byId) {
+        Map<ReferenceType, TrigramIndex> next = new EnumMap<>(ReferenceType.class);
+        next.putAll(indexes);
+        next.put(type, TrigramIndex.of(byId.values()));
+        indexes = next;
+    }
+}
@@ -0,0 +1,10 @@
+package com.uys.reference.search;
+
+/**
+ * Reference Type - Aranabilir referans veri tipleri
+ */
+public enum ReferenceType {
+    AIRLINE,
+    STATION,
+    AIRCRAFT
+}
@@ -0,0 +1,63 @@
+package com.uys.reference.search;
+
+import com.uys.reference.entity.Aircraft;
+import com.uys.reference.entity.Airline;
+import com.uys.reference.entity.Station;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Search Entry - Arama index'inde tutulan referans kaydı
+ *
+ * @param code  airline code, station code veya aircraft registration
+ * @param terms normalize edilmiş aranabilir alanlar (code hariç)
+ */
+public record SearchEntry(ReferenceType type, Long id, String code, String name, String detail,
+                          String normalizedCode, String[] terms) {
+
+    public static SearchEntry of(Airline airline) {
+        return create(ReferenceType.AIRLINE, airline.getId(), airline.getAirlineCode(), airline.getAirlineName(),
+                airline.getCountry(), airline.getAirlineName(), airline.getCity(), airline.getCountry());
+    }
+
+    public static SearchEntry of(Station station) {
+        return create(ReferenceType.STATION, station.getId(), station.getStationCode(), station.getStationName(),
+                join(station.getCity(), station.getCountry()),
+                station.getStationName(), station.getCity(), station.getCountry());
+    }
+
+    public static SearchEntry of(Aircraft aircraft) {
+        String airlineCode = aircraft.getAirline() != null ? aircraft.getAirline().getAirlineCode() : null;
+        return create(ReferenceType.AIRCRAFT, aircraft.getId(), aircraft.getRegistration(),
+                join(aircraft.getManufacturer(), aircraft.getModel()), join(aircraft.getAircraftType(), airlineCode),
+                aircraft.getAircraftType(), aircraft.getModel(), aircraft.getManufacturer());
+    }
+
+    private static SearchEntry create(ReferenceType type, Long id, String code, String name, String detail,
+                                      String... fields) {
+        String[] terms = Arrays.stream(fields)
+                .map(TextNormalizer::normalize)
+                .filter(term -> !term.isEmpty())
+                .distinct()
+                .toArray(String[]::new);
+        return new SearchEntry(type, id, code, name, detail, TextNormalizer.normalize(code), terms);
+    }
+
+    private static String join(String first, String second) {
+        if (first == null || first.isBlank()) {
+            return second;
+        }
+        return second == null || second.isBlank() ? first : first + " " + second;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof SearchEntry entry && type == entry.type && Objects.equals(id, entry.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, id);
+    }
+}
@@ -0,0 +1,58 @@
+package com.uys.reference.search;
+
+import java.text.Normalizer;
+
+/**
+ * Text Normalizer - Arama için Türkçe duyarlı harf katlama
+ *
+ * İ/I/ı → i, ş → s, ğ → g, ü → u, ö → o, ç → c dönüşümlerini yapar, kalan aksanları atar,
+ * harf/rakam dışındaki karakterleri tek boşluğa indirir. "İSTANBUL", "Istanbul" ve
+ * "ıstanbul" aynı anahtara düşer.
+ */
+public final class TextNormalizer {
+
+    private TextNormalizer() {
+    }
+
+    public static String normalize(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        StringBuilder folded = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            folded.append(fold(text.charAt(i)));
+        }
+        String decomposed = Normalizer.normalize(folded, Normalizer.Form.NFD);
+
+        StringBuilder result = new StringBuilder(decomposed.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                if (pendingSpace && result.length() > 0) {
+                    result.append(' ');
+                }
+                pendingSpace = false;
+                result.append(Character.toLowerCase(c));
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return result.toString();
+    }
+
+    private static char fold(char c) {
+        return switch (c) {
+            case 'İ', 'I', 'ı' -> 'i';
+            case 'Ş', 'ş' -> 's';
+            case 'Ğ', 'ğ' -> 'g';
+            case 'Ü', 'ü' -> 'u';
+            case 'Ö', 'ö' -> 'o';
+            case 'Ç', 'ç' -> 'c';
+            default -> c;
+        };
+    }
+}
@@ -0,0 +1,283 @@
+package com.uys.reference.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Trigram Index - Referans kayıtları üzerinde değişmez prefix + trigram index'i
+ *
+ * Prefix eşleşmeleri sıralı anahtar dizisinde ikili arama ile, alt dizi eşleşmeleri ise
+ * sorgunun trigram posting listelerinin kesişimi ile bulunur. Fuzzy modda alanlar ve
+ * kelimeler üzerindeki {@link BkTree} ile sınırlı Levenshtein eşleşmeleri eklenir. Puanlama:
+ * code tam eşleşme > code prefix > alan prefix > kelime prefix > alt dizi > fuzzy.
+ */
+public final class TrigramIndex {
+
+    static final int CODE_EXACT = 100;
+    static final int CODE_PREFIX = 80;
+    static final int TERM_PREFIX = 60;
+    static final int WORD_PREFIX = 50;
+    static final int SUBSTRING = 20;
+    static final int FUZZY = 20;
+    static final int FUZZY_PENALTY = 5;
+    static final int MIN_FUZZY_LENGTH = 4;
+
+    private static final byte KIND_CODE = 0;
+    private static final byte KIND_TERM = 1;
+    private static final byte KIND_WORD = 2;
+
+    private static final Comparator<Match> RANKING = Comparator.comparingInt(Match::score).reversed()
+            .thenComparing(match -> match.entry().normalizedCode());
+
+    private final SearchEntry[] entries;
+    private final String[] keys;
+    private final int[] owners;
+    private final byte[] kinds;
+    private final Map<String, int[]> postings;
+    private final BkTree<Integer> fuzzy = new BkTree<>();
+
+    private TrigramIndex(SearchEntry[] entries) {
+        this.entries = entries;
+
+        List<Key> allKeys = new ArrayList<>();
+        Map<String, List<Integer>> trigramOwners = new HashMap<>();
+        for (int i = 0; i < entries.length; i++) {
+            SearchEntry entry = entries[i];
+            Set<String> trigrams = new LinkedHashSet<>();
+            if (!entry.normalizedCode().isEmpty()) {
+                allKeys.add(new Key(entry.normalizedCode(), i, KIND_CODE));
+                addTrigrams(entry.normalizedCode(), trigrams);
+            }
+            Set<String> fuzzyKeys = new LinkedHashSet<>();
+            for (String term : entry.terms()) {
+                allKeys.add(new Key(term, i, KIND_TERM));
+                for (int space = term.indexOf(' '); space >= 0; space = term.indexOf(' ', space + 1)) {
+                    allKeys.add(new Key(term.substring(space + 1), i, KIND_WORD));
+                }
+                addTrigrams(term, trigrams);
+                fuzzyKeys.add(term);
+                for (String word : term.split(" ")) {
+                    if (word.length() >= MIN_FUZZY_LENGTH) {
+                        fuzzyKeys.add(word);
+                    }
+                }
+            }
+            for (String key : fuzzyKeys) {
+                fuzzy.add(key, i);
+            }
+            for (String trigram : trigrams) {
+                trigramOwners.computeIfAbsent(trigram, key -> new ArrayList<>()).add(i);
+            }
+        }
+
+        allKeys.sort(Comparator.comparing(Key::text));
+        this.keys = new String[allKeys.size()];
+        this.owners = new int[allKeys.size()];
+        this.kinds = new byte[allKeys.size()];
+        for (int i = 0; i < allKeys.size(); i++) {
+            keys[i] = allKeys.get(i).text();
+            owners[i] = allKeys.get(i).owner();
+            kinds[i] = allKeys.get(i).kind();
+        }
+
+        this.postings = new HashMap<>(trigramOwners.size() * 2);
+        trigramOwners.forEach((trigram, list) -> postings.put(trigram, list.stream().mapToInt(Integer::intValue).toArray()));
+    }
+
+    public static TrigramIndex of(Collection<SearchEntry> entries) {
+        return new TrigramIndex(entries.toArray(SearchEntry[]::new));
+    }
+
+    public int size() {
+        return entries.length;
+    }
+
+    /**
+     * Sorguyla eşleşen kayıtları puana göre sıralı döner
+     */
+    public List<Match> search(String query, int limit) {
+        return search(query, limit, false);
+    }
+
+    /**
+     * @param fuzzy true ise yazım hatalarını tolere eden eşleşmeler de döner
+     */
+    public List<Match> search(String query, int limit, boolean fuzzy) {
+        String normalized = TextNormalizer.normalize(query);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Map<Integer, Integer> scores = new HashMap<>();
+        collectPrefixMatches(normalized, scores);
+        if (normalized.length() >= 3) {
+            collectSubstringMatches(normalized, scores);
+        }
+        if (fuzzy && normalized.length() >= MIN_FUZZY_LENGTH) {
+            collectFuzzyMatches(normalized, scores);
+        }
+        return rank(scores, limit);
+    }
+
+    /**
+     * Code'u veya alanlarından biri sorguyu alt dizi olarak içeren tüm kayıtlar, code sırasıyla
+     *
+     * 3 harf ve üzeri sorgular trigram posting'leriyle daraltılır; daha kısa sorgularda
+     * kayıtlar doğrudan taranır.
+     */
+    public List<SearchEntry> containing(String query) {
+        String normalized = TextNormalizer.normalize(query);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        List<SearchEntry> matches = new ArrayList<>();
+        if (normalized.length() < 3) {
+            for (SearchEntry entry : entries) {
+                if (contains(entry, normalized)) {
+                    matches.add(entry);
+                }
+            }
+        } else {
+            for (int candidate : substringCandidates(normalized)) {
+                if (contains(entries[candidate], normalized)) {
+                    matches.add(entries[candidate]);
+                }
+            }
+        }
+        matches.sort(Comparator.comparing(SearchEntry::normalizedCode));
+        return matches;
+    }
+
+    private void collectPrefixMatches(String query, Map<Integer, Integer> scores) {
+        int position = lowerBound(query);
+        while (position < keys.length && keys[position].startsWith(query)) {
+            int score = switch (kinds[position]) {
+                case KIND_CODE -> keys[position].length() == query.length() ? CODE_EXACT : CODE_PREFIX;
+                case KIND_TERM -> TERM_PREFIX;
+                default -> WORD_PREFIX;
+            };
+            scores.merge(owners[position], score, Math::max);
+            position++;
+        }
+    }
+
+    private void collectSubstringMatches(String query, Map<Integer, Integer> scores) {
+        for (int candidate : substringCandidates(query)) {
+            if (!scores.containsKey(candidate) && contains(entries[candidate], query)) {
+                scores.put(candidate, SUBSTRING);
+            }
+        }
+    }
+
+    /**
+     * Sorgunun tüm trigram'larını içeren kayıtlar; alt dizi kontrolü çağırana aittir
+     */
+    private int[] substringCandidates(String query) {
+        Set<String> trigrams = new LinkedHashSet<>();
+        addTrigrams(query, trigrams);
+        List<int[]> lists = new ArrayList<>(trigrams.size());
+        for (String trigram : trigrams) {
+            int[] list = postings.get(trigram);
+            if (list == null) {
+                return new int[0];
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(list -> list.length));
+
+        int[] candidates = lists.get(0);
+        for (int i = 1; i < lists.size() && candidates.length > 0; i++) {
+            candidates = intersect(candidates, lists.get(i));
+        }
+        return candidates;
+    }
+
+    private void collectFuzzyMatches(String query, Map<Integer, Integer> scores) {
+        for (BkTree.Hit<Integer> hit : fuzzy.search(query, maxEdits(query.length()))) {
+            if (hit.distance() > 0) {
+                scores.merge(hit.value(), FUZZY - FUZZY_PENALTY * hit.distance(), Math::max);
+            }
+        }
+    }
+
+    /**
+     * Kısa sorgularda 1, uzun sorgularda 2 harf hatası kabul edilir
+     */
+    static int maxEdits(int length) {
+        return length <= 7 ? 1 : 2;
+    }
+
+    private List<Match> rank(Map<Integer, Integer> scores, int limit) {
+        List<Match> matches = new ArrayList<>(scores.size());
+        scores.forEach((owner, score) -> matches.add(new Match(entries[owner], score)));
+        matches.sort(RANKING);
+        return matches.size() > limit ? new ArrayList<>(matches.subList(0, limit)) : matches;
+    }
+
+    static Comparator<Match> ranking() {
+        return RANKING;
+    }
+
+    private int lowerBound(String query) {
+        int position = Arrays.binarySearch(keys, query);
+        if (position < 0) {
+            return -position - 1;
+        }
+        while (position > 0 && keys[position - 1].equals(query)) {
+            position--;
+        }
+        return position;
+    }
+
+    private static boolean contains(SearchEntry entry, String query) {
+        if (entry.normalizedCode().contains(query)) {
+            return true;
+        }
+        for (String term : entry.terms()) {
+            if (term.contains(query)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void addTrigrams(String text, Set<String> trigrams) {
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            trigrams.add(text.substring(i, i + 3));
+        }
+    }
+
+    private static int[] intersect(int[] first, int[] second) {
+        int[] result = new int[Math.min(first.length, second.length)];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < first.length && j < second.length) {
+            if (first[i] < second[j]) {
+                i++;
+            } else if (first[i] > second[j]) {
+                j++;
+            } else {
+                result[size++] = first[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private record Key(String text, int owner, byte kind) {
+    }
+
+    /**
+     * Arama sonucu ve puanı
+     */
+    public record Match(SearchEntry entry, int score) {
+    }
+}
@@ -8,16 +8,28 @@ import com.uys.reference.event.publisher.EventPublisherService;
 import com.uys.reference.mapper.AircraftMapper;
 import com.uys.reference.repository.AircraftRepository;
 import com.uys.reference.repository.AirlineRepository;
+import com.uys.reference.search.ReferenceSearchIndex;
+import com.uys.reference.search.ReferenceType;
+import com.uys.reference.search.TextNormalizer;
+import com.uys.reference.snapshot.ReferenceSnapshot;
+import com.uys.reference.snapshot.ReferenceSnapshotHolder;
+import com.uys.reference.snapshot.SnapshotItem;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
 
 /**
  * Aircraft Service - Uçak iş mantığı katmanı
@@ -36,6 +48,11 @@ public class AircraftService {
     private final AirlineRepository airlineRepository;
     private final AircraftMapper aircraftMapper;
     private final EventPublisherService eventPublisherService;
+    private final ReferenceSnapshotHolder referenceSnapshotHolder;
+    private final ReferenceSearchIndex referenceSearchIndex;
+
+    @Value("${app.reference.batch.max-codes:500}")
+    private int maxBatchCodes;
 
     /**
      * Yeni aircraft oluşturur
@@ -43,7 +60,6 @@ public class AircraftService {
      * @param createRequest create request
      * @return oluşturulan aircraft response
      */
-    @CacheEvict(value = "aircraft", allEntries = true)
     public AircraftDto.Response createAircraft(AircraftDto.CreateRequest createRequest) {
         log.info("Creating aircraft with registration: {}", createRequest.getRegistration());
 
@@ -73,9 +89,15 @@ public class AircraftService {
      * @param id aircraft ID
      * @return aircraft response
      */
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public AircraftDto.Response getAircraftById(Long id) {
         log.debug("Getting aircraft by ID: {}", id);
+
+        ReferenceSnapshot snapshot = referenceSnapshotHolder.current();
+        if (snapshot != null) {
+            return snapshot.aircraft().findById(id)
+                    .orElseThrow(() -> new IllegalArgumentException("Aircraft not found with ID: " + id));
+        }
         
         Aircraft aircraft = aircraftRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Aircraft not found with ID: " + id));
@@ -89,10 +111,15 @@ public class AircraftService {
      * @param registration registration
      * @return aircraft response
      */
-    @Transactional(readOnly = true)
-    @Cacheable(value = "aircraft", key = "#registration")
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public AircraftDto.Response getAircraftByRegistration(String registration) {
         log.debug("Getting aircraft by registration: {}", registration);
+
+        ReferenceSnapshot snapshot = referenceSnapshotHolder.current();
+        if (snapshot != null) {
+            return snapshot.aircraft().findByCode(registration)
+                    .orElseThrow(() -> new IllegalArgumentException("Aircraft not found with registration: " + registration));
+        }
         
         Aircraft aircraft = aircraftRepository.findByRegistration(registration)
                 .orElseThrow(() -> new IllegalArgumentException("Aircraft not found with registration: " + registration));
@@ -100,20 +127,66 @@ public class AircraftService {
         return aircraftMapper.toResponse(aircraft);
     }
 
+    /**
+     * Birden fazla registration ile aircraft'ları getirir; önce snapshot'tan çözer, kalanları tek
+     * IN sorgusuyla yükler
+     * 
+     * @param registrations registration listesi
+     * @return registration → aircraft; bulunamayanlar dahil edilmez
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public Map<String, AircraftDto.Response> getAircraftByRegistrations(Collection<String> registrations) {
+        List<String> codes = BatchCodes.normalize(registrations, maxBatchCodes);
+        log.debug("Getting {} aircraft by registration", codes.size());
+
+        Map<String, AircraftDto.Response> result = new LinkedHashMap<>();
+        List<String> misses = new ArrayList<>();
+        ReferenceSnapshot snapshot = referenceSnapshotHolder.current();
+        for (String code : codes) {
+            Optional<AircraftDto.Response> cached = snapshot != null ? snapshot.aircraft().findByCode(code) : Optional.empty();
+            if (cached.isPresent()) {
+                result.put(cached.get().getRegistration(), cached.get());
+            } else {
+                misses.add(code);
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            aircraftRepository.findByRegistrationIn(misses)
+                    .forEach(aircraft -> result.put(aircraft.getRegistration(), aircraftMapper.toResponse(aircraft)));
+        }
+        return result;
+    }
+
     /**
      * Tüm aktif aircraft'ları listeler
      * 
      * @return aircraft listesi
      */
-    @Transactional(readOnly = true)
-    @Cacheable(value = "aircraft", key = "'active'")
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public List<AircraftDto.ListResponse> getAllActiveAircraft() {
         log.debug("Getting all active aircraft");
+
+        ReferenceSnapshot snapshot = referenceSnapshotHolder.current();
+        if (snapshot != null) {
+            return snapshot.aircraft().active();
+        }
         
         List<Aircraft> aircraft = aircraftRepository.findByActiveTrue();
         return aircraftMapper.toListResponseList(aircraft);
     }
 
+    /**
+     * Aircraft listeleri için veri seti ETag'i; snapshot yüklenmemişse null
+     *
+     * @return weak ETag
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public String getAircraftEtag() {
+        ReferenceSnapshot snapshot = referenceSnapshotHolder.current();
+        return snapshot != null ? snapshot.aircraftEtag() : null;
+    }
+
     /**
      * Sayfalı olarak aktif aircraft'ları listeler
      * 
@@ -135,7 +208,6 @@ public class AircraftService {
      * @param updateRequest update request
      * @return güncellenmiş aircraft response
      */
-    @CacheEvict(value = "aircraft", allEntries = true)
     public AircraftDto.Response updateAircraft(Long id, AircraftDto.UpdateRequest updateRequest) {
         log.info("Updating aircraft with ID: {}", id);
         
@@ -159,7 +231,6 @@ public class AircraftService {
      * @param active aktif durumu
      * @return güncellenmiş aircraft response
      */
-    @CacheEvict(value = "aircraft", allEntries = true)
     public AircraftDto.Response updateAircraftStatus(Long id, boolean active) {
         log.info("Updating aircraft status with ID: {} to active: {}", id, active);
         
@@ -186,7 +257,6 @@ public class AircraftService {
      * 
      * @param id aircraft ID
      */
-    @CacheEvict(value = "aircraft", allEntries = true)
     public void deleteAircraft(Long id) {
         log.info("Deleting aircraft with ID: {}", id);
         
@@ -208,9 +278,14 @@ public class AircraftService {
      * @param airlineId airline ID
      * @return aircraft listesi
      */
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public List<AircraftDto.ListResponse> getAircraftByAirlineId(Long airlineId) {
         log.debug("Getting aircraft by airline ID: {}", airlineId);
+
+        ReferenceSnapshot snapshot = referenceSnapshotHolder.current();
+        if (snapshot != null) {
+            return snapshot.aircraft().find(ReferenceSnapshot.AIRLINE_ID, String.valueOf(airlineId));
+        }
         
         List<Aircraft> aircraft = aircraftRepository.findByAirlineIdAndActiveTrue(airlineId);
         return aircraftMapper.toListResponseList(aircraft);
@@ -222,9 +297,14 @@ public class AircraftService {
      * @param airlineCode airline code
      * @return aircraft listesi
      */
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public List<AircraftDto.ListResponse> getAircraftByAirlineCode(String airlineCode) {
         log.debug("Getting aircraft by airline code: {}", airlineCode);
+
+        ReferenceSnapshot snapshot = referenceSnapshotHolder.current();
+        if (snapshot != null) {
+            return snapshot.aircraft().find(ReferenceSnapshot.AIRLINE_CODE, airlineCode);
+        }
         
         List<Aircraft> aircraft = aircraftRepository.findByAirlineCodeAndActiveTrue(airlineCode);
         return aircraftMapper.toListResponseList(aircraft);
@@ -236,9 +316,14 @@ public class AircraftService {
      * @param aircraftType aircraft type
      * @return aircraft listesi
      */
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public List<AircraftDto.ListResponse> getAircraftByType(String aircraftType) {
         log.debug("Getting aircraft by type: {}", aircraftType);
+
+        ReferenceSnapshot snapshot = referenceSnapshotHolder.current();
+        if (snapshot != null) {
+            return snapshot.aircraft().find(ReferenceSnapshot.AIRCRAFT_TYPE, aircraftType);
+        }
         
         List<Aircraft> aircraft = aircraftRepository.findByAircraftTypeAndActiveTrue(aircraftType);
         return aircraftMapper.toListResponseList(aircraft);
@@ -250,9 +335,14 @@ public class AircraftService {
      * @param manufacturer manufacturer
      * @return aircraft listesi
      */
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public List<AircraftDto.ListResponse> getAircraftByManufacturer(String manufacturer) {
         log.debug("Getting aircraft by manufacturer: {}", manufacturer);
+
+        ReferenceSnapshot snapshot = referenceSnapshotHolder.current();
+        if (snapshot != null) {
+            return snapshot.aircraft().find(ReferenceSnapshot.MANUFACTURER, manufacturer);
+        }
         
         List<Aircraft> aircraft = aircraftRepository.findByManufacturerAndActiveTrue(manufacturer);
         return aircraftMapper.toListResponseList(aircraft);
@@ -264,12 +354,13 @@ public class AircraftService {
      * @param registration registration
      * @return aircraft listesi
      */
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public List<AircraftDto.ListResponse> searchAircraftByRegistration(String registration) {
         log.debug("Searching aircraft by registration: {}", registration);
-        
-        List<Aircraft> aircraft = aircraftRepository.findByRegistrationContainingIgnoreCaseAndActiveTrue(registration);
-        return aircraftMapper.toListResponseList(aircraft);
+
+        return searchIndexed(registration, AircraftDto.ListResponse::getRegistration)
+                .orElseGet(() -> aircraftMapper.toListResponseList(
+                        aircraftRepository.findByRegistrationContainingIgnoreCaseAndActiveTrue(registration)));
     }
 
     /**
@@ -278,12 +369,13 @@ public class AircraftService {
      * @param aircraftType aircraft type
      * @return aircraft listesi
      */
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public List<AircraftDto.ListResponse> searchAircraftByType(String aircraftType) {
         log.debug("Searching aircraft by type: {}", aircraftType);
-        
-        List<Aircraft> aircraft = aircraftRepository.findByAircraftTypeContainingIgnoreCaseAndActiveTrue(aircraftType);
-        return aircraftMapper.toListResponseList(aircraft);
+
+        return searchIndexed(aircraftType, AircraftDto.ListResponse::getAircraftType)
+                .orElseGet(() -> aircraftMapper.toListResponseList(
+                        aircraftRepository.findByAircraftTypeContainingIgnoreCaseAndActiveTrue(aircraftType)));
     }
 
     /**
@@ -292,12 +384,13 @@ public class AircraftService {
      * @param manufacturer manufacturer
      * @return aircraft listesi
      */
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public List<AircraftDto.ListResponse> searchAircraftByManufacturer(String manufacturer) {
         log.debug("Searching aircraft by manufacturer: {}", manufacturer);
-        
-        List<Aircraft> aircraft = aircraftRepository.findByManufacturerContainingIgnoreCaseAndActiveTrue(manufacturer);
-        return aircraftMapper.toListResponseList(aircraft);
+
+        return searchIndexed(manufacturer, AircraftDto.ListResponse::getManufacturer)
+                .orElseGet(() -> aircraftMapper.toListResponseList(
+                        aircraftRepository.findByManufacturerContainingIgnoreCaseAndActiveTrue(manufacturer)));
     }
 
     /**
@@ -314,4 +407,24 @@ public class AircraftService {
         List<Aircraft> aircraft = aircraftRepository.findByCapacityBetweenAndActiveTrue(minCapacity, maxCapacity);
         return aircraftMapper.toListResponseList(aircraft);
     }
-} 
\ No newline at end of file
+
+    /**
+     * Aktif kayıtları bellek içi trigram index'i ile daraltıp verilen alanda alt dizi olarak arar
+     *
+     * Index veya snapshot henüz hazır değilse ya da sorgu boşsa boş döner; çağıran veritabanına düşer.
+     */
+    private Optional<List<AircraftDto.ListResponse>> searchIndexed(String query, Function<AircraftDto.ListResponse, String> field) {
+        ReferenceSnapshot snapshot = referenceSnapshotHolder.current();
+        String normalized = TextNormalizer.normalize(query);
+        if (snapshot == null || !referenceSearchIndex.isLoaded() || normalized.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(referenceSearchIndex.containing(query, ReferenceType.AIRCRAFT).stream()
+                .map(entry -> snapshot.aircraft().findItem(entry.id()))
+                .flatMap(Optional::stream)
+                .filter(SnapshotItem::active)
+                .map(SnapshotItem::listItem)
+                .filter(item -> TextNormalizer.normalize(field.apply(item)).contains(normalized))
+                .toList());
+    }
+}
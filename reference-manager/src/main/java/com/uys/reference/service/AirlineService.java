@@ -6,16 +6,30 @@ import com.uys.reference.event.enums.EventType;
 import com.uys.reference.event.publisher.EventPublisherService;
 import com.uys.reference.mapper.AirlineMapper;
 import com.uys.reference.repository.AirlineRepository;
+import com.uys.reference.search.ReferenceSearchIndex;
+import com.uys.reference.search.ReferenceType;
+import com.uys.reference.search.TextNormalizer;
+import com.uys.reference.snapshot.ReferenceSnapshot;
+import com.uys.reference.snapshot.ReferenceSnapshotHolder;
+import com.uys.reference.snapshot.SnapshotItem;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 
 /**
@@ -34,6 +48,14 @@ public class AirlineService {
     private final AirlineRepository airlineRepository;
     private final AirlineMapper airlineMapper;
     private final EventPublisherService eventPublisherService;
+    private final ReferenceSearchIndex referenceSearchIndex;
+    private final ReferenceSnapshotHolder referenceSnapshotHolder;
+
+    @Value("${app.reference.batch.max-codes:500}")
+    private int maxBatchCodes;
+
+    @Value("${app.reference.search.max-results:50}")
+    private int maxSearchResults;
 
     /**
      * Yeni airline oluşturur
@@ -41,7 +63,6 @@ public class AirlineService {
      * @param createRequest create request
      * @return oluşturulan airline response
      */
-    @CacheEvict(value = "airlines", allEntries = true)
     public AirlineDto.Response createAirline(AirlineDto.CreateRequest createRequest) {
         log.info("Creating airline with code: {}", createRequest.getAirlineCode());
 
@@ -71,9 +92,15 @@ public class AirlineService {
      * @param id airline ID
      * @return airline response
      */
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public AirlineDto.Response getAirlineById(Long id) {
         log.debug("Getting airline by ID: {}", id);
+
+        ReferenceSnapshot snapshot = referenceSnapshotHolder.current();
+        if (snapshot != null) {
+            return snapshot.airlines().findById(id)
+                    .orElseThrow(() -> new IllegalArgumentException("Airline not found with ID: " + id));
+        }
         
         Airline airline = airlineRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Airline not found with ID: " + id));
@@ -87,10 +114,15 @@ public class AirlineService {
      * @param airlineCode airline code
      * @return airline response
      */
-    @Transactional(readOnly = true)
-    @Cacheable(value = "airlines", key = "#airlineCode")
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public AirlineDto.Response getAirlineByCode(String airlineCode) {
         log.debug("Getting airline by code: {}", airlineCode);
+
+        ReferenceSnapshot snapshot = referenceSnapshotHolder.current();
+        if (snapshot != null) {
+            return snapshot.airlines().findByCode(airlineCode)
+                    .orElseThrow(() -> new IllegalArgumentException("Airline not found with code: " + airlineCode));
+        }
         
         Airline airline = airlineRepository.findByAirlineCode(airlineCode)
                 .orElseThrow(() -> new IllegalArgumentException("Airline not found with code: " + airlineCode));
@@ -98,20 +130,66 @@ public class AirlineService {
         return airlineMapper.toResponse(airline);
     }
 
+    /**
+     * Birden fazla airline code ile airline'ları getirir; önce snapshot'tan çözer, kalanları tek
+     * IN sorgusuyla yükler
+     * 
+     * @param airlineCodes airline code listesi
+     * @return airline code → airline; bulunamayanlar dahil edilmez
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public Map<String, AirlineDto.Response> getAirlinesByCodes(Collection<String> airlineCodes) {
+        List<String> codes = BatchCodes.normalize(airlineCodes, maxBatchCodes);
+        log.debug("Getting {} airlines by airline code", codes.size());
+
+        Map<String, AirlineDto.Response> result = new LinkedHashMap<>();
+        List<String> misses = new ArrayList<>();
+        ReferenceSnapshot snapshot = referenceSnapshotHolder.current();
+        for (String code : codes) {
+            Optional<AirlineDto.Response> cached = snapshot != null ? snapshot.airlines().findByCode(code) : Optional.empty();
+            if (cached.isPresent()) {
+                result.put(cached.get().getAirlineCode(), cached.get());
+            } else {
+                misses.add(code);
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            airlineRepository.findByAirlineCodeIn(misses)
+                    .forEach(airline -> result.put(airline.getAirlineCode(), airlineMapper.toResponse(airline)));
+        }
+        return result;
+    }
+
     /**
      * Tüm aktif airline'ları listeler
      * 
      * @return airline listesi
      */
-    @Transactional(readOnly = true)
-    @Cacheable(value = "airlines", key = "'active'")
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public List<AirlineDto.ListResponse> getAllActiveAirlines() {
         log.debug("Getting all active airlines");
+
+        ReferenceSnapshot snapshot = referenceSnapshotHolder.current();
+        if (snapshot != null) {
+            return snapshot.airlines().active();
+        }
         
         List<Airline> airlines = airlineRepository.findByActiveTrue();
         return airlineMapper.toListResponseList(airlines);
     }
 
+    /**
+     * Airline listeleri için veri seti ETag'i; snapshot yüklenmemişse null
+     *
+     * @return weak ETag
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public String getAirlinesEtag() {
+        ReferenceSnapshot snapshot = referenceSnapshotHolder.current();
+        return snapshot != null ? snapshot.airlinesEtag() : null;
+    }
+
     /**
      * Sayfalı olarak aktif airline'ları listeler
      * 
@@ -133,7 +211,6 @@ public class AirlineService {
      * @param updateRequest update request
      * @return güncellenmiş airline response
      */
-    @CacheEvict(value = "airlines", allEntries = true)
     public AirlineDto.Response updateAirline(String airlineCode, AirlineDto.UpdateRequest updateRequest) {
         log.info("Updating airline with code: {}", airlineCode);
         
@@ -164,7 +241,6 @@ public class AirlineService {
      * @param active aktif durumu
      * @return güncellenmiş airline response
      */
-    @CacheEvict(value = "airlines", allEntries = true)
     public AirlineDto.Response updateAirlineStatus(Long id, boolean active) {
         log.info("Updating airline status with ID: {} to active: {}", id, active);
         
@@ -191,7 +267,6 @@ public class AirlineService {
      * 
      * @param id airline ID
      */
-    @CacheEvict(value = "airlines", allEntries = true)
     public void deleteAirline(String airlineCode) {
         log.info("Deleting airline with code: {}", airlineCode);
         
@@ -213,9 +288,14 @@ public class AirlineService {
      * @param country country
      * @return airline listesi
      */
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public List<AirlineDto.ListResponse> getAirlinesByCountry(String country) {
         log.debug("Getting airlines by country: {}", country);
+
+        ReferenceSnapshot snapshot = referenceSnapshotHolder.current();
+        if (snapshot != null) {
+            return snapshot.airlines().find(ReferenceSnapshot.COUNTRY, country);
+        }
         
         List<Airline> airlines = airlineRepository.findByCountryAndActiveTrue(country);
         return airlineMapper.toListResponseList(airlines);
@@ -227,9 +307,14 @@ public class AirlineService {
      * @param city city
      * @return airline listesi
      */
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public List<AirlineDto.ListResponse> getAirlinesByCity(String city) {
         log.debug("Getting airlines by city: {}", city);
+
+        ReferenceSnapshot snapshot = referenceSnapshotHolder.current();
+        if (snapshot != null) {
+            return snapshot.airlines().find(ReferenceSnapshot.CITY, city);
+        }
         
         List<Airline> airlines = airlineRepository.findByCityAndActiveTrue(city);
         return airlineMapper.toListResponseList(airlines);
@@ -241,12 +326,35 @@ public class AirlineService {
      * @param airlineName airline name
      * @return airline listesi
      */
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public List<AirlineDto.ListResponse> searchAirlinesByName(String airlineName) {
         log.debug("Searching airlines by name: {}", airlineName);
+
+        return searchIndexed(airlineName, AirlineDto.ListResponse::getAirlineName)
+                .orElseGet(() -> airlineMapper.toListResponseList(
+                        airlineRepository.findByAirlineNameContainingIgnoreCaseAndActiveTrue(airlineName)));
+    }
+
+    /**
+     * Airline name ile yazım hatalarını tolere eden arama yapar (bellek içi index)
+     * 
+     * @param airlineName airline name
+     * @return benzerliğe göre sıralı airline listesi
+     */
+    @Transactional(readOnly = true)
+    public List<AirlineDto.ListResponse> fuzzySearchAirlinesByName(String airlineName) {
+        log.debug("Fuzzy searching airlines by name: {}", airlineName);
         
-        List<Airline> airlines = airlineRepository.findByAirlineNameContainingIgnoreCaseAndActiveTrue(airlineName);
-        return airlineMapper.toListResponseList(airlines);
+        List<Long> ids = referenceSearchIndex.search(airlineName, ReferenceType.AIRLINE, maxSearchResults, true).stream()
+                .map(match -> match.entry().id())
+                .toList();
+        Map<Long, Airline> airlinesById = airlineRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Airline::getId, Function.identity()));
+        return ids.stream()
+                .map(airlinesById::get)
+                .filter(Objects::nonNull)
+                .map(airlineMapper::toListResponse)
+                .toList();
     }
 
     /**
@@ -255,18 +363,18 @@ public class AirlineService {
      * @param airlineCode airline code
      * @return airline listesi
      */
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public List<AirlineDto.ListResponse> searchAirlinesByCode(String airlineCode) {
         log.debug("Searching airlines by code: {}", airlineCode);
-        
-        List<Airline> airlines = airlineRepository.findByAirlineCodeContainingIgnoreCaseAndActiveTrue(airlineCode);
-        return airlineMapper.toListResponseList(airlines);
+
+        return searchIndexed(airlineCode, AirlineDto.ListResponse::getAirlineCode)
+                .orElseGet(() -> airlineMapper.toListResponseList(
+                        airlineRepository.findByAirlineCodeContainingIgnoreCaseAndActiveTrue(airlineCode)));
     }
 
     /**
      * Airline status'ünü değiştirir
      */
-    @CacheEvict(value = "airlines", allEntries = true)
     public AirlineDto.Response changeAirlineStatus(String airlineCode, boolean active) {
         log.info("Changing airline status: {} to {}", airlineCode, active);
         
@@ -304,4 +412,24 @@ public class AirlineService {
         List<Airline> airlines = airlineRepository.findByAirlineNameContainingIgnoreCaseOrCountryContainingIgnoreCase(searchTerm, searchTerm);
         return airlineMapper.toListResponseList(airlines);
     }
-} 
\ No newline at end of file
+
+    /**
+     * Aktif kayıtları bellek içi trigram index'i ile daraltıp verilen alanda alt dizi olarak arar
+     *
+     * Index veya snapshot henüz hazır değilse ya da sorgu boşsa boş döner; çağıran veritabanına düşer.
+     */
+    private Optional<List<AirlineDto.ListResponse>> searchIndexed(String query, Function<AirlineDto.ListResponse, String> field) {
+        ReferenceSnapshot snapshot = referenceSnapshotHolder.current();
+        String normalized = TextNormalizer.normalize(query);
+        if (snapshot == null || !referenceSearchIndex.isLoaded() || normalized.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(referenceSearchIndex.containing(query, ReferenceType.AIRLINE).stream()
+                .map(entry -> snapshot.airlines().findItem(entry.id()))
+                .flatMap(Optional::stream)
+                .filter(SnapshotItem::active)
+                .map(SnapshotItem::listItem)
+                .filter(item -> TextNormalizer.normalize(field.apply(item)).contains(normalized))
+                .toList());
+    }
+}
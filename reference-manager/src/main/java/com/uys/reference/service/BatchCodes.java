@@ -0,0 +1,44 @@
+package com.uys.reference.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Batch Codes - Multi-get isteklerindeki code listesini doğrular ve tekilleştirir
+ */
+final class BatchCodes {
+
+    private BatchCodes() {
+    }
+
+    /**
+     * Boşlukları kırpar, boş değerleri atar ve büyük/küçük harf duyarsız tekilleştirir
+     *
+     * @param codes istenen code'lar
+     * @param maxCodes tek istekte izin verilen en fazla code sayısı
+     * @return istek sırasıyla tekil code'lar
+     */
+    static List<String> normalize(Collection<String> codes, int maxCodes) {
+        List<String> normalized = new ArrayList<>();
+        if (codes != null) {
+            Set<String> seen = new HashSet<>();
+            for (String code : codes) {
+                String trimmed = code != null ? code.trim() : "";
+                if (!trimmed.isEmpty() && seen.add(trimmed.toUpperCase(Locale.ROOT))) {
+                    normalized.add(trimmed);
+                }
+            }
+        }
+        if (normalized.isEmpty()) {
+            throw new IllegalArgumentException("At least one code is required");
+        }
+        if (normalized.size() > maxCodes) {
+            throw new IllegalArgumentException("At most " + maxCodes + " codes are allowed per request");
+        }
+        return normalized;
+    }
+}
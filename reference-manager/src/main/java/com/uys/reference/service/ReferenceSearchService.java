@@ -0,0 +1,59 @@
+package com.uys.reference.service;
+
+import com.uys.reference.dto.SearchDto;
+import com.uys.reference.search.ReferenceSearchIndex;
+import com.uys.reference.search.ReferenceType;
+import com.uys.reference.search.TrigramIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Reference Search Service - Bellek içi index üzerinden sıralı arama
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReferenceSearchService {
+
+    private final ReferenceSearchIndex referenceSearchIndex;
+
+    @Value("${app.reference.search.max-results:50}")
+    private int maxResults;
+
+    /**
+     * Sorguya göre sıralı öneriler döner
+     * 
+     * @param query arama metni
+     * @param type referans tipi, null ise tüm tipler
+     * @param limit en fazla sonuç sayısı
+     * @param fuzzy yazım hatalarını tolere et
+     * @return puana göre sıralı öneriler
+     */
+    public List<SearchDto.Suggestion> autocomplete(String query, ReferenceType type, int limit, boolean fuzzy) {
+        log.debug("Autocomplete for query: {} type: {} fuzzy: {}", query, type, fuzzy);
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query is required");
+        }
+        if (limit < 1 || limit > maxResults) {
+            throw new IllegalArgumentException("limit must be between 1 and " + maxResults);
+        }
+        return toSuggestions(referenceSearchIndex.search(query, type, limit, fuzzy));
+    }
+
+    private static List<SearchDto.Suggestion> toSuggestions(List<TrigramIndex.Match> matches) {
+        return matches.stream()
+                .map(match -> SearchDto.Suggestion.builder()
+                        .type(match.entry().type())
+                        .id(match.entry().id())
+                        .code(match.entry().code())
+                        .name(match.entry().name())
+                        .detail(match.entry().detail())
+                        .score(match.score())
+                        .build())
+                .toList();
+    }
+}
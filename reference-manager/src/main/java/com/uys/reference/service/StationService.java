@@ -4,18 +4,36 @@ import com.uys.reference.dto.StationDto;
 import com.uys.reference.entity.Station;
 import com.uys.reference.event.enums.EventType;
 import com.uys.reference.event.publisher.EventPublisherService;
+import com.uys.reference.index.GeoKdTree;
+import com.uys.reference.index.StationDistanceMatrix;
+import com.uys.reference.index.StationPoint;
+import com.uys.reference.index.StationSpatialIndex;
 import com.uys.reference.mapper.StationMapper;
 import com.uys.reference.repository.StationRepository;
+import com.uys.reference.search.ReferenceSearchIndex;
+import com.uys.reference.search.ReferenceType;
+import com.uys.reference.search.TextNormalizer;
+import com.uys.reference.snapshot.ReferenceSnapshot;
+import com.uys.reference.snapshot.ReferenceSnapshotHolder;
+import com.uys.reference.snapshot.SnapshotItem;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Station Service - Havaalanı iş mantığı katmanı
@@ -33,6 +51,22 @@ public class StationService {
     private final StationRepository stationRepository;
     private final StationMapper stationMapper;
     private final EventPublisherService eventPublisherService;
+    private final ReferenceSearchIndex referenceSearchIndex;
+    private final ReferenceSnapshotHolder referenceSnapshotHolder;
+    private final StationSpatialIndex stationSpatialIndex;
+    private final StationDistanceMatrix stationDistanceMatrix;
+
+    @Value("${app.reference.batch.max-codes:500}")
+    private int maxBatchCodes;
+
+    @Value("${app.reference.search.max-results:50}")
+    private int maxSearchResults;
+
+    @Value("${app.reference.geo.max-results:100}")
+    private int maxGeoResults;
+
+    @Value("${app.reference.distance.max-pairs:10000}")
+    private int maxDistancePairs;
 
     /**
      * Yeni station oluşturur
@@ -40,7 +74,6 @@ public class StationService {
      * @param createRequest create request
      * @return oluşturulan station response
      */
-    @CacheEvict(value = "stations", allEntries = true)
     public StationDto.Response createStation(StationDto.CreateRequest createRequest) {
         log.info("Creating station with code: {}", createRequest.getStationCode());
 
@@ -70,9 +103,15 @@ public class StationService {
      * @param id station ID
      * @return station response
      */
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public StationDto.Response getStationById(Long id) {
         log.debug("Getting station by ID: {}", id);
+
+        ReferenceSnapshot snapshot = referenceSnapshotHolder.current();
+        if (snapshot != null) {
+            return snapshot.stations().findById(id)
+                    .orElseThrow(() -> new IllegalArgumentException("Station not found with ID: " + id));
+        }
         
         Station station = stationRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Station not found with ID: " + id));
@@ -86,10 +125,15 @@ public class StationService {
      * @param stationCode station code
      * @return station response
      */
-    @Transactional(readOnly = true)
-    @Cacheable(value = "stations", key = "#stationCode")
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public StationDto.Response getStationByCode(String stationCode) {
         log.debug("Getting station by code: {}", stationCode);
+
+        ReferenceSnapshot snapshot = referenceSnapshotHolder.current();
+        if (snapshot != null) {
+            return snapshot.stations().findByCode(stationCode)
+                    .orElseThrow(() -> new IllegalArgumentException("Station not found with code: " + stationCode));
+        }
         
         Station station = stationRepository.findByStationCode(stationCode)
                 .orElseThrow(() -> new IllegalArgumentException("Station not found with code: " + stationCode));
@@ -97,20 +141,66 @@ public class StationService {
         return stationMapper.toResponse(station);
     }
 
+    /**
+     * Birden fazla station code ile station'ları getirir; önce snapshot'tan çözer, kalanları tek
+     * IN sorgusuyla yükler
+     * 
+     * @param stationCodes station code listesi
+     * @return station code → station; bulunamayanlar dahil edilmez
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public Map<String, StationDto.Response> getStationsByCodes(Collection<String> stationCodes) {
+        List<String> codes = BatchCodes.normalize(stationCodes, maxBatchCodes);
+        log.debug("Getting {} stations by station code", codes.size());
+
+        Map<String, StationDto.Response> result = new LinkedHashMap<>();
+        List<String> misses = new ArrayList<>();
+        ReferenceSnapshot snapshot = referenceSnapshotHolder.current();
+        for (String code : codes) {
+            Optional<StationDto.Response> cached = snapshot != null ? snapshot.stations().findByCode(code) : Optional.empty();
+            if (cached.isPresent()) {
+                result.put(cached.get().getStationCode(), cached.get());
+            } else {
+                misses.add(code);
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            stationRepository.findByStationCodeIn(misses)
+                    .forEach(station -> result.put(station.getStationCode(), stationMapper.toResponse(station)));
+        }
+        return result;
+    }
+
     /**
      * Tüm aktif station'ları listeler
      * 
      * @return station listesi
      */
-    @Transactional(readOnly = true)
-    @Cacheable(value = "stations", key = "'active'")
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public List<StationDto.ListResponse> getAllActiveStations() {
         log.debug("Getting all active stations");
+
+        ReferenceSnapshot snapshot = referenceSnapshotHolder.current();
+        if (snapshot != null) {
+            return snapshot.stations().active();
+        }
         
         List<Station> stations = stationRepository.findByActiveTrue();
         return stationMapper.toListResponseList(stations);
     }
 
+    /**
+     * Station listeleri için veri seti ETag'i; snapshot yüklenmemişse null
+     *
+     * @return weak ETag
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public String getStationsEtag() {
+        ReferenceSnapshot snapshot = referenceSnapshotHolder.current();
+        return snapshot != null ? snapshot.stationsEtag() : null;
+    }
+
     /**
      * Sayfalı olarak aktif station'ları listeler
      * 
@@ -132,7 +222,6 @@ public class StationService {
      * @param updateRequest update request
      * @return güncellenmiş station response
      */
-    @CacheEvict(value = "stations", allEntries = true)
     public StationDto.Response updateStation(Long id, StationDto.UpdateRequest updateRequest) {
         log.info("Updating station with ID: {}", id);
         
@@ -163,7 +252,6 @@ public class StationService {
      * @param active aktif durumu
      * @return güncellenmiş station response
      */
-    @CacheEvict(value = "stations", allEntries = true)
     public StationDto.Response updateStationStatus(Long id, boolean active) {
         log.info("Updating station status with ID: {} to active: {}", id, active);
         
@@ -190,7 +278,6 @@ public class StationService {
      * 
      * @param id station ID
      */
-    @CacheEvict(value = "stations", allEntries = true)
     public void deleteStation(Long id) {
         log.info("Deleting station with ID: {}", id);
         
@@ -212,9 +299,14 @@ public class StationService {
      * @param country country
      * @return station listesi
      */
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public List<StationDto.ListResponse> getStationsByCountry(String country) {
         log.debug("Getting stations by country: {}", country);
+
+        ReferenceSnapshot snapshot = referenceSnapshotHolder.current();
+        if (snapshot != null) {
+            return snapshot.stations().find(ReferenceSnapshot.COUNTRY, country);
+        }
         
         List<Station> stations = stationRepository.findByCountryAndActiveTrue(country);
         return stationMapper.toListResponseList(stations);
@@ -226,9 +318,14 @@ public class StationService {
      * @param city city
      * @return station listesi
      */
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public List<StationDto.ListResponse> getStationsByCity(String city) {
         log.debug("Getting stations by city: {}", city);
+
+        ReferenceSnapshot snapshot = referenceSnapshotHolder.current();
+        if (snapshot != null) {
+            return snapshot.stations().find(ReferenceSnapshot.CITY, city);
+        }
         
         List<Station> stations = stationRepository.findByCityAndActiveTrue(city);
         return stationMapper.toListResponseList(stations);
@@ -240,9 +337,14 @@ public class StationService {
      * @param timezone timezone
      * @return station listesi
      */
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public List<StationDto.ListResponse> getStationsByTimezone(String timezone) {
         log.debug("Getting stations by timezone: {}", timezone);
+
+        ReferenceSnapshot snapshot = referenceSnapshotHolder.current();
+        if (snapshot != null) {
+            return snapshot.stations().find(ReferenceSnapshot.TIMEZONE, timezone);
+        }
         
         List<Station> stations = stationRepository.findByTimezoneAndActiveTrue(timezone);
         return stationMapper.toListResponseList(stations);
@@ -254,12 +356,35 @@ public class StationService {
      * @param stationName station name
      * @return station listesi
      */
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public List<StationDto.ListResponse> searchStationsByName(String stationName) {
         log.debug("Searching stations by name: {}", stationName);
+
+        return searchIndexed(stationName, StationDto.ListResponse::getStationName)
+                .orElseGet(() -> stationMapper.toListResponseList(
+                        stationRepository.findByStationNameContainingIgnoreCaseAndActiveTrue(stationName)));
+    }
+
+    /**
+     * Station name ile yazım hatalarını tolere eden arama yapar (bellek içi index)
+     * 
+     * @param stationName station name
+     * @return benzerliğe göre sıralı station listesi
+     */
+    @Transactional(readOnly = true)
+    public List<StationDto.ListResponse> fuzzySearchStationsByName(String stationName) {
+        log.debug("Fuzzy searching stations by name: {}", stationName);
         
-        List<Station> stations = stationRepository.findByStationNameContainingIgnoreCaseAndActiveTrue(stationName);
-        return stationMapper.toListResponseList(stations);
+        List<Long> ids = referenceSearchIndex.search(stationName, ReferenceType.STATION, maxSearchResults, true).stream()
+                .map(match -> match.entry().id())
+                .toList();
+        Map<Long, Station> stationsById = stationRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Station::getId, Function.identity()));
+        return ids.stream()
+                .map(stationsById::get)
+                .filter(Objects::nonNull)
+                .map(stationMapper::toListResponse)
+                .toList();
     }
 
     /**
@@ -268,12 +393,13 @@ public class StationService {
      * @param stationCode station code
      * @return station listesi
      */
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public List<StationDto.ListResponse> searchStationsByCode(String stationCode) {
         log.debug("Searching stations by code: {}", stationCode);
-        
-        List<Station> stations = stationRepository.findByStationCodeContainingIgnoreCaseAndActiveTrue(stationCode);
-        return stationMapper.toListResponseList(stations);
+
+        return searchIndexed(stationCode, StationDto.ListResponse::getStationCode)
+                .orElseGet(() -> stationMapper.toListResponseList(
+                        stationRepository.findByStationCodeContainingIgnoreCaseAndActiveTrue(stationCode)));
     }
 
     /**
@@ -282,12 +408,13 @@ public class StationService {
      * @param city city
      * @return station listesi
      */
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public List<StationDto.ListResponse> searchStationsByCity(String city) {
         log.debug("Searching stations by city: {}", city);
-        
-        List<Station> stations = stationRepository.findByCityContainingIgnoreCaseAndActiveTrue(city);
-        return stationMapper.toListResponseList(stations);
+
+        return searchIndexed(city, StationDto.ListResponse::getCity)
+                .orElseGet(() -> stationMapper.toListResponseList(
+                        stationRepository.findByCityContainingIgnoreCaseAndActiveTrue(city)));
     }
 
     /**
@@ -296,12 +423,13 @@ public class StationService {
      * @param country country
      * @return station listesi
      */
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public List<StationDto.ListResponse> searchStationsByCountry(String country) {
         log.debug("Searching stations by country: {}", country);
-        
-        List<Station> stations = stationRepository.findByCountryContainingIgnoreCaseAndActiveTrue(country);
-        return stationMapper.toListResponseList(stations);
+
+        return searchIndexed(country, StationDto.ListResponse::getCountry)
+                .orElseGet(() -> stationMapper.toListResponseList(
+                        stationRepository.findByCountryContainingIgnoreCaseAndActiveTrue(country)));
     }
 
     /**
@@ -320,4 +448,136 @@ public class StationService {
         List<Station> stations = stationRepository.findByLocationBetweenAndActiveTrue(minLat, maxLat, minLon, maxLon);
         return stationMapper.toListResponseList(stations);
     }
-} 
\ No newline at end of file
+
+    /**
+     * Koordinata en yakın station'ları spatial index'ten getirir
+     * 
+     * @param latitude latitude
+     * @param longitude longitude
+     * @param n sonuç sayısı
+     * @return mesafeye göre sıralı station listesi
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<StationDto.NearbyStation> getNearestStations(double latitude, double longitude, int n) {
+        validateCoordinates(latitude, longitude);
+        if (n < 1 || n > maxGeoResults) {
+            throw new IllegalArgumentException("n must be between 1 and " + maxGeoResults);
+        }
+        return toNearbyStations(stationSpatialIndex.nearest(latitude, longitude, n));
+    }
+
+    /**
+     * Yarıçap içindeki station'ları spatial index'ten getirir
+     * 
+     * @param latitude latitude
+     * @param longitude longitude
+     * @param radiusKm yarıçap (km)
+     * @param limit en fazla sonuç sayısı
+     * @return mesafeye göre sıralı station listesi
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<StationDto.NearbyStation> getStationsWithinRadius(double latitude, double longitude, double radiusKm, int limit) {
+        validateCoordinates(latitude, longitude);
+        if (radiusKm <= 0) {
+            throw new IllegalArgumentException("radiusKm must be positive");
+        }
+        if (limit < 1 || limit > maxGeoResults) {
+            throw new IllegalArgumentException("limit must be between 1 and " + maxGeoResults);
+        }
+        List<GeoKdTree.Neighbor<StationPoint>> found = stationSpatialIndex.withinRadius(latitude, longitude, radiusKm);
+        return toNearbyStations(found.size() > limit ? found.subList(0, limit) : found);
+    }
+
+    /**
+     * İki station arasındaki mesafeyi distance matrix'ten getirir
+     * 
+     * @param fromStationCode kalkış station code
+     * @param toStationCode varış station code
+     * @return büyük daire mesafesi
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public StationDto.Distance getDistance(String fromStationCode, String toStationCode) {
+        float distance = stationDistanceMatrix.distanceKm(fromStationCode, toStationCode);
+        if (distance < 0) {
+            String missing = stationDistanceMatrix.contains(fromStationCode) ? toStationCode : fromStationCode;
+            throw new IllegalArgumentException("Active station with coordinates not found with code: " + missing);
+        }
+        return toDistance(fromStationCode, toStationCode, distance);
+    }
+
+    /**
+     * Station çiftlerinin mesafelerini tek çağrıda getirir; bilinmeyen station'lar için mesafe null döner
+     * 
+     * @param request station çiftleri
+     * @return istek sırasıyla mesafeler
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<StationDto.Distance> getDistances(StationDto.DistanceBatchRequest request) {
+        List<StationDto.StationPair> pairs = request.getPairs();
+        if (pairs.size() > maxDistancePairs) {
+            throw new IllegalArgumentException("At most " + maxDistancePairs + " station pairs are allowed per request");
+        }
+        String[] from = new String[pairs.size()];
+        String[] to = new String[pairs.size()];
+        for (int i = 0; i < pairs.size(); i++) {
+            from[i] = pairs.get(i).getFromStationCode();
+            to[i] = pairs.get(i).getToStationCode();
+        }
+        float[] distances = stationDistanceMatrix.distancesKm(from, to);
+
+        List<StationDto.Distance> result = new ArrayList<>(pairs.size());
+        for (int i = 0; i < distances.length; i++) {
+            result.add(toDistance(from[i], to[i], distances[i]));
+        }
+        return result;
+    }
+
+    private static StationDto.Distance toDistance(String fromStationCode, String toStationCode, float distanceKm) {
+        return StationDto.Distance.builder()
+                .fromStationCode(fromStationCode)
+                .toStationCode(toStationCode)
+                .distanceKm(distanceKm < 0 ? null : Math.round(distanceKm * 10) / 10.0)
+                .build();
+    }
+
+    private static void validateCoordinates(double latitude, double longitude) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("Invalid coordinates: " + latitude + ", " + longitude);
+        }
+    }
+
+    private static List<StationDto.NearbyStation> toNearbyStations(List<GeoKdTree.Neighbor<StationPoint>> neighbors) {
+        return neighbors.stream()
+                .map(neighbor -> StationDto.NearbyStation.builder()
+                        .id(neighbor.value().stationId())
+                        .stationCode(neighbor.value().stationCode())
+                        .stationName(neighbor.value().stationName())
+                        .city(neighbor.value().city())
+                        .country(neighbor.value().country())
+                        .latitude(neighbor.value().latitude())
+                        .longitude(neighbor.value().longitude())
+                        .distanceKm(Math.round(neighbor.distanceKm() * 10) / 10.0)
+                        .build())
+                .toList();
+    }
+
+    /**
+     * Aktif kayıtları bellek içi trigram index'i ile daraltıp verilen alanda alt dizi olarak arar
+     *
+     * Index veya snapshot henüz hazır değilse ya da sorgu boşsa boş döner; çağıran veritabanına düşer.
+     */
+    private Optional<List<StationDto.ListResponse>> searchIndexed(String query, Function<StationDto.ListResponse, String> field) {
+        ReferenceSnapshot snapshot = referenceSnapshotHolder.current();
+        String normalized = TextNormalizer.normalize(query);
+        if (snapshot == null || !referenceSearchIndex.isLoaded() || normalized.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(referenceSearchIndex.containing(query, ReferenceType.STATION).stream()
+                .map(entry -> snapshot.stations().findItem(entry.id()))
+                .flatMap(Optional::stream)
+                .filter(SnapshotItem::active)
+                .map(SnapshotItem::listItem)
+                .filter(item -> TextNormalizer.normalize(field.apply(item)).contains(normalized))
+                .toList());
+    }
+}
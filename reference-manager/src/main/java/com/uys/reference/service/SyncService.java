@@ -0,0 +1,170 @@
+package com.uys.reference.service;
+
+import com.uys.reference.dto.SyncDto;
+import com.uys.reference.mapper.AircraftMapper;
+import com.uys.reference.mapper.AirlineMapper;
+import com.uys.reference.mapper.StationMapper;
+import com.uys.reference.repository.AircraftRepository;
+import com.uys.reference.repository.AirlineRepository;
+import com.uys.reference.repository.ReferenceChangeLogRepository;
+import com.uys.reference.repository.ReferenceChangeLogRepository.ChangeRecord;
+import com.uys.reference.repository.StationRepository;
+import com.uys.reference.search.ReferenceType;
+import com.uys.reference.snapshot.ReferenceSnapshot;
+import com.uys.reference.snapshot.ReferenceSnapshotHolder;
+import com.uys.reference.snapshot.SnapshotItem;
+import com.uys.reference.snapshot.SnapshotSection;
+import com.uys.reference.sync.ChangeOperation;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Sync Service - Change log üzerinden referans veri delta sync
+ *
+ * Sayfa içinde aynı kayda ait birden fazla değişiklik varsa yalnızca sonuncusu döner. UPSERT
+ * kayıtlarının içeriği snapshot'tan gelir; snapshot o değişikliği henüz içermiyorsa kayıt
+ * veritabanından tek sorguda yüklenir.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class SyncService {
+
+    private final ReferenceChangeLogRepository referenceChangeLogRepository;
+    private final ReferenceSnapshotHolder referenceSnapshotHolder;
+    private final AirlineRepository airlineRepository;
+    private final StationRepository stationRepository;
+    private final AircraftRepository aircraftRepository;
+    private final AirlineMapper airlineMapper;
+    private final StationMapper stationMapper;
+    private final AircraftMapper aircraftMapper;
+
+    @Value("${app.reference.sync.max-limit:1000}")
+    private int maxLimit;
+
+    /**
+     * Verilen seq'ten sonraki değişiklikleri döner
+     *
+     * @param since son uygulanan seq, baştan senkronizasyon için 0
+     * @param type referans tipi, null ise tüm tipler
+     * @param limit okunacak en fazla değişiklik sayısı
+     * @return sıkıştırılmış değişiklikler ve bir sonraki çağrı için seq
+     */
+    public SyncDto.ChangePage getChanges(long since, ReferenceType type, int limit) {
+        log.debug("Fetching reference changes since seq: {} type: {}", since, type);
+        if (since < 0) {
+            throw new IllegalArgumentException("since must not be negative");
+        }
+        if (limit < 1 || limit > maxLimit) {
+            throw new IllegalArgumentException("limit must be between 1 and " + maxLimit);
+        }
+
+        List<ChangeRecord> records = referenceChangeLogRepository.findSince(since, type, limit + 1);
+        boolean hasMore = records.size() > limit;
+        if (hasMore) {
+            records = records.subList(0, limit);
+        }
+        long nextSeq = records.isEmpty() ? since : records.get(records.size() - 1).seq();
+
+        return SyncDto.ChangePage.builder()
+                .changes(toChanges(compact(records)))
+                .nextSeq(nextSeq)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * Her kayıt için sayfadaki son değişikliği seq sırasıyla bırakır
+     */
+    private static List<ChangeRecord> compact(List<ChangeRecord> records) {
+        Map<String, ChangeRecord> latest = new LinkedHashMap<>();
+        for (ChangeRecord record : records) {
+            String key = record.type() + ":" + record.entityId();
+            latest.remove(key);
+            latest.put(key, record);
+        }
+        return new ArrayList<>(latest.values());
+    }
+
+    private List<SyncDto.Change> toChanges(List<ChangeRecord> records) {
+        ReferenceSnapshot snapshot = referenceSnapshotHolder.current();
+        Map<ChangeRecord, Object> data = new HashMap<>();
+        Map<ReferenceType, List<Long>> misses = new EnumMap<>(ReferenceType.class);
+
+        for (ChangeRecord record : records) {
+            if (record.operation() != ChangeOperation.UPSERT) {
+                continue;
+            }
+            Optional<Object> item = snapshot != null ? fromSnapshot(snapshot, record) : Optional.empty();
+            if (item.isPresent()) {
+                data.put(record, item.get());
+            } else {
+                misses.computeIfAbsent(record.type(), key -> new ArrayList<>()).add(record.entityId());
+            }
+        }
+
+        Map<ReferenceType, Map<Long, Object>> loaded = load(misses);
+        return records.stream()
+                .map(record -> SyncDto.Change.builder()
+                        .seq(record.seq())
+                        .type(record.type())
+                        .id(record.entityId())
+                        .code(record.code())
+                        .operation(record.operation())
+                        .version(record.entityVersion())
+                        .data(record.operation() == ChangeOperation.UPSERT
+                                ? data.getOrDefault(record, loaded.getOrDefault(record.type(), Map.of()).get(record.entityId()))
+                                : null)
+                        .build())
+                .toList();
+    }
+
+    private static Optional<Object> fromSnapshot(ReferenceSnapshot snapshot, ChangeRecord record) {
+        if (record.type() == ReferenceType.AIRLINE) {
+            return listItem(snapshot.airlines(), record);
+        }
+        if (record.type() == ReferenceType.STATION) {
+            return listItem(snapshot.stations(), record);
+        }
+        return listItem(snapshot.aircraft(), record);
+    }
+
+    private static <R, L> Optional<Object> listItem(SnapshotSection<R, L> section, ChangeRecord record) {
+        return section.findItem(record.entityId())
+                .filter(item -> isCurrent(item, record))
+                .map(SnapshotItem::listItem);
+    }
+
+    private static boolean isCurrent(SnapshotItem<?, ?> item, ChangeRecord record) {
+        return record.entityVersion() == null || item.version() == null || item.version() >= record.entityVersion();
+    }
+
+    private Map<ReferenceType, Map<Long, Object>> load(Map<ReferenceType, List<Long>> misses) {
+        Map<ReferenceType, Map<Long, Object>> loaded = new EnumMap<>(ReferenceType.class);
+        misses.forEach((type, ids) -> {
+            Map<Long, Object> byId = new HashMap<>();
+            if (type == ReferenceType.AIRLINE) {
+                airlineRepository.findAllById(ids).forEach(airline -> byId.put(airline.getId(), airlineMapper.toListResponse(airline)));
+            } else if (type == ReferenceType.STATION) {
+                stationRepository.findAllById(ids).forEach(station -> byId.put(station.getId(), stationMapper.toListResponse(station)));
+            } else {
+                aircraftRepository.findAllById(ids).forEach(aircraft -> byId.put(aircraft.getId(), aircraftMapper.toListResponse(aircraft)));
+            }
+            log.debug("Loaded {} {} records missing from the reference snapshot", byId.size(), type);
+            loaded.put(type, byId);
+        });
+        return loaded;
+    }
+}
@@ -0,0 +1,50 @@
+package com.uys.reference.snapshot;
+
+import com.uys.reference.dto.AircraftDto;
+import com.uys.reference.dto.AirlineDto;
+import com.uys.reference.dto.StationDto;
+
+/**
+ * Reference Snapshot - Airline, station ve aircraft verisinin değişmez, versiyonlu görünümü
+ *
+ * @param version her commit sonrası değişiklikte bir artar
+ */
+public record ReferenceSnapshot(long version,
+                                SnapshotSection<AirlineDto.Response, AirlineDto.ListResponse> airlines,
+                                SnapshotSection<StationDto.Response, StationDto.ListResponse> stations,
+                                SnapshotSection<AircraftDto.Response, AircraftDto.ListResponse> aircraft) {
+
+    public static final String COUNTRY = "country";
+    public static final String CITY = "city";
+    public static final String TIMEZONE = "timezone";
+    public static final String AIRLINE_ID = "airlineId";
+    public static final String AIRLINE_CODE = "airlineCode";
+    public static final String AIRCRAFT_TYPE = "aircraftType";
+    public static final String MANUFACTURER = "manufacturer";
+
+    /**
+     * Airline listeleri için veri seti ETag'i
+     */
+    public String airlinesEtag() {
+        return datasetEtag("airlines", airlines.fingerprint());
+    }
+
+    /**
+     * Station listeleri için veri seti ETag'i
+     */
+    public String stationsEtag() {
+        return datasetEtag("stations", stations.fingerprint());
+    }
+
+    /**
+     * Aircraft listeleri için veri seti ETag'i; liste kayıtları airline adını da içerdiğinden
+     * airline veri seti de hesaba katılır
+     */
+    public String aircraftEtag() {
+        return datasetEtag("aircraft", 31 * aircraft.fingerprint() + airlines.fingerprint());
+    }
+
+    private static String datasetEtag(String name, long fingerprint) {
+        return "W/\"" + name + "-" + Long.toHexString(fingerprint) + "\"";
+    }
+}
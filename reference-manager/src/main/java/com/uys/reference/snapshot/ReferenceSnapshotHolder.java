@@ -0,0 +1,251 @@
+package com.uys.reference.snapshot;
+
+import com.uys.reference.dto.AircraftDto;
+import com.uys.reference.dto.AirlineDto;
+import com.uys.reference.dto.StationDto;
+import com.uys.reference.entity.Aircraft;
+import com.uys.reference.entity.Airline;
+import com.uys.reference.entity.Station;
+import com.uys.reference.event.ReferenceDataChangedEvent;
+import com.uys.reference.event.ReferenceDataReplicatedEvent;
+import com.uys.reference.mapper.AircraftMapper;
+import com.uys.reference.mapper.AirlineMapper;
+import com.uys.reference.mapper.StationMapper;
+import com.uys.reference.repository.AircraftRepository;
+import com.uys.reference.repository.AirlineRepository;
+import com.uys.reference.repository.StationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Reference Snapshot Holder - Güncel {@link ReferenceSnapshot}'ı tutar ve commit sonrası değiştirir
+ *
+ * Snapshot web sunucusu trafik almadan önce yüklenir. Her commit edilen değişiklik
+ * copy-on-write ile yeni bir snapshot üretir ve {@link AtomicReference} üzerinden atomik olarak
+ * yayınlanır; okuyucular kilitsizdir ve her zaman tutarlı bir versiyon görür. Aynı anda
+ * değişen kaydın Redis cache anahtarları hedefli olarak silinir.
+ *
+ * Diğer pod'larda commit edilen değişiklikler {@link com.uys.reference.sync.ReferenceChangeFeed}
+ * üzerinden gelir; yerel olay ile aynı değişiklik iki kez gelebilir, eski versiyonlar yok sayılır.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReferenceSnapshotHolder implements SmartInitializingSingleton {
+
+    private static final String ACTIVE_KEY = "active";
+
+    private final AirlineRepository airlineRepository;
+    private final StationRepository stationRepository;
+    private final AircraftRepository aircraftRepository;
+    private final AirlineMapper airlineMapper;
+    private final StationMapper stationMapper;
+    private final AircraftMapper aircraftMapper;
+    private final PlatformTransactionManager transactionManager;
+    private final CacheManager cacheManager;
+
+    private final AtomicReference<ReferenceSnapshot> snapshot = new AtomicReference<>();
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        try {
+            load();
+        } catch (RuntimeException e) {
+            log.error("Reference snapshot could not be loaded, reads fall back to the database", e);
+        }
+    }
+
+    /**
+     * Güncel snapshot; henüz yüklenmediyse null
+     */
+    public ReferenceSnapshot current() {
+        return snapshot.get();
+    }
+
+    /**
+     * Tüm referans veriyi tek read-only transaction içinde yükler
+     */
+    public synchronized void load() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        ReferenceSnapshot loaded = template.execute(status -> new ReferenceSnapshot(
+                nextVersion(),
+                SnapshotSection.of(airlineRepository.findAll().stream().map(this::toItem).toList()),
+                SnapshotSection.of(stationRepository.findAll().stream().map(this::toItem).toList()),
+                SnapshotSection.of(aircraftRepository.findAll().stream().map(this::toItem).toList())));
+        snapshot.set(loaded);
+        log.info("Reference snapshot {} loaded with {} airlines, {} stations and {} aircraft", loaded.version(),
+                loaded.airlines().size(), loaded.stations().size(), loaded.aircraft().size());
+    }
+
+    /**
+     * Commit edilen değişikliği yeni bir snapshot olarak yayınlar
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onReferenceDataChanged(ReferenceDataChangedEvent event) {
+        evictCaches(event);
+        synchronized (this) {
+            ReferenceSnapshot current = snapshot.get();
+            if (current == null) {
+                try {
+                    load();
+                } catch (RuntimeException e) {
+                    log.warn("Reference snapshot is still unavailable: {}", e.getMessage());
+                }
+                return;
+            }
+            ReferenceSnapshot next = apply(current, event);
+            if (next != current) {
+                snapshot.set(next);
+                log.debug("Reference snapshot {} published", next.version());
+            }
+        }
+    }
+
+    /**
+     * Change feed'den gelen (herhangi bir pod'da commit edilmiş) değişiklikleri tek bir snapshot olarak yayınlar
+     */
+    @EventListener
+    public void onReferenceDataReplicated(ReferenceDataReplicatedEvent event) {
+        event.changes().forEach(this::evictCaches);
+        synchronized (this) {
+            ReferenceSnapshot current = snapshot.get();
+            if (current == null) {
+                try {
+                    load();
+                } catch (RuntimeException e) {
+                    log.warn("Reference snapshot is still unavailable: {}", e.getMessage());
+                }
+                return;
+            }
+            ReferenceSnapshot next = current;
+            for (ReferenceDataChangedEvent change : event.changes()) {
+                next = apply(next, change);
+            }
+            if (next != current) {
+                // Ara versiyonlar hiç yayınlanmadığından tek bir versiyon artışı yeterlidir
+                next = new ReferenceSnapshot(current.version() + 1, next.airlines(), next.stations(), next.aircraft());
+                snapshot.set(next);
+                log.debug("Reference snapshot {} published from change feed", next.version());
+            }
+        }
+    }
+
+    private ReferenceSnapshot apply(ReferenceSnapshot current, ReferenceDataChangedEvent event) {
+        var airlines = current.airlines();
+        var stations = current.stations();
+        var aircraft = current.aircraft();
+
+        if (event instanceof ReferenceDataChangedEvent.AirlineChanged changed) {
+            SnapshotItem<AirlineDto.Response, AirlineDto.ListResponse> item = toItem(changed.airline());
+            airlines = airlines.with(List.of(item));
+            if (airlines != current.airlines()) {
+                aircraft = aircraft.with(reassignAirline(aircraft, item));
+            }
+        } else if (event instanceof ReferenceDataChangedEvent.StationChanged changed) {
+            stations = stations.with(List.of(toItem(changed.station())));
+        } else if (event instanceof ReferenceDataChangedEvent.AircraftChanged changed) {
+            aircraft = aircraft.with(List.of(toItem(changed.aircraft())));
+        }
+
+        if (airlines == current.airlines() && stations == current.stations() && aircraft == current.aircraft()) {
+            return current;
+        }
+        return new ReferenceSnapshot(current.version() + 1, airlines, stations, aircraft);
+    }
+
+    /**
+     * Airline değiştiğinde o airline'a bağlı aircraft DTO'larındaki airline bilgisini yeniler
+     */
+    private List<SnapshotItem<AircraftDto.Response, AircraftDto.ListResponse>> reassignAirline(
+            SnapshotSection<AircraftDto.Response, AircraftDto.ListResponse> aircraft,
+            SnapshotItem<AirlineDto.Response, AirlineDto.ListResponse> airline) {
+        String airlineId = String.valueOf(airline.id());
+        return aircraft.items().stream()
+                .filter(item -> airlineId.equals(item.keys().get(ReferenceSnapshot.AIRLINE_ID)))
+                .map(item -> {
+                    Map<String, String> keys = new HashMap<>(item.keys());
+                    keys.put(ReferenceSnapshot.AIRLINE_CODE, airline.code());
+                    return new SnapshotItem<>(item.id(), item.code(), item.version(), item.active(),
+                            item.response().toBuilder().airline(airline.response()).build(),
+                            item.listItem().toBuilder()
+                                    .airlineCode(airline.code())
+                                    .airlineName(airline.response().getAirlineName())
+                                    .build(),
+                            keys);
+                })
+                .toList();
+    }
+
+    private void evictCaches(ReferenceDataChangedEvent event) {
+        if (event instanceof ReferenceDataChangedEvent.AirlineChanged changed) {
+            evict("airlines", changed.airline().getAirlineCode());
+        } else if (event instanceof ReferenceDataChangedEvent.StationChanged changed) {
+            evict("stations", changed.station().getStationCode());
+        } else if (event instanceof ReferenceDataChangedEvent.AircraftChanged changed) {
+            evict("aircraft", changed.aircraft().getRegistration());
+        }
+    }
+
+    private void evict(String cacheName, String code) {
+        try {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                cache.evict(code);
+                cache.evict(ACTIVE_KEY);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to evict {} cache entries for {}: {}", cacheName, code, e.getMessage());
+        }
+    }
+
+    private SnapshotItem<AirlineDto.Response, AirlineDto.ListResponse> toItem(Airline airline) {
+        Map<String, String> keys = new HashMap<>();
+        keys.put(ReferenceSnapshot.COUNTRY, airline.getCountry());
+        keys.put(ReferenceSnapshot.CITY, airline.getCity());
+        return new SnapshotItem<>(airline.getId(), airline.getAirlineCode(), airline.getVersion(),
+                Boolean.TRUE.equals(airline.getActive()),
+                airlineMapper.toResponse(airline), airlineMapper.toListResponse(airline), keys);
+    }
+
+    private SnapshotItem<StationDto.Response, StationDto.ListResponse> toItem(Station station) {
+        Map<String, String> keys = new HashMap<>();
+        keys.put(ReferenceSnapshot.COUNTRY, station.getCountry());
+        keys.put(ReferenceSnapshot.CITY, station.getCity());
+        keys.put(ReferenceSnapshot.TIMEZONE, station.getTimezone());
+        return new SnapshotItem<>(station.getId(), station.getStationCode(), station.getVersion(),
+                Boolean.TRUE.equals(station.getActive()),
+                stationMapper.toResponse(station), stationMapper.toListResponse(station), keys);
+    }
+
+    private SnapshotItem<AircraftDto.Response, AircraftDto.ListResponse> toItem(Aircraft aircraft) {
+        Airline airline = aircraft.getAirline();
+        Map<String, String> keys = new HashMap<>();
+        keys.put(ReferenceSnapshot.AIRLINE_ID, airline != null ? String.valueOf(airline.getId()) : null);
+        keys.put(ReferenceSnapshot.AIRLINE_CODE, airline != null ? airline.getAirlineCode() : null);
+        keys.put(ReferenceSnapshot.AIRCRAFT_TYPE, aircraft.getAircraftType());
+        keys.put(ReferenceSnapshot.MANUFACTURER, aircraft.getManufacturer());
+        return new SnapshotItem<>(aircraft.getId(), aircraft.getRegistration(), aircraft.getVersion(),
+                Boolean.TRUE.equals(aircraft.getActive()),
+                aircraftMapper.toResponse(aircraft), aircraftMapper.toListResponse(aircraft), keys);
+    }
+
+    private long nextVersion() {
+        ReferenceSnapshot current = snapshot.get();
+        return current == null ? 1 : current.version() + 1;
+    }
+}
@@ -0,0 +1,13 @@
+package com.uys.reference.snapshot;
+
+import java.util.Map;
+
+/**
+ * Snapshot Item - Snapshot'ta tutulan tek kayıt ve önceden map edilmiş DTO'ları
+ *
+ * @param code airline code, station code veya aircraft registration
+ * @param keys ikincil index adı → anahtar (country, city, type, ...)
+ */
+public record SnapshotItem<R, L>(Long id, String code, Long version, boolean active,
+                                 R response, L listItem, Map<String, String> keys) {
+}
@@ -0,0 +1,146 @@
+package com.uys.reference.snapshot;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Snapshot Section - Tek entity tipinin değişmez görünümü ve ikincil index'leri
+ *
+ * ID ve code ile tüm kayıtlar (pasifler dahil), liste sorguları için yalnızca aktif
+ * kayıtlar ID sırasıyla tutulur. Anahtarlar büyük/küçük harf duyarsız karşılaştırılır
+ * (MySQL collation davranışı). Değişiklikler yeni bir section üretir.
+ */
+public final class SnapshotSection<R, L> {
+
+    private final Map<Long, SnapshotItem<R, L>> byId;
+    private final Map<String, SnapshotItem<R, L>> byCode;
+    private final List<L> active;
+    private final Map<String, Map<String, List<L>>> indexes;
+    private final long fingerprint;
+
+    private SnapshotSection(Map<Long, SnapshotItem<R, L>> byId) {
+        this.byId = Collections.unmodifiableMap(byId);
+
+        List<SnapshotItem<R, L>> ordered = new ArrayList<>(byId.values());
+        ordered.sort(Comparator.comparing(SnapshotItem::id));
+
+        Map<String, SnapshotItem<R, L>> codes = new HashMap<>(ordered.size() * 2);
+        List<L> activeItems = new ArrayList<>();
+        Map<String, Map<String, List<L>>> secondary = new HashMap<>();
+        long hash = 1;
+        for (SnapshotItem<R, L> item : ordered) {
+            hash = 31 * hash + mix(item.id(), item.version(), item.active());
+            if (item.code() != null) {
+                codes.put(normalize(item.code()), item);
+            }
+            if (!item.active()) {
+                continue;
+            }
+            activeItems.add(item.listItem());
+            item.keys().forEach((index, key) -> {
+                if (key != null) {
+                    secondary.computeIfAbsent(index, name -> new HashMap<>())
+                            .computeIfAbsent(normalize(key), value -> new ArrayList<>())
+                            .add(item.listItem());
+                }
+            });
+        }
+        secondary.values().forEach(byKey -> byKey.replaceAll((key, list) -> List.copyOf(list)));
+
+        this.byCode = codes;
+        this.active = List.copyOf(activeItems);
+        this.indexes = secondary;
+        this.fingerprint = hash;
+    }
+
+    public static <R, L> SnapshotSection<R, L> of(Collection<SnapshotItem<R, L>> items) {
+        Map<Long, SnapshotItem<R, L>> byId = new HashMap<>(items.size() * 2);
+        items.forEach(item -> byId.put(item.id(), item));
+        return new SnapshotSection<>(byId);
+    }
+
+    /**
+     * Kayıtları ekler/değiştirir; mevcut versiyondan eski kayıtlar yok sayılır
+     */
+    public SnapshotSection<R, L> with(Collection<SnapshotItem<R, L>> items) {
+        Map<Long, SnapshotItem<R, L>> next = new HashMap<>(byId);
+        boolean changed = false;
+        for (SnapshotItem<R, L> item : items) {
+            SnapshotItem<R, L> current = next.get(item.id());
+            if (current == null || isNewer(item, current)) {
+                next.put(item.id(), item);
+                changed = true;
+            }
+        }
+        return changed ? new SnapshotSection<>(next) : this;
+    }
+
+    public Optional<R> findById(Long id) {
+        SnapshotItem<R, L> item = byId.get(id);
+        return item != null ? Optional.of(item.response()) : Optional.empty();
+    }
+
+    public Optional<SnapshotItem<R, L>> findItem(Long id) {
+        return Optional.ofNullable(byId.get(id));
+    }
+
+    public Optional<R> findByCode(String code) {
+        SnapshotItem<R, L> item = code != null ? byCode.get(normalize(code)) : null;
+        return item != null ? Optional.of(item.response()) : Optional.empty();
+    }
+
+    /**
+     * Aktif kayıtlar
+     */
+    public List<L> active() {
+        return active;
+    }
+
+    /**
+     * İkincil index'te anahtara karşılık gelen aktif kayıtlar
+     */
+    public List<L> find(String index, String key) {
+        if (key == null) {
+            return List.of();
+        }
+        return indexes.getOrDefault(index, Map.of()).getOrDefault(normalize(key), List.of());
+    }
+
+    public Collection<SnapshotItem<R, L>> items() {
+        return byId.values();
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    /**
+     * Kayıtların (id, version, active) üçlülerinden üretilen veri seti versiyonu; aynı veri
+     * her instance'ta aynı değeri verir
+     */
+    public long fingerprint() {
+        return fingerprint;
+    }
+
+    private static long mix(Long id, Long version, boolean active) {
+        long value = (id != null ? id : 0) * 0x9E3779B97F4A7C15L + (version != null ? version : -1);
+        value ^= value >>> 31;
+        value *= 0xBF58476D1CE4E5B9L;
+        return (value ^ (value >>> 29)) + (active ? 1 : 0);
+    }
+
+    private static boolean isNewer(SnapshotItem<?, ?> candidate, SnapshotItem<?, ?> current) {
+        return candidate.version() == null || current.version() == null || candidate.version() >= current.version();
+    }
+
+    private static String normalize(String key) {
+        return key.trim().toLowerCase(Locale.ROOT);
+    }
+}
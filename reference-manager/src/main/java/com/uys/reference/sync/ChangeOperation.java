@@ -0,0 +1,15 @@
+package com.uys.reference.sync;
+
+/**
+ * Change Operation - Delta sync değişiklik tipi
+ *
+ * Silme soft delete olduğundan pasif hale gelen kayıtlar DELETE, diğer tüm yazmalar UPSERT olarak loglanır.
+ */
+public enum ChangeOperation {
+    UPSERT,
+    DELETE;
+
+    public static ChangeOperation of(Boolean active) {
+        return Boolean.TRUE.equals(active) ? UPSERT : DELETE;
+    }
+}
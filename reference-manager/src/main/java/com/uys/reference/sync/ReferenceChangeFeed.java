@@ -0,0 +1,141 @@
+package com.uys.reference.sync;
+
+import com.uys.reference.event.ReferenceDataChangedEvent;
+import com.uys.reference.event.ReferenceDataReplicatedEvent;
+import com.uys.reference.event.enums.EventType;
+import com.uys.reference.repository.AircraftRepository;
+import com.uys.reference.repository.AirlineRepository;
+import com.uys.reference.repository.ReferenceChangeLogRepository;
+import com.uys.reference.repository.ReferenceChangeLogRepository.ChangeRecord;
+import com.uys.reference.repository.StationRepository;
+import com.uys.reference.search.ReferenceType;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reference Change Feed - Her instance'ta change log'u seq ile izleyip bellek içi kopyaları günceller
+ *
+ * Commit sonrası yerel olaylar yalnızca yazmayı yapan pod'u günceller. Bu bileşen her pod'da
+ * {@code reference_change_log}'u son görülen seq'ten itibaren okur, değişen kayıtların güncel
+ * hallerini veritabanından yükler ve {@link ReferenceDataReplicatedEvent} olarak yayınlar.
+ * Seq sırası commit sırasıyla aynı olduğundan bir değişiklik atlanmaz. Başlangıç seq'i snapshot
+ * ve index'ler yüklenmeden önce alınır; aradaki değişiklikler tekrar uygulanır, uygulama
+ * idempotent olduğundan zararsızdır.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReferenceChangeFeed {
+
+    private final ReferenceChangeLogRepository referenceChangeLogRepository;
+    private final AirlineRepository airlineRepository;
+    private final StationRepository stationRepository;
+    private final AircraftRepository aircraftRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.reference.change-feed.batch-size:500}")
+    private int batchSize;
+
+    private volatile long lastSeq;
+
+    @PostConstruct
+    void init() {
+        try {
+            lastSeq = referenceChangeLogRepository.lastSeq();
+        } catch (RuntimeException e) {
+            // Başlangıç noktası bilinmiyorsa tüm log tekrar oynatılır
+            log.warn("Reference change feed starts from seq 0: {}", e.getMessage());
+            lastSeq = 0;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.reference.change-feed.poll-interval-ms:1000}")
+    public void poll() {
+        try {
+            int read;
+            do {
+                read = pollBatch();
+            } while (read == batchSize);
+        } catch (Exception e) {
+            log.warn("Reference change feed poll failed at seq {}, will retry: {}", lastSeq, e.getMessage());
+        }
+    }
+
+    /**
+     * Son görülen seq'i; tüketiciler ve testler için
+     */
+    public long lastSeq() {
+        return lastSeq;
+    }
+
+    int pollBatch() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        Integer read = template.execute(status -> {
+            List<ChangeRecord> records = referenceChangeLogRepository.findSince(lastSeq, null, batchSize);
+            if (records.isEmpty()) {
+                return 0;
+            }
+            // Lazy ilişkiler (aircraft -> airline) dinleyicilerde okunabilsin diye transaction içinde yayınlanır
+            applicationEventPublisher.publishEvent(new ReferenceDataReplicatedEvent(load(records)));
+            lastSeq = records.get(records.size() - 1).seq();
+            return records.size();
+        });
+        return read != null ? read : 0;
+    }
+
+    private List<ReferenceDataChangedEvent> load(List<ChangeRecord> records) {
+        // Aynı kaydın birden fazla değişikliği tek yüklemeye iner; sıra son değişikliğe göredir
+        Map<String, ChangeRecord> latest = new LinkedHashMap<>();
+        Map<ReferenceType, List<Long>> idsByType = new EnumMap<>(ReferenceType.class);
+        for (ChangeRecord record : records) {
+            String key = record.type() + ":" + record.entityId();
+            if (latest.remove(key) == null) {
+                idsByType.computeIfAbsent(record.type(), type -> new ArrayList<>()).add(record.entityId());
+            }
+            latest.put(key, record);
+        }
+
+        Map<String, ReferenceDataChangedEvent> loaded = new HashMap<>();
+        idsByType.forEach((type, ids) -> {
+            switch (type) {
+                case AIRLINE -> airlineRepository.findAllById(ids).forEach(airline -> loaded.put(type + ":" + airline.getId(),
+                        new ReferenceDataChangedEvent.AirlineChanged(airline, eventType(airline.getActive()))));
+                case STATION -> stationRepository.findAllById(ids).forEach(station -> loaded.put(type + ":" + station.getId(),
+                        new ReferenceDataChangedEvent.StationChanged(station, eventType(station.getActive()))));
+                case AIRCRAFT -> aircraftRepository.findAllById(ids).forEach(aircraft -> loaded.put(type + ":" + aircraft.getId(),
+                        new ReferenceDataChangedEvent.AircraftChanged(aircraft, eventType(aircraft.getActive()))));
+            }
+        });
+
+        List<ReferenceDataChangedEvent> changes = new ArrayList<>(latest.size());
+        for (String key : latest.keySet()) {
+            ReferenceDataChangedEvent change = loaded.get(key);
+            if (change != null) {
+                changes.add(change);
+            } else {
+                log.debug("Changed reference record {} no longer exists", key);
+            }
+        }
+        return changes;
+    }
+
+    private static EventType eventType(Boolean active) {
+        return ChangeOperation.of(active) == ChangeOperation.UPSERT ? EventType.UPDATED : EventType.DELETED;
+    }
+}
@@ -0,0 +1,111 @@
+package com.uys.reference.sync;
+
+import com.uys.reference.entity.Aircraft;
+import com.uys.reference.entity.Airline;
+import com.uys.reference.entity.Station;
+import com.uys.reference.event.ReferenceDataChangedEvent;
+import com.uys.reference.repository.ReferenceChangeLogRepository;
+import com.uys.reference.repository.ReferenceChangeLogRepository.ChangeEntry;
+import com.uys.reference.search.ReferenceType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reference Change Log Writer - Referans veri yazmalarını aynı transaction içinde change log'a ekler
+ *
+ * Değişiklikler transaction boyunca entity bazında biriktirilir (aynı kaydın son hali kalır) ve
+ * commit'ten hemen önce, flush edilmiş versiyonlarla tek batch olarak yazılır. Seq değerleri
+ * sequence satırı kilitlenerek atanır; böylece bir tüketici seq sırasında commit edilmemiş bir
+ * boşluğu asla atlamaz.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReferenceChangeLogWriter {
+
+    private final ReferenceChangeLogRepository referenceChangeLogRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @EventListener
+    public void onReferenceDataChanged(ReferenceDataChangedEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            new TransactionTemplate(transactionManager).executeWithoutResult(
+                    status -> referenceChangeLogRepository.append(List.of(toEntry(event, LocalDateTime.now()))));
+            return;
+        }
+        pendingEvents().put(key(event), event);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, ReferenceDataChangedEvent> pendingEvents() {
+        Map<String, ReferenceDataChangedEvent> pending =
+                (Map<String, ReferenceDataChangedEvent>) TransactionSynchronizationManager.getResource(this);
+        if (pending != null) {
+            return pending;
+        }
+        Map<String, ReferenceDataChangedEvent> buffer = new LinkedHashMap<>();
+        TransactionSynchronizationManager.bindResource(this, buffer);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                if (!buffer.isEmpty()) {
+                    flush(buffer.values());
+                }
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ReferenceChangeLogWriter.this);
+            }
+        });
+        return buffer;
+    }
+
+    private void flush(Iterable<ReferenceDataChangedEvent> events) {
+        // Optimistic lock versiyonları flush ile kesinleşir
+        entityManager.flush();
+        LocalDateTime now = LocalDateTime.now();
+        List<ChangeEntry> entries = new ArrayList<>();
+        events.forEach(event -> entries.add(toEntry(event, now)));
+        long last = referenceChangeLogRepository.append(entries);
+        log.debug("Appended {} reference changes up to seq {}", entries.size(), last);
+    }
+
+    private static String key(ReferenceDataChangedEvent event) {
+        ChangeEntry entry = toEntry(event, null);
+        return entry.type() + ":" + entry.entityId();
+    }
+
+    private static ChangeEntry toEntry(ReferenceDataChangedEvent event, LocalDateTime changedAt) {
+        if (event instanceof ReferenceDataChangedEvent.AirlineChanged changed) {
+            Airline airline = changed.airline();
+            return new ChangeEntry(ReferenceType.AIRLINE, airline.getId(), airline.getAirlineCode(),
+                    ChangeOperation.of(airline.getActive()), airline.getVersion(), changedAt);
+        }
+        if (event instanceof ReferenceDataChangedEvent.StationChanged changed) {
+            Station station = changed.station();
+            return new ChangeEntry(ReferenceType.STATION, station.getId(), station.getStationCode(),
+                    ChangeOperation.of(station.getActive()), station.getVersion(), changedAt);
+        }
+        Aircraft aircraft = ((ReferenceDataChangedEvent.AircraftChanged) event).aircraft();
+        return new ChangeEntry(ReferenceType.AIRCRAFT, aircraft.getId(), aircraft.getRegistration(),
+                ChangeOperation.of(aircraft.getActive()), aircraft.getVersion(), changedAt);
+    }
+}
@@ -0,0 +1,67 @@
+package com.uys.reference.web;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.function.Supplier;
+
+/**
+ * Conditional Responses - ETag üretimi ve If-None-Match kontrolü
+ *
+ * Tekil kayıtlar entity versiyonundan, listeler snapshot veri seti versiyonundan weak ETag alır.
+ * If-None-Match eşleşirse cevap gövdesi hiç üretilmeden 304 döner.
+ */
+public final class ConditionalResponses {
+
+    private ConditionalResponses() {
+    }
+
+    /**
+     * Entity versiyonlarından weak ETag üretir; versiyonlardan biri bilinmiyorsa null
+     */
+    public static String versionEtag(String type, Long id, Long... versions) {
+        StringBuilder etag = new StringBuilder("W/\"").append(type).append('-').append(id);
+        for (Long version : versions) {
+            if (version == null) {
+                return null;
+            }
+            etag.append('-').append(version);
+        }
+        return etag.append('"').toString();
+    }
+
+    /**
+     * If-None-Match başlığı ETag ile weak karşılaştırmada eşleşiyorsa true
+     */
+    public static boolean isNotModified(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+        String opaque = opaque(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if (trimmed.equals("*") || opaque(trimmed).equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Eşleşme varsa 304, yoksa ETag'li 200 döner; gövde yalnızca gerektiğinde üretilir
+     */
+    public static <T> ResponseEntity<T> respond(String ifNoneMatch, String etag, Supplier<T> body) {
+        if (isNotModified(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (etag != null) {
+            builder.eTag(etag);
+        }
+        return builder.body(body.get());
+    }
+
+    private static String opaque(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+}
@@ -0,0 +1,60 @@
+package com.uys.reference.web;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Locale;
+
+/**
+ * Serialized Body - Önceden serialize edilmiş JSON cevap ve varsa gzip hali
+ *
+ * @param json JSON byte'ları
+ * @param gzip gzip ile sıkıştırılmış JSON; cevap küçükse null
+ * @param etag JSON içeriğinden üretilen strong ETag (tırnaklı)
+ */
+public record SerializedBody(byte[] json, byte[] gzip, String etag) {
+
+    /**
+     * İstemci gzip kabul ediyorsa sıkıştırılmış byte'ları, aksi halde JSON'u döner;
+     * If-None-Match gönderilen temsilin ETag'i ile eşleşirse gövdesiz 304 döner
+     */
+    public ResponseEntity<byte[]> toResponse(String acceptEncoding, String ifNoneMatch) {
+        boolean compressed = gzip != null && acceptsGzip(acceptEncoding);
+        // Strong ETag kodlamaya özgü olmalıdır
+        String representationEtag = compressed ? gzipEtag() : etag;
+        if (ConditionalResponses.isNotModified(ifNoneMatch, representationEtag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(representationEtag)
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .eTag(representationEtag);
+        if (!compressed) {
+            return builder.body(json);
+        }
+        return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(gzip);
+    }
+
+    String gzipEtag() {
+        return etag.substring(0, etag.length() - 1) + "-gzip\"";
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.toLowerCase(Locale.ROOT).split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equals("gzip")) {
+                return parts.length < 2 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,91 @@
+package com.uys.reference.web;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.uys.reference.snapshot.ReferenceSnapshot;
+import com.uys.reference.snapshot.ReferenceSnapshotHolder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized Response Cache - Sık okunan liste endpoint'lerinin serialize edilmiş cevapları
+ *
+ * Cevap, snapshot'taki kaynak liste ile birlikte saklanır. Snapshot değişmez olduğundan aynı
+ * liste örneği aynı içerik demektir; liste yeni bir snapshot versiyonunda değiştiğinde cevap
+ * bir kez yeniden serialize edilir. Diğer tiplerdeki değişiklikler cevabı geçersiz kılmaz.
+ * Snapshot yoksa cevap her istekte serialize edilir ve saklanmaz.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SerializedResponseCache {
+
+    private final ReferenceSnapshotHolder referenceSnapshotHolder;
+    private final ObjectMapper objectMapper;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    @Value("${app.reference.response-cache.gzip-min-bytes:1024}")
+    private int gzipMinBytes;
+
+    /**
+     * Endpoint için serialize edilmiş cevabı döner
+     *
+     * @param key endpoint anahtarı
+     * @param fromSnapshot snapshot'tan cevap içeriği
+     * @param fallback snapshot yüklenmemişse cevap içeriği
+     */
+    public SerializedBody get(String key, Function<ReferenceSnapshot, ?> fromSnapshot, Supplier<?> fallback) {
+        ReferenceSnapshot snapshot = referenceSnapshotHolder.current();
+        if (snapshot == null) {
+            return serialize(fallback.get());
+        }
+
+        Object source = fromSnapshot.apply(snapshot);
+        Entry entry = entries.get(key);
+        if (entry != null && entry.source() == source) {
+            return entry.body();
+        }
+
+        SerializedBody body = serialize(source);
+        entries.put(key, new Entry(source, body));
+        log.debug("Serialized {} response for snapshot {} ({} bytes)", key, snapshot.version(), body.json().length);
+        return body;
+    }
+
+    SerializedBody serialize(Object value) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize response", e);
+        }
+        byte[] gzip = json.length >= gzipMinBytes ? gzip(json) : null;
+        return new SerializedBody(json, gzip, "\"" + DigestUtils.md5DigestAsHex(json) + "\"");
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    private record Entry(Object source, SerializedBody body) {
+    }
+}
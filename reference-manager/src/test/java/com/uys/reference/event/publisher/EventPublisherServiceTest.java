@@ -1,5 +1,6 @@
 package com.uys.reference.event.publisher;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.uys.reference.entity.Airline;
 import com.uys.reference.entity.Aircraft;
 import com.uys.reference.entity.Station;
@@ -7,15 +8,23 @@ import com.uys.reference.event.enums.EventType;
 import com.uys.reference.mapper.AirlineMapper;
 import com.uys.reference.mapper.AircraftMapper;
 import com.uys.reference.mapper.StationMapper;
+import com.uys.reference.outbox.ReferenceOutboxWriter;
+import com.uys.reference.repository.ReferenceOutboxRepository.OutboxEntry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDateTime;
 
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
 @ExtendWith(MockitoExtension.class)
 class EventPublisherServiceTest {
 
@@ -28,6 +37,15 @@ class EventPublisherServiceTest {
     @Mock
     private StationMapper stationMapper;
 
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Mock
+    private ReferenceOutboxWriter referenceOutboxWriter;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
     @InjectMocks
     private EventPublisherService eventPublisherService;
 
@@ -154,4 +172,30 @@ class EventPublisherServiceTest {
         // When & Then - Should not throw exception
         eventPublisherService.publishStationEvent(testStation, EventType.STATUS_CHANGED);
     }
-} 
\ No newline at end of file
+
+    @Test
+    void publishAirlineEvent_ShouldWriteEventToOutbox() {
+        // When
+        eventPublisherService.publishAirlineEvent(testAirline, EventType.UPDATED);
+
+        // Then
+        ArgumentCaptor<OutboxEntry> entry = ArgumentCaptor.forClass(OutboxEntry.class);
+        verify(referenceOutboxWriter).write(entry.capture());
+        assertEquals("airline-events", entry.getValue().topic());
+        assertEquals("TK", entry.getValue().key());
+        assertEquals("UPDATED", entry.getValue().eventType());
+        assertTrue(entry.getValue().payload().contains("\"airlineCode\":\"TK\""));
+    }
+
+    @Test
+    void publishStationEvent_ShouldKeyOutboxEntryByStationCode() {
+        // When
+        eventPublisherService.publishStationEvent(testStation, EventType.CREATED);
+
+        // Then
+        ArgumentCaptor<OutboxEntry> entry = ArgumentCaptor.forClass(OutboxEntry.class);
+        verify(referenceOutboxWriter).write(entry.capture());
+        assertEquals("station-events", entry.getValue().topic());
+        assertEquals("IST", entry.getValue().key());
+    }
+}
@@ -0,0 +1,70 @@
+package com.uys.reference.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for GeoKdTree
+ */
+class GeoKdTreeTest {
+
+    @Test
+    void distanceKm_IstanbulToFrankfurt() {
+        double distance = GeoMath.distanceKm(41.2622, 28.7278, 50.0379, 8.5622);
+
+        assertEquals(1837, distance, 10);
+    }
+
+    @Test
+    void nearest_MatchesBruteForce() {
+        Random random = new Random(42);
+        int size = 2000;
+        List<Integer> ids = new ArrayList<>();
+        double[] latitudes = new double[size];
+        double[] longitudes = new double[size];
+        for (int i = 0; i < size; i++) {
+            ids.add(i);
+            latitudes[i] = random.nextDouble() * 180 - 90;
+            longitudes[i] = random.nextDouble() * 360 - 180;
+        }
+        GeoKdTree<Integer> tree = GeoKdTree.of(ids, latitudes, longitudes);
+
+        for (int query = 0; query < 50; query++) {
+            double lat = random.nextDouble() * 180 - 90;
+            double lon = random.nextDouble() * 360 - 180;
+            List<Integer> expected = ids.stream()
+                    .sorted(Comparator.comparingDouble(id -> GeoMath.distanceKm(lat, lon, latitudes[id], longitudes[id])))
+                    .limit(10)
+                    .toList();
+
+            List<Integer> actual = tree.nearest(lat, lon, 10).stream().map(GeoKdTree.Neighbor::value).toList();
+
+            assertEquals(expected, actual);
+        }
+    }
+
+    @Test
+    void withinRadius_CrossesAntimeridian() {
+        GeoKdTree<String> tree = GeoKdTree.of(List.of("EAST", "WEST", "FAR"),
+                new double[]{0, 0, 0}, new double[]{179.9, -179.9, 90});
+
+        List<GeoKdTree.Neighbor<String>> found = tree.withinRadius(0, 180, 50);
+
+        assertEquals(2, found.size());
+        assertTrue(found.stream().allMatch(neighbor -> neighbor.distanceKm() < 12));
+        assertFalse(found.stream().anyMatch(neighbor -> neighbor.value().equals("FAR")));
+    }
+
+    @Test
+    void nearest_EmptyTree() {
+        GeoKdTree<String> tree = GeoKdTree.of(List.of(), new double[0], new double[0]);
+
+        assertTrue(tree.nearest(41.0, 29.0, 5).isEmpty());
+    }
+}
@@ -0,0 +1,71 @@
+package com.uys.reference.index;
+
+import com.uys.reference.repository.StationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for StationDistanceMatrix
+ */
+@ExtendWith(MockitoExtension.class)
+class StationDistanceMatrixTest {
+
+    @Mock
+    private StationRepository stationRepository;
+
+    @InjectMocks
+    private StationDistanceMatrix stationDistanceMatrix;
+
+    @BeforeEach
+    void setUp() {
+        stationDistanceMatrix.put("IST", 41.2622, 28.7278);
+        stationDistanceMatrix.put("FRA", 50.0379, 8.5622);
+        stationDistanceMatrix.put("LHR", 51.4700, -0.4543);
+    }
+
+    @Test
+    void distanceKm_Symmetric() {
+        float distance = stationDistanceMatrix.distanceKm("IST", "FRA");
+
+        assertEquals(GeoMath.distanceKm(41.2622, 28.7278, 50.0379, 8.5622), distance, 0.5);
+        assertEquals(distance, stationDistanceMatrix.distanceKm("fra", "ist"));
+        assertEquals(0f, stationDistanceMatrix.distanceKm("IST", "IST"));
+    }
+
+    @Test
+    void distanceKm_UnknownStation() {
+        assertEquals(-1f, stationDistanceMatrix.distanceKm("IST", "JFK"));
+    }
+
+    @Test
+    void put_CoordinateChange_UpdatesRow() {
+        stationDistanceMatrix.put("FRA", 40.6413, -73.7781);
+
+        assertEquals(GeoMath.distanceKm(41.2622, 28.7278, 40.6413, -73.7781),
+                stationDistanceMatrix.distanceKm("IST", "FRA"), 0.5);
+        assertEquals(GeoMath.distanceKm(51.4700, -0.4543, 40.6413, -73.7781),
+                stationDistanceMatrix.distanceKm("LHR", "FRA"), 0.5);
+    }
+
+    @Test
+    void remove_ReusesOrdinalAfterGrowth() {
+        for (int i = 0; i < 200; i++) {
+            stationDistanceMatrix.put("S" + i, i % 90, i);
+        }
+        stationDistanceMatrix.remove("FRA");
+        stationDistanceMatrix.put("SAW", 40.8986, 29.3092);
+
+        float[] distances = stationDistanceMatrix.distancesKm(
+                new String[]{"IST", "FRA", "S199"}, new String[]{"SAW", "IST", "IST"});
+
+        assertEquals(GeoMath.distanceKm(41.2622, 28.7278, 40.8986, 29.3092), distances[0], 0.5);
+        assertEquals(-1f, distances[1]);
+        assertEquals(GeoMath.distanceKm(199 % 90, 199, 41.2622, 28.7278), distances[2], 0.5);
+    }
+}
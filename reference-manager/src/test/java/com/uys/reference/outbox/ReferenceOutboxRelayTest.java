@@ -0,0 +1,79 @@
+package com.uys.reference.outbox;
+
+import com.uys.reference.repository.ReferenceOutboxRepository;
+import com.uys.reference.repository.ReferenceOutboxRepository.OutboxRecord;
+import com.uys.reference.repository.ReferenceOutboxRepository.OutboxStats;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ReferenceOutboxRelay
+ */
+class ReferenceOutboxRelayTest {
+
+    private ReferenceOutboxRepository referenceOutboxRepository;
+    private KafkaTemplate<String, String> kafkaTemplate;
+    private PlatformTransactionManager transactionManager;
+    private SimpleMeterRegistry meterRegistry;
+    private ReferenceOutboxRelay relay;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        referenceOutboxRepository = mock(ReferenceOutboxRepository.class);
+        kafkaTemplate = mock(KafkaTemplate.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        meterRegistry = new SimpleMeterRegistry();
+        relay = new ReferenceOutboxRelay(referenceOutboxRepository, kafkaTemplate, transactionManager, meterRegistry);
+        ReflectionTestUtils.setField(relay, "batchSize", 200);
+        ReflectionTestUtils.setField(relay, "sendTimeoutMillis", 1000L);
+        when(referenceOutboxRepository.stats()).thenReturn(new OutboxStats(0, null));
+    }
+
+    @Test
+    void relay_ShouldPublishBatchAndDeleteAcknowledgedRecords() {
+        LocalDateTime createdAt = LocalDateTime.now().minusSeconds(2);
+        when(referenceOutboxRepository.lockBatch(200)).thenReturn(List.of(
+                new OutboxRecord(1L, "airline-events", "TK", "{}", createdAt),
+                new OutboxRecord(2L, "station-events", "IST", "{}", createdAt)));
+        when(kafkaTemplate.send(anyString(), anyString(), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+
+        relay.relay();
+
+        verify(kafkaTemplate).send("airline-events", "TK", "{}");
+        verify(kafkaTemplate).send("station-events", "IST", "{}");
+        verify(referenceOutboxRepository).deleteAll(List.of(1L, 2L));
+        verify(transactionManager).commit(any());
+        assertEquals(1.0, meterRegistry.counter("reference.outbox.published", "topic", "airline-events").count());
+        assertEquals(1, meterRegistry.timer("reference.outbox.publish.lag", "topic", "station-events").count());
+    }
+
+    @Test
+    void relay_WhenSendFails_ShouldKeepRecordsForRetry() {
+        when(referenceOutboxRepository.lockBatch(200)).thenReturn(List.of(
+                new OutboxRecord(1L, "airline-events", "TK", "{}", LocalDateTime.now())));
+        when(kafkaTemplate.send(anyString(), anyString(), anyString()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker unavailable")));
+
+        relay.relay();
+
+        verify(referenceOutboxRepository, never()).deleteAll(anyList());
+        verify(transactionManager).rollback(any());
+        assertEquals(1.0, meterRegistry.counter("reference.outbox.send.failures", "topic", "airline-events").count());
+        assertEquals(1.0, meterRegistry.counter("reference.outbox.relay.failures").count());
+    }
+}
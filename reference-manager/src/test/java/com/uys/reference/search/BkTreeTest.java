@@ -0,0 +1,64 @@
+package com.uys.reference.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BkTree
+ */
+class BkTreeTest {
+
+    @Test
+    void distance_Bounded() {
+        assertEquals(1, BkTree.distance("istambul", "istanbul", 2));
+        assertEquals(3, BkTree.distance("kitten", "sitting", 5));
+        assertEquals(3, BkTree.distance("ankara", "istanbul", 2));
+    }
+
+    @Test
+    void search_MatchesBruteForce() {
+        Random random = new Random(7);
+        List<String> words = IntStream.range(0, 3000)
+                .mapToObj(i -> randomWord(random))
+                .toList();
+        BkTree<Integer> tree = new BkTree<>();
+        for (int i = 0; i < words.size(); i++) {
+            tree.add(words.get(i), i);
+        }
+
+        for (int query = 0; query < 30; query++) {
+            String text = randomWord(random);
+            long expected = words.stream()
+                    .filter(word -> BkTree.distance(text, word, Integer.MAX_VALUE) <= 2)
+                    .count();
+
+            assertEquals(expected, tree.search(text, 2).size());
+        }
+    }
+
+    @Test
+    void search_TypoTolerantTurkishNames() {
+        TrigramIndex index = TrigramIndex.of(List.of(
+                new SearchEntry(ReferenceType.STATION, 1L, "IST", "İstanbul Havalimanı", null, "ist",
+                        new String[]{TextNormalizer.normalize("İstanbul Havalimanı"), "istanbul", "turkiye"}),
+                new SearchEntry(ReferenceType.AIRLINE, 2L, "TK", "Türk Hava Yolları", null, "tk",
+                        new String[]{TextNormalizer.normalize("Turkish Airlines"), "turkiye"})));
+
+        assertTrue(index.search("Istambul", 10).isEmpty());
+        assertEquals("IST", index.search("Istambul", 10, true).get(0).entry().code());
+        assertEquals("TK", index.search("Turkis Airlines", 10, true).get(0).entry().code());
+    }
+
+    private static String randomWord(Random random) {
+        char[] chars = new char[4 + random.nextInt(5)];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = (char) ('a' + random.nextInt(6));
+        }
+        return new String(chars);
+    }
+}
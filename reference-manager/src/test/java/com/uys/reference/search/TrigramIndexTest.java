@@ -0,0 +1,63 @@
+package com.uys.reference.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TrigramIndex
+ */
+class TrigramIndexTest {
+
+    private final TrigramIndex index = TrigramIndex.of(List.of(
+            station(1L, "IST", "İstanbul Havalimanı", "İstanbul", "Türkiye"),
+            station(2L, "SAW", "Sabiha Gökçen", "İstanbul", "Türkiye"),
+            station(3L, "ESB", "Esenboğa", "Ankara", "Türkiye"),
+            station(4L, "ISU", "Sulaymaniyah International", "Sulaymaniyah", "Iraq")));
+
+    @Test
+    void normalize_TurkishFolding() {
+        assertEquals("istanbul havalimani", TextNormalizer.normalize("İSTANBUL  Havalimanı"));
+        assertEquals("sabiha gokcen", TextNormalizer.normalize("Sabiha-Gökçen"));
+    }
+
+    @Test
+    void containing_ShouldReturnEverySubstringMatchInCodeOrder() {
+        assertEquals(List.of("IST", "SAW"), index.containing("stanb").stream().map(SearchEntry::code).toList());
+        // Trigram'dan kısa sorgular taranarak cevaplanır
+        assertEquals(List.of("SAW"), index.containing("ab").stream().map(SearchEntry::code).toList());
+        assertTrue(index.containing("   ").isEmpty());
+    }
+
+    @Test
+    void search_CodeExactRanksFirst() {
+        List<TrigramIndex.Match> matches = index.search("ist", 10);
+
+        assertEquals("IST", matches.get(0).entry().code());
+        assertEquals(TrigramIndex.CODE_EXACT, matches.get(0).score());
+        assertTrue(matches.stream().anyMatch(match -> match.entry().code().equals("SAW")));
+    }
+
+    @Test
+    void search_CodePrefixBeforeNamePrefix() {
+        List<TrigramIndex.Match> matches = index.search("is", 10);
+
+        assertEquals(List.of("IST", "ISU", "SAW"), matches.stream().map(match -> match.entry().code()).toList());
+        assertEquals(TrigramIndex.CODE_PREFIX, matches.get(0).score());
+        assertEquals(TrigramIndex.TERM_PREFIX, matches.get(2).score());
+    }
+
+    @Test
+    void search_WordPrefixAndSubstring() {
+        assertEquals(TrigramIndex.WORD_PREFIX, index.search("gokc", 10).get(0).score());
+        assertEquals(TrigramIndex.SUBSTRING, index.search("enbo", 10).get(0).score());
+        assertTrue(index.search("xyz", 10).isEmpty());
+    }
+
+    private static SearchEntry station(Long id, String code, String name, String city, String country) {
+        return new SearchEntry(ReferenceType.STATION, id, code, name, city, TextNormalizer.normalize(code),
+                new String[]{TextNormalizer.normalize(name), TextNormalizer.normalize(city), TextNormalizer.normalize(country)});
+    }
+}
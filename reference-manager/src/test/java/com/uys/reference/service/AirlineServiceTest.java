@@ -6,6 +6,13 @@ import com.uys.reference.event.enums.EventType;
 import com.uys.reference.event.publisher.EventPublisherService;
 import com.uys.reference.mapper.AirlineMapper;
 import com.uys.reference.repository.AirlineRepository;
+import com.uys.reference.search.ReferenceSearchIndex;
+import com.uys.reference.search.ReferenceType;
+import com.uys.reference.search.SearchEntry;
+import com.uys.reference.snapshot.ReferenceSnapshot;
+import com.uys.reference.snapshot.ReferenceSnapshotHolder;
+import com.uys.reference.snapshot.SnapshotItem;
+import com.uys.reference.snapshot.SnapshotSection;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -16,10 +23,12 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -41,6 +50,12 @@ class AirlineServiceTest {
     @Mock
     private EventPublisherService eventPublisherService;
 
+    @Mock
+    private ReferenceSearchIndex referenceSearchIndex;
+
+    @Mock
+    private ReferenceSnapshotHolder referenceSnapshotHolder;
+
     @InjectMocks
     private AirlineService airlineService;
 
@@ -276,4 +291,66 @@ class AirlineServiceTest {
         assertEquals(1, result.size());
         assertEquals("TK", result.get(0).getAirlineCode());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getAirlinesByCodes_ShouldLoadDistinctCodesWithSingleQuery() {
+        // Given
+        ReflectionTestUtils.setField(airlineService, "maxBatchCodes", 500);
+        when(airlineRepository.findByAirlineCodeIn(List.of("TK", "XX"))).thenReturn(List.of(testAirline));
+        when(airlineMapper.toResponse(testAirline)).thenReturn(response);
+
+        // When
+        Map<String, AirlineDto.Response> result = airlineService.getAirlinesByCodes(List.of("TK", " tk ", "XX", ""));
+
+        // Then
+        assertEquals(Map.of("TK", response), result);
+        verify(airlineRepository, times(1)).findByAirlineCodeIn(anyCollection());
+    }
+
+    @Test
+    void getAirlinesByCodes_WithTooManyCodes_ShouldThrowException() {
+        // Given
+        ReflectionTestUtils.setField(airlineService, "maxBatchCodes", 1);
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> airlineService.getAirlinesByCodes(List.of("TK", "LH")));
+        assertThrows(IllegalArgumentException.class, () -> airlineService.getAirlinesByCodes(List.of(" ")));
+        verify(airlineRepository, never()).findByAirlineCodeIn(anyCollection());
+    }
+
+    @Test
+    void searchAirlinesByName_ShouldUseSearchIndexInsteadOfLikeQuery() {
+        // Given
+        AirlineDto.ListResponse listItem = AirlineDto.ListResponse.builder()
+                .id(1L).airlineCode("TK").airlineName("Turkish Airlines").country("Turkey").city("Istanbul").active(true).build();
+        ReferenceSnapshot snapshot = new ReferenceSnapshot(1,
+                SnapshotSection.of(List.of(new SnapshotItem<>(1L, "TK", 0L, true, response, listItem, Map.of()))),
+                SnapshotSection.of(List.of()), SnapshotSection.of(List.of()));
+        when(referenceSnapshotHolder.current()).thenReturn(snapshot);
+        when(referenceSearchIndex.isLoaded()).thenReturn(true);
+        when(referenceSearchIndex.containing("urkis", ReferenceType.AIRLINE)).thenReturn(List.of(SearchEntry.of(testAirline)));
+
+        // When
+        List<AirlineDto.ListResponse> byName = airlineService.searchAirlinesByName("urkis");
+
+        // Then
+        assertEquals(List.of(listItem), byName);
+        verify(airlineRepository, never()).findByAirlineNameContainingIgnoreCaseAndActiveTrue(anyString());
+    }
+
+    @Test
+    void searchAirlinesByName_ShouldNotMatchOtherFields() {
+        // Given
+        AirlineDto.ListResponse listItem = AirlineDto.ListResponse.builder()
+                .id(1L).airlineCode("TK").airlineName("Turkish Airlines").country("Turkey").city("Istanbul").active(true).build();
+        ReferenceSnapshot snapshot = new ReferenceSnapshot(1,
+                SnapshotSection.of(List.of(new SnapshotItem<>(1L, "TK", 0L, true, response, listItem, Map.of()))),
+                SnapshotSection.of(List.of()), SnapshotSection.of(List.of()));
+        when(referenceSnapshotHolder.current()).thenReturn(snapshot);
+        when(referenceSearchIndex.isLoaded()).thenReturn(true);
+        when(referenceSearchIndex.containing("stanbul", ReferenceType.AIRLINE)).thenReturn(List.of(SearchEntry.of(testAirline)));
+
+        // When & Then - index city alanından eşleşse de name araması eşleşmez
+        assertTrue(airlineService.searchAirlinesByName("stanbul").isEmpty());
+    }
+}
@@ -0,0 +1,161 @@
+package com.uys.reference.service;
+
+import com.uys.reference.dto.AirlineDto;
+import com.uys.reference.dto.StationDto;
+import com.uys.reference.dto.SyncDto;
+import com.uys.reference.entity.Station;
+import com.uys.reference.mapper.AircraftMapper;
+import com.uys.reference.mapper.AirlineMapper;
+import com.uys.reference.mapper.StationMapper;
+import com.uys.reference.repository.AircraftRepository;
+import com.uys.reference.repository.AirlineRepository;
+import com.uys.reference.repository.ReferenceChangeLogRepository;
+import com.uys.reference.repository.ReferenceChangeLogRepository.ChangeRecord;
+import com.uys.reference.repository.StationRepository;
+import com.uys.reference.search.ReferenceType;
+import com.uys.reference.snapshot.ReferenceSnapshot;
+import com.uys.reference.snapshot.ReferenceSnapshotHolder;
+import com.uys.reference.snapshot.SnapshotItem;
+import com.uys.reference.snapshot.SnapshotSection;
+import com.uys.reference.sync.ChangeOperation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SyncService
+ */
+@ExtendWith(MockitoExtension.class)
+class SyncServiceTest {
+
+    @Mock
+    private ReferenceChangeLogRepository referenceChangeLogRepository;
+
+    @Mock
+    private ReferenceSnapshotHolder referenceSnapshotHolder;
+
+    @Mock
+    private AirlineRepository airlineRepository;
+
+    @Mock
+    private StationRepository stationRepository;
+
+    @Mock
+    private AircraftRepository aircraftRepository;
+
+    @Mock
+    private AirlineMapper airlineMapper;
+
+    @Mock
+    private StationMapper stationMapper;
+
+    @Mock
+    private AircraftMapper aircraftMapper;
+
+    @InjectMocks
+    private SyncService syncService;
+
+    private AirlineDto.ListResponse turkish;
+    private StationDto.ListResponse istanbul;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(syncService, "maxLimit", 1000);
+
+        turkish = AirlineDto.ListResponse.builder().id(1L).airlineCode("TK").airlineName("Turkish Airlines").active(true).build();
+        istanbul = StationDto.ListResponse.builder().id(1L).stationCode("IST").stationName("Istanbul Airport").active(true).build();
+
+        ReferenceSnapshot snapshot = new ReferenceSnapshot(1,
+                SnapshotSection.of(List.of(new SnapshotItem<>(1L, "TK", 2L, true, AirlineDto.Response.builder().id(1L).build(), turkish, Map.of()))),
+                SnapshotSection.of(List.of(new SnapshotItem<>(1L, "IST", 0L, true, StationDto.Response.builder().id(1L).build(), istanbul, Map.of()))),
+                SnapshotSection.of(List.of()));
+        lenient().when(referenceSnapshotHolder.current()).thenReturn(snapshot);
+    }
+
+    @Test
+    void getChanges_ShouldKeepLatestChangePerRecord() {
+        // Given
+        when(referenceChangeLogRepository.findSince(10L, null, 4)).thenReturn(List.of(
+                new ChangeRecord(11, ReferenceType.AIRLINE, 1L, "TK", ChangeOperation.UPSERT, 1L),
+                new ChangeRecord(12, ReferenceType.AIRCRAFT, 5L, "TC-JRE", ChangeOperation.DELETE, 3L),
+                new ChangeRecord(13, ReferenceType.AIRLINE, 1L, "TK", ChangeOperation.UPSERT, 2L)));
+
+        // When
+        SyncDto.ChangePage page = syncService.getChanges(10L, null, 3);
+
+        // Then
+        assertEquals(13L, page.getNextSeq());
+        assertFalse(page.getHasMore());
+        assertEquals(2, page.getChanges().size());
+        assertEquals(12L, page.getChanges().get(0).getSeq());
+        assertNull(page.getChanges().get(0).getData());
+        assertEquals(13L, page.getChanges().get(1).getSeq());
+        assertSame(turkish, page.getChanges().get(1).getData());
+        verifyNoInteractions(airlineRepository, stationRepository, aircraftRepository);
+    }
+
+    @Test
+    void getChanges_ShouldReportMoreChangesBeyondLimit() {
+        // Given
+        when(referenceChangeLogRepository.findSince(0L, ReferenceType.AIRLINE, 2)).thenReturn(List.of(
+                new ChangeRecord(1, ReferenceType.AIRLINE, 1L, "TK", ChangeOperation.UPSERT, 2L),
+                new ChangeRecord(2, ReferenceType.AIRLINE, 2L, "PEG", ChangeOperation.DELETE, 1L)));
+
+        // When
+        SyncDto.ChangePage page = syncService.getChanges(0L, ReferenceType.AIRLINE, 1);
+
+        // Then
+        assertTrue(page.getHasMore());
+        assertEquals(1L, page.getNextSeq());
+        assertEquals(1, page.getChanges().size());
+    }
+
+    @Test
+    void getChanges_ShouldLoadRecordsNewerThanSnapshotFromDatabase() {
+        // Given
+        Station station = Station.builder().id(1L).stationCode("IST").version(1L).active(true).build();
+        StationDto.ListResponse renamed = StationDto.ListResponse.builder().id(1L).stationCode("IST").stationName("İstanbul Havalimanı").build();
+        when(referenceChangeLogRepository.findSince(0L, null, 11)).thenReturn(List.of(
+                new ChangeRecord(7, ReferenceType.STATION, 1L, "IST", ChangeOperation.UPSERT, 1L)));
+        when(stationRepository.findAllById(List.of(1L))).thenReturn(List.of(station));
+        when(stationMapper.toListResponse(station)).thenReturn(renamed);
+
+        // When
+        SyncDto.ChangePage page = syncService.getChanges(0L, null, 10);
+
+        // Then
+        assertSame(renamed, page.getChanges().get(0).getData());
+    }
+
+    @Test
+    void getChanges_WithEmptyLog_ShouldKeepSince() {
+        // Given
+        when(referenceChangeLogRepository.findSince(anyLong(), any(), anyInt())).thenReturn(List.of());
+
+        // When
+        SyncDto.ChangePage page = syncService.getChanges(42L, null, 100);
+
+        // Then
+        assertEquals(42L, page.getNextSeq());
+        assertFalse(page.getHasMore());
+        assertTrue(page.getChanges().isEmpty());
+    }
+
+    @Test
+    void getChanges_WithInvalidArguments_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> syncService.getChanges(-1L, null, 10));
+        assertThrows(IllegalArgumentException.class, () -> syncService.getChanges(0L, null, 0));
+        assertThrows(IllegalArgumentException.class, () -> syncService.getChanges(0L, null, 1001));
+    }
+}
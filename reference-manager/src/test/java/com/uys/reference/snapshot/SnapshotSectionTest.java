@@ -0,0 +1,53 @@
+package com.uys.reference.snapshot;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SnapshotSection
+ */
+class SnapshotSectionTest {
+
+    private final SnapshotSection<String, String> section = SnapshotSection.of(List.of(
+            item(2L, "SAW", 1L, true, "Turkey"),
+            item(1L, "IST", 1L, true, "Turkey"),
+            item(3L, "FRA", 1L, false, "Germany")));
+
+    @Test
+    void lookups_CaseInsensitiveAndActiveOnlyLists() {
+        assertEquals("IST v1", section.findByCode("ist").orElseThrow());
+        assertEquals("FRA v1", section.findById(3L).orElseThrow());
+        assertEquals(List.of("IST v1", "SAW v1"), section.active());
+        assertEquals(List.of("IST v1", "SAW v1"), section.find(ReferenceSnapshot.COUNTRY, "TURKEY"));
+        assertTrue(section.find(ReferenceSnapshot.COUNTRY, "Germany").isEmpty());
+    }
+
+    @Test
+    void with_CopyOnWriteAndIgnoresStaleVersions() {
+        SnapshotSection<String, String> next = section.with(List.of(item(3L, "FRA", 2L, true, "Germany")));
+
+        assertEquals(List.of("FRA v2"), next.find(ReferenceSnapshot.COUNTRY, "Germany"));
+        assertTrue(section.find(ReferenceSnapshot.COUNTRY, "Germany").isEmpty());
+        assertSame(next, next.with(List.of(item(3L, "FRA", 1L, false, "Germany"))));
+    }
+
+    @Test
+    void fingerprint_DependsOnDataNotInsertionOrder() {
+        SnapshotSection<String, String> reordered = SnapshotSection.of(List.of(
+                item(3L, "FRA", 1L, false, "Germany"),
+                item(1L, "IST", 1L, true, "Turkey"),
+                item(2L, "SAW", 1L, true, "Turkey")));
+
+        assertEquals(section.fingerprint(), reordered.fingerprint());
+        assertNotEquals(section.fingerprint(), section.with(List.of(item(3L, "FRA", 2L, true, "Germany"))).fingerprint());
+    }
+
+    private static SnapshotItem<String, String> item(Long id, String code, Long version, boolean active, String country) {
+        String value = code + " v" + version;
+        return new SnapshotItem<>(id, code, version, active, value, value, Map.of(ReferenceSnapshot.COUNTRY, country));
+    }
+}
@@ -0,0 +1,100 @@
+package com.uys.reference.sync;
+
+import com.uys.reference.entity.Station;
+import com.uys.reference.event.ReferenceDataChangedEvent;
+import com.uys.reference.event.ReferenceDataReplicatedEvent;
+import com.uys.reference.event.enums.EventType;
+import com.uys.reference.repository.AircraftRepository;
+import com.uys.reference.repository.AirlineRepository;
+import com.uys.reference.repository.ReferenceChangeLogRepository;
+import com.uys.reference.repository.ReferenceChangeLogRepository.ChangeRecord;
+import com.uys.reference.repository.StationRepository;
+import com.uys.reference.search.ReferenceType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ReferenceChangeFeed
+ */
+@ExtendWith(MockitoExtension.class)
+class ReferenceChangeFeedTest {
+
+    @Mock
+    private ReferenceChangeLogRepository referenceChangeLogRepository;
+
+    @Mock
+    private AirlineRepository airlineRepository;
+
+    @Mock
+    private StationRepository stationRepository;
+
+    @Mock
+    private AircraftRepository aircraftRepository;
+
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private ReferenceChangeFeed referenceChangeFeed;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(referenceChangeFeed, "batchSize", 500);
+        when(referenceChangeLogRepository.lastSeq()).thenReturn(10L);
+        referenceChangeFeed.init();
+    }
+
+    @Test
+    void poll_ShouldPublishLatestStateOncePerRecordAndAdvanceSeq() {
+        // Given
+        Station istanbul = Station.builder().id(1L).stationCode("IST").active(true).build();
+        Station sabiha = Station.builder().id(2L).stationCode("SAW").active(false).build();
+        when(referenceChangeLogRepository.findSince(10L, null, 500)).thenReturn(List.of(
+                new ChangeRecord(11, ReferenceType.STATION, 1L, "IST", ChangeOperation.UPSERT, 1L),
+                new ChangeRecord(12, ReferenceType.STATION, 2L, "SAW", ChangeOperation.DELETE, 3L),
+                new ChangeRecord(13, ReferenceType.STATION, 1L, "IST", ChangeOperation.UPSERT, 2L)));
+        when(stationRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(istanbul, sabiha));
+
+        // When
+        referenceChangeFeed.poll();
+
+        // Then
+        ArgumentCaptor<ReferenceDataReplicatedEvent> event = ArgumentCaptor.forClass(ReferenceDataReplicatedEvent.class);
+        verify(applicationEventPublisher).publishEvent(event.capture());
+        assertEquals(List.of(
+                new ReferenceDataChangedEvent.StationChanged(sabiha, EventType.DELETED),
+                new ReferenceDataChangedEvent.StationChanged(istanbul, EventType.UPDATED)), event.getValue().changes());
+        assertEquals(13L, referenceChangeFeed.lastSeq());
+        verify(stationRepository, times(1)).findAllById(anyIterable());
+    }
+
+    @Test
+    void poll_WhenLoadFails_ShouldRetryFromSameSeq() {
+        // Given
+        when(referenceChangeLogRepository.findSince(10L, null, 500)).thenThrow(new IllegalStateException("db down"));
+
+        // When
+        referenceChangeFeed.poll();
+
+        // Then
+        assertEquals(10L, referenceChangeFeed.lastSeq());
+        verify(applicationEventPublisher, never()).publishEvent(any());
+    }
+}
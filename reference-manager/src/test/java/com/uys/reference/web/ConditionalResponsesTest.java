@@ -0,0 +1,53 @@
+package com.uys.reference.web;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ConditionalResponses
+ */
+class ConditionalResponsesTest {
+
+    @Test
+    void versionEtag_ShouldIncludeAllVersions() {
+        assertEquals("W/\"aircraft-5-3-7\"", ConditionalResponses.versionEtag("aircraft", 5L, 3L, 7L));
+        assertNull(ConditionalResponses.versionEtag("airline", 1L, (Long) null));
+    }
+
+    @Test
+    void isNotModified_ShouldUseWeakComparison() {
+        String etag = "W/\"airline-1-3\"";
+
+        assertTrue(ConditionalResponses.isNotModified("\"airline-1-3\"", etag));
+        assertTrue(ConditionalResponses.isNotModified("W/\"airline-1-2\", W/\"airline-1-3\"", etag));
+        assertTrue(ConditionalResponses.isNotModified("*", etag));
+        assertFalse(ConditionalResponses.isNotModified("W/\"airline-1-2\"", etag));
+        assertFalse(ConditionalResponses.isNotModified(null, etag));
+        assertFalse(ConditionalResponses.isNotModified("*", null));
+    }
+
+    @Test
+    void respond_ShouldSkipBodyWhenNotModified() {
+        AtomicInteger calls = new AtomicInteger();
+
+        ResponseEntity<String> notModified = ConditionalResponses.respond("W/\"stations-1\"", "W/\"stations-1\"",
+                () -> "body" + calls.incrementAndGet());
+        assertEquals(HttpStatus.NOT_MODIFIED, notModified.getStatusCode());
+        assertEquals("W/\"stations-1\"", notModified.getHeaders().getETag());
+        assertEquals(0, calls.get());
+
+        ResponseEntity<String> ok = ConditionalResponses.respond("W/\"stations-1\"", "W/\"stations-2\"",
+                () -> "body" + calls.incrementAndGet());
+        assertEquals(HttpStatus.OK, ok.getStatusCode());
+        assertEquals("body1", ok.getBody());
+
+        ResponseEntity<String> withoutEtag = ConditionalResponses.respond("*", null, () -> "body");
+        assertEquals(HttpStatus.OK, withoutEtag.getStatusCode());
+        assertNull(withoutEtag.getHeaders().getETag());
+    }
+}
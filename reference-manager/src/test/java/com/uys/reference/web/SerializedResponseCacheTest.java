@@ -0,0 +1,118 @@
+package com.uys.reference.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.uys.reference.dto.StationDto;
+import com.uys.reference.snapshot.ReferenceSnapshot;
+import com.uys.reference.snapshot.ReferenceSnapshotHolder;
+import com.uys.reference.snapshot.SnapshotItem;
+import com.uys.reference.snapshot.SnapshotSection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SerializedResponseCache
+ */
+class SerializedResponseCacheTest {
+
+    private ReferenceSnapshotHolder referenceSnapshotHolder;
+    private SerializedResponseCache cache;
+
+    @BeforeEach
+    void setUp() {
+        referenceSnapshotHolder = mock(ReferenceSnapshotHolder.class);
+        cache = new SerializedResponseCache(referenceSnapshotHolder, new ObjectMapper());
+        ReflectionTestUtils.setField(cache, "gzipMinBytes", 1024);
+    }
+
+    @Test
+    void get_ShouldReuseBytesUntilSourceListChanges() {
+        ReferenceSnapshot first = snapshot(1, stations(3));
+        when(referenceSnapshotHolder.current()).thenReturn(first);
+
+        SerializedBody body = cache.get("stations", snapshot -> snapshot.stations().active(), List::of);
+        assertSame(body, cache.get("stations", snapshot -> snapshot.stations().active(), List::of));
+
+        // Başka bir tipteki değişiklik aynı station listesini taşır
+        ReferenceSnapshot unrelated = new ReferenceSnapshot(2, first.airlines(), first.stations(), first.aircraft());
+        when(referenceSnapshotHolder.current()).thenReturn(unrelated);
+        assertSame(body, cache.get("stations", snapshot -> snapshot.stations().active(), List::of));
+
+        when(referenceSnapshotHolder.current()).thenReturn(snapshot(3, stations(4)));
+        SerializedBody changed = cache.get("stations", snapshot -> snapshot.stations().active(), List::of);
+        assertNotSame(body, changed);
+        assertNotEquals(body.etag(), changed.etag());
+    }
+
+    @Test
+    void get_WithoutSnapshot_ShouldSerializeFallback() {
+        when(referenceSnapshotHolder.current()).thenReturn(null);
+
+        SerializedBody body = cache.get("stations", snapshot -> snapshot.stations().active(), () -> List.of("IST"));
+
+        assertEquals("[\"IST\"]", new String(body.json()));
+        assertNull(body.gzip());
+    }
+
+    @Test
+    void toResponse_ShouldServePrecompressedBytesWhenGzipAccepted() throws IOException {
+        when(referenceSnapshotHolder.current()).thenReturn(snapshot(1, stations(50)));
+        SerializedBody body = cache.get("stations", snapshot -> snapshot.stations().active(), List::of);
+        assertNotNull(body.gzip());
+
+        ResponseEntity<byte[]> compressed = body.toResponse("deflate, gzip;q=0.8", null);
+        assertEquals("gzip", compressed.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(body.gzipEtag(), compressed.getHeaders().getETag());
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed.getBody()))) {
+            assertArrayEquals(body.json(), in.readAllBytes());
+        }
+
+        ResponseEntity<byte[]> plain = body.toResponse("gzip;q=0", null);
+        assertNull(plain.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(body.etag(), plain.getHeaders().getETag());
+        assertSame(body.json(), plain.getBody());
+    }
+
+    @Test
+    void toResponse_WithMatchingIfNoneMatch_ShouldReturnNotModified() {
+        when(referenceSnapshotHolder.current()).thenReturn(snapshot(1, stations(50)));
+        SerializedBody body = cache.get("stations", snapshot -> snapshot.stations().active(), List::of);
+
+        ResponseEntity<byte[]> notModified = body.toResponse(null, "W/" + body.etag());
+        assertEquals(HttpStatus.NOT_MODIFIED, notModified.getStatusCode());
+        assertNull(notModified.getBody());
+
+        // gzip temsilinin ETag'i düz JSON için geçerli değildir
+        assertEquals(HttpStatus.OK, body.toResponse(null, body.gzipEtag()).getStatusCode());
+        assertEquals(HttpStatus.NOT_MODIFIED, body.toResponse("gzip", body.gzipEtag()).getStatusCode());
+    }
+
+    private static List<SnapshotItem<StationDto.Response, StationDto.ListResponse>> stations(int count) {
+        List<SnapshotItem<StationDto.Response, StationDto.ListResponse>> items = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            StationDto.ListResponse station = StationDto.ListResponse.builder()
+                    .id(id).stationCode("S" + id).stationName("Station " + id).active(true).build();
+            items.add(new SnapshotItem<>(id, "S" + id, 0L, true, StationDto.Response.builder().id(id).build(), station, Map.of()));
+        }
+        return items;
+    }
+
+    private static ReferenceSnapshot snapshot(long version,
+                                              List<SnapshotItem<StationDto.Response, StationDto.ListResponse>> stations) {
+        return new ReferenceSnapshot(version, SnapshotSection.of(List.of()), SnapshotSection.of(stations),
+                SnapshotSection.of(List.of()));
+    }
+}